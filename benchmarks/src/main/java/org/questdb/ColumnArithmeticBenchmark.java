@@ -0,0 +1,154 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package org.questdb;
+
+import io.questdb.cairo.sql.Function;
+import io.questdb.cairo.sql.Record;
+import io.questdb.griffin.engine.functions.DoubleFunction;
+import io.questdb.griffin.engine.functions.LongFunction;
+import io.questdb.griffin.engine.functions.columns.DoubleColumn;
+import io.questdb.griffin.engine.functions.columns.LongColumn;
+import io.questdb.griffin.engine.functions.constants.DoubleConstant;
+import io.questdb.griffin.engine.functions.constants.LongConstant;
+import io.questdb.griffin.engine.functions.math.MulDoubleFunctionFactory;
+import io.questdb.std.Numbers;
+import io.questdb.std.ObjList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@code price * size} over a double and a long column computed by the column
+ * arithmetic function, which reads both operands from the record and branches on the
+ * operand type per row, with the generic multiplication function over two function
+ * arguments, which makes a virtual call per operand.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColumnArithmeticBenchmark {
+    private static final int N = 1000;
+    private static final MulDoubleFunctionFactory factory = new MulDoubleFunctionFactory();
+    private static double blackhole;
+    private static Function columnFunction;
+    private static Function genericFunction;
+    private static Record[] records;
+
+    public ColumnArithmeticBenchmark() {
+        final ObjList<Function> args = new ObjList<>(2);
+        args.add(DoubleColumn.newInstance(0));
+        args.add(LongColumn.newInstance(1));
+        columnFunction = factory.newInstance(0, args, null, null, null);
+
+        // not column references, the factory falls back to the generic function
+        args.clear();
+        args.add(new DoubleFunction() {
+            @Override
+            public double getDouble(Record rec) {
+                return rec.getDouble(0);
+            }
+        });
+        args.add(new LongFunction() {
+            @Override
+            public long getLong(Record rec) {
+                return rec.getLong(1);
+            }
+        });
+        genericFunction = factory.newInstance(0, args, null, null, null);
+
+        records = new Record[N];
+
+        for (int i = 0; i < N; i++) {
+            final double price = i % 10 == 0 ? Double.NaN : i * 0.5;
+            final long size = i % 7 == 0 ? Numbers.LONG_NULL : i;
+            records[i] = new Record() {
+                @Override
+                public double getDouble(int col) {
+                    return price;
+                }
+
+                @Override
+                public long getLong(int col) {
+                    return size;
+                }
+            };
+        }
+
+        // in a server the operand call sites of the generic function see many function
+        // types, pollute the profile so that they are not inlined as in a fresh JVM
+        final Function[] operands = {
+                DoubleColumn.newInstance(0),
+                LongColumn.newInstance(1),
+                new DoubleConstant(1.5),
+                new LongConstant(2),
+                args.getQuick(0),
+                args.getQuick(1)
+        };
+        double sink = 0;
+        for (int i = 0; i < 20_000; i++) {
+            args.clear();
+            args.add(operands[i % operands.length]);
+            args.add(operands[(i / operands.length) % operands.length]);
+            final Function function = factory.newInstance(0, args, null, null, null);
+            for (int j = 0; j < 10; j++) {
+                sink += function.getDouble(records[j]);
+            }
+        }
+        blackhole = sink;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(ColumnArithmeticBenchmark.class.getSimpleName())
+                .warmupIterations(2)
+                .measurementIterations(3)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public double testColumnArithmetic() {
+        double sum = 0;
+        for (int i = 0; i < N; i++) {
+            sum += columnFunction.getDouble(records[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double testGenericFunction() {
+        double sum = 0;
+        for (int i = 0; i < N; i++) {
+            sum += genericFunction.getDouble(records[i]);
+        }
+        return sum;
+    }
+}
@@ -24,6 +24,7 @@
 
 package io.questdb;
 
+import io.questdb.cairo.PartitionTtlMetrics;
 import io.questdb.cairo.TableWriterMetrics;
 import io.questdb.cairo.wal.WalMetrics;
 import io.questdb.cutlass.http.processors.JsonQueryMetrics;
@@ -43,6 +44,7 @@ public class Metrics implements Scrapable {
     private final JsonQueryMetrics jsonQuery;
     private final LineMetrics line;
     private final MetricsRegistry metricsRegistry;
+    private final PartitionTtlMetrics partitionTtl;
     private final PGWireMetrics pgWire;
     private final Runtime runtime = Runtime.getRuntime();
     private final VirtualLongGauge.StatProvider jvmFreeMemRef = runtime::freeMemory;
@@ -61,6 +63,7 @@ public class Metrics implements Scrapable {
         this.healthCheck = new HealthMetricsImpl(metricsRegistry);
         this.tableWriter = new TableWriterMetrics(metricsRegistry);
         this.walMetrics = new WalMetrics(metricsRegistry);
+        this.partitionTtl = new PartitionTtlMetrics(metricsRegistry);
         createMemoryGauges(metricsRegistry);
         this.metricsRegistry = metricsRegistry;
         this.workerMetrics = new WorkerMetrics(metricsRegistry);
@@ -94,6 +97,10 @@ public class Metrics implements Scrapable {
         return line;
     }
 
+    public PartitionTtlMetrics partitionTtl() {
+        return partitionTtl;
+    }
+
     public PGWireMetrics pgWire() {
         return pgWire;
     }
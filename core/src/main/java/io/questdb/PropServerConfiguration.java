@@ -101,6 +101,7 @@ public class PropServerConfiguration implements ServerConfiguration {
     private final int cairoSQLCopyIdSupplier;
     private final int cairoSqlCopyLogRetentionDays;
     private final int cairoSqlCopyQueueCapacity;
+    private final String cairoSqlCopyExportRoot;
     private final String cairoSqlCopyRoot;
     private final String cairoSqlCopyWorkRoot;
     private final boolean cairoSqlLegacyOperatorPrecedence;
@@ -230,6 +231,10 @@ public class PropServerConfiguration implements ServerConfiguration {
     private final boolean o3QuickSortEnabled;
     private final int parallelIndexThreshold;
     private final boolean parallelIndexingEnabled;
+    private final long partitionTieringAge;
+    private final long partitionTieringCheckInterval;
+    private final String partitionTieringVolume;
+    private final long partitionTtlCheckInterval;
     private final boolean pgEnabled;
     private final PGWireConfiguration pgWireConfiguration = new PropPGWireConfiguration();
     private final String posthogApiKey;
@@ -263,14 +268,17 @@ public class PropServerConfiguration implements ServerConfiguration {
     private final boolean snapshotRecoveryEnabled;
     private final String snapshotRoot;
     private final long spinLockTimeout;
+    private final boolean sqlAsOfJoinFastScanEnabled;
     private final int sqlAsOfJoinLookahead;
     private final int sqlBindVariablePoolSize;
+    private final boolean sqlBloomFiltersEnabled;
     private final int sqlCharacterStoreCapacity;
     private final int sqlCharacterStoreSequencePoolCapacity;
     private final int sqlColumnCastModelPoolCapacity;
     private final int sqlColumnPoolCapacity;
     private final int sqlCompilerPoolCapacity;
     private final int sqlCopyBufferSize;
+    private final long sqlCopyExportRowGroupSize;
     private final int sqlCopyModelPoolCapacity;
     private final int sqlCountDistinctCapacity;
     private final double sqlCountDistinctLoadFactor;
@@ -289,6 +297,8 @@ public class PropServerConfiguration implements ServerConfiguration {
     private final int sqlGroupByPoolCapacity;
     private final int sqlHashJoinLightValueMaxPages;
     private final int sqlHashJoinLightValuePageSize;
+    private final long sqlHashJoinPresizeMaxHeapSize;
+    private final long sqlHashJoinPresizeMaxSize;
     private final int sqlHashJoinValueMaxPages;
     private final int sqlHashJoinValuePageSize;
     private final long sqlInsertModelBatchSize;
@@ -312,6 +322,7 @@ public class PropServerConfiguration implements ServerConfiguration {
     private final int sqlModelPoolCapacity;
     private final int sqlPageFrameMaxRows;
     private final int sqlPageFrameMinRows;
+    private final int sqlPageFrameReadAheadFrames;
     private final boolean sqlParallelFilterEnabled;
     private final boolean sqlParallelFilterPreTouchEnabled;
     private final boolean sqlParallelGroupByEnabled;
@@ -341,6 +352,7 @@ public class PropServerConfiguration implements ServerConfiguration {
     private final int sqlWindowTreeKeyMaxPages;
     private final int sqlWindowTreeKeyPageSize;
     private final int sqlWithClauseModelPoolCapacity;
+    private final boolean sqlZoneMapsEnabled;
     private final int systemO3ColumnMemorySize;
     private final String systemTableNamePrefix;
     private final long systemWalWriterDataAppendPageSize;
@@ -381,6 +393,7 @@ public class PropServerConfiguration implements ServerConfiguration {
     private final int walPurgeWaitBeforeDelete;
     private final int walRecreateDistressedSequencerAttempts;
     private final long walSegmentRolloverRowCount;
+    private final int walSquashSmallTxnMaxRows;
     private final double walSquashUncommittedRowsMultiplier;
     private final boolean walSupported;
     private final int walTxnNotificationQueueCapacity;
@@ -458,6 +471,8 @@ public class PropServerConfiguration implements ServerConfiguration {
     private long lineTcpNetConnectionTimeout;
     private LineTcpTimestampAdapter lineTcpTimestampAdapter;
     private int lineTcpWriterQueueCapacity;
+    private long lineTcpWriterRebalanceInterval;
+    private double lineTcpWriterRebalanceLoadRatio;
     private int[] lineTcpWriterWorkerAffinity;
     private int lineTcpWriterWorkerCount;
     private long lineTcpWriterWorkerNapThreshold;
@@ -469,6 +484,7 @@ public class PropServerConfiguration implements ServerConfiguration {
     private int lineUdpPort;
     private MimeTypesCache mimeTypesCache;
     private long minIdleMsBeforeWriterRelease;
+    private boolean netIOURingEnabled;
     private int netTestConnectionBufferSize;
     private int pgBinaryParamsCapacity;
     private int pgCharacterStoreCapacity;
@@ -594,6 +610,10 @@ public class PropServerConfiguration implements ServerConfiguration {
         // instead cairo.wal.enabled.default=true is added to the config, so only new QuestDB installations have WAL enabled by default
         this.walEnabledDefault = getBoolean(properties, env, PropertyKey.CAIRO_WAL_ENABLED_DEFAULT, true);
         this.walPurgeInterval = getLong(properties, env, PropertyKey.CAIRO_WAL_PURGE_INTERVAL, 30_000);
+        this.partitionTtlCheckInterval = getLong(properties, env, PropertyKey.CAIRO_PARTITION_TTL_CHECK_INTERVAL, 60_000);
+        this.partitionTieringVolume = getString(properties, env, PropertyKey.CAIRO_PARTITION_TIERING_VOLUME, null);
+        this.partitionTieringAge = getLong(properties, env, PropertyKey.CAIRO_PARTITION_TIERING_AGE, 604_800_000);
+        this.partitionTieringCheckInterval = getLong(properties, env, PropertyKey.CAIRO_PARTITION_TIERING_CHECK_INTERVAL, 60_000);
         this.walPurgeWaitBeforeDelete = getInt(properties, env, PropertyKey.DEBUG_WAL_PURGE_WAIT_BEFORE_DELETE, 0);
         this.walTxnNotificationQueueCapacity = getQueueCapacity(properties, env, PropertyKey.CAIRO_WAL_TXN_NOTIFICATION_QUEUE_CAPACITY, 4096);
         this.walRecreateDistressedSequencerAttempts = getInt(properties, env, PropertyKey.CAIRO_WAL_RECREATE_DISTRESSED_SEQUENCER_ATTEMPTS, 3);
@@ -608,6 +628,7 @@ public class PropServerConfiguration implements ServerConfiguration {
         this.walWriterEventAppendPageSize = Files.ceilPageSize(getLongSize(properties, env, PropertyKey.CAIRO_WAL_WRITER_EVENT_APPEND_PAGE_SIZE, 128 * 1024));
         this.systemWalWriterDataAppendPageSize = Files.ceilPageSize(getLongSize(properties, env, PropertyKey.CAIRO_SYSTEM_WAL_WRITER_DATA_APPEND_PAGE_SIZE, 256 * 1024));
         this.systemWalWriterEventAppendPageSize = Files.ceilPageSize(getLongSize(properties, env, PropertyKey.CAIRO_SYSTEM_WAL_WRITER_EVENT_APPEND_PAGE_SIZE, 16 * 1024));
+        this.walSquashSmallTxnMaxRows = getInt(properties, env, PropertyKey.CAIRO_WAL_SQUASH_SMALL_TXN_MAX_ROWS, 0);
         this.walSquashUncommittedRowsMultiplier = getDouble(properties, env, PropertyKey.CAIRO_WAL_SQUASH_UNCOMMITTED_ROWS_MULTIPLIER, "20.0");
         this.walMaxLagTxnCount = getInt(properties, env, PropertyKey.CAIRO_WAL_MAX_LAG_TXN_COUNT, -1);
         this.walMaxLagSize = getLongSize(properties, env, PropertyKey.CAIRO_WAL_MAX_LAG_SIZE, 75 * Numbers.SIZE_1MB);
@@ -846,6 +867,7 @@ public class PropServerConfiguration implements ServerConfiguration {
             this.queryTimeout = (long) (getDouble(properties, env, PropertyKey.QUERY_TIMEOUT_SEC, "60") * Timestamps.SECOND_MILLIS);
             this.netTestConnectionBufferSize = getInt(properties, env, PropertyKey.CIRCUIT_BREAKER_BUFFER_SIZE, 64);
             this.netTestConnectionBufferSize = getInt(properties, env, PropertyKey.NET_TEST_CONNECTION_BUFFER_SIZE, netTestConnectionBufferSize);
+            this.netIOURingEnabled = getBoolean(properties, env, PropertyKey.NET_IO_URING_ENABLED, false);
 
             final int forceSendFragmentationChunkSize = getInt(properties, env, PropertyKey.DEBUG_FORCE_SEND_FRAGMENTATION_CHUNK_SIZE, Integer.MAX_VALUE);
             final int forceRecvFragmentationChunkSize = getInt(properties, env, PropertyKey.DEBUG_FORCE_RECV_FRAGMENTATION_CHUNK_SIZE, Integer.MAX_VALUE);
@@ -964,7 +986,10 @@ public class PropServerConfiguration implements ServerConfiguration {
             this.sqlLatestByRowCount = getInt(properties, env, PropertyKey.CAIRO_SQL_LATEST_BY_ROW_COUNT, 1000);
             this.sqlHashJoinLightValuePageSize = getIntSize(properties, env, PropertyKey.CAIRO_SQL_HASH_JOIN_LIGHT_VALUE_PAGE_SIZE, 1048576);
             this.sqlHashJoinLightValueMaxPages = getIntSize(properties, env, PropertyKey.CAIRO_SQL_HASH_JOIN_LIGHT_VALUE_MAX_PAGES, Integer.MAX_VALUE);
+            this.sqlHashJoinPresizeMaxSize = getLong(properties, env, PropertyKey.CAIRO_SQL_HASH_JOIN_PRESIZE_MAX_SIZE, 100_000_000);
+            this.sqlHashJoinPresizeMaxHeapSize = getLongSize(properties, env, PropertyKey.CAIRO_SQL_HASH_JOIN_PRESIZE_MAX_HEAP_SIZE, Numbers.SIZE_1GB);
             this.sqlAsOfJoinLookahead = getInt(properties, env, PropertyKey.CAIRO_SQL_ASOF_JOIN_LOOKAHEAD, 100);
+            this.sqlAsOfJoinFastScanEnabled = getBoolean(properties, env, PropertyKey.CAIRO_SQL_ASOF_JOIN_FAST_SCAN_ENABLED, false);
             this.sqlSortValuePageSize = getIntSize(properties, env, PropertyKey.CAIRO_SQL_SORT_VALUE_PAGE_SIZE, 16777216);
             this.sqlSortValueMaxPages = getIntSize(properties, env, PropertyKey.CAIRO_SQL_SORT_VALUE_MAX_PAGES, Integer.MAX_VALUE);
             this.workStealTimeoutNanos = getLong(properties, env, PropertyKey.CAIRO_WORK_STEAL_TIMEOUT_NANOS, 10_000);
@@ -981,6 +1006,7 @@ public class PropServerConfiguration implements ServerConfiguration {
             this.sqlInsertModelPoolCapacity = getInt(properties, env, PropertyKey.CAIRO_SQL_INSERT_MODEL_POOL_CAPACITY, 64);
             this.sqlInsertModelBatchSize = getLong(properties, env, PropertyKey.CAIRO_SQL_INSERT_MODEL_BATCH_SIZE, 1_000_000);
             this.sqlCopyBufferSize = getIntSize(properties, env, PropertyKey.CAIRO_SQL_COPY_BUFFER_SIZE, 2 * Numbers.SIZE_1MB);
+            this.sqlCopyExportRowGroupSize = getLong(properties, env, PropertyKey.CAIRO_SQL_COPY_EXPORT_ROW_GROUP_SIZE, 100_000);
             this.columnPurgeQueueCapacity = getQueueCapacity(properties, env, PropertyKey.CAIRO_SQL_COLUMN_PURGE_QUEUE_CAPACITY, 128);
             this.columnPurgeTaskPoolCapacity = getIntSize(properties, env, PropertyKey.CAIRO_SQL_COLUMN_PURGE_TASK_POOL_CAPACITY, 256);
             this.columnPurgeRetryDelayLimit = getLong(properties, env, PropertyKey.CAIRO_SQL_COLUMN_PURGE_RETRY_DELAY_LIMIT, 60_000_000L);
@@ -1018,6 +1044,7 @@ public class PropServerConfiguration implements ServerConfiguration {
             this.sqlDistinctTimestampLoadFactor = getDouble(properties, env, PropertyKey.CAIRO_SQL_DISTINCT_TIMESTAMP_LOAD_FACTOR, "0.5");
             this.sqlPageFrameMinRows = getInt(properties, env, PropertyKey.CAIRO_SQL_PAGE_FRAME_MIN_ROWS, 100_000);
             this.sqlPageFrameMaxRows = getInt(properties, env, PropertyKey.CAIRO_SQL_PAGE_FRAME_MAX_ROWS, 1_000_000);
+            this.sqlPageFrameReadAheadFrames = getInt(properties, env, PropertyKey.CAIRO_SQL_PAGE_FRAME_READ_AHEAD_FRAMES, 0);
 
             this.sqlJitMode = getSqlJitMode(properties, env);
             this.sqlJitIRMemoryPageSize = getIntSize(properties, env, PropertyKey.CAIRO_SQL_JIT_IR_MEMORY_PAGE_SIZE, 8 * 1024);
@@ -1067,6 +1094,14 @@ public class PropServerConfiguration implements ServerConfiguration {
                 throw new ServerConfigurationException("Configuration value for " + PropertyKey.CAIRO_SQL_COPY_WORK_ROOT.getPropertyPath() + " can't point to root, data, conf or snapshot dirs. ");
             }
 
+            this.cairoSqlCopyExportRoot = getString(properties, env, PropertyKey.CAIRO_SQL_COPY_EXPORT_ROOT, null);
+            if (pathEquals(root, this.cairoSqlCopyExportRoot)
+                    || pathEquals(this.root, this.cairoSqlCopyExportRoot)
+                    || pathEquals(this.confRoot, this.cairoSqlCopyExportRoot)
+                    || pathEquals(this.snapshotRoot, this.cairoSqlCopyExportRoot)) {
+                throw new ServerConfigurationException("Configuration value for " + PropertyKey.CAIRO_SQL_COPY_EXPORT_ROOT.getPropertyPath() + " can't point to root, data, conf or snapshot dirs. ");
+            }
+
             String cairoSQLCopyIdSupplier = getString(properties, env, PropertyKey.CAIRO_SQL_COPY_ID_SUPPLIER, "random");
             this.cairoSQLCopyIdSupplier = Chars.equalsLowerCaseAscii(cairoSQLCopyIdSupplier, "sequential") ? 1 : 0;
 
@@ -1192,6 +1227,8 @@ public class PropServerConfiguration implements ServerConfiguration {
                     lineTcpMsgBufferSize = lineTcpMaxMeasurementSize;
                 }
                 this.lineTcpWriterQueueCapacity = getQueueCapacity(properties, env, PropertyKey.LINE_TCP_WRITER_QUEUE_CAPACITY, 128);
+                this.lineTcpWriterRebalanceInterval = getLong(properties, env, PropertyKey.LINE_TCP_WRITER_REBALANCE_INTERVAL, 0);
+                this.lineTcpWriterRebalanceLoadRatio = getDouble(properties, env, PropertyKey.LINE_TCP_WRITER_REBALANCE_LOAD_RATIO, "1.5");
                 this.lineTcpWriterWorkerCount = getInt(properties, env, PropertyKey.LINE_TCP_WRITER_WORKER_COUNT, 0);
                 cpuUsed += this.lineTcpWriterWorkerCount;
                 this.lineTcpWriterWorkerAffinity = getAffinity(properties, env, PropertyKey.LINE_TCP_WRITER_WORKER_AFFINITY, lineTcpWriterWorkerCount);
@@ -1289,6 +1326,8 @@ public class PropServerConfiguration implements ServerConfiguration {
             final int defaultReduceShardCount = Math.min(sharedWorkerCount, 4);
             this.cairoPageFrameReduceShardCount = getInt(properties, env, PropertyKey.CAIRO_PAGE_FRAME_SHARD_COUNT, defaultReduceShardCount);
             this.sqlParallelFilterPreTouchEnabled = getBoolean(properties, env, PropertyKey.CAIRO_SQL_PARALLEL_FILTER_PRETOUCH_ENABLED, true);
+            this.sqlZoneMapsEnabled = getBoolean(properties, env, PropertyKey.CAIRO_SQL_ZONE_MAPS_ENABLED, false);
+            this.sqlBloomFiltersEnabled = getBoolean(properties, env, PropertyKey.CAIRO_SQL_BLOOM_FILTERS_ENABLED, false);
             this.sqlCopyModelPoolCapacity = getInt(properties, env, PropertyKey.CAIRO_SQL_COPY_MODEL_POOL_CAPACITY, 32);
 
             boolean defaultParallelSqlEnabled = sharedWorkerCount >= 4;
@@ -2417,6 +2456,26 @@ public class PropServerConfiguration implements ServerConfiguration {
             return o3PartitionPurgeListCapacity;
         }
 
+        @Override
+        public long getPartitionTieringAge() {
+            return partitionTieringAge;
+        }
+
+        @Override
+        public long getPartitionTieringCheckInterval() {
+            return partitionTieringCheckInterval;
+        }
+
+        @Override
+        public @Nullable CharSequence getPartitionTieringVolume() {
+            return partitionTieringVolume;
+        }
+
+        @Override
+        public long getPartitionTtlCheckInterval() {
+            return partitionTtlCheckInterval;
+        }
+
         @Override
         public int getQueryRegistryPoolSize() {
             return sqlQueryRegistryPoolSize;
@@ -2517,6 +2576,16 @@ public class PropServerConfiguration implements ServerConfiguration {
             return sqlCopyBufferSize;
         }
 
+        @Override
+        public CharSequence getSqlCopyExportRoot() {
+            return cairoSqlCopyExportRoot;
+        }
+
+        @Override
+        public long getSqlCopyExportRowGroupSize() {
+            return sqlCopyExportRowGroupSize;
+        }
+
         @Override
         public CharSequence getSqlCopyInputRoot() {
             return cairoSqlCopyRoot;
@@ -2572,6 +2641,16 @@ public class PropServerConfiguration implements ServerConfiguration {
             return sqlHashJoinLightValuePageSize;
         }
 
+        @Override
+        public long getSqlHashJoinPresizeMaxHeapSize() {
+            return sqlHashJoinPresizeMaxHeapSize;
+        }
+
+        @Override
+        public long getSqlHashJoinPresizeMaxSize() {
+            return sqlHashJoinPresizeMaxSize;
+        }
+
         @Override
         public int getSqlHashJoinValueMaxPages() {
             return sqlHashJoinValueMaxPages;
@@ -2667,6 +2746,11 @@ public class PropServerConfiguration implements ServerConfiguration {
             return sqlPageFrameMinRows;
         }
 
+        @Override
+        public int getSqlPageFrameReadAheadFrames() {
+            return sqlPageFrameReadAheadFrames;
+        }
+
         @Override
         public int getSqlParallelWorkStealingThreshold() {
             return sqlParallelWorkStealingThreshold;
@@ -2891,6 +2975,11 @@ public class PropServerConfiguration implements ServerConfiguration {
             return walSegmentRolloverSize;
         }
 
+        @Override
+        public int getWalSquashSmallTxnMaxRows() {
+            return walSquashSmallTxnMaxRows;
+        }
+
         @Override
         public double getWalSquashUncommittedRowsMultiplier() {
             return walSquashUncommittedRowsMultiplier;
@@ -2986,6 +3075,16 @@ public class PropServerConfiguration implements ServerConfiguration {
             return snapshotRecoveryEnabled;
         }
 
+        @Override
+        public boolean isSqlAsOfJoinFastScanEnabled() {
+            return sqlAsOfJoinFastScanEnabled;
+        }
+
+        @Override
+        public boolean isSqlBloomFiltersEnabled() {
+            return sqlBloomFiltersEnabled;
+        }
+
         @Override
         public boolean isSqlJitDebugEnabled() {
             return sqlJitDebugEnabled;
@@ -3006,6 +3105,11 @@ public class PropServerConfiguration implements ServerConfiguration {
             return sqlParallelGroupByEnabled;
         }
 
+        @Override
+        public boolean isSqlZoneMapsEnabled() {
+            return sqlZoneMapsEnabled;
+        }
+
         @Override
         public boolean isTableTypeConversionEnabled() {
             return tableTypeConversionEnabled;
@@ -3215,6 +3319,11 @@ public class PropServerConfiguration implements ServerConfiguration {
         public long getTimeout() {
             return httpNetConnectionTimeout;
         }
+
+        @Override
+        public boolean isIOURingEnabled() {
+            return netIOURingEnabled;
+        }
     }
 
     private class PropHttpMinIODispatcherConfiguration implements IODispatcherConfiguration {
@@ -3297,6 +3406,11 @@ public class PropServerConfiguration implements ServerConfiguration {
         public long getTimeout() {
             return httpMinNetConnectionTimeout;
         }
+
+        @Override
+        public boolean isIOURingEnabled() {
+            return netIOURingEnabled;
+        }
     }
 
     public class PropHttpMinServerConfiguration implements HttpMinServerConfiguration {
@@ -3766,6 +3880,16 @@ public class PropServerConfiguration implements ServerConfiguration {
             return lineTcpWriterQueueCapacity;
         }
 
+        @Override
+        public long getWriterRebalanceInterval() {
+            return lineTcpWriterRebalanceInterval;
+        }
+
+        @Override
+        public double getWriterRebalanceLoadRatio() {
+            return lineTcpWriterRebalanceLoadRatio;
+        }
+
         @Override
         public WorkerPoolConfiguration getWriterWorkerPoolConfiguration() {
             return lineTcpWriterWorkerPoolConfiguration;
@@ -3867,6 +3991,11 @@ public class PropServerConfiguration implements ServerConfiguration {
         public long getTimeout() {
             return lineTcpNetConnectionTimeout;
         }
+
+        @Override
+        public boolean isIOURingEnabled() {
+            return netIOURingEnabled;
+        }
     }
 
     private class PropLineTcpWriterWorkerPoolConfiguration implements WorkerPoolConfiguration {
@@ -4315,6 +4444,11 @@ public class PropServerConfiguration implements ServerConfiguration {
         public long getTimeout() {
             return pgNetIdleConnectionTimeout;
         }
+
+        @Override
+        public boolean isIOURingEnabled() {
+            return netIOURingEnabled;
+        }
     }
 
     class PropPublicPassthroughConfiguration implements PublicPassthroughConfiguration {
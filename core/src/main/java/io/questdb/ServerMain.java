@@ -27,6 +27,7 @@ package io.questdb;
 import io.questdb.cairo.CairoConfiguration;
 import io.questdb.cairo.CairoEngine;
 import io.questdb.cairo.CairoException;
+import io.questdb.cairo.mv.MatViewRefreshJob;
 import io.questdb.cairo.security.ReadOnlySecurityContextFactory;
 import io.questdb.cairo.security.SecurityContextFactory;
 import io.questdb.cairo.wal.ApplyWal2TableJob;
@@ -326,6 +327,12 @@ public class ServerMain implements Closeable {
                             if (walApplyEnabled && !config.getWalApplyPoolConfiguration().isEnabled()) {
                                 setupWalApplyJob(sharedPool, engine, sharedPool.getWorkerCount());
                             }
+
+                            if (walApplyEnabled) {
+                                final MatViewRefreshJob matViewRefreshJob = new MatViewRefreshJob(engine);
+                                sharedPool.assign(matViewRefreshJob);
+                                sharedPool.freeOnExit(matViewRefreshJob);
+                            }
                         }
 
                         // text import
@@ -362,6 +369,8 @@ public class ServerMain implements Closeable {
                     WorkerPoolManager.Requester.WAL_APPLY
             );
             setupWalApplyJob(walApplyWorkerPool, engine, workerPoolManager.getSharedWorkerCount());
+            // idle wal apply workers pick up partition merges of the tables being applied
+            WorkerPoolUtils.setupO3Jobs(walApplyWorkerPool, engine.getMessageBus());
         }
 
         // http
@@ -302,6 +302,34 @@ public interface CairoConfiguration {
 
     int getPartitionPurgeListCapacity();
 
+    /**
+     * Age in milliseconds after which partitions are moved to the partition tiering volume.
+     * Age is measured the same way as partition TTL, against the table's max timestamp
+     * when it is behind the wall clock. Defaults to 7 days.
+     *
+     * @return partition tiering age in milliseconds
+     */
+    long getPartitionTieringAge();
+
+    long getPartitionTieringCheckInterval();
+
+    /**
+     * Alias of the volume, as defined in cairo.volumes, that cold partitions are moved to.
+     * Partition tiering is off when the alias is not set.
+     *
+     * @return volume alias or null
+     */
+    @Nullable
+    CharSequence getPartitionTieringVolume();
+
+    /**
+     * Period in milliseconds between two runs of the partition TTL job, which drops partitions
+     * that are older than the table's TTL. Defaults to 60 seconds.
+     *
+     * @return TTL check interval in milliseconds
+     */
+    long getPartitionTtlCheckInterval();
+
     int getQueryRegistryPoolSize();
 
     @NotNull
@@ -370,6 +398,17 @@ public interface CairoConfiguration {
 
     int getSqlCopyBufferSize();
 
+    // null export root disables "copy table to 'dir'" sql
+    CharSequence getSqlCopyExportRoot();
+
+    /**
+     * Max number of rows in a Parquet row group written by {@code COPY table TO 'dir'}.
+     * Each column chunk of a row group is a single page, which must fit into 2GB.
+     *
+     * @return max row count of a Parquet row group
+     */
+    long getSqlCopyExportRowGroupSize();
+
     // null input root disables "copy" sql
     CharSequence getSqlCopyInputRoot();
 
@@ -393,6 +432,22 @@ public interface CairoConfiguration {
 
     int getSqlHashJoinLightValuePageSize();
 
+    /**
+     * Hash joins pre-size their key map heap to the heap size used by the previous execution
+     * of the same query. Heap sizes above this limit are not used for pre-sizing.
+     *
+     * @return maximum heap size in bytes to pre-size hash join maps to
+     */
+    long getSqlHashJoinPresizeMaxHeapSize();
+
+    /**
+     * Hash joins pre-size their key map to the number of distinct keys seen by the previous execution
+     * of the same query. Key counts above this limit are not used for pre-sizing.
+     *
+     * @return maximum key count to pre-size hash join maps to
+     */
+    long getSqlHashJoinPresizeMaxSize();
+
     int getSqlHashJoinValueMaxPages();
 
     int getSqlHashJoinValuePageSize();
@@ -436,6 +491,12 @@ public interface CairoConfiguration {
 
     int getSqlPageFrameMinRows();
 
+    /**
+     * Number of page frames ahead of the one being dispatched whose column files are read
+     * into the OS page cache via io_uring. Zero disables read-ahead.
+     */
+    int getSqlPageFrameReadAheadFrames();
+
     int getSqlParallelWorkStealingThreshold();
 
     int getSqlSmallMapKeyCapacity();
@@ -544,6 +605,13 @@ public interface CairoConfiguration {
      */
     long getWalSegmentRolloverSize();
 
+    /**
+     * WAL transactions with fewer rows than this are kept in the lag when more transactions
+     * are pending to be applied, so that many tiny transactions end up in a single commit.
+     * Zero disables the squashing.
+     */
+    int getWalSquashSmallTxnMaxRows();
+
     double getWalSquashUncommittedRowsMultiplier();
 
     int getWalTxnNotificationQueueCapacity();
@@ -587,6 +655,23 @@ public interface CairoConfiguration {
      */
     boolean isSnapshotRecoveryEnabled();
 
+    /**
+     * Enables the time frame based scan for ASOF JOIN on a single symbol key. The scan walks the
+     * slave backwards from the master timestamp, so it only pays off when every key occurs often
+     * in the slave. Defaults to {@code false}.
+     *
+     * @return true when the keyed ASOF JOIN fast scan is enabled
+     */
+    boolean isSqlAsOfJoinFastScanEnabled();
+
+    /**
+     * Enables per-partition Bloom filters on LONG, UUID and VARCHAR columns, which let
+     * parallel filters skip partitions that cannot contain an equality match. Defaults to {@code false}.
+     *
+     * @return true when Bloom filters are enabled
+     */
+    boolean isSqlBloomFiltersEnabled();
+
     boolean isSqlJitDebugEnabled();
 
     boolean isSqlParallelFilterEnabled();
@@ -595,6 +680,14 @@ public interface CairoConfiguration {
 
     boolean isSqlParallelGroupByEnabled();
 
+    /**
+     * Enables per-partition min/max zone maps, which let parallel filters skip
+     * partitions that cannot contain matching rows. Defaults to {@code false}.
+     *
+     * @return true when zone maps are enabled
+     */
+    boolean isSqlZoneMapsEnabled();
+
     boolean isTableTypeConversionEnabled();
 
     boolean isWalApplyEnabled();
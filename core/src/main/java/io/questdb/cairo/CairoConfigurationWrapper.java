@@ -515,6 +515,26 @@ public class CairoConfigurationWrapper implements CairoConfiguration {
         return getDelegate().getPartitionPurgeListCapacity();
     }
 
+    @Override
+    public long getPartitionTieringAge() {
+        return getDelegate().getPartitionTieringAge();
+    }
+
+    @Override
+    public long getPartitionTieringCheckInterval() {
+        return getDelegate().getPartitionTieringCheckInterval();
+    }
+
+    @Override
+    public @Nullable CharSequence getPartitionTieringVolume() {
+        return getDelegate().getPartitionTieringVolume();
+    }
+
+    @Override
+    public long getPartitionTtlCheckInterval() {
+        return getDelegate().getPartitionTtlCheckInterval();
+    }
+
     @Override
     public int getQueryRegistryPoolSize() {
         return getDelegate().getQueryRegistryPoolSize();
@@ -615,6 +635,16 @@ public class CairoConfigurationWrapper implements CairoConfiguration {
         return getDelegate().getSqlCopyBufferSize();
     }
 
+    @Override
+    public CharSequence getSqlCopyExportRoot() {
+        return getDelegate().getSqlCopyExportRoot();
+    }
+
+    @Override
+    public long getSqlCopyExportRowGroupSize() {
+        return getDelegate().getSqlCopyExportRowGroupSize();
+    }
+
     @Override
     public CharSequence getSqlCopyInputRoot() {
         return getDelegate().getSqlCopyInputRoot();
@@ -670,6 +700,16 @@ public class CairoConfigurationWrapper implements CairoConfiguration {
         return getDelegate().getSqlHashJoinLightValuePageSize();
     }
 
+    @Override
+    public long getSqlHashJoinPresizeMaxHeapSize() {
+        return getDelegate().getSqlHashJoinPresizeMaxHeapSize();
+    }
+
+    @Override
+    public long getSqlHashJoinPresizeMaxSize() {
+        return getDelegate().getSqlHashJoinPresizeMaxSize();
+    }
+
     @Override
     public int getSqlHashJoinValueMaxPages() {
         return getDelegate().getSqlHashJoinValueMaxPages();
@@ -765,6 +805,11 @@ public class CairoConfigurationWrapper implements CairoConfiguration {
         return getDelegate().getSqlPageFrameMinRows();
     }
 
+    @Override
+    public int getSqlPageFrameReadAheadFrames() {
+        return getDelegate().getSqlPageFrameReadAheadFrames();
+    }
+
     @Override
     public int getSqlParallelWorkStealingThreshold() {
         return getDelegate().getSqlParallelWorkStealingThreshold();
@@ -990,6 +1035,11 @@ public class CairoConfigurationWrapper implements CairoConfiguration {
         return getDelegate().getWalSegmentRolloverSize();
     }
 
+    @Override
+    public int getWalSquashSmallTxnMaxRows() {
+        return getDelegate().getWalSquashSmallTxnMaxRows();
+    }
+
     @Override
     public double getWalSquashUncommittedRowsMultiplier() {
         return getDelegate().getWalSquashUncommittedRowsMultiplier();
@@ -1085,6 +1135,16 @@ public class CairoConfigurationWrapper implements CairoConfiguration {
         return getDelegate().isSnapshotRecoveryEnabled();
     }
 
+    @Override
+    public boolean isSqlAsOfJoinFastScanEnabled() {
+        return getDelegate().isSqlAsOfJoinFastScanEnabled();
+    }
+
+    @Override
+    public boolean isSqlBloomFiltersEnabled() {
+        return getDelegate().isSqlBloomFiltersEnabled();
+    }
+
     @Override
     public boolean isSqlJitDebugEnabled() {
         return getDelegate().isSqlJitDebugEnabled();
@@ -1105,6 +1165,11 @@ public class CairoConfigurationWrapper implements CairoConfiguration {
         return getDelegate().isSqlParallelGroupByEnabled();
     }
 
+    @Override
+    public boolean isSqlZoneMapsEnabled() {
+        return getDelegate().isSqlZoneMapsEnabled();
+    }
+
     @Override
     public boolean isTableTypeConversionEnabled() {
         return getDelegate().isTableTypeConversionEnabled();
@@ -29,6 +29,7 @@ import io.questdb.MessageBusImpl;
 import io.questdb.Metrics;
 import io.questdb.Telemetry;
 import io.questdb.cairo.mig.EngineMigration;
+import io.questdb.cairo.mv.MatViewGraph;
 import io.questdb.cairo.pool.*;
 import io.questdb.cairo.security.AllowAllSecurityContext;
 import io.questdb.cairo.sql.*;
@@ -38,6 +39,7 @@ import io.questdb.cairo.wal.seq.TableSequencerAPI;
 import io.questdb.cutlass.text.CopyContext;
 import io.questdb.griffin.*;
 import io.questdb.griffin.engine.ops.UpdateOperation;
+import io.questdb.griffin.engine.table.PageFrameReadAheadPool;
 import io.questdb.log.Log;
 import io.questdb.log.LogFactory;
 import io.questdb.mp.*;
@@ -77,9 +79,14 @@ public class CairoEngine implements Closeable, WriterSource {
     private final ConcurrentHashMap<TableToken> createTableLock = new ConcurrentHashMap<>();
     private final EngineMaintenanceJob engineMaintenanceJob;
     private final FunctionFactoryCache ffCache;
+    private final MatViewGraph matViewGraph = new MatViewGraph();
     private final MessageBusImpl messageBus;
     private final Metrics metrics;
+    private final PageFrameReadAheadPool pageFrameReadAheadPool;
     private final Predicate<CharSequence> protectedTableResolver;
+    // connection-shared caches of compiled queries, e.g. PG Wire and HTTP select caches
+    private final ObjList<AssociativeCache<?>> queryCaches = new ObjList<>();
+    private final DdlListener queryCacheDdlListener = new QueryCacheDdlListener();
     private final QueryRegistry queryRegistry;
     private final ReaderPool readerPool;
     private final SqlExecutionContext rootExecutionContext;
@@ -124,6 +131,7 @@ public class CairoEngine implements Closeable, WriterSource {
             this.sequencerMetadataPool = new SequencerMetadataPool(configuration, this);
             this.tableMetadataPool = new TableMetadataPool(configuration);
             this.walWriterPool = new WalWriterPool(configuration, this);
+            this.pageFrameReadAheadPool = new PageFrameReadAheadPool(configuration);
             this.engineMaintenanceJob = new EngineMaintenanceJob(configuration);
             this.telemetry = new Telemetry<>(TelemetryTask.TELEMETRY, configuration);
             this.telemetryWal = new Telemetry<>(TelemetryWalTask.WAL_TELEMETRY, configuration);
@@ -227,6 +235,17 @@ public class CairoEngine implements Closeable, WriterSource {
         return compiler.compile(selectSql, sqlExecutionContext).getRecordCursorFactory();
     }
 
+    /**
+     * Registers a cache of compiled queries shared across connections. Registered
+     * caches are cleared on DDL, so that cached factories don't outlive the table
+     * structure they were compiled against.
+     */
+    public void addQueryCache(AssociativeCache<?> queryCache) {
+        synchronized (queryCaches) {
+            queryCaches.add(queryCache);
+        }
+    }
+
     public void applyTableRename(TableToken token, TableToken updatedTableToken) {
         tableNameRegistry.rename(token.getTableName(), updatedTableToken.getTableName(), token);
         if (token.isWal()) {
@@ -277,6 +296,7 @@ public class CairoEngine implements Closeable, WriterSource {
     public boolean clear() {
         snapshotAgent.clear();
         messageBus.clear();
+        matViewGraph.clear();
         boolean b1 = readerPool.releaseAll();
         boolean b2 = writerPool.releaseAll();
         boolean b3 = tableSequencerAPI.releaseAll();
@@ -294,6 +314,7 @@ public class CairoEngine implements Closeable, WriterSource {
         Misc.free(sequencerMetadataPool);
         Misc.free(tableMetadataPool);
         Misc.free(walWriterPool);
+        Misc.free(pageFrameReadAheadPool);
         Misc.free(tableIdGenerator);
         Misc.free(messageBus);
         Misc.free(tableSequencerAPI);
@@ -358,6 +379,7 @@ public class CairoEngine implements Closeable, WriterSource {
 
     public void drop(Path path, TableToken tableToken) {
         verifyTableToken(tableToken);
+        invalidateQueryCaches(tableToken);
         if (tableToken.isWal()) {
             if (tableNameRegistry.dropTable(tableToken)) {
                 tableSequencerAPI.dropTable(tableToken, false);
@@ -374,6 +396,7 @@ public class CairoEngine implements Closeable, WriterSource {
                         throw CairoException.critical(configuration.getFilesFacade().errno()).put("could not remove table [name=").put(tableToken)
                                 .put(", dirName=").put(tableToken.getDirName()).put(']');
                     }
+                    TableUtils.removeTieredTable(configuration.getFilesFacade(), configuration, tableToken);
                 } finally {
                     unlockTableUnsafe(tableToken, null, false);
                 }
@@ -454,7 +477,7 @@ public class CairoEngine implements Closeable, WriterSource {
     }
 
     public @NotNull DdlListener getDdlListener(TableToken tableToken) {
-        return isSysTable(tableToken) ? DefaultDdlListener.INSTANCE : ddlListener;
+        return isSysTable(tableToken) ? DefaultDdlListener.INSTANCE : queryCacheDdlListener;
     }
 
     public Job getEngineMaintenanceJob() {
@@ -484,6 +507,10 @@ public class CairoEngine implements Closeable, WriterSource {
         return getSequencerMetadata(tableToken, desiredVersion);
     }
 
+    public MatViewGraph getMatViewGraph() {
+        return matViewGraph;
+    }
+
     public MessageBus getMessageBus() {
         return messageBus;
     }
@@ -492,6 +519,10 @@ public class CairoEngine implements Closeable, WriterSource {
         return metrics;
     }
 
+    public PageFrameReadAheadPool getPageFrameReadAheadPool() {
+        return pageFrameReadAheadPool;
+    }
+
     @TestOnly
     public PoolListener getPoolListener() {
         return this.writerPool.getPoolListener();
@@ -891,8 +922,21 @@ public class CairoEngine implements Closeable, WriterSource {
         return tableNameRegistry.lockTableName(tableNameStr, dirName, tableId, isWal);
     }
 
+    /**
+     * Evicts cached queries that read the given table. Cached values that don't track
+     * their tables, see {@link TableDependent}, are evicted regardless.
+     */
+    public void invalidateQueryCaches(TableToken tableToken) {
+        synchronized (queryCaches) {
+            for (int i = 0, n = queryCaches.size(); i < n; i++) {
+                queryCaches.getQuick(i).removeIf(value -> !(value instanceof TableDependent) || ((TableDependent) value).dependsOn(tableToken));
+            }
+        }
+    }
+
     public void notifyDropped(TableToken tableToken) {
         tableNameRegistry.dropTable(tableToken);
+        invalidateQueryCaches(tableToken);
     }
 
     public void notifyWalTxnCommitted(@NotNull TableToken tableToken) {
@@ -993,6 +1037,12 @@ public class CairoEngine implements Closeable, WriterSource {
         tableNameRegistry.reload(convertedTables);
     }
 
+    public void removeQueryCache(AssociativeCache<?> queryCache) {
+        synchronized (queryCaches) {
+            queryCaches.remove(queryCache);
+        }
+    }
+
     public void removeTableToken(TableToken tableToken) {
         tableNameRegistry.purgeToken(tableToken);
         tableSequencerAPI.purgeTxnTracker(tableToken.getDirName());
@@ -1497,4 +1547,40 @@ public class CairoEngine implements Closeable, WriterSource {
         }
     }
 
+    private class QueryCacheDdlListener implements DdlListener {
+
+        @Override
+        public void onColumnAdded(SecurityContext securityContext, TableToken tableToken, CharSequence columnName) {
+            // the cache is invalidated once the writer commits the new metadata version
+            ddlListener.onColumnAdded(securityContext, tableToken, columnName);
+        }
+
+        @Override
+        public void onColumnRenamed(SecurityContext securityContext, TableToken tableToken, CharSequence oldColumnName, CharSequence newColumnName) {
+            ddlListener.onColumnRenamed(securityContext, tableToken, oldColumnName, newColumnName);
+        }
+
+        @Override
+        public void onColumnTypeChanged(SecurityContext securityContext, TableToken tableToken, CharSequence columnName, int oldColumnType, int newColumnType) {
+            ddlListener.onColumnTypeChanged(securityContext, tableToken, columnName, oldColumnType, newColumnType);
+        }
+
+        @Override
+        public void onTableCreated(SecurityContext securityContext, TableToken tableToken) {
+            // new tables can't be referenced by cached queries
+            ddlListener.onTableCreated(securityContext, tableToken);
+        }
+
+        @Override
+        public void onTableMetadataChanged(TableToken tableToken) {
+            ddlListener.onTableMetadataChanged(tableToken);
+            invalidateQueryCaches(tableToken);
+        }
+
+        @Override
+        public void onTableRenamed(SecurityContext securityContext, TableToken oldTableToken, TableToken newTableToken) {
+            ddlListener.onTableRenamed(securityContext, oldTableToken, newTableToken);
+            invalidateQueryCaches(oldTableToken);
+        }
+    }
 }
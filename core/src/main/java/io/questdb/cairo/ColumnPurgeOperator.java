@@ -324,6 +324,33 @@ public class ColumnPurgeOperator implements Closeable {
                     }
                 }
 
+                if (!isSymbolRootFiles && PartitionZoneMap.isSupported(columnType)) {
+                    path.trimTo(pathTrimToPartition);
+                    TableUtils.zmFile(path, columnName, columnVersion);
+                    if (couldNotRemove(ff, path)) {
+                        allDone = false;
+                        continue;
+                    }
+                }
+
+                if (!isSymbolRootFiles && PartitionBloomFilter.isSupported(columnType)) {
+                    path.trimTo(pathTrimToPartition);
+                    TableUtils.bfFile(path, columnName, columnVersion);
+                    if (couldNotRemove(ff, path)) {
+                        allDone = false;
+                        continue;
+                    }
+                }
+
+                if (!isSymbolRootFiles && PartitionSortedIndex.isSupported(columnType)) {
+                    path.trimTo(pathTrimToPartition);
+                    TableUtils.siFile(path, columnName, columnVersion);
+                    if (couldNotRemove(ff, path)) {
+                        allDone = false;
+                        continue;
+                    }
+                }
+
                 // Check if it's symbol, try remove .k and .v files in the partition
                 if (ColumnType.isSymbol(columnType)) {
                     if (isSymbolRootFiles) {
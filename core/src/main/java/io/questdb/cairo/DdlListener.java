@@ -36,4 +36,11 @@ public interface DdlListener {
 
     default void onColumnTypeChanged(SecurityContext securityContext, TableToken tableToken, CharSequence columnName, int oldColumnType, int newColumnType) {
     }
+
+    /**
+     * Called by the table writer whenever it commits a new metadata version, i.e. after any
+     * schema change such as a column being added, dropped, renamed, retyped or indexed.
+     */
+    default void onTableMetadataChanged(TableToken tableToken) {
+    }
 }
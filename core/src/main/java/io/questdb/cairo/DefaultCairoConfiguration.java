@@ -35,6 +35,7 @@ import io.questdb.std.datetime.DateLocale;
 import io.questdb.std.datetime.microtime.MicrosecondClockImpl;
 import io.questdb.std.datetime.millitime.DateFormatUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.function.LongSupplier;
 
@@ -514,6 +515,26 @@ public class DefaultCairoConfiguration implements CairoConfiguration {
         return 64;
     }
 
+    @Override
+    public long getPartitionTieringAge() {
+        return 604_800_000;
+    }
+
+    @Override
+    public long getPartitionTieringCheckInterval() {
+        return 60_000;
+    }
+
+    @Override
+    public @Nullable CharSequence getPartitionTieringVolume() {
+        return null;
+    }
+
+    @Override
+    public long getPartitionTtlCheckInterval() {
+        return 60_000;
+    }
+
     @Override
     public int getQueryRegistryPoolSize() {
         return 8;
@@ -616,6 +637,16 @@ public class DefaultCairoConfiguration implements CairoConfiguration {
         return 1024 * 1024;
     }
 
+    @Override
+    public CharSequence getSqlCopyExportRoot() {
+        return null;
+    }
+
+    @Override
+    public long getSqlCopyExportRowGroupSize() {
+        return 100_000;
+    }
+
     @Override
     public CharSequence getSqlCopyInputRoot() {
         return null;
@@ -671,6 +702,16 @@ public class DefaultCairoConfiguration implements CairoConfiguration {
         return Numbers.SIZE_1MB;
     }
 
+    @Override
+    public long getSqlHashJoinPresizeMaxHeapSize() {
+        return Numbers.SIZE_1GB;
+    }
+
+    @Override
+    public long getSqlHashJoinPresizeMaxSize() {
+        return 100_000_000;
+    }
+
     @Override
     public int getSqlHashJoinValueMaxPages() {
         return 1024;
@@ -766,6 +807,11 @@ public class DefaultCairoConfiguration implements CairoConfiguration {
         return 1_000;
     }
 
+    @Override
+    public int getSqlPageFrameReadAheadFrames() {
+        return 0;
+    }
+
     @Override
     public int getSqlParallelWorkStealingThreshold() {
         return 16;
@@ -986,6 +1032,11 @@ public class DefaultCairoConfiguration implements CairoConfiguration {
         return 0;  // watermark level disabled.
     }
 
+    @Override
+    public int getWalSquashSmallTxnMaxRows() {
+        return 0;
+    }
+
     @Override
     public double getWalSquashUncommittedRowsMultiplier() {
         return 20;
@@ -1085,6 +1136,16 @@ public class DefaultCairoConfiguration implements CairoConfiguration {
         return true;
     }
 
+    @Override
+    public boolean isSqlAsOfJoinFastScanEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isSqlBloomFiltersEnabled() {
+        return false;
+    }
+
     @Override
     public boolean isSqlJitDebugEnabled() {
         return false;
@@ -1105,6 +1166,11 @@ public class DefaultCairoConfiguration implements CairoConfiguration {
         return true;
     }
 
+    @Override
+    public boolean isSqlZoneMapsEnabled() {
+        return false;
+    }
+
     @Override
     public boolean isTableTypeConversionEnabled() {
         return true;
@@ -367,6 +367,7 @@ public class O3PartitionPurgeJob extends AbstractQueueConsumerJob<O3PartitionPur
                 TableToken lastToken = engine.getUpdatedTableToken(tableToken);
                 if (lastToken == tableToken) {
                     LOG.info().$(message).$(path).I$();
+                    TableUtils.removeTieredPartition(ff, engine.getConfiguration(), path);
                     ff.unlinkOrRemove(path, LOG);
                 } else {
                     // table is dropped and recreated since we started processing it.
@@ -0,0 +1,708 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.cairo;
+
+import io.questdb.cairo.sql.RecordMetadata;
+import io.questdb.cairo.sql.SymbolTable;
+import io.questdb.cairo.vm.NullMemoryMR;
+import io.questdb.cairo.vm.Vm;
+import io.questdb.cairo.vm.api.MemoryCARW;
+import io.questdb.cairo.vm.api.MemoryR;
+import io.questdb.log.Log;
+import io.questdb.log.LogFactory;
+import io.questdb.std.*;
+import io.questdb.std.str.DirectString;
+import io.questdb.std.str.Path;
+import io.questdb.std.str.Utf8Sequence;
+import io.questdb.std.str.Utf8SplitString;
+import io.questdb.std.str.Utf8StringSink;
+
+/**
+ * Writes a single table partition as an uncompressed Parquet file. Column values are
+ * read straight from the mapped partition column files, row groups are written one
+ * column chunk at a time, and each column chunk is a single PLAIN encoded data page.
+ * Chunks of INT, LONG, DATE, TIMESTAMP, FLOAT and DOUBLE columns without nulls are
+ * copied from the column file as a single block. Row group statistics carry min/max
+ * values of numeric and timestamp columns, so that readers can prune row groups.
+ * <p>
+ * QuestDB nulls are written as Parquet nulls, so INT, LONG, DATE, TIMESTAMP, FLOAT, DOUBLE,
+ * SYMBOL, STRING and VARCHAR columns are optional. BOOLEAN, BYTE, SHORT and CHAR columns
+ * have no null value and are required. Other column types are not supported.
+ * <p>
+ * Parquet page sizes are 32-bit, so row groups that don't fit into a single page are rejected,
+ * see {@link CairoConfiguration#getSqlCopyExportRowGroupSize()}.
+ */
+public class ParquetPartitionEncoder implements QuietCloseable {
+    private static final int CHUNK_DATA_PAGE_OFFSET = 1;
+    private static final int CHUNK_HAS_STATS = 4;
+    private static final int CHUNK_MAX = 6;
+    private static final int CHUNK_MIN = 5;
+    private static final int CHUNK_NULL_COUNT = 3;
+    private static final int CHUNK_SIZE = 2;
+    private static final int CHUNK_SLOT_SIZE = 7;
+    private static final int CHUNK_VALUE_COUNT = 0;
+    private static final int CONVERTED_TYPE_INT_16 = 16;
+    private static final int CONVERTED_TYPE_INT_8 = 15;
+    private static final int CONVERTED_TYPE_TIMESTAMP_MICROS = 10;
+    private static final int CONVERTED_TYPE_TIMESTAMP_MILLIS = 9;
+    private static final int CONVERTED_TYPE_UINT_16 = 12;
+    private static final int CONVERTED_TYPE_UTF8 = 0;
+    private static final int ENCODING_PLAIN = 0;
+    private static final int ENCODING_RLE = 3;
+    private static final Log LOG = LogFactory.getLog(ParquetPartitionEncoder.class);
+    private static final int MAGIC = 0x31524150; // "PAR1"
+    private static final int REPETITION_OPTIONAL = 1;
+    private static final int REPETITION_REQUIRED = 0;
+    private static final int TYPE_BOOLEAN = 0;
+    private static final int TYPE_BYTE_ARRAY = 6;
+    private static final int TYPE_DOUBLE = 5;
+    private static final int TYPE_FLOAT = 4;
+    private static final int TYPE_INT32 = 1;
+    private static final int TYPE_INT64 = 2;
+    // per row group, per column chunk metadata, see CHUNK_* offsets
+    private final LongList chunks = new LongList();
+    private final DirectString directString = new DirectString();
+    private final FilesFacade ff;
+    private final MemoryCARW pageMem;
+    private final LongList rowGroupSizes = new LongList();
+    private final long rowGroupSize;
+    private final ThriftCompactWriter thrift;
+    private final MemoryCARW thriftMem;
+    private final Utf8SplitString utf8SplitView = new Utf8SplitString(true);
+    private final Utf8StringSink utf8Sink = new Utf8StringSink();
+    // mapped column being encoded, rows of the partition start at the column top
+    private long columnAddress;
+    private long columnAuxAddress;
+    private long columnTop;
+    private int fd = -1;
+    private long fileOffset;
+    private SymbolTable symbolTable;
+
+    public ParquetPartitionEncoder(FilesFacade ff, long rowGroupSize) {
+        assert rowGroupSize > 0;
+        this.ff = ff;
+        this.rowGroupSize = Math.min(rowGroupSize, Integer.MAX_VALUE);
+        this.pageMem = Vm.getCARWInstance(Files.PAGE_SIZE, Integer.MAX_VALUE, MemoryTag.NATIVE_DEFAULT);
+        this.thriftMem = Vm.getCARWInstance(Files.PAGE_SIZE, Integer.MAX_VALUE, MemoryTag.NATIVE_DEFAULT);
+        this.thrift = new ThriftCompactWriter(thriftMem);
+    }
+
+    public static boolean isSupported(int columnType) {
+        switch (ColumnType.tagOf(columnType)) {
+            case ColumnType.BOOLEAN:
+            case ColumnType.BYTE:
+            case ColumnType.SHORT:
+            case ColumnType.CHAR:
+            case ColumnType.INT:
+            case ColumnType.LONG:
+            case ColumnType.DATE:
+            case ColumnType.TIMESTAMP:
+            case ColumnType.FLOAT:
+            case ColumnType.DOUBLE:
+            case ColumnType.SYMBOL:
+            case ColumnType.STRING:
+            case ColumnType.VARCHAR:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        Misc.free(pageMem);
+        Misc.free(thriftMem);
+    }
+
+    /**
+     * Writes the given partition of the table reader to a Parquet file. An existing file is overwritten.
+     *
+     * @param reader         table reader, positioned at the required table version
+     * @param partitionIndex index of the partition to encode
+     * @param path           Parquet file path
+     * @throws CairoException when the table has unsupported column types, a row group does not fit
+     *                        into a Parquet page or the file could not be written
+     */
+    public void encode(TableReader reader, int partitionIndex, Path path) {
+        final RecordMetadata metadata = reader.getMetadata();
+        final int columnCount = metadata.getColumnCount();
+        for (int i = 0; i < columnCount; i++) {
+            final int columnType = metadata.getColumnType(i);
+            if (!isSupported(columnType)) {
+                throw CairoException.nonCritical().put("unsupported column type for parquet export [column=")
+                        .put(metadata.getColumnName(i)).put(", type=").put(ColumnType.nameOf(columnType)).put(']');
+            }
+        }
+
+        final long partitionRowCount = reader.openPartition(partitionIndex);
+        final int columnBase = reader.getColumnBase(partitionIndex);
+        chunks.clear();
+        rowGroupSizes.clear();
+        fd = TableUtils.openRW(ff, path.$(), LOG, CairoConfiguration.O_NONE);
+        try {
+            if (!ff.truncate(fd, 0)) {
+                throw CairoException.critical(ff.errno()).put("could not truncate file [path=").put(path).put(']');
+            }
+            fileOffset = 0;
+            pageMem.truncate();
+            pageMem.putInt(MAGIC);
+            writePageMem(path);
+
+            for (long rowLo = 0; rowLo < partitionRowCount; rowLo += rowGroupSize) {
+                final long rowHi = Math.min(rowLo + rowGroupSize, partitionRowCount);
+                for (int i = 0; i < columnCount; i++) {
+                    mapColumn(reader, columnBase, i, metadata.getColumnType(i), partitionRowCount);
+                    writeColumnChunk(path, metadata, i, rowLo, rowHi);
+                }
+                rowGroupSizes.add(rowHi - rowLo);
+            }
+
+            writeFooter(metadata, partitionRowCount);
+            final long footerSize = thriftMem.getAppendOffset();
+            thriftMem.putInt((int) footerSize);
+            thriftMem.putInt(MAGIC);
+            writeMem(path, thriftMem);
+        } finally {
+            ff.close(fd);
+            fd = -1;
+            symbolTable = null;
+        }
+    }
+
+    private static int getConvertedType(int columnType) {
+        switch (ColumnType.tagOf(columnType)) {
+            case ColumnType.BYTE:
+                return CONVERTED_TYPE_INT_8;
+            case ColumnType.SHORT:
+                return CONVERTED_TYPE_INT_16;
+            case ColumnType.CHAR:
+                return CONVERTED_TYPE_UINT_16;
+            case ColumnType.DATE:
+                return CONVERTED_TYPE_TIMESTAMP_MILLIS;
+            case ColumnType.TIMESTAMP:
+                return CONVERTED_TYPE_TIMESTAMP_MICROS;
+            case ColumnType.SYMBOL:
+            case ColumnType.STRING:
+            case ColumnType.VARCHAR:
+                return CONVERTED_TYPE_UTF8;
+            default:
+                return -1;
+        }
+    }
+
+    private static int getPhysicalType(int columnType) {
+        switch (ColumnType.tagOf(columnType)) {
+            case ColumnType.BOOLEAN:
+                return TYPE_BOOLEAN;
+            case ColumnType.BYTE:
+            case ColumnType.SHORT:
+            case ColumnType.CHAR:
+            case ColumnType.INT:
+                return TYPE_INT32;
+            case ColumnType.LONG:
+            case ColumnType.DATE:
+            case ColumnType.TIMESTAMP:
+                return TYPE_INT64;
+            case ColumnType.FLOAT:
+                return TYPE_FLOAT;
+            case ColumnType.DOUBLE:
+                return TYPE_DOUBLE;
+            default:
+                return TYPE_BYTE_ARRAY;
+        }
+    }
+
+    private static boolean isRequired(int columnType) {
+        switch (ColumnType.tagOf(columnType)) {
+            case ColumnType.BOOLEAN:
+            case ColumnType.BYTE:
+            case ColumnType.SHORT:
+            case ColumnType.CHAR:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // fixed size values of the column, rows above the column top read as zero
+    private long getFixedValue(int columnType, long row) {
+        final long r = row - columnTop;
+        if (r < 0) {
+            return 0;
+        }
+        switch (ColumnType.tagOf(columnType)) {
+            case ColumnType.BOOLEAN:
+            case ColumnType.BYTE:
+                return Unsafe.getUnsafe().getByte(columnAddress + r);
+            case ColumnType.SHORT:
+                return Unsafe.getUnsafe().getShort(columnAddress + (r << 1));
+            case ColumnType.CHAR:
+                return Unsafe.getUnsafe().getChar(columnAddress + (r << 1));
+            case ColumnType.INT:
+            case ColumnType.SYMBOL:
+            case ColumnType.FLOAT:
+                return Unsafe.getUnsafe().getInt(columnAddress + (r << 2));
+            default:
+                return Unsafe.getUnsafe().getLong(columnAddress + (r << 3));
+        }
+    }
+
+    private boolean isNull(int columnType, long row) {
+        if (row < columnTop) {
+            return true;
+        }
+        switch (ColumnType.tagOf(columnType)) {
+            case ColumnType.INT:
+                return getFixedValue(columnType, row) == Numbers.INT_NULL;
+            case ColumnType.LONG:
+            case ColumnType.DATE:
+            case ColumnType.TIMESTAMP:
+                return getFixedValue(columnType, row) == Numbers.LONG_NULL;
+            case ColumnType.FLOAT:
+                return Float.isNaN(Float.intBitsToFloat((int) getFixedValue(columnType, row)));
+            case ColumnType.DOUBLE:
+                return Double.isNaN(Double.longBitsToDouble(getFixedValue(columnType, row)));
+            case ColumnType.SYMBOL:
+                return getFixedValue(columnType, row) == SymbolTable.VALUE_IS_NULL;
+            case ColumnType.STRING: {
+                final long offset = Unsafe.getUnsafe().getLong(columnAuxAddress + ((row - columnTop) << 3));
+                return Unsafe.getUnsafe().getInt(columnAddress + offset) == TableUtils.NULL_LEN;
+            }
+            case ColumnType.VARCHAR:
+                return VarcharTypeDriver.getSplitValue(columnAuxAddress, columnAddress, row - columnTop, utf8SplitView) == null;
+            default:
+                return false;
+        }
+    }
+
+    private void mapColumn(TableReader reader, int columnBase, int columnIndex, int columnType, long partitionRowCount) {
+        final int primaryColumnIndex = TableReader.getPrimaryColumnIndex(columnBase, columnIndex);
+        final MemoryR columnMem = reader.getColumn(primaryColumnIndex);
+        // the column may have been added after all rows of the partition were written
+        columnTop = columnMem instanceof NullMemoryMR ? partitionRowCount : reader.getColumnTop(columnBase, columnIndex);
+        columnAddress = 0;
+        columnAuxAddress = 0;
+        symbolTable = ColumnType.isSymbol(columnType) ? reader.getSymbolMapReader(columnIndex) : null;
+        if (columnTop < partitionRowCount) {
+            if (ColumnType.isVarSize(columnType)) {
+                columnAuxAddress = reader.getColumn(primaryColumnIndex + 1).getPageAddress(0);
+                // VARCHAR columns with inlined values only have no data vector
+                final long dataSize = ColumnType.getDriver(columnType).getDataVectorSizeAt(columnAuxAddress, partitionRowCount - columnTop - 1);
+                columnAddress = dataSize > 0 ? columnMem.getPageAddress(0) : 0;
+            } else {
+                columnAddress = columnMem.getPageAddress(0);
+            }
+        }
+    }
+
+    private void putStatsValue(int physicalType, long value) {
+        switch (physicalType) {
+            case TYPE_INT32:
+            case TYPE_FLOAT:
+                thriftMem.putInt((int) value);
+                break;
+            default:
+                thriftMem.putLong(value);
+                break;
+        }
+    }
+
+    private void writeColumnChunk(Path path, RecordMetadata metadata, int columnIndex, long rowLo, long rowHi) {
+        final int columnType = metadata.getColumnType(columnIndex);
+        final int physicalType = getPhysicalType(columnType);
+        final boolean required = isRequired(columnType);
+        final long rowCount = rowHi - rowLo;
+
+        // definition levels, bit-packed with bit width 1 and prefixed with the encoded length
+        pageMem.truncate();
+        long nullCount = 0;
+        long defLevelsOffset = 0;
+        if (!required) {
+            final long groupCount = (rowCount + 7) >>> 3;
+            pageMem.putInt(0);
+            ThriftCompactWriter.putVarint(pageMem, (groupCount << 1) | 1);
+            defLevelsOffset = pageMem.getAppendOffset();
+            for (long g = 0; g < groupCount; g++) {
+                int bits = 0;
+                final long groupLo = rowLo + (g << 3);
+                for (int b = 0, n = (int) Math.min(8, rowHi - groupLo); b < n; b++) {
+                    if (isNull(columnType, groupLo + b)) {
+                        nullCount++;
+                    } else {
+                        bits |= 1 << b;
+                    }
+                }
+                pageMem.putByte((byte) bits);
+            }
+            pageMem.putInt(0, (int) (pageMem.getAppendOffset() - Integer.BYTES));
+        }
+
+        // values, PLAIN encoded, nulls are skipped
+        long min = 0;
+        long max = 0;
+        boolean hasStats = false;
+        if (nullCount == 0 && writeValueBlock(columnType, rowLo, rowCount)) {
+            final long address = columnAddress + ((rowLo - columnTop) << ColumnType.pow2SizeOf(columnType));
+            switch (ColumnType.tagOf(columnType)) {
+                case ColumnType.INT:
+                    min = Vect.minInt(address, rowCount);
+                    max = Vect.maxInt(address, rowCount);
+                    break;
+                case ColumnType.DOUBLE:
+                    min = Double.doubleToRawLongBits(Vect.minDouble(address, rowCount));
+                    max = Double.doubleToRawLongBits(Vect.maxDouble(address, rowCount));
+                    break;
+                default:
+                    min = Vect.minLong(address, rowCount);
+                    max = Vect.maxLong(address, rowCount);
+                    break;
+            }
+            hasStats = true;
+        } else {
+            int bits = 0;
+            int bitCount = 0;
+            for (long row = rowLo; row < rowHi; row++) {
+                // the definition level bit of the row is clear for nulls
+                if (nullCount > 0 && (pageMem.getByte(defLevelsOffset + ((row - rowLo) >>> 3)) & (1 << ((row - rowLo) & 7))) == 0) {
+                    continue;
+                }
+                switch (ColumnType.tagOf(columnType)) {
+                    case ColumnType.BOOLEAN:
+                        if (getFixedValue(columnType, row) != 0) {
+                            bits |= 1 << bitCount;
+                        }
+                        if (++bitCount == 8) {
+                            pageMem.putByte((byte) bits);
+                            bits = 0;
+                            bitCount = 0;
+                        }
+                        break;
+                    case ColumnType.FLOAT: {
+                        final float value = Float.intBitsToFloat((int) getFixedValue(columnType, row));
+                        pageMem.putFloat(value);
+                        if (!hasStats || value < Float.intBitsToFloat((int) min)) {
+                            min = Float.floatToRawIntBits(value);
+                        }
+                        if (!hasStats || value > Float.intBitsToFloat((int) max)) {
+                            max = Float.floatToRawIntBits(value);
+                        }
+                        hasStats = true;
+                        break;
+                    }
+                    case ColumnType.DOUBLE: {
+                        final double value = Double.longBitsToDouble(getFixedValue(columnType, row));
+                        pageMem.putDouble(value);
+                        if (!hasStats || value < Double.longBitsToDouble(min)) {
+                            min = Double.doubleToRawLongBits(value);
+                        }
+                        if (!hasStats || value > Double.longBitsToDouble(max)) {
+                            max = Double.doubleToRawLongBits(value);
+                        }
+                        hasStats = true;
+                        break;
+                    }
+                    case ColumnType.SYMBOL:
+                        utf8Sink.clear();
+                        utf8Sink.put(symbolTable.valueOf((int) getFixedValue(columnType, row)));
+                        writeByteArray(utf8Sink);
+                        break;
+                    case ColumnType.STRING: {
+                        final long offset = Unsafe.getUnsafe().getLong(columnAuxAddress + ((row - columnTop) << 3));
+                        final int len = Unsafe.getUnsafe().getInt(columnAddress + offset);
+                        utf8Sink.clear();
+                        utf8Sink.put(directString.of(columnAddress + offset + Integer.BYTES, len));
+                        writeByteArray(utf8Sink);
+                        break;
+                    }
+                    case ColumnType.VARCHAR:
+                        writeByteArray(VarcharTypeDriver.getSplitValue(columnAuxAddress, columnAddress, row - columnTop, utf8SplitView));
+                        break;
+                    default: {
+                        final long value = getFixedValue(columnType, row);
+                        if (physicalType == TYPE_INT32) {
+                            pageMem.putInt((int) value);
+                        } else {
+                            pageMem.putLong(value);
+                        }
+                        if (!hasStats || value < min) {
+                            min = value;
+                        }
+                        if (!hasStats || value > max) {
+                            max = value;
+                        }
+                        hasStats = true;
+                        break;
+                    }
+                }
+            }
+            if (bitCount > 0) {
+                pageMem.putByte((byte) bits);
+            }
+        }
+
+        // page header goes in front of the page data
+        final long pageSize = pageMem.getAppendOffset();
+        if (pageSize > Integer.MAX_VALUE) {
+            throw CairoException.nonCritical().put("parquet page is too large, reduce row group size [path=").put(path)
+                    .put(", column=").put(metadata.getColumnName(columnIndex))
+                    .put(", rowCount=").put(rowCount)
+                    .put(", pageSize=").put(pageSize)
+                    .put(']');
+        }
+        thriftMem.truncate();
+        thrift.reset();
+        thrift.fieldI32(1, 0); // DATA_PAGE
+        thrift.fieldI32(2, (int) pageSize);
+        thrift.fieldI32(3, (int) pageSize);
+        thrift.fieldStructBegin(5);
+        thrift.fieldI32(1, (int) rowCount);
+        thrift.fieldI32(2, ENCODING_PLAIN);
+        thrift.fieldI32(3, ENCODING_RLE);
+        thrift.fieldI32(4, ENCODING_RLE);
+        thrift.structEnd();
+        thrift.structEnd();
+
+        final long dataPageOffset = fileOffset;
+        final long chunkSize = thriftMem.getAppendOffset() + pageSize;
+        writeMem(path, thriftMem);
+        writePageMem(path);
+
+        final int slot = chunks.size();
+        chunks.setPos(slot + CHUNK_SLOT_SIZE);
+        chunks.setQuick(slot + CHUNK_VALUE_COUNT, rowCount);
+        chunks.setQuick(slot + CHUNK_DATA_PAGE_OFFSET, dataPageOffset);
+        chunks.setQuick(slot + CHUNK_SIZE, chunkSize);
+        chunks.setQuick(slot + CHUNK_NULL_COUNT, nullCount);
+        chunks.setQuick(slot + CHUNK_HAS_STATS, hasStats ? 1 : 0);
+        chunks.setQuick(slot + CHUNK_MIN, min);
+        chunks.setQuick(slot + CHUNK_MAX, max);
+    }
+
+    private void writeByteArray(Utf8Sequence value) {
+        pageMem.putInt(value.size());
+        pageMem.putVarchar(value);
+    }
+
+    private void writeFooter(RecordMetadata metadata, long rowCount) {
+        final int columnCount = metadata.getColumnCount();
+        thriftMem.truncate();
+        thrift.reset();
+        thrift.fieldI32(1, 1);
+
+        thrift.fieldListBegin(2, ThriftCompactWriter.TYPE_STRUCT, columnCount + 1);
+        thrift.structBegin();
+        thrift.fieldString(4, "schema");
+        thrift.fieldI32(5, columnCount);
+        thrift.structEnd();
+        for (int i = 0; i < columnCount; i++) {
+            final int columnType = metadata.getColumnType(i);
+            thrift.structBegin();
+            thrift.fieldI32(1, getPhysicalType(columnType));
+            thrift.fieldI32(3, isRequired(columnType) ? REPETITION_REQUIRED : REPETITION_OPTIONAL);
+            thrift.fieldString(4, metadata.getColumnName(i));
+            final int convertedType = getConvertedType(columnType);
+            if (convertedType > -1) {
+                thrift.fieldI32(6, convertedType);
+            }
+            thrift.structEnd();
+        }
+
+        thrift.fieldI64(3, rowCount);
+
+        final int rowGroupCount = rowGroupSizes.size();
+        thrift.fieldListBegin(4, ThriftCompactWriter.TYPE_STRUCT, rowGroupCount);
+        for (int g = 0; g < rowGroupCount; g++) {
+            long rowGroupByteSize = 0;
+            thrift.structBegin();
+            thrift.fieldListBegin(1, ThriftCompactWriter.TYPE_STRUCT, columnCount);
+            for (int i = 0; i < columnCount; i++) {
+                final int slot = (g * columnCount + i) * CHUNK_SLOT_SIZE;
+                final int physicalType = getPhysicalType(metadata.getColumnType(i));
+                final long chunkSize = chunks.getQuick(slot + CHUNK_SIZE);
+                rowGroupByteSize += chunkSize;
+
+                thrift.structBegin();
+                thrift.fieldI64(2, chunks.getQuick(slot + CHUNK_DATA_PAGE_OFFSET));
+                thrift.fieldStructBegin(3);
+                thrift.fieldI32(1, physicalType);
+                thrift.fieldListBegin(2, ThriftCompactWriter.TYPE_I32, 2);
+                thrift.putI32(ENCODING_PLAIN);
+                thrift.putI32(ENCODING_RLE);
+                thrift.fieldListBegin(3, ThriftCompactWriter.TYPE_BINARY, 1);
+                thrift.putString(metadata.getColumnName(i));
+                thrift.fieldI32(4, 0); // UNCOMPRESSED
+                thrift.fieldI64(5, chunks.getQuick(slot + CHUNK_VALUE_COUNT));
+                thrift.fieldI64(6, chunkSize);
+                thrift.fieldI64(7, chunkSize);
+                thrift.fieldI64(9, chunks.getQuick(slot + CHUNK_DATA_PAGE_OFFSET));
+                thrift.fieldStructBegin(12);
+                thrift.fieldI64(3, chunks.getQuick(slot + CHUNK_NULL_COUNT));
+                if (chunks.getQuick(slot + CHUNK_HAS_STATS) == 1) {
+                    thrift.fieldBinaryBegin(5, physicalType == TYPE_INT64 || physicalType == TYPE_DOUBLE ? Long.BYTES : Integer.BYTES);
+                    putStatsValue(physicalType, chunks.getQuick(slot + CHUNK_MAX));
+                    thrift.fieldBinaryBegin(6, physicalType == TYPE_INT64 || physicalType == TYPE_DOUBLE ? Long.BYTES : Integer.BYTES);
+                    putStatsValue(physicalType, chunks.getQuick(slot + CHUNK_MIN));
+                }
+                thrift.structEnd();
+                thrift.structEnd();
+                thrift.structEnd();
+            }
+            thrift.fieldI64(2, rowGroupByteSize);
+            thrift.fieldI64(3, rowGroupSizes.getQuick(g));
+            thrift.structEnd();
+        }
+
+        thrift.fieldString(6, "QuestDB");
+        thrift.structEnd();
+    }
+
+    private void writeMem(Path path, MemoryCARW mem) {
+        final long len = mem.getAppendOffset();
+        if (ff.write(fd, mem.getAddress(), len, fileOffset) != len) {
+            throw CairoException.critical(ff.errno()).put("could not write parquet file [path=").put(path).put(']');
+        }
+        fileOffset += len;
+    }
+
+    private void writePageMem(Path path) {
+        writeMem(path, pageMem);
+    }
+
+    // copies values of the column as a single block when their PLAIN encoding matches the column file
+    private boolean writeValueBlock(int columnType, long rowLo, long rowCount) {
+        switch (ColumnType.tagOf(columnType)) {
+            case ColumnType.INT:
+            case ColumnType.LONG:
+            case ColumnType.DATE:
+            case ColumnType.TIMESTAMP:
+            case ColumnType.DOUBLE: {
+                final int shift = ColumnType.pow2SizeOf(columnType);
+                pageMem.putBlockOfBytes(columnAddress + ((rowLo - columnTop) << shift), rowCount << shift);
+                return true;
+            }
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Minimal Thrift compact protocol writer, sufficient for Parquet page headers and file metadata.
+     */
+    private static class ThriftCompactWriter {
+        static final int TYPE_BINARY = 8;
+        static final int TYPE_I32 = 5;
+        static final int TYPE_I64 = 6;
+        static final int TYPE_LIST = 9;
+        static final int TYPE_STRUCT = 12;
+        private final IntStack lastFieldIds = new IntStack();
+        private final MemoryCARW mem;
+        private final Utf8StringSink utf8Sink = new Utf8StringSink();
+        private int lastFieldId;
+
+        ThriftCompactWriter(MemoryCARW mem) {
+            this.mem = mem;
+        }
+
+        static void putVarint(MemoryCARW mem, long value) {
+            while ((value & ~0x7FL) != 0) {
+                mem.putByte((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            mem.putByte((byte) value);
+        }
+
+        void fieldBinaryBegin(int id, int len) {
+            fieldBegin(id, TYPE_BINARY);
+            putVarint(mem, len);
+        }
+
+        void fieldI32(int id, int value) {
+            fieldBegin(id, TYPE_I32);
+            putI32(value);
+        }
+
+        void fieldI64(int id, long value) {
+            fieldBegin(id, TYPE_I64);
+            putVarint(mem, (value << 1) ^ (value >> 63));
+        }
+
+        void fieldListBegin(int id, int elementType, int size) {
+            fieldBegin(id, TYPE_LIST);
+            if (size < 15) {
+                mem.putByte((byte) ((size << 4) | elementType));
+            } else {
+                mem.putByte((byte) (0xF0 | elementType));
+                putVarint(mem, size);
+            }
+        }
+
+        void fieldString(int id, CharSequence value) {
+            fieldBegin(id, TYPE_BINARY);
+            putString(value);
+        }
+
+        void fieldStructBegin(int id) {
+            fieldBegin(id, TYPE_STRUCT);
+            structBegin();
+        }
+
+        void putI32(int value) {
+            putVarint(mem, ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+        }
+
+        void putString(CharSequence value) {
+            utf8Sink.clear();
+            utf8Sink.put(value);
+            putVarint(mem, utf8Sink.size());
+            mem.putVarchar(utf8Sink);
+        }
+
+        void reset() {
+            lastFieldIds.clear();
+            lastFieldId = 0;
+        }
+
+        void structBegin() {
+            lastFieldIds.push(lastFieldId);
+            lastFieldId = 0;
+        }
+
+        void structEnd() {
+            mem.putByte((byte) 0);
+            lastFieldId = lastFieldIds.size() > 0 ? lastFieldIds.pop() : 0;
+        }
+
+        private void fieldBegin(int id, int type) {
+            final int delta = id - lastFieldId;
+            if (delta > 0 && delta < 16) {
+                mem.putByte((byte) ((delta << 4) | type));
+            } else {
+                mem.putByte((byte) type);
+                putVarint(mem, ((id << 1) ^ (id >> 31)) & 0xFFFFFFFFL);
+            }
+            lastFieldId = id;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.cairo;
+
+import io.questdb.cairo.vm.api.MemoryR;
+import io.questdb.std.*;
+import io.questdb.std.str.Utf8Sequence;
+import io.questdb.std.str.Utf8s;
+
+/**
+ * Bloom filter of the non-null values of a single column in a single partition,
+ * kept in the partition directory as {@code <column>.bf[.<columnNameTxn>]}. It
+ * answers whether a partition may contain a value without touching the column
+ * data, which pays off for high cardinality columns where zone maps can't help.
+ * <p>
+ * The filter is sized at {@link #BITS_PER_ROW} bits per row, which keeps the
+ * false positive rate around 1% with {@link #HASH_COUNT} probes. It is built on
+ * first use, see {@link PartitionSidecarFile}.
+ */
+public class PartitionBloomFilter implements QuietCloseable {
+    private static final int BITS_PER_ROW = 10;
+    private static final int HASH_COUNT = 7;
+    private static final long MAGIC = 0x3246424244515351L;
+    private static final long MAX_BIT_COUNT = 1L << 31;
+    private static final long MIN_BIT_COUNT = 64;
+    private final PartitionSidecarFile file;
+    private long bitCount;
+    private long bitsAddr;
+
+    public PartitionBloomFilter(CairoConfiguration configuration) {
+        this.file = new PartitionSidecarFile(configuration, TableUtils.FILE_SUFFIX_BF, MAGIC);
+    }
+
+    public static long hashOf(long value) {
+        return Hash.hashLong64(value);
+    }
+
+    public static long hashOf(long lo, long hi) {
+        return Hash.hashLong128_64(lo, hi);
+    }
+
+    public static long hashOf(Utf8Sequence value) {
+        return Hash.hashLong64(Utf8s.hashCode(value));
+    }
+
+    public static boolean isSupported(int columnType) {
+        switch (ColumnType.tagOf(columnType)) {
+            case ColumnType.LONG:
+            case ColumnType.UUID:
+            case ColumnType.VARCHAR:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        Misc.free(file);
+        bitsAddr = 0;
+        bitCount = 0;
+    }
+
+    /**
+     * Checks the loaded filter for the value hash.
+     *
+     * @param hash value hash, see the hashOf() methods
+     * @return false when the partition definitely does not contain the value
+     */
+    public boolean mayContain(long hash) {
+        return mayContain(bitsAddr, bitCount - 1, hash);
+    }
+
+    /**
+     * Maps the filter of the given column in the given partition, building and
+     * persisting it when the file is missing or stale. The partition must be open.
+     *
+     * @param reader         table reader with the partition open
+     * @param partitionIndex partition index
+     * @param columnIndex    reader column index, the column type must be supported
+     * @return false when the filter is not available, the partition must then be scanned
+     */
+    public boolean of(TableReader reader, int partitionIndex, int columnIndex) {
+        assert isSupported(reader.getMetadata().getColumnType(columnIndex));
+        bitsAddr = 0;
+        bitCount = 0;
+        file.of(reader, partitionIndex, columnIndex);
+        if (!file.mapOrBuild(PartitionBloomFilter::build)) {
+            return false;
+        }
+        final long bits = file.getPayloadSize() * Byte.SIZE;
+        if (bits < MIN_BIT_COUNT || Long.bitCount(bits) != 1) {
+            return false;
+        }
+        bitsAddr = file.getPayloadAddress();
+        bitCount = bits;
+        return true;
+    }
+
+    private static boolean build(PartitionSidecarFile file) {
+        final MemoryR colMem = file.getColumnMem();
+        final MemoryR auxMem = file.getAuxMem();
+        final int columnType = file.getColumnType();
+        final long count = file.getRowCount() - file.getColumnTop();
+        final long bits = Math.min(Numbers.ceilPow2(Math.max(count * BITS_PER_ROW, MIN_BIT_COUNT)), MAX_BIT_COUNT);
+        final long size = PartitionSidecarFile.HEADER_SIZE + bits / Byte.SIZE;
+        final long bufAddr = Unsafe.malloc(size, MemoryTag.NATIVE_DEFAULT);
+        try {
+            Vect.memset(bufAddr, size, 0);
+            final long bitsAddr = bufAddr + PartitionSidecarFile.HEADER_SIZE;
+            final long mask = bits - 1;
+            if (count > 0) {
+                final long address = colMem.getPageAddress(0);
+                for (long r = 0; r < count; r++) {
+                    switch (ColumnType.tagOf(columnType)) {
+                        case ColumnType.LONG:
+                            final long value = Unsafe.getUnsafe().getLong(address + r * Long.BYTES);
+                            if (value != Numbers.LONG_NULL) {
+                                put(bitsAddr, mask, hashOf(value));
+                            }
+                            break;
+                        case ColumnType.UUID:
+                            final long lo = Unsafe.getUnsafe().getLong(address + r * Long128.BYTES);
+                            final long hi = Unsafe.getUnsafe().getLong(address + r * Long128.BYTES + Long.BYTES);
+                            if (!Uuid.isNull(lo, hi)) {
+                                put(bitsAddr, mask, hashOf(lo, hi));
+                            }
+                            break;
+                        default:
+                            final Utf8Sequence varchar = VarcharTypeDriver.getSplitValue(auxMem, colMem, r, 1);
+                            if (varchar != null) {
+                                put(bitsAddr, mask, hashOf(varchar));
+                            }
+                            break;
+                    }
+                }
+            }
+            return file.store(bufAddr, size);
+        } finally {
+            Unsafe.free(bufAddr, size, MemoryTag.NATIVE_DEFAULT);
+        }
+    }
+
+    private static boolean mayContain(long bitsAddr, long mask, long hash) {
+        // double hashing, probes are derived from the two halves of the 64-bit hash
+        final long h1 = hash & 0xffffffffL;
+        final long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            final long bit = (h1 + i * h2) & mask;
+            if ((Unsafe.getUnsafe().getLong(bitsAddr + (bit >>> 6) * Long.BYTES) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void put(long bitsAddr, long mask, long hash) {
+        final long h1 = hash & 0xffffffffL;
+        final long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            final long bit = (h1 + i * h2) & mask;
+            final long addr = bitsAddr + (bit >>> 6) * Long.BYTES;
+            Unsafe.getUnsafe().putLong(addr, Unsafe.getUnsafe().getLong(addr) | (1L << bit));
+        }
+    }
+}
@@ -0,0 +1,271 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.cairo;
+
+import io.questdb.cairo.vm.NullMemoryMR;
+import io.questdb.cairo.vm.Vm;
+import io.questdb.cairo.vm.api.MemoryCMR;
+import io.questdb.cairo.vm.api.MemoryR;
+import io.questdb.log.Log;
+import io.questdb.log.LogFactory;
+import io.questdb.std.*;
+import io.questdb.std.str.Path;
+
+/**
+ * File derived from a single column in a single partition, such as a zone map, Bloom
+ * filter or sorted index, kept in the partition directory as
+ * {@code <column><suffix>[.<columnNameTxn>]}. The file starts with a header of the
+ * partition row count, column top, writer index and column type it was built from,
+ * followed by the payload. It is trusted only while the header still matches the reader.
+ * <p>
+ * Files are built on first use and published with a rename, concurrent readers never
+ * map a partial file. At most one thread of the process builds a given file at a time,
+ * other threads proceed without the file rather than wait for it.
+ */
+public class PartitionSidecarFile implements QuietCloseable {
+    public static final int HEADER_SIZE = 8 * Long.BYTES;
+    private static final Log LOG = LogFactory.getLog(PartitionSidecarFile.class);
+    private static final int OFFSET_CHECKSUM = 7 * Long.BYTES;
+    private static final int OFFSET_COLUMN_TOP = 2 * Long.BYTES;
+    private static final int OFFSET_COLUMN_TYPE = 4 * Long.BYTES;
+    private static final int OFFSET_MAGIC = 0;
+    private static final int OFFSET_PAYLOAD_SIZE = 5 * Long.BYTES;
+    private static final int OFFSET_ROW_COUNT = Long.BYTES;
+    private static final int OFFSET_WRITER_INDEX = 3 * Long.BYTES;
+    // paths of the files being built by this process
+    private static final ConcurrentHashMap<Boolean> building = new ConcurrentHashMap<>();
+    private final FilesFacade ff;
+    private final String fileSuffix;
+    private final long magic;
+    private final MemoryCMR mem = Vm.getCMRInstance();
+    private final Path path = new Path();
+    private final CharSequence root;
+    private final Path tmpPath = new Path();
+    private MemoryR auxMem;
+    private MemoryR colMem;
+    private long columnTop;
+    private int columnType;
+    private long rowCount;
+    private int writerIndex;
+
+    public PartitionSidecarFile(CairoConfiguration configuration, String fileSuffix, long magic) {
+        this.ff = configuration.getFilesFacade();
+        this.root = configuration.getRoot();
+        this.fileSuffix = fileSuffix;
+        this.magic = magic;
+    }
+
+    @Override
+    public void close() {
+        mem.close();
+        Misc.free(path);
+        Misc.free(tmpPath);
+        colMem = null;
+        auxMem = null;
+    }
+
+    /**
+     * @return aux memory of the column, only meaningful for var-size columns
+     */
+    public MemoryR getAuxMem() {
+        return auxMem;
+    }
+
+    public MemoryR getColumnMem() {
+        return colMem;
+    }
+
+    public long getColumnTop() {
+        return columnTop;
+    }
+
+    public int getColumnType() {
+        return columnType;
+    }
+
+    public long getPayloadAddress() {
+        return mem.addressOf(HEADER_SIZE);
+    }
+
+    public long getPayloadSize() {
+        return mem.size() - HEADER_SIZE;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Maps the file, building it first when it is missing or stale.
+     *
+     * @param builder computes the payload and calls {@link #store(long, long)}
+     * @return false when the file is being built by another thread or could not be built
+     */
+    public boolean mapOrBuild(Builder builder) {
+        if (map()) {
+            return true;
+        }
+        final String key = path.toString();
+        if (building.putIfAbsent(key, Boolean.TRUE) != null) {
+            return false;
+        }
+        try {
+            // the file may have been published before the claim was taken
+            return map() || (builder.build(this) && map());
+        } finally {
+            building.remove(key);
+        }
+    }
+
+    /**
+     * Points at the file of the given column in the given partition and unmaps the
+     * previous file. The partition must be open.
+     *
+     * @param reader         table reader with the partition open
+     * @param partitionIndex partition index
+     * @param columnIndex    reader column index
+     */
+    public void of(TableReader reader, int partitionIndex, int columnIndex) {
+        mem.close();
+        final TableReaderMetadata metadata = reader.getMetadata();
+        final long partitionTimestamp = reader.getPartitionTimestampByIndex(partitionIndex);
+        final int base = reader.getColumnBase(partitionIndex);
+        final int primaryIndex = TableReader.getPrimaryColumnIndex(base, columnIndex);
+        columnType = metadata.getColumnType(columnIndex);
+        writerIndex = metadata.getWriterIndex(columnIndex);
+        rowCount = reader.getPartitionRowCount(partitionIndex);
+        colMem = reader.getColumn(primaryIndex);
+        auxMem = reader.getColumn(primaryIndex + 1);
+        columnTop = colMem instanceof NullMemoryMR ? rowCount : Math.min(reader.getColumnTop(base, columnIndex), rowCount);
+
+        path.of(root).concat(reader.getTableToken().getDirName());
+        TableUtils.setPathForPartition(path, reader.getPartitionedBy(), partitionTimestamp, reader.getTxFile().getPartitionNameTxn(partitionIndex));
+        path.concat(metadata.getColumnName(columnIndex)).put(fileSuffix);
+        final long columnNameTxn = reader.getColumnVersionReader().getColumnNameTxn(partitionTimestamp, writerIndex);
+        if (columnNameTxn > TableUtils.COLUMN_NAME_TXN_NONE) {
+            path.put('.').put(columnNameTxn);
+        }
+    }
+
+    /**
+     * Writes the header into the buffer and persists it.
+     *
+     * @param addr buffer address, the payload starts at {@link #HEADER_SIZE}
+     * @param size buffer size, including the header
+     * @return false when the file could not be written
+     */
+    public boolean store(long addr, long size) {
+        Unsafe.getUnsafe().putLong(addr + OFFSET_MAGIC, magic);
+        Unsafe.getUnsafe().putLong(addr + OFFSET_ROW_COUNT, rowCount);
+        Unsafe.getUnsafe().putLong(addr + OFFSET_COLUMN_TOP, columnTop);
+        Unsafe.getUnsafe().putLong(addr + OFFSET_WRITER_INDEX, writerIndex);
+        Unsafe.getUnsafe().putLong(addr + OFFSET_COLUMN_TYPE, columnType);
+        Unsafe.getUnsafe().putLong(addr + OFFSET_PAYLOAD_SIZE, size - HEADER_SIZE);
+        Unsafe.getUnsafe().putLong(addr + 6 * Long.BYTES, 0);
+        Unsafe.getUnsafe().putLong(addr + OFFSET_CHECKSUM, checksum(addr));
+
+        // the builder holds the claim on the file, the temporary name can't clash
+        tmpPath.of(path).put(".tmp").$();
+        final int fd = ff.openRW(tmpPath.$(), CairoConfiguration.O_NONE);
+        if (fd < 0) {
+            LOG.debug().$("could not open partition file [path=").$(tmpPath).$(", errno=").$(ff.errno()).I$();
+            return false;
+        }
+        boolean written = true;
+        try {
+            long offset = 0;
+            while (offset < size) {
+                final long n = ff.write(fd, addr + offset, size - offset, offset);
+                if (n <= 0) {
+                    written = false;
+                    break;
+                }
+                offset += n;
+            }
+            // a leftover of an interrupted build may be longer
+            written = written && ff.truncate(fd, size);
+            if (!written) {
+                LOG.debug().$("could not write partition file [path=").$(tmpPath).$(", errno=").$(ff.errno()).I$();
+            }
+        } finally {
+            ff.close(fd);
+        }
+        if (written && ff.rename(tmpPath.$(), path.$()) == Files.FILES_RENAME_OK) {
+            LOG.info().$("built partition file [path=").$(path).$(", size=").$(size).I$();
+            return true;
+        }
+        ff.removeQuiet(tmpPath.$());
+        return false;
+    }
+
+    private static long checksum(long addr) {
+        long checksum = 0;
+        for (int offset = 0; offset < OFFSET_CHECKSUM; offset += Long.BYTES) {
+            checksum = Long.rotateLeft(checksum, 7) ^ Unsafe.getUnsafe().getLong(addr + offset);
+        }
+        return checksum;
+    }
+
+    private boolean map() {
+        mem.close();
+        if (!ff.exists(path.$())) {
+            return false;
+        }
+        try {
+            mem.wholeFile(ff, path.$(), MemoryTag.MMAP_INDEX_READER);
+        } catch (CairoException e) {
+            LOG.debug().$("could not map partition file [path=").$(path).$(", msg=").$(e.getFlyweightMessage()).I$();
+            return false;
+        }
+        final long size = mem.size();
+        if (size < HEADER_SIZE) {
+            mem.close();
+            return false;
+        }
+        final long addr = mem.addressOf(0);
+        if (Unsafe.getUnsafe().getLong(addr + OFFSET_MAGIC) != magic
+                || Unsafe.getUnsafe().getLong(addr + OFFSET_ROW_COUNT) != rowCount
+                || Unsafe.getUnsafe().getLong(addr + OFFSET_COLUMN_TOP) != columnTop
+                || Unsafe.getUnsafe().getLong(addr + OFFSET_WRITER_INDEX) != writerIndex
+                || Unsafe.getUnsafe().getLong(addr + OFFSET_COLUMN_TYPE) != columnType
+                || Unsafe.getUnsafe().getLong(addr + OFFSET_PAYLOAD_SIZE) != size - HEADER_SIZE
+                || Unsafe.getUnsafe().getLong(addr + OFFSET_CHECKSUM) != checksum(addr)) {
+            mem.close();
+            return false;
+        }
+        return true;
+    }
+
+    @FunctionalInterface
+    public interface Builder {
+        /**
+         * Computes the payload of the file and persists it with {@link #store(long, long)}.
+         *
+         * @param file file to build, points at the partition column
+         * @return false when the file could not be stored
+         */
+        boolean build(PartitionSidecarFile file);
+    }
+}
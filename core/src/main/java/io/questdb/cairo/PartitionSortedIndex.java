@@ -0,0 +1,210 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.cairo;
+
+import io.questdb.cairo.vm.api.MemoryR;
+import io.questdb.std.*;
+import io.questdb.std.str.Utf8Sequence;
+import io.questdb.std.str.Utf8s;
+
+/**
+ * Sorted secondary index of a single column in a single partition, kept in the
+ * partition directory as {@code <column>.si[.<columnNameTxn>]}. Only columns enabled
+ * with {@code ALTER TABLE t ALTER COLUMN c ADD SORTED INDEX} are indexed. The file holds
+ * (key, row) pairs ordered by key and then by row, nulls are not indexed.
+ * <p>
+ * INT and LONG values are their own keys. UUID and VARCHAR values are hashed, so
+ * lookups on them may return rows with a different value and the caller must
+ * re-check the predicate.
+ * <p>
+ * The index is built on first use, see {@link PartitionSidecarFile}.
+ */
+public class PartitionSortedIndex implements QuietCloseable {
+    private static final int ENTRY_SIZE = 2 * Long.BYTES;
+    private static final long MAGIC = 0x3249534244515351L;
+    private final PartitionSidecarFile file;
+    private long entriesAddr;
+    private long entryCount;
+
+    public PartitionSortedIndex(CairoConfiguration configuration) {
+        this.file = new PartitionSidecarFile(configuration, TableUtils.FILE_SUFFIX_SI, MAGIC);
+    }
+
+    public static boolean isSupported(int columnType) {
+        switch (ColumnType.tagOf(columnType)) {
+            case ColumnType.INT:
+            case ColumnType.LONG:
+            case ColumnType.UUID:
+            case ColumnType.VARCHAR:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    public static long keyOf(long lo, long hi) {
+        return Hash.hashLong128_64(lo, hi);
+    }
+
+    public static long keyOf(Utf8Sequence value) {
+        return Utf8s.hashCode(value);
+    }
+
+    @Override
+    public void close() {
+        Misc.free(file);
+        entriesAddr = 0;
+        entryCount = 0;
+    }
+
+    /**
+     * Finds the first entry with key greater than or equal to the given key.
+     *
+     * @param key key to look up
+     * @return entry index, equal to entry count when all keys are smaller
+     */
+    public long findFirst(long key) {
+        long lo = 0;
+        long hi = entryCount;
+        while (lo < hi) {
+            final long mid = (lo + hi) >>> 1;
+            if (getKey(mid) < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    public long getKey(long entry) {
+        return Unsafe.getUnsafe().getLong(entriesAddr + entry * ENTRY_SIZE) ^ Long.MIN_VALUE;
+    }
+
+    public long getRow(long entry) {
+        return Unsafe.getUnsafe().getLong(entriesAddr + entry * ENTRY_SIZE + Long.BYTES);
+    }
+
+    /**
+     * Maps the index of the given column in the given partition, building and
+     * persisting it when the file is missing or stale. The partition must be open.
+     *
+     * @param reader         table reader with the partition open
+     * @param partitionIndex partition index
+     * @param columnIndex    reader column index, the column type must be supported
+     * @return false when the index is not available, the partition must then be scanned
+     */
+    public boolean of(TableReader reader, int partitionIndex, int columnIndex) {
+        assert isSupported(reader.getMetadata().getColumnType(columnIndex));
+        entriesAddr = 0;
+        entryCount = 0;
+        file.of(reader, partitionIndex, columnIndex);
+        if (!file.mapOrBuild(PartitionSortedIndex::build)) {
+            return false;
+        }
+        final long size = file.getPayloadSize();
+        if (size % ENTRY_SIZE != 0) {
+            return false;
+        }
+        entriesAddr = file.getPayloadAddress();
+        entryCount = size / ENTRY_SIZE;
+        return true;
+    }
+
+    private static boolean build(PartitionSidecarFile file) {
+        final MemoryR colMem = file.getColumnMem();
+        final MemoryR auxMem = file.getAuxMem();
+        final int columnType = file.getColumnType();
+        final long columnTop = file.getColumnTop();
+        final long count = file.getRowCount() - columnTop;
+        final long capacity = PartitionSidecarFile.HEADER_SIZE + Math.max(count, 0) * ENTRY_SIZE;
+        final long bufAddr = Unsafe.malloc(capacity, MemoryTag.NATIVE_DEFAULT);
+        long cpyAddr = 0;
+        long cpySize = 0;
+        try {
+            long n = 0;
+            long p = bufAddr + PartitionSidecarFile.HEADER_SIZE;
+            if (count > 0) {
+                final long address = colMem.getPageAddress(0);
+                for (long r = 0; r < count; r++) {
+                    final long key;
+                    switch (ColumnType.tagOf(columnType)) {
+                        case ColumnType.INT:
+                            final int i = Unsafe.getUnsafe().getInt(address + r * Integer.BYTES);
+                            if (i == Numbers.INT_NULL) {
+                                continue;
+                            }
+                            key = i;
+                            break;
+                        case ColumnType.LONG:
+                            key = Unsafe.getUnsafe().getLong(address + r * Long.BYTES);
+                            if (key == Numbers.LONG_NULL) {
+                                continue;
+                            }
+                            break;
+                        case ColumnType.UUID:
+                            final long lo = Unsafe.getUnsafe().getLong(address + r * Long128.BYTES);
+                            final long hi = Unsafe.getUnsafe().getLong(address + r * Long128.BYTES + Long.BYTES);
+                            if (Uuid.isNull(lo, hi)) {
+                                continue;
+                            }
+                            key = keyOf(lo, hi);
+                            break;
+                        default:
+                            final Utf8Sequence value = VarcharTypeDriver.getSplitValue(auxMem, colMem, r, 1);
+                            if (value == null) {
+                                continue;
+                            }
+                            key = keyOf(value);
+                            break;
+                    }
+                    // flip the sign bit, radix sort orders keys as unsigned
+                    Unsafe.getUnsafe().putLong(p, key ^ Long.MIN_VALUE);
+                    Unsafe.getUnsafe().putLong(p + Long.BYTES, r + columnTop);
+                    p += ENTRY_SIZE;
+                    n++;
+                }
+            }
+
+            if (n > 1) {
+                // radix sort is stable, rows of the same key remain in ascending order
+                cpySize = n * ENTRY_SIZE;
+                cpyAddr = Unsafe.malloc(cpySize, MemoryTag.NATIVE_DEFAULT);
+                Vect.radixSortLongIndexAscInPlace(bufAddr + PartitionSidecarFile.HEADER_SIZE, n, cpyAddr);
+            }
+
+            return file.store(bufAddr, PartitionSidecarFile.HEADER_SIZE + n * ENTRY_SIZE);
+        } finally {
+            Unsafe.free(bufAddr, capacity, MemoryTag.NATIVE_DEFAULT);
+            if (cpyAddr != 0) {
+                Unsafe.free(cpyAddr, cpySize, MemoryTag.NATIVE_DEFAULT);
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.cairo;
+
+import io.questdb.log.Log;
+import io.questdb.log.LogFactory;
+import io.questdb.mp.SynchronizedJob;
+import io.questdb.std.FilesFacade;
+import io.questdb.std.LongList;
+import io.questdb.std.Misc;
+import io.questdb.std.ObjHashSet;
+import io.questdb.std.Os;
+import io.questdb.std.datetime.microtime.MicrosecondClock;
+import io.questdb.std.str.Path;
+import io.questdb.std.str.Utf8s;
+
+import java.io.Closeable;
+
+/**
+ * Moves partitions older than {@link CairoConfiguration#getPartitionTieringAge()} to the volume
+ * configured as {@link CairoConfiguration#getPartitionTieringVolume()}.
+ * <p>
+ * Partitions are copied to {@code <volume>/<table dir>/<partition dir>} under a table reader,
+ * which keeps the copied versions from being purged. The writer is taken only to swap the
+ * copies in, see {@link TableWriter#movePartitionToVolume(long, long, long, long, long, Path)}.
+ * Copies of partitions that changed in the meantime are discarded, as are all copies when
+ * the writer is busy, they are retried on the next run.
+ * <p>
+ * Age is measured back from the earlier of the wall clock and the table's max timestamp,
+ * the last partition is never moved. Tables created in the tiering volume are skipped.
+ */
+public class PartitionTieringJob extends SynchronizedJob implements Closeable {
+    private static final Log LOG = LogFactory.getLog(PartitionTieringJob.class);
+    private final long age;
+    private final long checkInterval;
+    private final MicrosecondClock clock;
+    private final CairoConfiguration configuration;
+    private final CairoEngine engine;
+    private final FilesFacade ff;
+    // (partition timestamp, partition name txn, partition size) of the copied partitions
+    private final LongList partitions = new LongList();
+    private final Path path = new Path();
+    private final ObjHashSet<TableToken> tableTokenBucket = new ObjHashSet<>();
+    private final Path volume = new Path();
+    private long last = 0;
+
+    public PartitionTieringJob(CairoEngine engine) {
+        this.engine = engine;
+        this.configuration = engine.getConfiguration();
+        this.ff = configuration.getFilesFacade();
+        this.clock = configuration.getMicrosecondClock();
+        this.age = configuration.getPartitionTieringAge() * 1000;
+        this.checkInterval = configuration.getPartitionTieringCheckInterval() * 1000;
+    }
+
+    @Override
+    public void close() {
+        Misc.free(path);
+        Misc.free(volume);
+    }
+
+    /**
+     * Checks all tables and moves their cold partitions, regardless of the check interval.
+     */
+    public void moveColdPartitions() {
+        final CharSequence volumePath = TableUtils.getPartitionTieringVolumePath(configuration);
+        if (volumePath == null) {
+            if (configuration.getPartitionTieringVolume() != null) {
+                LOG.error().$("unknown partition tiering volume [alias=").$(configuration.getPartitionTieringVolume()).I$();
+            }
+            return;
+        }
+
+        tableTokenBucket.clear();
+        engine.getTableTokens(tableTokenBucket, false);
+        for (int i = 0, n = tableTokenBucket.size(); i < n; i++) {
+            final TableToken tableToken = tableTokenBucket.get(i);
+            try {
+                moveColdPartitions(tableToken, volumePath);
+            } catch (CairoException e) {
+                // the table may be busy or dropped, it will be checked again on the next run
+                LOG.info().$("could not move cold partitions [table=").$(tableToken)
+                        .$(", msg=").$(e.getFlyweightMessage())
+                        .I$();
+            }
+        }
+    }
+
+    private boolean copyPartition(TableToken tableToken, int partitionBy, long partitionTimestamp, long partitionNameTxn, CharSequence volumePath) {
+        path.of(configuration.getRoot()).concat(tableToken.getDirName());
+        TableUtils.setPathForPartition(path, partitionBy, partitionTimestamp, partitionNameTxn);
+        if (ff.isSoftLink(path.$())) {
+            return false;
+        }
+        setCopyPath(tableToken, partitionBy, partitionTimestamp, partitionNameTxn, volumePath);
+        final int volumeLen = volume.size();
+        // a copy left behind by an interrupted run
+        ff.rmdir(volume.slash$());
+        volume.trimTo(volumeLen);
+        try {
+            TableUtils.createDirsOrFail(ff, volume.slash$(), configuration.getMkDirMode());
+            volume.trimTo(volumeLen);
+            if (ff.copyRecursive(path, volume, configuration.getMkDirMode()) != 0) {
+                throw CairoException.critical(ff.errno()).put("could not copy partition [from=").put(path).put(", to=").put(volume).put(']');
+            }
+            if (configuration.getCommitMode() != CommitMode.NOSYNC) {
+                TableUtils.fsyncDirRecursive(ff, volume);
+            }
+        } catch (Throwable th) {
+            ff.rmdir(volume.trimTo(volumeLen).slash$());
+            throw th;
+        }
+        return true;
+    }
+
+    private boolean isInTieringVolume(TableToken tableToken, CharSequence volumePath) {
+        path.of(configuration.getRoot()).concat(tableToken.getDirName());
+        return ff.isSoftLink(path.$()) && ff.readLink(path, volume) && TableUtils.isInVolume(Utf8s.toString(volume), volumePath);
+    }
+
+    private void moveColdPartitions(TableToken tableToken, CharSequence volumePath) {
+        // the partitions of a table created in the volume are there already
+        if (isInTieringVolume(tableToken, volumePath)) {
+            return;
+        }
+
+        partitions.clear();
+        final int partitionBy;
+        final long metadataVersion;
+        final long columnVersion;
+        try (TableReader reader = engine.getReader(tableToken)) {
+            partitionBy = reader.getPartitionedBy();
+            if (!PartitionBy.isPartitioned(partitionBy) || reader.getPartitionCount() < 2) {
+                return;
+            }
+
+            final long cutoff = Math.min(clock.getTicks(), reader.getMaxTimestamp()) - age;
+            final PartitionBy.PartitionCeilMethod ceilMethod = PartitionBy.getPartitionCeilMethod(partitionBy);
+            final TxReader txFile = reader.getTxFile();
+            metadataVersion = txFile.getMetadataVersion();
+            columnVersion = txFile.getColumnVersion();
+            try {
+                for (int i = 0, n = reader.getPartitionCount() - 1; i < n; i++) {
+                    final long partitionTimestamp = reader.getPartitionTimestampByIndex(i);
+                    if (ceilMethod.ceil(partitionTimestamp) > cutoff) {
+                        break;
+                    }
+                    if (txFile.isPartitionReadOnly(i)) {
+                        continue;
+                    }
+                    final long partitionNameTxn = txFile.getPartitionNameTxn(i);
+                    if (copyPartition(tableToken, partitionBy, partitionTimestamp, partitionNameTxn, volumePath)) {
+                        partitions.add(partitionTimestamp, partitionNameTxn);
+                        partitions.add(txFile.getPartitionSize(i));
+                    }
+                }
+            } catch (Throwable th) {
+                removeCopies(tableToken, partitionBy, volumePath, 0);
+                throw th;
+            }
+        }
+
+        int i = 0;
+        try (TableWriter writer = engine.getWriter(tableToken, "partitionTiering")) {
+            for (int n = partitions.size(); i < n; i += 3) {
+                final long partitionTimestamp = partitions.getQuick(i);
+                final long partitionNameTxn = partitions.getQuick(i + 1);
+                setCopyPath(tableToken, partitionBy, partitionTimestamp, partitionNameTxn, volumePath);
+                if (writer.movePartitionToVolume(partitionTimestamp, partitionNameTxn, partitions.getQuick(i + 2), metadataVersion, columnVersion, volume)) {
+                    LOG.info().$("moved cold partition [table=").$(tableToken)
+                            .$(", partition=").$ts(partitionTimestamp)
+                            .I$();
+                } else {
+                    LOG.info().$("partition changed while being moved [table=").$(tableToken)
+                            .$(", partition=").$ts(partitionTimestamp)
+                            .I$();
+                    ff.rmdir(volume.slash$());
+                }
+            }
+        } finally {
+            removeCopies(tableToken, partitionBy, volumePath, i);
+        }
+    }
+
+    private void removeCopies(TableToken tableToken, int partitionBy, CharSequence volumePath, int lo) {
+        for (int i = lo, n = partitions.size(); i < n; i += 3) {
+            setCopyPath(tableToken, partitionBy, partitions.getQuick(i), partitions.getQuick(i + 1), volumePath);
+            ff.rmdir(volume.slash$());
+        }
+    }
+
+    private void setCopyPath(TableToken tableToken, int partitionBy, long partitionTimestamp, long partitionNameTxn, CharSequence volumePath) {
+        volume.of(volumePath).concat(tableToken.getDirName());
+        TableUtils.setPathForPartition(volume, partitionBy, partitionTimestamp, partitionNameTxn);
+        volume.$();
+    }
+
+    @Override
+    protected boolean runSerially() {
+        final long t = clock.getTicks();
+        if (last + checkInterval < t) {
+            last = t;
+            // partitions are moved behind soft links, which are not supported on Windows
+            if (!Os.isWindows()) {
+                moveColdPartitions();
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.cairo;
+
+import io.questdb.griffin.SqlException;
+import io.questdb.griffin.SqlExecutionContextImpl;
+import io.questdb.log.Log;
+import io.questdb.log.LogFactory;
+import io.questdb.mp.SynchronizedJob;
+import io.questdb.std.FilesFacade;
+import io.questdb.std.Misc;
+import io.questdb.std.ObjHashSet;
+import io.questdb.std.datetime.microtime.MicrosecondClock;
+import io.questdb.std.str.Path;
+import io.questdb.std.str.StringSink;
+
+import java.io.Closeable;
+
+/**
+ * Drops partitions of tables created or altered with a TTL, e.g. {@code WITH ttl=30d}.
+ * <p>
+ * A partition expires once its upper bound is older than the TTL, measured back from the
+ * earlier of the wall clock and the table's max timestamp, so that a table with a stale
+ * feed does not lose all of its data. The last partition is therefore never dropped.
+ * <p>
+ * Partitions are dropped with {@code ALTER TABLE DROP PARTITION LIST}: on WAL tables the
+ * drop goes through the sequencer like any other DDL, on non-WAL tables the writer removes
+ * partition directories once no reader holds them (see TxnScoreboard).
+ */
+public class PartitionTtlJob extends SynchronizedJob implements Closeable {
+    private static final Log LOG = LogFactory.getLog(PartitionTtlJob.class);
+    private final long checkInterval;
+    private final MicrosecondClock clock;
+    private final CairoConfiguration configuration;
+    private final CairoEngine engine;
+    private final SqlExecutionContextImpl executionContext;
+    private final FilesFacade ff;
+    private final PartitionTtlMetrics metrics;
+    private final Path path = new Path();
+    private final StringSink sqlSink = new StringSink();
+    private final ObjHashSet<TableToken> tableTokenBucket = new ObjHashSet<>();
+    private long last = 0;
+
+    public PartitionTtlJob(CairoEngine engine) {
+        this.engine = engine;
+        this.configuration = engine.getConfiguration();
+        this.ff = configuration.getFilesFacade();
+        this.clock = configuration.getMicrosecondClock();
+        this.checkInterval = configuration.getPartitionTtlCheckInterval() * 1000;
+        this.metrics = engine.getMetrics().partitionTtl();
+        this.executionContext = new SqlExecutionContextImpl(engine, 1);
+        this.executionContext.with(
+                configuration.getFactoryProvider().getSecurityContextFactory().getRootContext(),
+                null,
+                null
+        );
+    }
+
+    @Override
+    public void close() {
+        Misc.free(executionContext);
+        Misc.free(path);
+    }
+
+    /**
+     * Checks all tables and drops their expired partitions, regardless of the check interval.
+     */
+    public void dropExpiredPartitions() {
+        tableTokenBucket.clear();
+        engine.getTableTokens(tableTokenBucket, false);
+        for (int i = 0, n = tableTokenBucket.size(); i < n; i++) {
+            final TableToken tableToken = tableTokenBucket.get(i);
+            final long ttl = readTtl(tableToken);
+            if (ttl > 0) {
+                try {
+                    dropExpiredPartitions(tableToken, ttl);
+                } catch (CairoException | SqlException e) {
+                    // the table may be busy or dropped, it will be checked again on the next run
+                    LOG.info().$("could not drop expired partitions [table=").$(tableToken)
+                            .$(", msg=").$(e.getFlyweightMessage())
+                            .I$();
+                }
+            }
+        }
+    }
+
+    private void dropExpiredPartitions(TableToken tableToken, long ttl) throws SqlException {
+        int partitionCount = 0;
+        long bytes = 0;
+        sqlSink.clear();
+        try (TableReader reader = engine.getReader(tableToken)) {
+            final int partitionBy = reader.getPartitionedBy();
+            if (!PartitionBy.isPartitioned(partitionBy) || reader.getPartitionCount() < 2) {
+                return;
+            }
+            if (tableToken.isWal() && engine.getTableSequencerAPI().lastTxn(tableToken) > reader.getTxFile().getSeqTxn()) {
+                // a previous drop may still be waiting to be applied
+                return;
+            }
+
+            final long cutoff = Math.min(clock.getTicks(), reader.getMaxTimestamp()) - ttl;
+            final PartitionBy.PartitionFloorMethod floorMethod = PartitionBy.getPartitionFloorMethod(partitionBy);
+            final PartitionBy.PartitionCeilMethod ceilMethod = PartitionBy.getPartitionCeilMethod(partitionBy);
+            long lastLogicalPartition = Long.MIN_VALUE;
+            for (int i = 0, n = reader.getPartitionCount() - 1; i < n; i++) {
+                final long partitionTimestamp = reader.getPartitionTimestampByIndex(i);
+                if (ceilMethod.ceil(partitionTimestamp) > cutoff) {
+                    break;
+                }
+                // split partitions are dropped together with their logical partition
+                final long logicalPartition = floorMethod.floor(partitionTimestamp);
+                if (logicalPartition != lastLogicalPartition) {
+                    sqlSink.put(partitionCount++ == 0 ? " '" : ", '");
+                    PartitionBy.setSinkForPartition(sqlSink, partitionBy, logicalPartition);
+                    sqlSink.put('\'');
+                    lastLogicalPartition = logicalPartition;
+                }
+                path.of(configuration.getRoot()).concat(tableToken.getDirName());
+                TableUtils.setPathForPartition(path, partitionBy, partitionTimestamp, reader.getTxFile().getPartitionNameTxn(i));
+                bytes += ff.getDirSize(path);
+            }
+        }
+
+        if (partitionCount > 0) {
+            final String partitions = sqlSink.toString();
+            sqlSink.clear();
+            sqlSink.put("alter table \"").put(tableToken.getTableName()).put("\" drop partition list").put(partitions);
+            engine.ddl(sqlSink, executionContext);
+            metrics.addDroppedPartitions(partitionCount, bytes);
+            LOG.info().$("dropped expired partitions [table=").$(tableToken)
+                    .$(", partitions=").$(partitions)
+                    .$(", bytes=").$(bytes)
+                    .I$();
+        }
+    }
+
+    private long readTtl(TableToken tableToken) {
+        path.of(configuration.getRoot()).concat(tableToken.getDirName()).concat(TableUtils.META_FILE_NAME);
+        final int fd = ff.openRO(path.$());
+        if (fd < 0) {
+            return 0;
+        }
+        try {
+            return ff.readNonNegativeLong(fd, TableUtils.META_OFFSET_TTL);
+        } finally {
+            ff.close(fd);
+        }
+    }
+
+    @Override
+    protected boolean runSerially() {
+        final long t = clock.getTicks();
+        if (last + checkInterval < t) {
+            last = t;
+            dropExpiredPartitions();
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.cairo;
+
+import io.questdb.metrics.Counter;
+import io.questdb.metrics.MetricsRegistry;
+
+public class PartitionTtlMetrics {
+    private final Counter droppedPartitionsCounter;
+    // Size on disk of the dropped partitions, measured just before the drop.
+    private final Counter reclaimedBytesCounter;
+
+    public PartitionTtlMetrics(MetricsRegistry metricsRegistry) {
+        this.droppedPartitionsCounter = metricsRegistry.newCounter("partition_ttl_dropped_partitions");
+        this.reclaimedBytesCounter = metricsRegistry.newCounter("partition_ttl_reclaimed_bytes");
+    }
+
+    public void addDroppedPartitions(long partitionCount, long bytes) {
+        droppedPartitionsCounter.add(partitionCount);
+        reclaimedBytesCounter.add(bytes);
+    }
+
+    public long getDroppedPartitions() {
+        return droppedPartitionsCounter.getValue();
+    }
+
+    public long getReclaimedBytes() {
+        return reclaimedBytesCounter.getValue();
+    }
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.cairo;
+
+import io.questdb.cairo.vm.api.MemoryR;
+import io.questdb.std.*;
+
+/**
+ * Min/max summary of a single column in a single partition, kept in the
+ * partition directory as {@code <column>.zm[.<columnNameTxn>]}. The file is
+ * computed on first use, see {@link PartitionSidecarFile}. While another thread
+ * builds the file, the zone map is computed without persisting it.
+ * <p>
+ * Integer-like values are kept as longs, doubles as their raw bits. An empty
+ * or all-null column is stored as an inverted range, i.e. min is greater than max.
+ */
+public class PartitionZoneMap implements QuietCloseable {
+    private static final int FILE_SIZE = PartitionSidecarFile.HEADER_SIZE + 2 * Long.BYTES;
+    private static final long MAGIC = 0x325a4d5a42445351L;
+    private static final int PAYLOAD_SIZE = FILE_SIZE - PartitionSidecarFile.HEADER_SIZE;
+    private final PartitionSidecarFile.Builder builder = this::build;
+    private final PartitionSidecarFile file;
+    private long bufAddr;
+    private long max;
+    private long min;
+
+    public PartitionZoneMap(CairoConfiguration configuration) {
+        this.file = new PartitionSidecarFile(configuration, TableUtils.FILE_SUFFIX_ZM, MAGIC);
+        this.bufAddr = Unsafe.malloc(FILE_SIZE, MemoryTag.NATIVE_DEFAULT);
+    }
+
+    public static boolean isSupported(int columnType) {
+        switch (ColumnType.tagOf(columnType)) {
+            case ColumnType.SHORT:
+            case ColumnType.INT:
+            case ColumnType.LONG:
+            case ColumnType.DATE:
+            case ColumnType.TIMESTAMP:
+            case ColumnType.DOUBLE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        Misc.free(file);
+        if (bufAddr != 0) {
+            bufAddr = Unsafe.free(bufAddr, FILE_SIZE, MemoryTag.NATIVE_DEFAULT);
+        }
+    }
+
+    public double getMaxDouble() {
+        return Double.longBitsToDouble(max);
+    }
+
+    public long getMaxLong() {
+        return max;
+    }
+
+    public double getMinDouble() {
+        return Double.longBitsToDouble(min);
+    }
+
+    public long getMinLong() {
+        return min;
+    }
+
+    /**
+     * Loads the zone map of the given column in the given partition, computing and
+     * persisting it when the file is missing or stale. The partition must be open.
+     *
+     * @param reader         table reader with the partition open
+     * @param partitionIndex partition index
+     * @param columnIndex    reader column index, the column type must be supported
+     */
+    public void of(TableReader reader, int partitionIndex, int columnIndex) {
+        assert isSupported(reader.getMetadata().getColumnType(columnIndex));
+        file.of(reader, partitionIndex, columnIndex);
+        if (file.mapOrBuild(builder) && file.getPayloadSize() == PAYLOAD_SIZE) {
+            final long addr = file.getPayloadAddress();
+            min = Unsafe.getUnsafe().getLong(addr);
+            max = Unsafe.getUnsafe().getLong(addr + Long.BYTES);
+        } else {
+            compute(file.getColumnMem(), file.getColumnType(), file.getRowCount(), file.getColumnTop());
+        }
+    }
+
+    private boolean build(PartitionSidecarFile file) {
+        compute(file.getColumnMem(), file.getColumnType(), file.getRowCount(), file.getColumnTop());
+        Unsafe.getUnsafe().putLong(bufAddr + PartitionSidecarFile.HEADER_SIZE, min);
+        Unsafe.getUnsafe().putLong(bufAddr + PartitionSidecarFile.HEADER_SIZE + Long.BYTES, max);
+        return file.store(bufAddr, FILE_SIZE);
+    }
+
+    private void compute(MemoryR colMem, int columnType, long rowCount, long columnTop) {
+        final long count = rowCount - columnTop;
+        final long address = count > 0 ? colMem.getPageAddress(0) : 0;
+        if (ColumnType.tagOf(columnType) == ColumnType.DOUBLE) {
+            double lo = Double.POSITIVE_INFINITY;
+            double hi = Double.NEGATIVE_INFINITY;
+            if (address != 0) {
+                lo = Vect.minDouble(address, count);
+                hi = Vect.maxDouble(address, count);
+                // NaN is also returned for values at the edges of the double range,
+                // so an unknown bound is treated as unbounded rather than empty
+                if (lo != lo) {
+                    lo = Double.NEGATIVE_INFINITY;
+                }
+                if (hi != hi) {
+                    hi = Double.POSITIVE_INFINITY;
+                }
+            }
+            min = Double.doubleToRawLongBits(lo);
+            max = Double.doubleToRawLongBits(hi);
+            return;
+        }
+
+        long lo = Long.MAX_VALUE;
+        long hi = Long.MIN_VALUE;
+        if (address != 0) {
+            switch (ColumnType.tagOf(columnType)) {
+                case ColumnType.SHORT:
+                    lo = Vect.minShort(address, count);
+                    hi = Vect.maxShort(address, count);
+                    break;
+                case ColumnType.INT:
+                    final int minInt = Vect.minInt(address, count);
+                    if (minInt != Numbers.INT_NULL) {
+                        lo = minInt;
+                        hi = Vect.maxInt(address, count);
+                    }
+                    break;
+                default:
+                    final long minLong = Vect.minLong(address, count);
+                    if (minLong != Numbers.LONG_NULL) {
+                        lo = minLong;
+                        hi = Vect.maxLong(address, count);
+                    }
+                    break;
+            }
+        }
+        if (ColumnType.tagOf(columnType) == ColumnType.SHORT && columnTop > 0) {
+            // short has no null, rows above the column top read as zero
+            lo = Math.min(lo, 0);
+            hi = Math.max(hi, 0);
+        }
+        min = lo;
+        max = hi;
+    }
+}
@@ -72,6 +72,8 @@ public interface SecurityContext extends Mutable {
 
     void authorizeCopyCancel(SecurityContext cancellingSecurityContext);
 
+    void authorizeCopyExport(TableToken tableToken);
+
     void authorizeDatabaseSnapshot();
 
     void authorizeHttp();
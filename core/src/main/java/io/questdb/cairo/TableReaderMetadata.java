@@ -51,6 +51,7 @@ public class TableReaderMetadata extends AbstractRecordMetadata implements Table
     private TableToken tableToken;
     private TableReaderMetadataTransitionIndex transitionIndex;
     private MemoryMR transitionMeta;
+    private long ttl;
     private boolean walEnabled;
 
     public TableReaderMetadata(CairoConfiguration configuration, TableToken tableToken) {
@@ -94,6 +95,7 @@ public class TableReaderMetadata extends AbstractRecordMetadata implements Table
         this.metadataVersion = metaMem.getInt(TableUtils.META_OFFSET_METADATA_VERSION);
         this.maxUncommittedRows = metaMem.getInt(TableUtils.META_OFFSET_MAX_UNCOMMITTED_ROWS);
         this.o3MaxLag = metaMem.getLong(TableUtils.META_OFFSET_O3_MAX_LAG);
+        this.ttl = metaMem.getLong(TableUtils.META_OFFSET_TTL);
         this.walEnabled = metaMem.getBool(TableUtils.META_OFFSET_WAL_ENABLED);
 
         int shiftLeft = 0, existingIndex = 0;
@@ -266,6 +268,18 @@ public class TableReaderMetadata extends AbstractRecordMetadata implements Table
         return tableToken;
     }
 
+    public long getTtl() {
+        return ttl;
+    }
+
+    /**
+     * @param columnIndex reader column index
+     * @return true when the column has a sorted index, see {@link PartitionSortedIndex}
+     */
+    public boolean isColumnSortedIndexed(int columnIndex) {
+        return TableUtils.isColumnSortedIndexed(metaMem, getWriterIndex(columnIndex));
+    }
+
     public boolean isSoftLink() {
         return isSoftLink;
     }
@@ -286,6 +300,7 @@ public class TableReaderMetadata extends AbstractRecordMetadata implements Table
             this.maxUncommittedRows = metaMem.getInt(TableUtils.META_OFFSET_MAX_UNCOMMITTED_ROWS);
             this.o3MaxLag = metaMem.getLong(TableUtils.META_OFFSET_O3_MAX_LAG);
             this.metadataVersion = metaMem.getInt(TableUtils.META_OFFSET_METADATA_VERSION);
+            this.ttl = metaMem.getLong(TableUtils.META_OFFSET_TTL);
             this.walEnabled = metaMem.getBool(TableUtils.META_OFFSET_WAL_ENABLED);
             this.columnMetadata.clear();
             this.timestampIndex = -1;
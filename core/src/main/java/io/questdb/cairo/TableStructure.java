@@ -40,6 +40,12 @@ public interface TableStructure extends TableDescriptor {
 
     CharSequence getTableName();
 
+    /**
+     * Returns partition time-to-live in microseconds, partitions older than that are
+     * dropped by {@link PartitionTtlJob}. Zero means partitions are kept forever.
+     */
+    long getTtl();
+
     boolean isDedupKey(int columnIndex);
 
     boolean isIndexed(int columnIndex);
@@ -61,8 +61,11 @@ public final class TableUtils {
     public static final String DEFAULT_PARTITION_NAME = "default";
     public static final String DETACHED_DIR_MARKER = ".detached";
     public static final long ESTIMATED_VAR_COL_SIZE = 28;
+    public static final String FILE_SUFFIX_BF = ".bf";
     public static final String FILE_SUFFIX_D = ".d";
     public static final String FILE_SUFFIX_I = ".i";
+    public static final String FILE_SUFFIX_SI = ".si";
+    public static final String FILE_SUFFIX_ZM = ".zm";
     public static final int INITIAL_TXN = 0;
     public static final int LONGS_PER_TX_ATTACHED_PARTITION = 4;
     public static final int LONGS_PER_TX_ATTACHED_PARTITION_MSB = Numbers.msb(LONGS_PER_TX_ATTACHED_PARTITION);
@@ -78,6 +81,7 @@ public final class TableUtils {
     public static final long META_OFFSET_PARTITION_BY = 4;
     public static final long META_OFFSET_TABLE_ID = 16;
     public static final long META_OFFSET_TIMESTAMP_INDEX = 8;
+    public static final long META_OFFSET_TTL = 48; // LONG
     public static final long META_OFFSET_VERSION = 12;
     public static final long META_OFFSET_WAL_ENABLED = 40; // BOOLEAN
     public static final String META_PREV_FILE_NAME = "_meta.prev";
@@ -168,6 +172,7 @@ public final class TableUtils {
     static final int META_FLAG_BIT_SEQUENTIAL = 1 << 1;
     static final int META_FLAG_BIT_SYMBOL_CACHE = META_FLAG_BIT_SEQUENTIAL << 1;
     static final int META_FLAG_BIT_DEDUP_KEY = META_FLAG_BIT_SYMBOL_CACHE << 1;
+    static final int META_FLAG_BIT_SORTED_INDEX = META_FLAG_BIT_DEDUP_KEY << 1;
     static final byte TODO_RESTORE_META = 2;
     static final byte TODO_TRUNCATE = 1;
     private static final int EMPTY_TABLE_LAG_CHECKSUM = calculateTxnLagChecksum(0, 0, 0, Long.MAX_VALUE, Long.MIN_VALUE, 0);
@@ -191,6 +196,14 @@ public final class TableUtils {
         allocateDiskSpace(ff, fd, size);
     }
 
+    public static LPSZ bfFile(Path path, CharSequence columnName, long columnTxn) {
+        path.concat(columnName).put(FILE_SUFFIX_BF);
+        if (columnTxn > COLUMN_NAME_TXN_NONE) {
+            path.put('.').put(columnTxn);
+        }
+        return path.$();
+    }
+
     public static int calculateTxRecordSize(int bytesSymbols, int bytesPartitions) {
         return TX_RECORD_HEADER_SIZE + Integer.BYTES + bytesSymbols + Integer.BYTES + bytesPartitions;
     }
@@ -585,6 +598,33 @@ public final class TableUtils {
         Unsafe.free(address, Unsafe.getUnsafe().getInt(address), MemoryTag.NATIVE_TABLE_READER);
     }
 
+    /**
+     * Syncs all files under the given directory, and the directories themselves, to disk.
+     */
+    public static void fsyncDirRecursive(FilesFacade ff, Path path) {
+        final int len = path.size();
+        final long p = ff.findFirst(path.$());
+        if (p > 0) {
+            try {
+                do {
+                    final long name = ff.findName(p);
+                    if (Files.notDots(name)) {
+                        path.trimTo(len).concat(name);
+                        if (ff.findType(p) == Files.DT_FILE) {
+                            ff.fsyncAndClose(openRO(ff, path.$(), LOG));
+                        } else {
+                            fsyncDirRecursive(ff, path);
+                        }
+                    }
+                } while (ff.findNext(p) > 0);
+            } finally {
+                ff.findClose(p);
+                path.trimTo(len);
+            }
+        }
+        ff.fsyncAndClose(openRO(ff, path.$(), LOG));
+    }
+
     public static int getColumnCount(MemoryMR metaMem, long offset) {
         final int columnCount = metaMem.getInt(offset);
         if (columnCount < 0) {
@@ -687,6 +727,16 @@ public final class TableUtils {
         }
     }
 
+    /**
+     * Resolves the root of the volume that cold partitions are moved to.
+     *
+     * @return volume root or null when partition tiering is off
+     */
+    public static @Nullable CharSequence getPartitionTieringVolumePath(CairoConfiguration configuration) {
+        final CharSequence alias = configuration.getPartitionTieringVolume();
+        return alias != null ? configuration.getVolumeDefinitions().resolveAlias(alias) : null;
+    }
+
     public static long getPartitionTableIndexOffset(long partitionTableOffset, int index) {
         return partitionTableOffset + 4 + index * 8L;
     }
@@ -772,6 +822,26 @@ public final class TableUtils {
         return iFile(path, columnName, COLUMN_NAME_TXN_NONE);
     }
 
+    /**
+     * Checks whether the path is the volume root or lies under it. Unlike a plain
+     * prefix check, {@code /mnt/cold2} is not in volume {@code /mnt/cold}.
+     */
+    public static boolean isInVolume(CharSequence path, CharSequence volumePath) {
+        int len = volumePath.length();
+        while (len > 0 && volumePath.charAt(len - 1) == Files.SEPARATOR) {
+            len--;
+        }
+        if (path.length() < len) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (path.charAt(i) != volumePath.charAt(i)) {
+                return false;
+            }
+        }
+        return path.length() == len || path.charAt(len) == Files.SEPARATOR;
+    }
+
     public static boolean isPendingRenameTempTableName(String tableName, CharSequence tempTablePrefix) {
         return Chars.startsWith(tableName, tempTablePrefix);
     }
@@ -1307,6 +1377,36 @@ public final class TableUtils {
         }
     }
 
+    /**
+     * Removes the copy of a partition that was moved to the partition tiering volume,
+     * removing the soft link at partitionPath is left to the caller. Soft links of partitions
+     * attached from other locations do not point into the tiering volume and are left intact.
+     */
+    public static void removeTieredPartition(FilesFacade ff, CairoConfiguration configuration, Path partitionPath) {
+        final CharSequence volumePath = getPartitionTieringVolumePath(configuration);
+        if (volumePath != null && ff.isSoftLink(partitionPath.$())) {
+            final Path target = Path.getThreadLocal2("");
+            if (ff.readLink(partitionPath, target) && isInVolume(Utf8s.toString(target), volumePath)) {
+                if (!ff.rmdir(target.slash$())) {
+                    LOG.error().$("could not remove tiered partition [path=").$(target).$(", errno=").$(ff.errno()).I$();
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes partitions of a dropped table that were moved to the partition tiering volume.
+     */
+    public static void removeTieredTable(FilesFacade ff, CairoConfiguration configuration, TableToken tableToken) {
+        final CharSequence volumePath = getPartitionTieringVolumePath(configuration);
+        if (volumePath != null) {
+            final Path path = Path.getThreadLocal2(volumePath).concat(tableToken.getDirName()).slash$();
+            if (ff.exists(path) && !ff.rmdir(path)) {
+                LOG.error().$("could not remove tiered partitions [path=").$(path).$(", errno=").$(ff.errno()).I$();
+            }
+        }
+    }
+
     public static void renameColumnInMetadata(
             CharSequence columnName,
             CharSequence newName,
@@ -1552,6 +1652,14 @@ public final class TableUtils {
         }
     }
 
+    public static LPSZ siFile(Path path, CharSequence columnName, long columnTxn) {
+        path.concat(columnName).put(FILE_SUFFIX_SI);
+        if (columnTxn > COLUMN_NAME_TXN_NONE) {
+            path.put('.').put(columnTxn);
+        }
+        return path.$();
+    }
+
     public static int toIndexKey(int symbolKey) {
         return symbolKey == SymbolTable.VALUE_IS_NULL ? 0 : symbolKey + 1;
     }
@@ -1639,6 +1747,8 @@ public final class TableUtils {
         mem.putLong(tableStruct.getO3MaxLag());
         mem.putLong(0); // Structure version.
         mem.putInt(tableStruct.isWalEnabled() ? 1 : 0);
+        mem.jumpTo(TableUtils.META_OFFSET_TTL);
+        mem.putLong(tableStruct.getTtl());
         mem.jumpTo(TableUtils.META_OFFSET_COLUMN_TYPES);
 
         assert count > 0;
@@ -1674,6 +1784,14 @@ public final class TableUtils {
         }
     }
 
+    public static LPSZ zmFile(Path path, CharSequence columnName, long columnTxn) {
+        path.concat(columnName).put(FILE_SUFFIX_ZM);
+        if (columnTxn > COLUMN_NAME_TXN_NONE) {
+            path.put('.').put(columnTxn);
+        }
+        return path.$();
+    }
+
     private static int exists(FilesFacade ff, Path path) {
         if (ff.exists(path)) { // it can also be a file, for example created with touch
             if (ff.exists(path.concat(TXN_FILE_NAME).$())) {
@@ -1802,6 +1920,10 @@ public final class TableUtils {
         return (getColumnFlags(metaMem, columnIndex) & META_FLAG_BIT_INDEXED) != 0;
     }
 
+    static boolean isColumnSortedIndexed(MemoryR metaMem, int columnIndex) {
+        return (getColumnFlags(metaMem, columnIndex) & META_FLAG_BIT_SORTED_INDEX) != 0;
+    }
+
     static boolean isSequential(MemoryR metaMem, int columnIndex) {
         return (getColumnFlags(metaMem, columnIndex) & META_FLAG_BIT_SEQUENTIAL) != 0;
     }
@@ -620,6 +620,11 @@ public class TableWriter implements TableWriterAPI, MetadataService, Closeable {
         metrics.tableWriter().addPhysicallyWrittenRows(rows);
     }
 
+    @Override
+    public void addSortedIndex(@NotNull CharSequence columnName) {
+        updateSortedIndexFlag(columnName, true);
+    }
+
     public long apply(AbstractOperation operation, long seqTxn) {
         try {
             setSeqTxn(seqTxn);
@@ -1023,6 +1028,10 @@ public class TableWriter implements TableWriterAPI, MetadataService, Closeable {
             if (maxLagTxnCount > 0 && txWriter.getLagTxnCount() >= maxLagTxnCount) {
                 // Too many txns are in the lag, so force a full commit.
                 commitToTimestamp = WalTxnDetails.FORCE_FULL_COMMIT;
+            } else if (isSmallWalTxnSquashable(rowHi - rowLo)) {
+                // Tiny transaction with more transactions to follow, squash it in the lag
+                // instead of paying the full commit cost for a handful of rows.
+                commitToTimestamp = Long.MIN_VALUE;
             } else {
                 // If committed to this timestamp, will it make any of the transactions fully committed?
                 long canCommitToTxn = walTxnDetails.getFullyCommittedTxn(txWriter.getSeqTxn(), seqTxn, commitToTimestamp);
@@ -1327,6 +1336,22 @@ public class TableWriter implements TableWriterAPI, MetadataService, Closeable {
         }
     }
 
+    @Override
+    public void dropSortedIndex(@NotNull CharSequence columnName) {
+        final int columnIndex = updateSortedIndexFlag(columnName, false);
+        // queries that still have the files mapped keep reading them
+        try {
+            for (int i = txWriter.getPartitionCount() - 1; i > -1; i--) {
+                final long partitionTimestamp = txWriter.getPartitionTimestampByIndex(i);
+                setPathForPartition(path, partitionBy, partitionTimestamp, txWriter.getPartitionNameTxn(i));
+                ff.removeQuiet(siFile(path, columnName, columnVersionWriter.getColumnNameTxn(partitionTimestamp, columnIndex)));
+                path.trimTo(rootLen);
+            }
+        } finally {
+            path.trimTo(rootLen);
+        }
+    }
+
     @Override
     public void enableDeduplicationWithUpsertKeys(LongList columnsIndexes) {
         assert txWriter.getLagRowCount() == 0;
@@ -1597,6 +1622,75 @@ public class TableWriter implements TableWriterAPI, MetadataService, Closeable {
         txWriter.commit(denseSymbolMapWriters);
     }
 
+    /**
+     * Replaces a sealed partition with its copy on another volume. The copy is made by the
+     * caller without holding the writer, the writer only checks that the copied partition
+     * version is still current and unchanged, then commits a soft link to the copy as a new
+     * version of the partition. Readers switch to the new version on reload and the old
+     * version is purged once it is no longer used.
+     *
+     * @param timestamp        partition timestamp
+     * @param partitionNameTxn name txn of the copied partition version
+     * @param partitionSize    row count of the copied partition version
+     * @param metadataVersion  table metadata version the copy was made at
+     * @param columnVersion    column version the copy was made at
+     * @param copyPath         directory of the copy
+     * @return true when the partition was moved, false when it is the last partition, a soft
+     * link already or changed since it was copied, the copy is then left to the caller
+     */
+    public boolean movePartitionToVolume(
+            long timestamp,
+            long partitionNameTxn,
+            long partitionSize,
+            long metadataVersion,
+            long columnVersion,
+            Path copyPath
+    ) {
+        checkDistressed();
+        if (!PartitionBy.isPartitioned(partitionBy) || snapshotAgent.isInProgress()) {
+            return false;
+        }
+
+        // commit changes, there may be uncommitted rows of any partition
+        commit();
+
+        final int partitionIndex = txWriter.getPartitionIndex(timestamp);
+        if (partitionIndex < 0
+                || partitionIndex == txWriter.getPartitionCount() - 1
+                || txWriter.isPartitionReadOnly(partitionIndex)
+                || txWriter.getPartitionNameTxn(partitionIndex) != partitionNameTxn
+                || txWriter.getPartitionSize(partitionIndex) != partitionSize
+                || txWriter.getMetadataVersion() != metadataVersion
+                || txWriter.getColumnVersion() != columnVersion) {
+            return false;
+        }
+        final long newPartitionNameTxn = txWriter.getTxn();
+        if (partitionNameTxn >= newPartitionNameTxn) {
+            return false;
+        }
+
+        try {
+            setPathForPartition(path.trimTo(rootLen), partitionBy, timestamp, partitionNameTxn);
+            if (ff.isSoftLink(path.$())) {
+                return false;
+            }
+            setPathForPartition(path.trimTo(rootLen), partitionBy, timestamp, newPartitionNameTxn);
+            LOG.info().$("moving partition [from=").$(path).$(", to=").$(copyPath).I$();
+            if (ff.softLink(copyPath.$(), path.$()) != 0) {
+                throw CairoException.critical(ff.errno()).put("could not create soft link [src=").put(copyPath).put(", softLink=").put(path).put(']');
+            }
+        } finally {
+            path.trimTo(rootLen);
+        }
+
+        txWriter.updatePartitionSizeAndTxnByRawIndex(partitionIndex * LONGS_PER_TX_ATTACHED_PARTITION, partitionSize);
+        // makes readers reopen the partition from its new location
+        txWriter.bumpPartitionTableVersion();
+        txWriter.commit(denseSymbolMapWriters);
+        safeDeletePartitionDir(timestamp, partitionNameTxn);
+        return true;
+    }
+
     @Override
     public Row newRow() {
         return newRow(0L);
@@ -2255,6 +2349,27 @@ public class TableWriter implements TableWriterAPI, MetadataService, Closeable {
         }
     }
 
+    @Override
+    public void setMetaTtl(long ttl) {
+        try {
+            commit();
+            long metaSize = copyMetadataAndUpdateVersion();
+            openMetaSwapFileByIndex(ff, ddlMem, path, rootLen, this.metaSwapIndex);
+            try {
+                ddlMem.jumpTo(META_OFFSET_TTL);
+                ddlMem.putLong(ttl);
+                ddlMem.jumpTo(metaSize);
+            } finally {
+                ddlMem.close();
+            }
+
+            finishMetaSwapUpdate();
+            metadata.setTtl(ttl);
+        } finally {
+            ddlMem.close();
+        }
+    }
+
     public void setSeqTxn(long seqTxn) {
         assert txWriter.getLagRowCount() == 0 && txWriter.getLagTxnCount() == 0;
         txWriter.setSeqTxn(seqTxn);
@@ -3074,6 +3189,7 @@ public class TableWriter implements TableWriterAPI, MetadataService, Closeable {
         txWriter.setColumnVersion(columnVersionWriter.getVersion());
         txWriter.bumpMetadataAndColumnStructureVersion(this.denseSymbolMapWriters);
         assert txWriter.getMetadataVersion() == metadata.getMetadataVersion();
+        ddlListener.onTableMetadataChanged(tableToken);
     }
 
     private void bumpMetadataVersion() {
@@ -3081,6 +3197,7 @@ public class TableWriter implements TableWriterAPI, MetadataService, Closeable {
         txWriter.setColumnVersion(columnVersionWriter.getVersion());
         txWriter.bumpMetadataVersion(this.denseSymbolMapWriters);
         assert txWriter.getMetadataVersion() == metadata.getMetadataVersion();
+        ddlListener.onTableMetadataChanged(tableToken);
     }
 
     private boolean canSquashOverwritePartitionTail(int partitionIndex) {
@@ -3522,6 +3639,8 @@ public class TableWriter implements TableWriterAPI, MetadataService, Closeable {
         ddlMem.putLong(metaMem.getLong(META_OFFSET_O3_MAX_LAG));
         ddlMem.putLong(txWriter.getMetadataVersion() + 1);
         ddlMem.putBool(metaMem.getBool(META_OFFSET_WAL_ENABLED));
+        ddlMem.jumpTo(META_OFFSET_TTL);
+        ddlMem.putLong(metaMem.getLong(META_OFFSET_TTL));
         metadata.setMetadataVersion(txWriter.getMetadataVersion() + 1);
     }
 
@@ -4901,6 +5020,13 @@ public class TableWriter implements TableWriterAPI, MetadataService, Closeable {
         return false;
     }
 
+    private boolean isSmallWalTxnSquashable(long txnRowCount) {
+        // the last observed transaction and transactions followed by a non-data
+        // transaction are marked as FORCE_FULL_COMMIT and never get here
+        return txnRowCount < configuration.getWalSquashSmallTxnMaxRows()
+                && txWriter.getLagRowCount() + txnRowCount < getWalMaxLagRows();
+    }
+
     private void lock() {
         try {
             path.trimTo(rootLen);
@@ -6201,6 +6327,7 @@ public class TableWriter implements TableWriterAPI, MetadataService, Closeable {
                             txn
                     );
                     other.$();
+                    TableUtils.removeTieredPartition(ff, configuration, other);
                     if (!ff.unlinkOrRemove(other, LOG)) {
                         LOG.info()
                                 .$("could not purge partition version, async purge will be scheduled [path=").$(other)
@@ -7692,6 +7819,44 @@ public class TableWriter implements TableWriterAPI, MetadataService, Closeable {
         }
     }
 
+    private int updateSortedIndexFlag(CharSequence columnName, boolean sortedIndex) {
+        checkDistressed();
+
+        final int columnIndex = getColumnIndexQuiet(metaMem, columnName, columnCount);
+        if (columnIndex == -1) {
+            throw CairoException.invalidMetadataRecoverable("column does not exist", columnName);
+        }
+        if (isColumnSortedIndexed(metaMem, columnIndex) == sortedIndex) {
+            throw CairoException.invalidMetadataRecoverable(sortedIndex ? "column already has a sorted index" : "column does not have a sorted index", columnName);
+        }
+        final int columnType = getColumnType(metaMem, columnIndex);
+        if (sortedIndex && !PartitionSortedIndex.isSupported(columnType)) {
+            throw CairoException.invalidMetadataRecoverable("cannot create sorted index, column type is not INT, LONG, UUID or VARCHAR", columnName);
+        }
+
+        try {
+            commit();
+            long metaSize = copyMetadataAndUpdateVersion();
+            openMetaSwapFileByIndex(ff, ddlMem, path, rootLen, this.metaSwapIndex);
+            try {
+                final long flags = getColumnFlags(metaMem, columnIndex);
+                ddlMem.jumpTo(META_OFFSET_COLUMN_TYPES + columnIndex * META_COLUMN_DATA_SIZE + 4);
+                ddlMem.putLong(sortedIndex ? flags | META_FLAG_BIT_SORTED_INDEX : flags & ~META_FLAG_BIT_SORTED_INDEX);
+                ddlMem.jumpTo(metaSize);
+            } finally {
+                ddlMem.close();
+            }
+
+            finishMetaSwapUpdate();
+        } finally {
+            ddlMem.close();
+        }
+        LOG.info().$(sortedIndex ? "added" : "dropped").$(" sorted index [table=").utf8(tableToken.getTableName())
+                .$(", column=").utf8(columnName)
+                .I$();
+        return columnIndex;
+    }
+
     private void updateO3ColumnTops() {
         int columnCount = metadata.getColumnCount();
         long blockIndex = -1;
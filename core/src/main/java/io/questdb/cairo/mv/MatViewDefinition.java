@@ -0,0 +1,203 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.cairo.mv;
+
+import io.questdb.cairo.CairoException;
+import io.questdb.cairo.TableToken;
+import io.questdb.cairo.vm.Vm;
+import io.questdb.cairo.vm.api.MemoryCMR;
+import io.questdb.cairo.vm.api.MemoryMARW;
+import io.questdb.griffin.SqlException;
+import io.questdb.griffin.engine.groupby.TimestampSampler;
+import io.questdb.griffin.engine.groupby.TimestampSamplerFactory;
+import io.questdb.std.Chars;
+import io.questdb.std.FilesFacade;
+import io.questdb.std.MemoryTag;
+import io.questdb.std.str.Path;
+import io.questdb.std.str.StringSink;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Definition of a materialized SAMPLE BY view. The definition is stored in the
+ * {@value #MAT_VIEW_FILE_NAME} file of the view table directory. The file starts with
+ * the base table txn the view is refreshed up to, followed by the view query.
+ */
+public class MatViewDefinition {
+    public static final String MAT_VIEW_FILE_NAME = "_mv";
+    public static final long REFRESH_TXN_OFFSET = 0;
+    private final String baseTableName;
+    private final String baseTimestampColumnName;
+    private final String query;
+    private final int queryTableNameHi;
+    private final int queryTableNameLo;
+    private final TimestampSampler sampler;
+    private final String samplingInterval;
+    private final TableToken viewToken;
+    private boolean invalid;
+    private long refreshTxn;
+
+    public MatViewDefinition(
+            @NotNull TableToken viewToken,
+            @NotNull String baseTableName,
+            @NotNull String baseTimestampColumnName,
+            @NotNull String samplingInterval,
+            @NotNull String query,
+            int queryTableNameLo,
+            int queryTableNameHi,
+            long refreshTxn
+    ) throws SqlException {
+        this.viewToken = viewToken;
+        this.baseTableName = baseTableName;
+        this.baseTimestampColumnName = baseTimestampColumnName;
+        this.samplingInterval = samplingInterval;
+        this.query = query;
+        this.queryTableNameLo = queryTableNameLo;
+        this.queryTableNameHi = queryTableNameHi;
+        this.refreshTxn = refreshTxn;
+        this.sampler = TimestampSamplerFactory.getInstance(samplingInterval, 0);
+        // views are calendar aligned with zero offset
+        this.sampler.setStart(0);
+    }
+
+    public static MatViewDefinition readFrom(FilesFacade ff, MemoryCMR mem, Path path, TableToken viewToken) {
+        final int pathLen = path.size();
+        try {
+            mem.smallFile(ff, path.concat(MAT_VIEW_FILE_NAME).$(), MemoryTag.MMAP_DEFAULT);
+            long offset = REFRESH_TXN_OFFSET;
+            final long refreshTxn = mem.getLong(offset);
+            offset += Long.BYTES;
+            final int queryTableNameLo = mem.getInt(offset);
+            offset += Integer.BYTES;
+            final int queryTableNameHi = mem.getInt(offset);
+            offset += Integer.BYTES;
+            final String baseTableName = Chars.toString(mem.getStrA(offset));
+            offset += Vm.getStorageLength(baseTableName);
+            final String baseTimestampColumnName = Chars.toString(mem.getStrA(offset));
+            offset += Vm.getStorageLength(baseTimestampColumnName);
+            final String samplingInterval = Chars.toString(mem.getStrA(offset));
+            offset += Vm.getStorageLength(samplingInterval);
+            final String query = Chars.toString(mem.getStrA(offset));
+            return new MatViewDefinition(
+                    viewToken,
+                    baseTableName,
+                    baseTimestampColumnName,
+                    samplingInterval,
+                    query,
+                    queryTableNameLo,
+                    queryTableNameHi,
+                    refreshTxn
+            );
+        } catch (SqlException e) {
+            throw CairoException.critical(0).put("invalid materialized view definition [view=").put(viewToken.getTableName())
+                    .put(", error=").put(e.getFlyweightMessage()).put(']');
+        } finally {
+            mem.close();
+            path.trimTo(pathLen);
+        }
+    }
+
+    public String getBaseTableName() {
+        return baseTableName;
+    }
+
+    public String getBaseTimestampColumnName() {
+        return baseTimestampColumnName;
+    }
+
+    /**
+     * Builds SQL that re-aggregates all the base table rows into a new non-WAL table,
+     * partitioned by day like the view.
+     */
+    public void getFullRefreshSql(StringSink sink, CharSequence tableName, CharSequence timestampColumnName) {
+        sink.clear();
+        sink.put("create table \"").put(tableName).put("\" as (").put(query).put(") timestamp(\"").put(timestampColumnName)
+                .put("\") partition by day bypass wal");
+    }
+
+    /**
+     * Builds SQL that re-aggregates the base table rows in the [lo, hi) timestamp interval.
+     * Both boundaries are expected to be aligned to the view sampling interval, so that
+     * every touched bucket is re-aggregated in full.
+     */
+    public void getIncrementalRefreshSql(StringSink sink, long lo, long hi) {
+        sink.clear();
+        sink.put("insert into \"").put(viewToken.getTableName()).put("\" ")
+                .put(query, 0, queryTableNameLo)
+                .put("(\"").put(baseTableName).put("\" where \"").put(baseTimestampColumnName).put("\" >= ").put(lo)
+                .put(" and \"").put(baseTimestampColumnName).put("\" < ").put(hi).put(')')
+                .put(query, queryTableNameHi, query.length());
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public long getRefreshTxn() {
+        return refreshTxn;
+    }
+
+    public TimestampSampler getSampler() {
+        return sampler;
+    }
+
+    public String getSamplingInterval() {
+        return samplingInterval;
+    }
+
+    public TableToken getViewToken() {
+        return viewToken;
+    }
+
+    public boolean isInvalid() {
+        return invalid;
+    }
+
+    public void setInvalid(boolean invalid) {
+        this.invalid = invalid;
+    }
+
+    public void setRefreshTxn(long refreshTxn) {
+        this.refreshTxn = refreshTxn;
+    }
+
+    public void writeTo(FilesFacade ff, MemoryMARW mem, Path path) {
+        final int pathLen = path.size();
+        try {
+            mem.smallFile(ff, path.concat(MAT_VIEW_FILE_NAME).$(), MemoryTag.MMAP_DEFAULT);
+            mem.jumpTo(0);
+            mem.putLong(refreshTxn);
+            mem.putInt(queryTableNameLo);
+            mem.putInt(queryTableNameHi);
+            mem.putStr(baseTableName);
+            mem.putStr(baseTimestampColumnName);
+            mem.putStr(samplingInterval);
+            mem.putStr(query);
+            mem.sync(false);
+        } finally {
+            mem.close(true, Vm.TRUNCATE_TO_POINTER);
+            path.trimTo(pathLen);
+        }
+    }
+}
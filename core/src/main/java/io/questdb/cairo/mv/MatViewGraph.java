@@ -0,0 +1,59 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.cairo.mv;
+
+import io.questdb.cairo.TableToken;
+import io.questdb.std.ConcurrentHashMap;
+import io.questdb.std.ObjList;
+
+/**
+ * Registry of materialized views keyed by the view table directory name.
+ */
+public class MatViewGraph {
+    private final ConcurrentHashMap<MatViewDefinition> views = new ConcurrentHashMap<>();
+
+    public void addView(MatViewDefinition definition) {
+        views.putIfAbsent(definition.getViewToken().getDirName(), definition);
+    }
+
+    public void clear() {
+        views.clear();
+    }
+
+    public MatViewDefinition getView(TableToken viewToken) {
+        return views.get(viewToken.getDirName());
+    }
+
+    public void getViews(ObjList<MatViewDefinition> sink) {
+        sink.clear();
+        for (MatViewDefinition definition : views.values()) {
+            sink.add(definition);
+        }
+    }
+
+    public void removeView(TableToken viewToken) {
+        views.remove(viewToken.getDirName());
+    }
+}
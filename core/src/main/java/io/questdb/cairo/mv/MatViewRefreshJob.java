@@ -0,0 +1,340 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.cairo.mv;
+
+import io.questdb.cairo.*;
+import io.questdb.cairo.sql.TableMetadata;
+import io.questdb.cairo.vm.Vm;
+import io.questdb.cairo.vm.api.MemoryCMR;
+import io.questdb.cairo.wal.WalEventCursor;
+import io.questdb.cairo.wal.WalEventReader;
+import io.questdb.cairo.wal.seq.TransactionLogCursor;
+import io.questdb.griffin.SqlException;
+import io.questdb.griffin.SqlExecutionContextImpl;
+import io.questdb.griffin.engine.groupby.TimestampSampler;
+import io.questdb.log.Log;
+import io.questdb.log.LogFactory;
+import io.questdb.mp.SynchronizedJob;
+import io.questdb.std.*;
+import io.questdb.std.str.Path;
+import io.questdb.std.str.StringSink;
+
+import static io.questdb.cairo.wal.WalTxnType.DATA;
+import static io.questdb.cairo.wal.WalUtils.*;
+
+/**
+ * Keeps materialized SAMPLE BY views up to date. Once WAL transactions are applied to a
+ * base table, the job reads their timestamp ranges from the sequencer transaction log and
+ * re-aggregates only the touched time buckets. The result is inserted into the view WAL
+ * table, which is deduplicated on the designated timestamp and the grouping keys, so that
+ * re-aggregated buckets replace the previous ones within a single transaction.
+ * <p>
+ * Transactions without a known timestamp range, e.g. UPDATE or TRUNCATE, cause a full
+ * refresh of the view. The full refresh aggregates the base table into a temporary table
+ * first, then drops the view partitions that have no buckets left, e.g. the ones of dropped
+ * base partitions, and inserts the temporary table into the view in a single transaction.
+ * Readers see either the previous or the refreshed buckets, never an empty view.
+ * <p>
+ * Transient errors, e.g. a busy table, are retried on the next run. Other errors invalidate
+ * the view.
+ */
+public class MatViewRefreshJob extends SynchronizedJob implements QuietCloseable {
+    private static final Log LOG = LogFactory.getLog(MatViewRefreshJob.class);
+    private static final int REFRESH_FULL = 1;
+    private static final int REFRESH_INCREMENTAL = 0;
+    private final CairoEngine engine;
+    private final SqlExecutionContextImpl executionContext;
+    private final FilesFacade ff;
+    private final MemoryCMR mem = Vm.getCMRInstance();
+    private final Path path = new Path();
+    private final StringSink sql = new StringSink();
+    private final ObjHashSet<TableToken> tableTokens = new ObjHashSet<>();
+    private final StringSink tempTableName = new StringSink();
+    private final WalEventReader walEventReader;
+    private final ObjList<MatViewDefinition> views = new ObjList<>();
+    private long tempMem8b;
+    private long txnMaxTimestamp;
+    private long txnMinTimestamp;
+    private boolean viewsLoaded;
+
+    public MatViewRefreshJob(CairoEngine engine) {
+        this.engine = engine;
+        final CairoConfiguration configuration = engine.getConfiguration();
+        this.ff = configuration.getFilesFacade();
+        this.walEventReader = new WalEventReader(ff);
+        this.executionContext = new SqlExecutionContextImpl(engine, 1);
+        this.executionContext.with(
+                configuration.getFactoryProvider().getSecurityContextFactory().getRootContext(),
+                null,
+                null
+        );
+        this.tempMem8b = Unsafe.malloc(Long.BYTES, MemoryTag.NATIVE_DEFAULT);
+    }
+
+    @Override
+    public void close() {
+        Misc.free(walEventReader);
+        Misc.free(mem);
+        Misc.free(path);
+        Misc.free(executionContext);
+        tempMem8b = Unsafe.free(tempMem8b, Long.BYTES, MemoryTag.NATIVE_DEFAULT);
+    }
+
+    @Override
+    protected boolean runSerially() {
+        if (!viewsLoaded) {
+            loadViews();
+            viewsLoaded = true;
+        }
+        engine.getMatViewGraph().getViews(views);
+        boolean useful = false;
+        for (int i = 0, n = views.size(); i < n; i++) {
+            final MatViewDefinition view = views.getQuick(i);
+            try {
+                useful |= refresh(view);
+            } catch (CairoException e) {
+                if (isTransient(e)) {
+                    LOG.info().$("could not refresh materialized view, will retry [view=").utf8(view.getViewToken().getTableName())
+                            .$(", error=").$(e.getFlyweightMessage())
+                            .I$();
+                } else {
+                    invalidate(view, e);
+                }
+            } catch (Throwable th) {
+                invalidate(view, th);
+            }
+        }
+        views.clear();
+        return useful;
+    }
+
+    private static void invalidate(MatViewDefinition view, Throwable th) {
+        view.setInvalid(true);
+        LOG.error().$("could not refresh materialized view, view is invalidated [view=").utf8(view.getViewToken().getTableName())
+                .$(", error=").$(th)
+                .I$();
+    }
+
+    private static boolean isTransient(CairoException e) {
+        // e.g. a busy writer or a table locked by another operation, critical errors are I/O and data errors
+        return !e.isCritical() || e.isOutOfMemory();
+    }
+
+    private void dropTempTable() throws SqlException {
+        sql.clear();
+        sql.put("drop table if exists \"").put(tempTableName).put('"');
+        engine.compile(sql, executionContext);
+    }
+
+    /**
+     * Re-aggregates all the base table rows. The result is built in a temporary table, so
+     * that the view is replaced by a single insert rather than a truncate followed by an insert.
+     * View partitions without buckets in the result are dropped before the insert, since
+     * deduplication only replaces the buckets that are still there.
+     */
+    private void fullRefresh(MatViewDefinition view) throws SqlException {
+        final TableToken viewToken = view.getViewToken();
+        tempTableName.clear();
+        tempTableName.put(engine.getConfiguration().getSystemTableNamePrefix()).put("mv_refresh_").put(viewToken.getTableId());
+        // a leftover of an interrupted refresh
+        dropTempTable();
+        try {
+            final String timestampColumnName;
+            try (TableMetadata metadata = engine.getTableMetadata(viewToken)) {
+                timestampColumnName = metadata.getColumnName(metadata.getTimestampIndex());
+            }
+            view.getFullRefreshSql(sql, tempTableName, timestampColumnName);
+            engine.compile(sql, executionContext);
+
+            sql.clear();
+            sql.put("alter table \"").put(viewToken.getTableName()).put("\" drop partition list ");
+            final int sqlLen = sql.length();
+            try (
+                    TableReader viewReader = engine.getReader(viewToken);
+                    TableReader tempReader = engine.getReader(engine.verifyTableName(tempTableName))
+            ) {
+                for (int i = 0, n = viewReader.getPartitionCount(); i < n; i++) {
+                    final long partitionTimestamp = viewReader.getPartitionTimestampByIndex(i);
+                    if (tempReader.getTxFile().getPartitionIndex(partitionTimestamp) < 0) {
+                        if (sql.length() > sqlLen) {
+                            sql.put(',');
+                        }
+                        sql.put('\'');
+                        PartitionBy.setSinkForPartition(sql, PartitionBy.DAY, partitionTimestamp);
+                        sql.put('\'');
+                    }
+                }
+            }
+            if (sql.length() > sqlLen) {
+                engine.compile(sql, executionContext);
+            }
+
+            sql.clear();
+            sql.put("insert into \"").put(viewToken.getTableName()).put("\" select * from \"").put(tempTableName).put('"');
+            engine.compile(sql, executionContext);
+        } finally {
+            dropTempTable();
+        }
+    }
+
+    private void loadViews() {
+        final CharSequence root = engine.getConfiguration().getRoot();
+        engine.getTableTokens(tableTokens, false);
+        for (int i = 0, n = tableTokens.size(); i < n; i++) {
+            final TableToken tableToken = tableTokens.get(i);
+            if (!tableToken.isWal()) {
+                continue;
+            }
+            path.of(root).concat(tableToken).concat(MatViewDefinition.MAT_VIEW_FILE_NAME).$();
+            if (ff.exists(path)) {
+                try {
+                    path.of(root).concat(tableToken);
+                    engine.getMatViewGraph().addView(MatViewDefinition.readFrom(ff, mem, path, tableToken));
+                } catch (CairoException e) {
+                    LOG.error().$("could not load materialized view [view=").utf8(tableToken.getTableName())
+                            .$(", error=").$(e.getFlyweightMessage())
+                            .I$();
+                }
+            }
+        }
+        tableTokens.clear();
+    }
+
+    /**
+     * Scans the base table transactions after the view refresh txn up to the given txn and
+     * accumulates the min and max timestamps of the inserted data.
+     *
+     * @return refresh type required to bring the view up to date
+     */
+    private int readTxnRange(TableToken baseToken, long refreshTxn, long baseTxn) {
+        txnMinTimestamp = Long.MAX_VALUE;
+        txnMaxTimestamp = Long.MIN_VALUE;
+        if (refreshTxn < 0) {
+            return REFRESH_FULL;
+        }
+        final CharSequence root = engine.getConfiguration().getRoot();
+        try (TransactionLogCursor cursor = engine.getTableSequencerAPI().getCursor(baseToken, refreshTxn)) {
+            while (cursor.hasNext() && cursor.getTxn() <= baseTxn) {
+                final int walId = cursor.getWalId();
+                if (walId < 0) {
+                    // structure change, the data is intact
+                    continue;
+                }
+                if (cursor.getVersion() == WAL_SEQUENCER_FORMAT_VERSION_V1) {
+                    path.of(root).concat(baseToken).concat(WAL_NAME_BASE).put(walId).slash().put(cursor.getSegmentId());
+                    final WalEventCursor eventCursor = walEventReader.of(path, WAL_FORMAT_VERSION, cursor.getSegmentTxn());
+                    if (eventCursor.getType() != DATA) {
+                        return REFRESH_FULL;
+                    }
+                    final WalEventCursor.DataInfo dataInfo = eventCursor.getDataInfo();
+                    txnMinTimestamp = Math.min(txnMinTimestamp, dataInfo.getMinTimestamp());
+                    txnMaxTimestamp = Math.max(txnMaxTimestamp, dataInfo.getMaxTimestamp());
+                } else {
+                    if (cursor.getTxnRowCount() == 0) {
+                        // non-data transactions have no rows
+                        return REFRESH_FULL;
+                    }
+                    txnMinTimestamp = Math.min(txnMinTimestamp, cursor.getTxnMinTimestamp());
+                    txnMaxTimestamp = Math.max(txnMaxTimestamp, cursor.getTxnMaxTimestamp());
+                }
+            }
+        } catch (CairoException e) {
+            // WAL segment might be purged already, the full refresh is still correct
+            LOG.info().$("could not read base table transactions, falling back to full refresh [table=").utf8(baseToken.getTableName())
+                    .$(", error=").$(e.getFlyweightMessage())
+                    .I$();
+            return REFRESH_FULL;
+        } finally {
+            Misc.free(walEventReader);
+        }
+        return REFRESH_INCREMENTAL;
+    }
+
+    private boolean refresh(MatViewDefinition view) throws SqlException {
+        final TableToken viewToken = view.getViewToken();
+        final TableToken currentViewToken = engine.getTableTokenIfExists(viewToken.getTableName());
+        if (currentViewToken == null || !currentViewToken.equals(viewToken) || engine.isTableDropped(viewToken)) {
+            engine.getMatViewGraph().removeView(viewToken);
+            LOG.info().$("materialized view is dropped [view=").utf8(viewToken.getTableName()).I$();
+            return false;
+        }
+        if (view.isInvalid()) {
+            return false;
+        }
+
+        final TableToken baseToken = engine.getTableTokenIfExists(view.getBaseTableName());
+        if (baseToken == null || engine.isTableDropped(baseToken)) {
+            view.setInvalid(true);
+            LOG.error().$("base table is dropped, materialized view is invalidated [view=").utf8(viewToken.getTableName())
+                    .$(", baseTable=").utf8(view.getBaseTableName())
+                    .I$();
+            return false;
+        }
+
+        long baseTxn = engine.getTableSequencerAPI().getTxnTracker(baseToken).getWriterTxn();
+        if (baseTxn == view.getRefreshTxn()) {
+            return false;
+        }
+        if (baseTxn < 0) {
+            try (TableReader reader = engine.getReader(baseToken)) {
+                baseTxn = reader.getTxFile().getSeqTxn();
+            }
+            if (baseTxn == view.getRefreshTxn()) {
+                return false;
+            }
+        }
+
+        final int refreshType = readTxnRange(baseToken, view.getRefreshTxn(), baseTxn);
+        if (refreshType == REFRESH_FULL) {
+            fullRefresh(view);
+        } else if (txnMinTimestamp <= txnMaxTimestamp) {
+            // otherwise there are only structure changes
+            final TimestampSampler sampler = view.getSampler();
+            final long lo = sampler.round(txnMinTimestamp);
+            final long hi = sampler.nextTimestamp(sampler.round(txnMaxTimestamp));
+            view.getIncrementalRefreshSql(sql, lo, hi);
+            engine.compile(sql, executionContext);
+        }
+        LOG.info().$("refreshed materialized view [view=").utf8(viewToken.getTableName())
+                .$(", fromTxn=").$(view.getRefreshTxn())
+                .$(", toTxn=").$(baseTxn)
+                .$(", full=").$(refreshType != REFRESH_INCREMENTAL)
+                .I$();
+
+        view.setRefreshTxn(baseTxn);
+        writeRefreshTxn(viewToken, baseTxn);
+        return true;
+    }
+
+    private void writeRefreshTxn(TableToken viewToken, long refreshTxn) {
+        path.of(engine.getConfiguration().getRoot()).concat(viewToken).concat(MatViewDefinition.MAT_VIEW_FILE_NAME).$();
+        final int fd = TableUtils.openRW(ff, path, LOG, engine.getConfiguration().getWriterFileOpenOpts());
+        try {
+            TableUtils.writeLongOrFail(ff, fd, MatViewDefinition.REFRESH_TXN_OFFSET, refreshTxn, tempMem8b, path);
+        } finally {
+            ff.close(fd);
+        }
+    }
+}
@@ -97,6 +97,10 @@ public class AllowAllSecurityContext implements SecurityContext {
     public void authorizeCopyCancel(SecurityContext cancellingSecurityContext) {
     }
 
+    @Override
+    public void authorizeCopyExport(TableToken tableToken) {
+    }
+
     @Override
     public void authorizeDatabaseSnapshot() {
     }
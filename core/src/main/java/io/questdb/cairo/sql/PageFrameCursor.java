@@ -40,6 +40,16 @@ public interface PageFrameCursor extends QuietCloseable, SymbolTableSource {
 
     @Nullable PageFrame next();
 
+    /**
+     * Hints that the page frame with the given index, counted from the top of the cursor,
+     * is about to be consumed, so that the cursor may start reading the following frames
+     * ahead of time. Frames have to be fetched via {@link #next()} before the call.
+     *
+     * @param frameIndex index of the frame to be consumed
+     */
+    default void readAhead(int frameIndex) {
+    }
+
     /**
      * @return size of page in bytes
      */
@@ -30,10 +30,13 @@ import io.questdb.griffin.PlanSink;
 import io.questdb.griffin.Plannable;
 import io.questdb.griffin.SqlException;
 import io.questdb.griffin.SqlExecutionContext;
+import io.questdb.griffin.engine.table.ZoneMapFilter;
 import io.questdb.mp.SCSequence;
+import io.questdb.std.Misc;
 import io.questdb.std.str.CharSink;
 import io.questdb.std.str.Sinkable;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.Closeable;
 
@@ -190,6 +193,16 @@ public interface RecordCursorFactory extends Closeable, Sinkable, Plannable {
     default void revertFromSampleByIndexDataFrameCursorFactory() {
     }
 
+    /**
+     * Hands over zone map predicates of a filter that is about to consume this factory's
+     * page frames. Factories that can skip partitions keep the filter, others free it.
+     *
+     * @param zoneMapFilter zone map filter, ownership is transferred to the factory
+     */
+    default void setZoneMapFilter(@Nullable ZoneMapFilter zoneMapFilter) {
+        Misc.free(zoneMapFilter);
+    }
+
     default boolean supportsPageFrameCursor() {
         return false;
     }
@@ -51,6 +51,15 @@ public interface TimeFrameRecordCursor extends QuietCloseable, SymbolTableSource
      */
     TimeFrame getTimeFrame();
 
+    /**
+     * Positions the cursor at the given frame as if it was reached with {@link #next()}
+     * or {@link #prev()} calls. The frame is not open.
+     *
+     * @param frameIndex frame index, -1 and the frame count stand for the positions
+     *                   before the first and after the last frame
+     */
+    void jumpTo(int frameIndex);
+
     boolean next();
 
     /**
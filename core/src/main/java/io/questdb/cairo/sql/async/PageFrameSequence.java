@@ -485,6 +485,7 @@ public class PageFrameSequence<T extends StatefulAtom> implements Closeable {
                             .$(", cursor=").$(cursor)
                             .I$();
                     reducePubSeq.done(cursor);
+                    pageFrameCursor.readAhead(i);
                     dispatchStartFrameIndex = i + 1;
                     dispatched = true;
                     break;
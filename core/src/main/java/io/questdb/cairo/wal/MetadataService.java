@@ -85,6 +85,8 @@ public interface MetadataService {
 
     void addIndex(@NotNull CharSequence columnName, int indexValueBlockSize);
 
+    void addSortedIndex(@NotNull CharSequence columnName);
+
     AttachDetachStatus attachPartition(long partitionTimestamp);
 
     void changeCacheFlag(int columnIndex, boolean isCacheOn);
@@ -95,6 +97,8 @@ public interface MetadataService {
 
     void dropIndex(@NotNull CharSequence columnName);
 
+    void dropSortedIndex(@NotNull CharSequence columnName);
+
     void enableDeduplicationWithUpsertKeys(LongList columnsIndexes);
 
     int getMetaMaxUncommittedRows();
@@ -125,6 +129,8 @@ public interface MetadataService {
 
     void setMetaO3MaxLag(long o3MaxLagUs);
 
+    void setMetaTtl(long ttl);
+
     void squashPartitions();
 
     void tick();
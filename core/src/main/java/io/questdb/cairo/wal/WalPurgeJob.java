@@ -196,6 +196,7 @@ public class WalPurgeJob extends SynchronizedJob implements Closeable {
                     if (symLinkTarget != null) {
                         ff.rmdir(symLinkTarget, false);
                     }
+                    TableUtils.removeTieredTable(ff, configuration, tableToken);
 
                     // Sometimes on Windows sequencer files can be open at this point,
                     // wait for them to be closed before fully removing the token from name registry
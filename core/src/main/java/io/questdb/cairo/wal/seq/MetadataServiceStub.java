@@ -38,6 +38,11 @@ public interface MetadataServiceStub extends MetadataService {
         throw CairoException.critical(0).put("add index does not update sequencer metadata");
     }
 
+    @Override
+    default void addSortedIndex(@NotNull CharSequence columnName) {
+        throw CairoException.critical(0).put("add sorted index does not update sequencer metadata");
+    }
+
     @Override
     default AttachDetachStatus attachPartition(long partitionTimestamp) {
         throw CairoException.critical(0).put("attach partition does not update sequencer metadata");
@@ -62,6 +67,11 @@ public interface MetadataServiceStub extends MetadataService {
         throw CairoException.critical(0).put("drop index does not update sequencer metadata");
     }
 
+    @Override
+    default void dropSortedIndex(@NotNull CharSequence columnName) {
+        throw CairoException.critical(0).put("drop sorted index does not update sequencer metadata");
+    }
+
     @Override
     default void enableDeduplicationWithUpsertKeys(LongList columnsIndexes) {
     }
@@ -101,6 +111,11 @@ public interface MetadataServiceStub extends MetadataService {
         throw CairoException.critical(0).put("change of o3MaxLag does not update sequencer metadata");
     }
 
+    @Override
+    default void setMetaTtl(long ttl) {
+        throw CairoException.critical(0).put("change of ttl does not update sequencer metadata");
+    }
+
     @Override
     default void squashPartitions() {
         throw CairoException.critical(0).put("partition squash does not update sequencer metadata");
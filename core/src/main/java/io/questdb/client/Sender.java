@@ -81,6 +81,16 @@ import java.util.concurrent.TimeUnit;
  */
 public interface Sender extends Closeable {
 
+    /**
+     * Text ILP, supported by all QuestDB versions.
+     */
+    int PROTOCOL_VERSION_V1 = 1;
+    /**
+     * ILP with DOUBLE, LONG and TIMESTAMP values sent as little-endian binary instead of text. The server
+     * must support the binary format.
+     */
+    int PROTOCOL_VERSION_V2 = 2;
+
     /**
      * Transport to use for communication with a QuestDB server.
      */
@@ -435,6 +445,7 @@ public interface Sender extends Closeable {
         private int port = PARAMETER_NOT_SET_EXPLICITLY;
         private PrivateKey privateKey;
         private int protocol = PARAMETER_NOT_SET_EXPLICITLY;
+        private int protocolVersion = PARAMETER_NOT_SET_EXPLICITLY;
         private int retryTimeoutMillis = PARAMETER_NOT_SET_EXPLICITLY;
         private boolean shouldDestroyPrivKey;
         private boolean tlsEnabled;
@@ -640,7 +651,7 @@ public interface Sender extends Closeable {
                     assert (trustStorePath == null) == (trustStorePassword == null); //either both null or both non-null
                     tlsConfig = new ClientTlsConfiguration(trustStorePath, trustStorePassword, tlsValidationMode == TlsValidationMode.DEFAULT ? ClientTlsConfiguration.TLS_VALIDATION_MODE_FULL : ClientTlsConfiguration.TLS_VALIDATION_MODE_NONE);
                 }
-                return new LineHttpSender(host, port, httpClientConfiguration, tlsConfig, actualAutoFlushRows, httpToken, username, password, actualMaxRetriesNanos, actualMinRequestThroughput, actualAutoFlushIntervalMillis);
+                return new LineHttpSender(host, port, httpClientConfiguration, tlsConfig, actualAutoFlushRows, httpToken, username, password, actualMaxRetriesNanos, actualMinRequestThroughput, actualAutoFlushIntervalMillis, protocolVersion);
             }
             assert protocol == PROTOCOL_TCP;
             LineChannel channel = new PlainTcpLineChannel(nf, host, port, bufferCapacity * 2);
@@ -656,7 +667,7 @@ public interface Sender extends Closeable {
                 channel = tlsChannel;
             }
             try {
-                sender = new LineTcpSender(channel, bufferCapacity);
+                sender = new LineTcpSender(channel, bufferCapacity, protocolVersion);
             } catch (Throwable t) {
                 channel.close();
                 throw rethrow(t);
@@ -955,6 +966,9 @@ public interface Sender extends Closeable {
                     pos = getValue(configurationString, pos, sink, "request_timeout");
                     int requestTimeout = parseIntValue(sink, "request_timeout");
                     httpTimeoutMillis(requestTimeout);
+                } else if (Chars.equals("protocol_version", sink)) {
+                    pos = getValue(configurationString, pos, sink, "protocol_version");
+                    protocolVersion(parseIntValue(sink, "protocol_version"));
                 } else if (Chars.equals("request_min_throughput", sink)) {
                     pos = getValue(configurationString, pos, sink, "request_min_throughput");
                     int requestMinThroughput = parseIntValue(sink, "request_min_throughput");
@@ -1156,6 +1170,31 @@ public interface Sender extends Closeable {
             return this;
         }
 
+        /**
+         * Set the ILP protocol version.
+         * <br>
+         * {@link Sender#PROTOCOL_VERSION_V2} sends DOUBLE, LONG and TIMESTAMP values in binary form. This saves the server
+         * parsing numbers from text and makes the messages smaller, but only servers that support the binary format
+         * accept such messages. There is no handshake, so only enable it when all the target servers support it.
+         * <p>
+         * Default value: {@link Sender#PROTOCOL_VERSION_V1}.
+         *
+         * @param protocolVersion {@link Sender#PROTOCOL_VERSION_V1} or {@link Sender#PROTOCOL_VERSION_V2}
+         * @return this instance for method chaining
+         */
+        public LineSenderBuilder protocolVersion(int protocolVersion) {
+            if (this.protocolVersion != PARAMETER_NOT_SET_EXPLICITLY) {
+                throw new LineSenderException("protocol version was already configured ")
+                        .put("[protocolVersion=").put(this.protocolVersion).put("]");
+            }
+            if (protocolVersion != PROTOCOL_VERSION_V1 && protocolVersion != PROTOCOL_VERSION_V2) {
+                throw new LineSenderException("invalid protocol version [protocolVersion=").put(protocolVersion)
+                        .put(", supported-versions=[1, 2]]");
+            }
+            this.protocolVersion = protocolVersion;
+            return this;
+        }
+
         /**
          * Configures the maximum time the Sender will spend retrying upon receiving a recoverable error from the server.
          * <br>
@@ -1241,6 +1280,9 @@ public interface Sender extends Closeable {
             if (port == PARAMETER_NOT_SET_EXPLICITLY) {
                 port = protocol == PROTOCOL_HTTP ? DEFAULT_HTTP_PORT : DEFAULT_TCP_PORT;
             }
+            if (protocolVersion == PARAMETER_NOT_SET_EXPLICITLY) {
+                protocolVersion = PROTOCOL_VERSION_V1;
+            }
             if (tlsValidationMode == null) {
                 tlsValidationMode = TlsValidationMode.DEFAULT;
             }
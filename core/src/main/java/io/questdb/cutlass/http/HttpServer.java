@@ -138,6 +138,10 @@ public class HttpServer implements Closeable {
             HttpRequestProcessorBuilder ilpWriteProcessorBuilderV2
     ) {
         final HttpServerConfiguration httpServerConfiguration = serverConfiguration.getHttpServerConfiguration();
+        final AssociativeCache<RecordCursorFactory> selectCache = server.selectCache;
+        cairoEngine.addQueryCache(selectCache);
+        server.registerClosable(() -> cairoEngine.removeQueryCache(selectCache));
+
         final LineHttpProcessorConfiguration lineHttpProcessorConfiguration = httpServerConfiguration.getLineHttpProcessorConfiguration();
         // Disable ILP HTTP if the instance configured to be read-only for HTTP requests
         if (httpServerConfiguration.isEnabled() && lineHttpProcessorConfiguration.isEnabled() && !httpServerConfiguration.getHttpContextConfiguration().readOnlySecurityContext()) {
@@ -385,6 +385,14 @@ public abstract class HttpClient implements QuietCloseable {
             return this;
         }
 
+        // writes the value in native, i.e. little-endian, byte order
+        public Request putRawLong(long value) {
+            checkCapacity(Long.BYTES);
+            Unsafe.getUnsafe().putLong(ptr, value);
+            ptr += Long.BYTES;
+            return this;
+        }
+
         public Request query(CharSequence name, CharSequence value) {
             assert state == STATE_URL_DONE || state == STATE_QUERY;
             if (state == STATE_URL_DONE) {
@@ -320,7 +320,9 @@ public class JsonQueryProcessor implements HttpRequestProcessor, Closeable {
             CompiledQuery cc,
             CharSequence keepAliveHeader
     ) throws SqlException {
-        throw SqlException.$(0, "copy from STDIN is not supported over REST");
+        // COPY ... TO STDOUT comes with a factory
+        Misc.free(cc.getRecordCursorFactory());
+        throw SqlException.$(0, "copy from STDIN and to STDOUT is not supported over REST");
     }
 
     private static void doResumeSend(
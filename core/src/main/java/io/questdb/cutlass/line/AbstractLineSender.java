@@ -27,6 +27,7 @@ package io.questdb.cutlass.line;
 import io.questdb.cairo.TableUtils;
 import io.questdb.client.Sender;
 import io.questdb.cutlass.auth.AuthUtils;
+import io.questdb.cutlass.line.tcp.LineTcpParser;
 import io.questdb.std.*;
 import io.questdb.std.str.Utf8Sequence;
 import io.questdb.std.str.Utf8Sink;
@@ -41,6 +42,7 @@ import java.util.Base64;
 
 public abstract class AbstractLineSender implements Utf8Sink, Closeable, Sender {
     protected final int capacity;
+    private final boolean binaryFormat;
     private final long bufA;
     private final long bufB;
     protected LineChannel lineChannel;
@@ -56,9 +58,14 @@ public abstract class AbstractLineSender implements Utf8Sink, Closeable, Sender
     private boolean quoted = false;
 
     public AbstractLineSender(LineChannel lineChannel, int capacity) {
+        this(lineChannel, capacity, PROTOCOL_VERSION_V1);
+    }
+
+    public AbstractLineSender(LineChannel lineChannel, int capacity, int protocolVersion) {
         this.lineChannel = lineChannel;
         this.capacity = capacity;
         this.enableValidation = true;
+        this.binaryFormat = protocolVersion == PROTOCOL_VERSION_V2;
 
         bufA = Unsafe.malloc(capacity, MemoryTag.NATIVE_ILP_RSS);
         bufB = Unsafe.malloc(capacity, MemoryTag.NATIVE_ILP_RSS);
@@ -139,7 +146,12 @@ public abstract class AbstractLineSender implements Utf8Sink, Closeable, Sender
     }
 
     public AbstractLineSender field(CharSequence name, long value) {
-        writeFieldName(name).put(value).put('i');
+        writeFieldName(name);
+        if (binaryFormat) {
+            putBinary(LineTcpParser.BINARY_TYPE_LONG, value);
+        } else {
+            put(value).put('i');
+        }
         return this;
     }
 
@@ -153,7 +165,12 @@ public abstract class AbstractLineSender implements Utf8Sink, Closeable, Sender
     }
 
     public AbstractLineSender field(CharSequence name, double value) {
-        writeFieldName(name).put(value);
+        writeFieldName(name);
+        if (binaryFormat) {
+            putBinary(LineTcpParser.BINARY_TYPE_DOUBLE, Double.doubleToRawLongBits(value));
+        } else {
+            put(value);
+        }
         return this;
     }
 
@@ -420,6 +437,23 @@ public abstract class AbstractLineSender implements Utf8Sink, Closeable, Sender
         }
     }
 
+    protected final boolean isBinaryFormat() {
+        return binaryFormat;
+    }
+
+    // writes the binary value flag, the type and the little-endian payload
+    protected final void putBinary(byte type, long value) {
+        put(LineTcpParser.BINARY_FORMAT_FLAG).put(type);
+        if (ptr + Long.BYTES > hi) {
+            send00();
+            if (ptr + Long.BYTES > hi) {
+                throw new LineSenderException("line too long. increase buffer size.");
+            }
+        }
+        Unsafe.getUnsafe().putLong(ptr, value);
+        ptr += Long.BYTES;
+    }
+
     protected void send00() {
         validateNotClosed();
         int len = (int) (ptr - lineStart);
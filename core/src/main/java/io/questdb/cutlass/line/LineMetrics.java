@@ -24,18 +24,52 @@
 
 package io.questdb.cutlass.line;
 
+import io.questdb.metrics.Counter;
 import io.questdb.metrics.LongGauge;
 import io.questdb.metrics.MetricsRegistry;
 
 public class LineMetrics {
 
     private final LongGauge connectionCountGauge;
+    private final Counter tableRebalanceCounter;
+    private final LongGauge writerLoadMaxPercentGauge;
+    private final LongGauge writerLoadMinPercentGauge;
+    private final LongGauge writerQueueDepthGauge;
 
     public LineMetrics(MetricsRegistry metricsRegistry) {
         this.connectionCountGauge = metricsRegistry.newLongGauge("line_tcp_connections");
+        this.tableRebalanceCounter = metricsRegistry.newCounter("line_tcp_table_rebalances");
+        this.writerLoadMaxPercentGauge = metricsRegistry.newLongGauge("line_tcp_writer_load_max_percent");
+        this.writerLoadMinPercentGauge = metricsRegistry.newLongGauge("line_tcp_writer_load_min_percent");
+        this.writerQueueDepthGauge = metricsRegistry.newLongGauge("line_tcp_writer_queue_depth");
     }
 
     public LongGauge connectionCountGauge() {
         return connectionCountGauge;
     }
+
+    public Counter tableRebalanceCounter() {
+        return tableRebalanceCounter;
+    }
+
+    /**
+     * Share of the recent ILP load, in percent, taken by the busiest writer thread.
+     */
+    public LongGauge writerLoadMaxPercentGauge() {
+        return writerLoadMaxPercentGauge;
+    }
+
+    /**
+     * Share of the recent ILP load, in percent, taken by the least busy writer thread.
+     */
+    public LongGauge writerLoadMinPercentGauge() {
+        return writerLoadMinPercentGauge;
+    }
+
+    /**
+     * Number of events waiting in all writer thread queues.
+     */
+    public LongGauge writerQueueDepthGauge() {
+        return writerQueueDepthGauge;
+    }
 }
@@ -25,6 +25,7 @@
 package io.questdb.cutlass.line;
 
 import io.questdb.client.Sender;
+import io.questdb.cutlass.line.tcp.LineTcpParser;
 import io.questdb.cutlass.line.tcp.PlainTcpLineChannel;
 import io.questdb.network.NetworkFacadeImpl;
 import io.questdb.std.datetime.microtime.Timestamps;
@@ -55,6 +56,10 @@ public class LineTcpSender extends AbstractLineSender {
         super(channel, bufferCapacity);
     }
 
+    public LineTcpSender(LineChannel channel, int bufferCapacity, int protocolVersion) {
+        super(channel, bufferCapacity, protocolVersion);
+    }
+
     /**
      * Create a new LineTcpSender.
      * <br>
@@ -81,14 +86,14 @@ public class LineTcpSender extends AbstractLineSender {
     @Override
     public final void at(long timestamp, ChronoUnit unit) {
         // nanos
-        putAsciiInternal(' ').put(timestamp * unitToNanos(unit));
+        putTimestamp(timestamp * unitToNanos(unit));
         atNow();
     }
 
     @Override
     public final void at(Instant timestamp) {
         // nanos
-        putAsciiInternal(' ').put(timestamp.getEpochSecond() * Timestamps.SECOND_NANOS + timestamp.getNano());
+        putTimestamp(timestamp.getEpochSecond() * Timestamps.SECOND_NANOS + timestamp.getNano());
         atNow();
     }
 
@@ -101,14 +106,14 @@ public class LineTcpSender extends AbstractLineSender {
     @Override
     public final AbstractLineSender timestampColumn(CharSequence name, Instant value) {
         // micros
-        writeFieldName(name).put((value.getEpochSecond() * Timestamps.SECOND_NANOS + value.getNano()) / 1000).put('t');
+        putTimestampColumn(name, (value.getEpochSecond() * Timestamps.SECOND_NANOS + value.getNano()) / 1000);
         return this;
     }
 
     @Override
     public final AbstractLineSender timestampColumn(CharSequence name, long value, ChronoUnit unit) {
         // micros
-        writeFieldName(name).put(value * unitToNanos(unit) / 1000).put('t');
+        putTimestampColumn(name, value * unitToNanos(unit) / 1000);
         return this;
     }
 
@@ -116,4 +121,22 @@ public class LineTcpSender extends AbstractLineSender {
     protected void send00() {
         sendAll();
     }
+
+    private void putTimestamp(long nanos) {
+        putAsciiInternal(' ');
+        if (isBinaryFormat()) {
+            putBinary(LineTcpParser.BINARY_TYPE_TIMESTAMP_NANOS, nanos);
+        } else {
+            put(nanos);
+        }
+    }
+
+    private void putTimestampColumn(CharSequence name, long micros) {
+        writeFieldName(name);
+        if (isBinaryFormat()) {
+            putBinary(LineTcpParser.BINARY_TYPE_TIMESTAMP_MICROS, micros);
+        } else {
+            put(micros).put('t');
+        }
+    }
 }
@@ -35,6 +35,7 @@ import io.questdb.cutlass.json.JsonException;
 import io.questdb.cutlass.json.JsonLexer;
 import io.questdb.cutlass.json.JsonParser;
 import io.questdb.cutlass.line.LineSenderException;
+import io.questdb.cutlass.line.tcp.LineTcpParser;
 import io.questdb.std.*;
 import io.questdb.std.datetime.microtime.MicrosecondClockImpl;
 import io.questdb.std.datetime.microtime.Timestamps;
@@ -56,6 +57,7 @@ public final class LineHttpSender implements Sender {
     private final String authToken;
     private final int autoFlushRows;
     private final int baseTimeoutMillis;
+    private final boolean binaryFormat;
     private final long flushIntervalNanos;
     private final String host;
     private final long maxRetriesNanos;
@@ -86,6 +88,22 @@ public final class LineHttpSender implements Sender {
                           long maxRetriesNanos,
                           long minRequestThroughput,
                           long flushIntervalNanos
+    ) {
+        this(host, port, clientConfiguration, tlsConfig, autoFlushRows, authToken, username, password, maxRetriesNanos, minRequestThroughput, flushIntervalNanos, PROTOCOL_VERSION_V1);
+    }
+
+    public LineHttpSender(String host,
+                          int port,
+                          HttpClientConfiguration clientConfiguration,
+                          ClientTlsConfiguration tlsConfig,
+                          int autoFlushRows,
+                          String authToken,
+                          String username,
+                          String password,
+                          long maxRetriesNanos,
+                          long minRequestThroughput,
+                          long flushIntervalNanos,
+                          int protocolVersion
     ) {
         assert authToken == null || (username == null && password == null);
         this.maxRetriesNanos = maxRetriesNanos;
@@ -97,6 +115,7 @@ public final class LineHttpSender implements Sender {
         this.password = password;
         this.minRequestThroughput = minRequestThroughput;
         this.flushIntervalNanos = flushIntervalNanos;
+        this.binaryFormat = protocolVersion == PROTOCOL_VERSION_V2;
         this.baseTimeoutMillis = clientConfiguration.getTimeout();
         if (tlsConfig != null) {
             this.client = HttpClientFactory.newTlsInstance(clientConfiguration, tlsConfig);
@@ -111,14 +130,13 @@ public final class LineHttpSender implements Sender {
 
     @Override
     public void at(long timestamp, ChronoUnit unit) {
-        request.putAscii(' ').put(timestamp * unitToNanos(unit));
+        putTimestamp(timestamp * unitToNanos(unit));
         atNow();
     }
 
     @Override
     public void at(Instant timestamp) {
-        long nanos = timestamp.getEpochSecond() * Timestamps.SECOND_NANOS + timestamp.getNano();
-        request.putAscii(' ').put(nanos);
+        putTimestamp(timestamp.getEpochSecond() * Timestamps.SECOND_NANOS + timestamp.getNano());
         atNow();
     }
 
@@ -168,7 +186,11 @@ public final class LineHttpSender implements Sender {
     @Override
     public Sender doubleColumn(CharSequence name, double value) {
         writeFieldName(name);
-        request.put(value);
+        if (binaryFormat) {
+            putBinary(LineTcpParser.BINARY_TYPE_DOUBLE, Double.doubleToRawLongBits(value));
+        } else {
+            request.put(value);
+        }
         return this;
     }
 
@@ -180,8 +202,12 @@ public final class LineHttpSender implements Sender {
     @Override
     public Sender longColumn(CharSequence name, long value) {
         writeFieldName(name);
-        request.put(value);
-        request.put('i');
+        if (binaryFormat) {
+            putBinary(LineTcpParser.BINARY_TYPE_LONG, value);
+        } else {
+            request.put(value);
+            request.put('i');
+        }
         return this;
     }
 
@@ -246,14 +272,14 @@ public final class LineHttpSender implements Sender {
     @Override
     public Sender timestampColumn(CharSequence name, long value, ChronoUnit unit) {
         // micros
-        writeFieldName(name).put(value * unitToNanos(unit) / 1000).put('t');
+        putTimestampColumn(name, value * unitToNanos(unit) / 1000);
         return this;
     }
 
     @Override
     public Sender timestampColumn(CharSequence name, Instant value) {
         // micros
-        writeFieldName(name).put((value.getEpochSecond() * Timestamps.SECOND_NANOS + value.getNano()) / 1000).put('t');
+        putTimestampColumn(name, (value.getEpochSecond() * Timestamps.SECOND_NANOS + value.getNano()) / 1000);
         return this;
     }
 
@@ -461,6 +487,28 @@ public final class LineHttpSender implements Sender {
     /**
      * @return true if flush is required
      */
+    private void putBinary(byte type, long value) {
+        request.put(LineTcpParser.BINARY_FORMAT_FLAG).put(type).putRawLong(value);
+    }
+
+    private void putTimestamp(long nanos) {
+        request.putAscii(' ');
+        if (binaryFormat) {
+            putBinary(LineTcpParser.BINARY_TYPE_TIMESTAMP_NANOS, nanos);
+        } else {
+            request.put(nanos);
+        }
+    }
+
+    private void putTimestampColumn(CharSequence name, long micros) {
+        writeFieldName(name);
+        if (binaryFormat) {
+            putBinary(LineTcpParser.BINARY_TYPE_TIMESTAMP_MICROS, micros);
+        } else {
+            request.put(micros).put('t');
+        }
+    }
+
     private boolean rowAdded() {
         pendingRows++;
         long nowNanos = System.nanoTime();
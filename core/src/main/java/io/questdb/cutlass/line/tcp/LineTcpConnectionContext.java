@@ -68,6 +68,9 @@ public class LineTcpConnectionContext extends IOContext<LineTcpConnectionContext
     protected long recvBufStart;
     protected long recvBufStartOfMeasurement;
     protected SecurityContext securityContext = DenyAllSecurityContext.INSTANCE;
+    // binary field values are not framed by new lines, once the peer sent them
+    // a bad line can't be skipped to the next new line character
+    private boolean binaryValuesSeen;
     private boolean goodMeasurement;
     private long lastQueueFullLogMillis = 0;
     private long nextCheckIdleTime;
@@ -120,6 +123,7 @@ public class LineTcpConnectionContext extends IOContext<LineTcpConnectionContext
         authenticator.clear();
         recvBufStart = recvBufEnd = recvBufPos = Unsafe.free(recvBufStart, recvBufEnd - recvBufStart, MemoryTag.NATIVE_ILP_RSS);
         peerDisconnected = false;
+        binaryValuesSeen = false;
         resetParser();
         ObjList<Utf8String> keys = tableUpdateDetailsUtf8.keys();
         for (int n = keys.size() - 1; n >= 0; --n) {
@@ -364,6 +368,7 @@ public class LineTcpConnectionContext extends IOContext<LineTcpConnectionContext
                 switch (rc) {
                     case MEASUREMENT_COMPLETE: {
                         if (goodMeasurement) {
+                            binaryValuesSeen |= parser.hasBinaryValues();
                             if (scheduler.scheduleEvent(getSecurityContext(), netIoJob, this, parser)) {
                                 // Waiting for writer threads to drain queue, request callback as soon as possible
                                 if (checkQueueFullLogHysteresis()) {
@@ -381,7 +386,7 @@ public class LineTcpConnectionContext extends IOContext<LineTcpConnectionContext
                     }
 
                     case ERROR: {
-                        if (disconnectOnError) {
+                        if (disconnectOnError || binaryValuesSeen || parser.hasBinaryValues()) {
                             logParseError();
                             return IOContextResult.NEEDS_DISCONNECT;
                         }
@@ -54,6 +54,7 @@ class LineTcpMeasurementEvent implements Closeable {
     private final boolean stringToCharCastAllowed;
     private final LineTcpTimestampAdapter timestampAdapter;
     private boolean commitOnWriterClose;
+    private long size;
     private TableUpdateDetails tableUpdateDetails;
     private int writerWorkerId;
 
@@ -83,6 +84,10 @@ class LineTcpMeasurementEvent implements Closeable {
         tableUpdateDetails = Misc.free(tableUpdateDetails);
     }
 
+    public long getSize() {
+        return size;
+    }
+
     public TableUpdateDetails getTableUpdateDetails() {
         return tableUpdateDetails;
     }
@@ -381,6 +386,10 @@ class LineTcpMeasurementEvent implements Closeable {
                             offset = buffer.addFloat(offset, entity.getLongValue());
                             break;
                         case ColumnType.SYMBOL:
+                            if (entity.isBinary()) {
+                                // binary values have no text to store as a symbol
+                                throw castError(tud.getTableNameUtf16(), "integer", colType, entity.getName());
+                            }
                             offset = buffer.addSymbol(
                                     offset,
                                     entity.getValue(),
@@ -402,6 +411,10 @@ class LineTcpMeasurementEvent implements Closeable {
                             offset = buffer.addFloat(offset, (float) entity.getFloatValue());
                             break;
                         case ColumnType.SYMBOL:
+                            if (entity.isBinary()) {
+                                // binary values have no text to store as a symbol
+                                throw castError(tud.getTableNameUtf16(), "float", colType, entity.getName());
+                            }
                             offset = buffer.addSymbol(
                                     offset,
                                     entity.getValue(),
@@ -535,6 +548,10 @@ class LineTcpMeasurementEvent implements Closeable {
                             offset = buffer.addDate(offset, dateValue / 1000);
                             break;
                         case ColumnType.SYMBOL:
+                            if (entity.isBinary()) {
+                                // binary values have no text to store as a symbol
+                                throw castError(tud.getTableNameUtf16(), "timestamp", colType, entity.getName());
+                            }
                             offset = buffer.addSymbol(
                                     offset,
                                     entity.getValue(),
@@ -579,15 +596,25 @@ class LineTcpMeasurementEvent implements Closeable {
         }
         buffer.addDesignatedTimestamp(buffer.getAddress() + Long.BYTES, timestamp);
         buffer.addNumOfColumns(buffer.getAddress() + 2 * Long.BYTES, entitiesWritten);
+        size = offset - buffer.getAddress();
         writerWorkerId = tud.getWriterThreadId();
     }
 
+    void createRebalanceEvent(TableUpdateDetails tableUpdateDetails) {
+        writerWorkerId = LineTcpMeasurementEventType.ALL_WRITERS_REBALANCE;
+        this.tableUpdateDetails = tableUpdateDetails;
+    }
+
     void createWriterReleaseEvent(TableUpdateDetails tableUpdateDetails, boolean commitOnWriterClose) {
         writerWorkerId = LineTcpMeasurementEventType.ALL_WRITERS_RELEASE_WRITER;
         this.tableUpdateDetails = tableUpdateDetails;
         this.commitOnWriterClose = commitOnWriterClose;
     }
 
+    void markIncomplete() {
+        writerWorkerId = LineTcpMeasurementEventType.ALL_WRITERS_INCOMPLETE_EVENT;
+    }
+
     private static class PrincipalOnlySecurityContext extends DenyAllSecurityContext {
         private CharSequence principal;
 
@@ -30,4 +30,8 @@ class LineTcpMeasurementEventType {
     static final int ALL_WRITERS_INCOMPLETE_EVENT = -2;
 
     static final int ALL_WRITERS_RELEASE_WRITER = -3;
+
+    // Published to the queue of the writer thread giving a table away to another thread,
+    // the table is released once all earlier events for it have been processed
+    static final int ALL_WRITERS_REBALANCE = -4;
 }
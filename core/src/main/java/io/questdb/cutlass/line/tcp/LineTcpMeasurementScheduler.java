@@ -30,6 +30,7 @@ import io.questdb.TelemetrySystemEvent;
 import io.questdb.cairo.*;
 import io.questdb.cairo.vm.Vm;
 import io.questdb.cairo.vm.api.MemoryMARW;
+import io.questdb.cutlass.line.LineMetrics;
 import io.questdb.log.Log;
 import io.questdb.log.LogFactory;
 import io.questdb.log.LogRecord;
@@ -50,6 +51,8 @@ import java.util.concurrent.locks.ReadWriteLock;
 
 public class LineTcpMeasurementScheduler implements Closeable {
     private static final Log LOG = LogFactory.getLog(LineTcpMeasurementScheduler.class);
+    // number of load checks a table stays on a writer thread after being moved
+    private static final int REBALANCE_COOL_DOWN_CHECKS = 10;
     private final ObjList<TableUpdateDetails>[] assignedTables;
     private final boolean autoCreateNewColumns;
     private final boolean autoCreateNewTables;
@@ -59,19 +62,26 @@ public class LineTcpMeasurementScheduler implements Closeable {
     private final DefaultColumnTypes defaultColumnTypes;
     private final CairoEngine engine;
     private final LowerCaseCharSequenceObjHashMap<TableUpdateDetails> idleTableUpdateDetailsUtf16;
+    private final LineMetrics lineMetrics;
     private final LineWalAppender lineWalAppender;
     private final long[] loadByWriterThread;
     private final NetworkIOJob[] netIoJobs;
     private final Path path = new Path();
     private final MPSequence[] pubSeq;
     private final RingQueue<LineTcpMeasurementEvent>[] queue;
+    private final long rebalanceInterval;
+    private final double rebalanceLoadRatio;
     private final long spinLockTimeoutMs;
+    private final SCSequence[] subSeq;
     private final StringSink[] tableNameSinks;
     private final TableStructureAdapter tableStructureAdapter;
     private final ReadWriteLock tableUpdateDetailsLock = new SimpleReadWriteLock();
     private final LowerCaseCharSequenceObjHashMap<TableUpdateDetails> tableUpdateDetailsUtf16;
     private final Telemetry<TelemetryTask> telemetry;
     private final long writerIdleTimeout;
+    private volatile long nextRebalanceMillis;
+    // table being handed over between writer threads, at most one at a time
+    private TableUpdateDetails rebalanceTud;
 
     public LineTcpMeasurementScheduler(
             LineTcpReceiverConfiguration lineConfiguration,
@@ -87,6 +97,10 @@ public class LineTcpMeasurementScheduler implements Closeable {
             this.configuration = lineConfiguration;
             this.clock = cairoConfiguration.getMillisecondClock();
             this.spinLockTimeoutMs = cairoConfiguration.getSpinLockTimeout();
+            this.lineMetrics = engine.getMetrics().line();
+            this.rebalanceInterval = lineConfiguration.getWriterRebalanceInterval();
+            this.rebalanceLoadRatio = lineConfiguration.getWriterRebalanceLoadRatio();
+            this.nextRebalanceMillis = clock.getTicks() + rebalanceInterval;
             this.defaultColumnTypes = new DefaultColumnTypes(lineConfiguration);
             final int ioWorkerPoolSize = ioWorkerPool.getWorkerCount();
             this.netIoJobs = new NetworkIOJob[ioWorkerPoolSize];
@@ -111,6 +125,7 @@ public class LineTcpMeasurementScheduler implements Closeable {
             long commitInterval = configuration.getCommitInterval();
             int nWriterThreads = writerWorkerPool.getWorkerCount();
             pubSeq = new MPSequence[nWriterThreads];
+            subSeq = new SCSequence[nWriterThreads];
             //noinspection unchecked
             queue = new RingQueue[nWriterThreads];
             //noinspection unchecked
@@ -136,15 +151,16 @@ public class LineTcpMeasurementScheduler implements Closeable {
                 );
 
                 queue[i] = q;
-                SCSequence subSeq = new SCSequence();
-                ps.then(subSeq).then(ps);
+                SCSequence ss = new SCSequence();
+                ps.then(ss).then(ps);
+                subSeq[i] = ss;
 
                 assignedTables[i] = new ObjList<>();
 
                 final LineTcpWriterJob lineTcpWriterJob = new LineTcpWriterJob(
                         i,
                         q,
-                        subSeq,
+                        ss,
                         clock,
                         commitInterval, this, engine.getMetrics(), assignedTables[i]
                 );
@@ -201,6 +217,10 @@ public class LineTcpMeasurementScheduler implements Closeable {
             int readerWorkerId,
             long millis
     ) {
+        if (rebalanceInterval > 0 && millis >= nextRebalanceMillis) {
+            rebalance(millis);
+        }
+
         for (int n = 0, sz = tableUpdateDetailsUtf8.size(); n < sz; n++) {
             final Utf8String tableNameUtf8 = tableUpdateDetailsUtf8.keys().get(n);
             final TableUpdateDetails tud = tableUpdateDetailsUtf8.get(tableNameUtf8);
@@ -361,21 +381,30 @@ public class LineTcpMeasurementScheduler implements Closeable {
             LineTcpParser parser,
             TableUpdateDetails tud
     ) {
-        final int writerThreadId = tud.getWriterThreadId();
-        long seq = getNextPublisherEventSequence(writerThreadId);
-        if (seq > -1) {
-            try {
-                if (tud.isWriterInError()) {
-                    throw CairoException.critical(0).put("writer is in error, aborting ILP pipeline");
+        while (true) {
+            final int writerThreadId = tud.getWriterThreadId();
+            long seq = getNextPublisherEventSequence(writerThreadId);
+            if (seq > -1) {
+                final LineTcpMeasurementEvent event = queue[writerThreadId].get(seq);
+                try {
+                    if (tud.isWriterInError()) {
+                        throw CairoException.critical(0).put("writer is in error, aborting ILP pipeline");
+                    }
+                    event.createMeasurementEvent(securityContext, tud, parser, netIoJob.getWorkerId());
+                    if (event.getWriterWorkerId() != writerThreadId) {
+                        // The table has been moved to another writer thread after the queue slot was claimed.
+                        // Writer threads skip incomplete events, publish the event again to the new thread.
+                        event.markIncomplete();
+                        continue;
+                    }
+                } finally {
+                    pubSeq[writerThreadId].done(seq);
                 }
-                queue[writerThreadId].get(seq).createMeasurementEvent(securityContext, tud, parser, netIoJob.getWorkerId());
-            } finally {
-                pubSeq[writerThreadId].done(seq);
+                tud.incrementEventsProcessedSinceReshuffle(event.getSize());
+                return false;
             }
-            tud.incrementEventsProcessedSinceReshuffle();
-            return false;
+            return true;
         }
-        return true;
     }
 
     private TableUpdateDetails getTableUpdateDetailsFromSharedArea(
@@ -489,6 +518,116 @@ public class LineTcpMeasurementScheduler implements Closeable {
         return null != pubSeq;
     }
 
+    private void publishRebalanceEvent(TableUpdateDetails tud, int fromThreadId) {
+        long seq;
+        // the queue had a free slot when the table was moved, but it can be taken by an IO thread
+        // in the meantime; the writer thread keeps draining the queue, so a slot frees up shortly.
+        // This is called without holding the lock, writer threads take it to release idle writers
+        while ((seq = getNextPublisherEventSequence(fromThreadId)) < 0) {
+            Os.pause();
+        }
+        queue[fromThreadId].get(seq).createRebalanceEvent(tud);
+        pubSeq[fromThreadId].done(seq);
+    }
+
+    private void rebalance(long millis) {
+        TableUpdateDetails movedTud = null;
+        int fromThreadId = 0;
+        tableUpdateDetailsLock.writeLock().lock();
+        try {
+            if (millis < nextRebalanceMillis) {
+                // another IO thread has just done the check
+                return;
+            }
+            nextRebalanceMillis = millis + rebalanceInterval;
+
+            unsafeUpdateLoad();
+            updateWriterMetrics();
+
+            if (rebalanceTud != null) {
+                // only one table is handed over at a time, this way writer threads
+                // cannot end up waiting for each other
+                if (rebalanceTud.isRebalancePending()) {
+                    return;
+                }
+                rebalanceTud = null;
+            }
+
+            int toThreadId = 0;
+            for (int i = 1, n = loadByWriterThread.length; i < n; i++) {
+                if (loadByWriterThread[i] > loadByWriterThread[fromThreadId]) {
+                    fromThreadId = i;
+                }
+                if (loadByWriterThread[i] < loadByWriterThread[toThreadId]) {
+                    toThreadId = i;
+                }
+            }
+            final long maxLoad = loadByWriterThread[fromThreadId];
+            final long minLoad = loadByWriterThread[toThreadId];
+            if (maxLoad == 0 || maxLoad <= minLoad * rebalanceLoadRatio) {
+                return;
+            }
+            if (pubSeq[fromThreadId].current() - subSeq[fromThreadId].current() >= queue[fromThreadId].getCycle()) {
+                // the rebalance event could not be published, moving the table now would leave the new
+                // writer thread waiting for the hand-over; try again on the next load check
+                return;
+            }
+
+            // Pick the table that evens out the two threads best. Moving a table with the load equal to or
+            // greater than the gap would just swap the threads, e.g. a single hot table is never moved.
+            final long gap = maxLoad - minLoad;
+            TableUpdateDetails candidate = null;
+            long candidateDistance = Long.MAX_VALUE;
+            final ObjList<CharSequence> tableNames = tableUpdateDetailsUtf16.keys();
+            for (int n = 0, sz = tableNames.size(); n < sz; n++) {
+                final TableUpdateDetails tud = tableUpdateDetailsUtf16.get(tableNames.getQuick(n));
+                if (tud == null || tud.getWriterThreadId() != fromThreadId || tud.isWriterInError()) {
+                    continue;
+                }
+                // hysteresis: recently moved tables stay where they are for a while
+                if (millis - tud.getLastRebalanceMillis() < REBALANCE_COOL_DOWN_CHECKS * rebalanceInterval) {
+                    continue;
+                }
+                final long load = tud.getByteLoad();
+                if (load > 0 && load < gap) {
+                    final long distance = Math.abs(gap - 2 * load);
+                    if (distance < candidateDistance) {
+                        candidate = tud;
+                        candidateDistance = distance;
+                    }
+                }
+            }
+
+            if (candidate != null) {
+                LOG.info().$("moving table to another writer thread [tableName=").$(candidate.getTableNameUtf16())
+                        .$(", fromThreadId=").$(fromThreadId)
+                        .$(", fromThreadLoad=").$(maxLoad)
+                        .$(", toThreadId=").$(toThreadId)
+                        .$(", toThreadLoad=").$(minLoad)
+                        .$(", tableLoad=").$(candidate.getByteLoad())
+                        .$(", tableRowLoad=").$(candidate.getRowLoad())
+                        .I$();
+                // the new writer thread must see the pending flag before any event routed to it
+                candidate.setRebalancePending(true);
+                candidate.setWriterThreadId(toThreadId);
+                candidate.setLastRebalanceMillis(millis);
+                loadByWriterThread[fromThreadId] -= candidate.getByteLoad();
+                loadByWriterThread[toThreadId] += candidate.getByteLoad();
+                rebalanceTud = candidate;
+                movedTud = candidate;
+            }
+        } finally {
+            tableUpdateDetailsLock.writeLock().unlock();
+        }
+
+        if (movedTud != null) {
+            // the old writer thread lets go of the table once it processes all events
+            // published before this one
+            publishRebalanceEvent(movedTud, fromThreadId);
+            lineMetrics.tableRebalanceCounter().inc();
+        }
+    }
+
     @NotNull
     private TableUpdateDetails unsafeAssignTableToWriterThread(
             int tudKeyIndex,
@@ -530,13 +669,46 @@ public class LineTcpMeasurementScheduler implements Closeable {
             final CharSequence tableName = tableNames.getQuick(n);
             final TableUpdateDetails stats = tableUpdateDetailsUtf16.get(tableName);
             if (stats != null) {
-                loadByWriterThread[stats.getWriterThreadId()] += stats.getEventsProcessedSinceReshuffle();
+                // recent load when it is tracked, otherwise all rows seen by the table
+                loadByWriterThread[stats.getWriterThreadId()] += rebalanceInterval > 0 ? stats.getByteLoad() : stats.getEventsProcessedSinceReshuffle();
             } else {
                 LOG.error().$("could not find statistic for table [name=").$(tableName).I$();
             }
         }
     }
 
+    private void unsafeUpdateLoad() {
+        Arrays.fill(loadByWriterThread, 0);
+        ObjList<CharSequence> tableNames = tableUpdateDetailsUtf16.keys();
+        for (int n = 0, sz = tableNames.size(); n < sz; n++) {
+            final TableUpdateDetails tud = tableUpdateDetailsUtf16.get(tableNames.getQuick(n));
+            if (tud != null) {
+                tud.updateLoad();
+                final int writerThreadId = tud.getWriterThreadId();
+                if (writerThreadId > -1) {
+                    loadByWriterThread[writerThreadId] += tud.getByteLoad();
+                }
+            }
+        }
+    }
+
+    private void updateWriterMetrics() {
+        long queueDepth = 0;
+        long totalLoad = 0;
+        long maxLoad = 0;
+        long minLoad = Long.MAX_VALUE;
+        for (int i = 0, n = loadByWriterThread.length; i < n; i++) {
+            queueDepth += Math.max(0, pubSeq[i].current() - subSeq[i].current());
+            final long load = loadByWriterThread[i];
+            totalLoad += load;
+            maxLoad = Math.max(maxLoad, load);
+            minLoad = Math.min(minLoad, load);
+        }
+        lineMetrics.writerQueueDepthGauge().setValue(queueDepth);
+        lineMetrics.writerLoadMaxPercentGauge().setValue(totalLoad > 0 ? maxLoad * 100 / totalLoad : 0);
+        lineMetrics.writerLoadMinPercentGauge().setValue(totalLoad > 0 ? minLoad * 100 / totalLoad : 0);
+    }
+
     protected NetworkIOJob createNetworkIOJob(IODispatcher<LineTcpConnectionContext> dispatcher, int workerId) {
         return new LineTcpNetworkIOJob(configuration, this, dispatcher, workerId);
     }
@@ -36,6 +36,14 @@ import io.questdb.std.str.DirectUtf8String;
 
 public class LineTcpParser {
 
+    // Binary field values are prefixed with an extra '=', i.e. "name==<type><payload>",
+    // which is invalid in the text format. The payload is a little-endian 8-byte value.
+    public static final byte BINARY_FORMAT_FLAG = '=';
+    public static final byte BINARY_TYPE_DOUBLE = 16;
+    public static final byte BINARY_TYPE_LONG = 17;
+    public static final byte BINARY_TYPE_TIMESTAMP_MICROS = 18;
+    public static final byte BINARY_TYPE_TIMESTAMP_NANOS = 19;
+    public static final int BINARY_VALUE_SIZE = 2 + Long.BYTES; // flag, type and payload
     public static final byte ENTITY_TYPE_BOOLEAN = 6;
     public static final byte ENTITY_TYPE_BYTE = 17;
     public static final byte ENTITY_TYPE_CACHED_TAG = 8;
@@ -85,6 +93,7 @@ public class LineTcpParser {
     private ProtoEntity currentEntity;
     private byte entityHandler = -1;
     private long entityLo;
+    private boolean hasBinaryValues;
     private ErrorCode errorCode;
     private boolean hasNonAscii;
     private boolean isQuotedFieldValue;
@@ -147,6 +156,14 @@ public class LineTcpParser {
         return timestampUnit;
     }
 
+    /**
+     * @return true when the current line has a binary field value, such line can't be
+     * skipped to the next new line character as the payload is not text
+     */
+    public boolean hasBinaryValues() {
+        return hasBinaryValues;
+    }
+
     public boolean hasNonAsciiChars() {
         return hasNonAscii;
     }
@@ -194,6 +211,18 @@ public class LineTcpParser {
             }
 
             // slow path
+            if (b == BINARY_FORMAT_FLAG && bufAt == entityLo && isBinaryValueAllowed()) {
+                // the payload is followed by a separator, make sure it is in the buffer too
+                if (bufAt + BINARY_VALUE_SIZE >= bufHi) {
+                    return ParseResult.BUFFER_UNDERFLOW;
+                }
+                hasBinaryValues = true;
+                if (!parseBinaryValue()) {
+                    return ParseResult.ERROR;
+                }
+                continue;
+            }
+
             hasNonAscii |= b < 0;
             boolean endOfLine = false;
             boolean appendByte = false;
@@ -347,6 +376,7 @@ public class LineTcpParser {
         scape = false;
         nextValueCanBeOpenQuote = false;
         hasNonAscii = false;
+        hasBinaryValues = false;
     }
 
     private boolean completeEntity(byte endOfEntityByte, long bufHi) {
@@ -439,7 +469,8 @@ public class LineTcpParser {
     private boolean expectEntityValue(byte endOfEntityByte) {
         boolean endOfSet = endOfEntityByte == (byte) ' ';
         if (endOfSet || endOfEntityByte == (byte) ',' || endOfEntityByte == (byte) '\n') {
-            if (currentEntity.setValueAndUnit()) {
+            // binary values are complete by the time the separator is reached
+            if (currentEntity.type != ENTITY_TYPE_NONE || currentEntity.setValueAndUnit()) {
                 if (endOfSet) {
                     if (tagsComplete) {
                         entityHandler = ENTITY_HANDLER_TIMESTAMP;
@@ -537,6 +568,49 @@ public class LineTcpParser {
         return ParseResult.ERROR;
     }
 
+    private boolean isBinaryValueAllowed() {
+        return nEscapedChars == 0 && ((entityHandler == ENTITY_HANDLER_VALUE && tagsComplete) || entityHandler == ENTITY_HANDLER_TIMESTAMP);
+    }
+
+    private boolean parseBinaryValue() {
+        final byte type = Unsafe.getUnsafe().getByte(bufAt + 1);
+        final long value = Unsafe.getUnsafe().getLong(bufAt + 2);
+        final byte separator = Unsafe.getUnsafe().getByte(bufAt + BINARY_VALUE_SIZE);
+        if (entityHandler == ENTITY_HANDLER_TIMESTAMP) {
+            if (separator != '\n' && separator != '\r') {
+                errorCode = ErrorCode.INVALID_FIELD_SEPARATOR;
+                return false;
+            }
+            switch (type) {
+                case BINARY_TYPE_TIMESTAMP_MICROS:
+                    timestampUnit = ENTITY_UNIT_MICRO;
+                    break;
+                case BINARY_TYPE_TIMESTAMP_NANOS:
+                    timestampUnit = ENTITY_UNIT_NANO;
+                    break;
+                default:
+                    errorCode = ErrorCode.INVALID_TIMESTAMP;
+                    return false;
+            }
+            timestamp = value;
+            bufAt += BINARY_VALUE_SIZE;
+            // nothing is left for the text timestamp parser
+            entityLo = bufAt;
+            return true;
+        }
+
+        if (separator != ' ' && separator != ',' && separator != '\n' && separator != '\r') {
+            errorCode = ErrorCode.INVALID_FIELD_SEPARATOR;
+            return false;
+        }
+        if (!currentEntity.setBinaryValue(type, value)) {
+            errorCode = ErrorCode.INVALID_FIELD_VALUE;
+            return false;
+        }
+        bufAt += BINARY_VALUE_SIZE;
+        return true;
+    }
+
     private ProtoEntity popEntity() {
         ProtoEntity currentEntity;
         if (entityCache.size() <= nEntities) {
@@ -626,6 +700,7 @@ public class LineTcpParser {
         private boolean booleanValue;
         private double floatValue;
         private long longValue;
+        private boolean binary;
         private byte type = ENTITY_TYPE_NONE;
         private byte unit = ENTITY_UNIT_NONE;
 
@@ -657,6 +732,13 @@ public class LineTcpParser {
             return value;
         }
 
+        /**
+         * Binary values have no text representation, so {@link #getValue()} is empty for them.
+         */
+        public boolean isBinary() {
+            return binary;
+        }
+
         public void shl(long shl) {
             name.shl(shl);
             value.shl(shl);
@@ -665,6 +747,7 @@ public class LineTcpParser {
         private void clear() {
             type = ENTITY_TYPE_NONE;
             unit = ENTITY_UNIT_NONE;
+            binary = false;
         }
 
         private boolean parse(byte last, int valueLen) {
@@ -769,6 +852,34 @@ public class LineTcpParser {
             return true;
         }
 
+        private boolean setBinaryValue(byte binaryType, long binaryValue) {
+            switch (binaryType) {
+                case BINARY_TYPE_DOUBLE:
+                    floatValue = Double.longBitsToDouble(binaryValue);
+                    type = ENTITY_TYPE_FLOAT;
+                    break;
+                case BINARY_TYPE_LONG:
+                    longValue = binaryValue;
+                    type = ENTITY_TYPE_INTEGER;
+                    break;
+                case BINARY_TYPE_TIMESTAMP_MICROS:
+                    longValue = binaryValue;
+                    unit = ENTITY_UNIT_MICRO;
+                    type = ENTITY_TYPE_TIMESTAMP;
+                    break;
+                case BINARY_TYPE_TIMESTAMP_NANOS:
+                    longValue = binaryValue;
+                    unit = ENTITY_UNIT_NANO;
+                    type = ENTITY_TYPE_TIMESTAMP;
+                    break;
+                default:
+                    return false;
+            }
+            value.of(entityLo, entityLo, true);
+            binary = true;
+            return true;
+        }
+
         private void setName() {
             name.of(entityLo, bufAt - nEscapedChars, !hasNonAscii);
         }
@@ -93,6 +93,23 @@ public interface LineTcpReceiverConfiguration {
 
     int getWriterQueueCapacity();
 
+    /**
+     * Interval in milliseconds between writer thread load checks. Each check decays
+     * the per-table load and may move one table from the busiest writer thread to the
+     * least busy one. Zero or negative value disables moving tables between threads.
+     *
+     * @return interval in milliseconds
+     */
+    long getWriterRebalanceInterval();
+
+    /**
+     * Hysteresis for moving tables between writer threads: tables are moved only when
+     * the busiest writer thread has this many times the load of the least busy one.
+     *
+     * @return ratio of the busiest to the least busy writer thread load
+     */
+    double getWriterRebalanceLoadRatio();
+
     WorkerPoolConfiguration getWriterWorkerPoolConfiguration();
 
     boolean isEnabled();
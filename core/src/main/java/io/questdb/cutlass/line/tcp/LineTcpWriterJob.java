@@ -138,6 +138,11 @@ class LineTcpWriterJob implements Job, Closeable {
             }
             busy = true;
             final LineTcpMeasurementEvent event = queue.get(cursor);
+            if (isHandOverPending(event)) {
+                // the table is being handed over to this thread, leave the event in the queue
+                // until the previous writer thread lets go of the table
+                return true;
+            }
 
             try {
                 // we check the event's writer thread ID to avoid consuming
@@ -173,8 +178,15 @@ class LineTcpWriterJob implements Job, Closeable {
                         // This is a critical error, so we treat it as an unhandled one.
                     }
                 } else {
-                    if (event.getWriterWorkerId() == LineTcpMeasurementEventType.ALL_WRITERS_RELEASE_WRITER) {
-                        closeWriter = true;
+                    switch (event.getWriterWorkerId()) {
+                        case LineTcpMeasurementEventType.ALL_WRITERS_RELEASE_WRITER:
+                            closeWriter = true;
+                            break;
+                        case LineTcpMeasurementEventType.ALL_WRITERS_REBALANCE:
+                            handOverTable(tud);
+                            break;
+                        default:
+                            break;
                     }
                 }
 
@@ -192,6 +204,44 @@ class LineTcpWriterJob implements Job, Closeable {
         }
     }
 
+    private void handOverTable(TableUpdateDetails tud) {
+        // all events published for the table before it was moved have been processed by now
+        try {
+            if (tud.isAssignedToJob()) {
+                assignedTables.remove(tud);
+                tud.setAssignedToJob(false);
+                nextCommitTime = millisecondClock.getTicks();
+                if (!tud.isWriterInError() && tud.getWriter() != null) {
+                    tud.commit(false);
+                }
+            }
+        } catch (Throwable ex) {
+            tud.setWriterInError();
+            LOG.critical()
+                    .$("could not commit table before handing it over to another writer thread [table=").$(tud.getTableToken())
+                    .$(", ex=").$(ex)
+                    .I$();
+            metrics.health().incrementUnhandledErrors();
+        } finally {
+            LOG.info()
+                    .$("handed table over to another writer thread [tableName=").$(tud.getTableToken())
+                    .$(", fromThreadId=").$(workerId)
+                    .$(", toThreadId=").$(tud.getWriterThreadId())
+                    .I$();
+            // volatile write publishes the writer state to the new writer thread
+            tud.setRebalancePending(false);
+        }
+    }
+
+    private boolean isHandOverPending(LineTcpMeasurementEvent event) {
+        final int eventWriterId = event.getWriterWorkerId();
+        if (eventWriterId == workerId || eventWriterId == LineTcpMeasurementEventType.ALL_WRITERS_RELEASE_WRITER) {
+            final TableUpdateDetails tud = event.getTableUpdateDetails();
+            return tud.isRebalancePending() && tud.getWriterThreadId() == workerId;
+        }
+        return false;
+    }
+
     private void tickWriters() {
         for (int n = 0, sz = assignedTables.size(); n < sz; n++) {
             assignedTables.getQuick(n).tick();
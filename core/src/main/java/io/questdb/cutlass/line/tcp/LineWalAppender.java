@@ -102,10 +102,8 @@ public class LineWalAppender {
             TableUpdateDetails tud
     ) throws CommitFailedException, MetadataChangedException {
 
-        // pass 1: create all columns that do not exist
         final TableUpdateDetails.ThreadLocalDetails ld = tud.getThreadLocalDetails(0); // IO thread id is not relevant
         ld.resetStateIfNecessary();
-        ld.clearColumnTypes();
 
         final TableWriterAPI writer = tud.getWriter();
         assert writer.supportsMultipleWriters();
@@ -119,62 +117,78 @@ public class LineWalAppender {
         }
 
         final int entCount = parser.getEntityCount();
-        for (int i = 0; i < entCount; i++) {
-            final LineTcpParser.ProtoEntity ent = parser.getEntity(i);
-            int columnWriterIndex = ld.getColumnWriterIndex(ent.getName(), parser.hasNonAsciiChars(), metadata);
+        if (ld.isSameLineLayout(parser)) {
+            // clients tend to send the same columns on every line, reuse the column types
+            // resolved for the previous line instead of looking up the columns by name
+            final int timestampEntity = ld.getLineTimestampEntity();
+            if (timestampEntity > -1) {
+                final LineTcpParser.ProtoEntity ent = parser.getEntity(timestampEntity);
+                timestamp = timestampAdapter.getMicros(ent.getLongValue(), ent.getUnit());
+            }
+        } else {
+            // pass 1: create all columns that do not exist
+            ld.clearColumnTypes();
+            final long metadataVersion = ld.getMetadataVersion();
+            int timestampEntity = -1;
+            for (int i = 0; i < entCount; i++) {
+                final LineTcpParser.ProtoEntity ent = parser.getEntity(i);
+                int columnWriterIndex = ld.getColumnWriterIndex(ent.getName(), parser.hasNonAsciiChars(), metadata);
 
-            switch (columnWriterIndex) {
-                default:
-                    final int columnType = metadata.getColumnType(columnWriterIndex);
-                    if (columnType > -1) {
-                        if (columnWriterIndex == tud.getTimestampIndex()) {
-                            timestamp = timestampAdapter.getMicros(ent.getLongValue(), ent.getUnit());
-                            ld.addColumnType(DUPLICATED_COLUMN, ColumnType.UNDEFINED);
+                switch (columnWriterIndex) {
+                    default:
+                        final int columnType = metadata.getColumnType(columnWriterIndex);
+                        if (columnType > -1) {
+                            if (columnWriterIndex == tud.getTimestampIndex()) {
+                                timestamp = timestampAdapter.getMicros(ent.getLongValue(), ent.getUnit());
+                                timestampEntity = i;
+                                ld.addColumnType(DUPLICATED_COLUMN, ColumnType.UNDEFINED);
+                            } else {
+                                ld.addColumnType(columnWriterIndex, metadata.getColumnType(columnWriterIndex));
+                            }
+                            break;
                         } else {
-                            ld.addColumnType(columnWriterIndex, metadata.getColumnType(columnWriterIndex));
+                            // column has been deleted from the metadata, but it is in our utf8 cache
+                            ld.removeFromCaches(ent.getName(), parser.hasNonAsciiChars());
+                            // act as if we did not find this column and fall through
                         }
-                        break;
-                    } else {
-                        // column has been deleted from the metadata, but it is in our utf8 cache
-                        ld.removeFromCaches(ent.getName(), parser.hasNonAsciiChars());
-                        // act as if we did not find this column and fall through
-                    }
-                case COLUMN_NOT_FOUND:
-                    final String columnNameUtf16 = ld.getColNameUtf16();
-                    if (autoCreateNewColumns && TableUtils.isValidColumnName(columnNameUtf16, maxFileNameLength)) {
-                        columnWriterIndex = metadata.getColumnIndexQuiet(columnNameUtf16);
-                        if (columnWriterIndex < 0) {
-                            securityContext.authorizeAlterTableAddColumn(writer.getTableToken());
-                            try {
-                                int newColumnType = ld.getColumnType(ld.getColNameUtf8(), ent.getType());
-                                writer.addColumn(columnNameUtf16, newColumnType, securityContext);
-                                columnWriterIndex = metadata.getWriterIndex(metadata.getColumnIndexQuiet(columnNameUtf16));
-                                // Add the column to metadata cache too
-                                ld.addColumn(columnNameUtf16, columnWriterIndex, newColumnType);
-                            } catch (CairoException e) {
-                                columnWriterIndex = metadata.getColumnIndexQuiet(columnNameUtf16);
-                                if (columnWriterIndex < 0) {
-                                    // the column is still not there, something must be wrong
-                                    throw e;
+                    case COLUMN_NOT_FOUND:
+                        final String columnNameUtf16 = ld.getColNameUtf16();
+                        if (autoCreateNewColumns && TableUtils.isValidColumnName(columnNameUtf16, maxFileNameLength)) {
+                            columnWriterIndex = metadata.getColumnIndexQuiet(columnNameUtf16);
+                            if (columnWriterIndex < 0) {
+                                securityContext.authorizeAlterTableAddColumn(writer.getTableToken());
+                                try {
+                                    int newColumnType = ld.getColumnType(ld.getColNameUtf8(), ent.getType());
+                                    writer.addColumn(columnNameUtf16, newColumnType, securityContext);
+                                    columnWriterIndex = metadata.getWriterIndex(metadata.getColumnIndexQuiet(columnNameUtf16));
+                                    // Add the column to metadata cache too
+                                    ld.addColumn(columnNameUtf16, columnWriterIndex, newColumnType);
+                                } catch (CairoException e) {
+                                    columnWriterIndex = metadata.getColumnIndexQuiet(columnNameUtf16);
+                                    if (columnWriterIndex < 0) {
+                                        // the column is still not there, something must be wrong
+                                        throw e;
+                                    }
+                                    // all good, someone added the column concurrently
                                 }
-                                // all good, someone added the column concurrently
                             }
+                            if (ld.getMetadataVersion() != writer.getMetadataVersion()) {
+                                throw MetadataChangedException.INSTANCE;
+                            }
+                            ld.addColumnType(columnWriterIndex, metadata.getColumnType(columnWriterIndex));
+                        } else if (!autoCreateNewColumns) {
+                            throw newColumnsNotAllowed(columnNameUtf16, tud.getTableNameUtf16());
+                        } else {
+                            throw invalidColNameError(columnNameUtf16, tud.getTableNameUtf16());
                         }
-                        if (ld.getMetadataVersion() != writer.getMetadataVersion()) {
-                            throw MetadataChangedException.INSTANCE;
-                        }
-                        ld.addColumnType(columnWriterIndex, metadata.getColumnType(columnWriterIndex));
-                    } else if (!autoCreateNewColumns) {
-                        throw newColumnsNotAllowed(columnNameUtf16, tud.getTableNameUtf16());
-                    } else {
-                        throw invalidColNameError(columnNameUtf16, tud.getTableNameUtf16());
-                    }
-                    break;
-                case DUPLICATED_COLUMN:
-                    // indicate to the second loop that writer index does not exist
-                    ld.addColumnType(DUPLICATED_COLUMN, ColumnType.UNDEFINED);
-                    break;
+                        break;
+                    case DUPLICATED_COLUMN:
+                        // indicate to the second loop that writer index does not exist
+                        ld.addColumnType(DUPLICATED_COLUMN, ColumnType.UNDEFINED);
+                        break;
+                }
             }
+            ld.saveLineLayout(parser, timestampEntity, metadataVersion);
         }
 
         TableWriter.Row r = writer.newRow(timestamp);
@@ -258,6 +272,10 @@ public class LineWalAppender {
                                 r.putFloat(columnIndex, ent.getLongValue());
                                 break;
                             case ColumnType.SYMBOL:
+                                if (ent.isBinary()) {
+                                    // binary values have no text to store as a symbol
+                                    throw castError(tud.getTableNameUtf16(), "INTEGER", colType, ent.getName());
+                                }
                                 r.putSymUtf8(columnIndex, ent.getValue());
                                 break;
                             default:
@@ -274,6 +292,10 @@ public class LineWalAppender {
                                 r.putFloat(columnIndex, (float) ent.getFloatValue());
                                 break;
                             case ColumnType.SYMBOL:
+                                if (ent.isBinary()) {
+                                    // binary values have no text to store as a symbol
+                                    throw castError(tud.getTableNameUtf16(), "FLOAT", colType, ent.getName());
+                                }
                                 r.putSymUtf8(columnIndex, ent.getValue());
                                 break;
                             default:
@@ -390,6 +412,10 @@ public class LineWalAppender {
                                 r.putTimestamp(columnIndex, dateValue / 1000);
                                 break;
                             case ColumnType.SYMBOL:
+                                if (ent.isBinary()) {
+                                    // binary values have no text to store as a symbol
+                                    throw castError(tud.getTableNameUtf16(), "TIMESTAMP", colType, ent.getName());
+                                }
                                 r.putSymUtf8(columnIndex, ent.getValue());
                                 break;
                             default:
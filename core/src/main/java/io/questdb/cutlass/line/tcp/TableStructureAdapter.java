@@ -127,6 +127,11 @@ public class TableStructureAdapter implements TableStructure {
         return timestampIndex == -1 ? entities.size() : timestampIndex;
     }
 
+    @Override
+    public long getTtl() {
+        return 0;
+    }
+
     @Override
     public boolean isDedupKey(int columnIndex) {
         return false;
@@ -61,17 +61,27 @@ public class TableUpdateDetails implements Closeable {
     private final long writerTickRowsCountMod;
     protected TableWriterAPI writerAPI;
     private boolean assignedToJob = false;
+    // Number of bytes processed since the last reshuffle, an estimate in the same way as the number of rows
+    private long bytesProcessedSinceReshuffle = 0;
+    // Exponentially decaying load, updated by the scheduler on every writer thread load check
+    private long byteLoad;
+    private long byteLoadMark;
     // Number of rows processed since the last reshuffle, this is an estimate because it is incremented by
     // multiple threads without synchronisation
     private long eventsProcessedSinceReshuffle = 0;
     private boolean isDropped;
     private long lastMeasurementMillis = Long.MAX_VALUE;
+    private long lastRebalanceMillis = Long.MIN_VALUE;
     private long latestKnownMetadataVersion;
     private MetadataService metadataService;
     private int networkIOOwnerCount = 0;
     private long nextCommitTime;
+    // Set while the table is being handed over to another writer thread
+    private volatile boolean rebalancePending;
+    private long rowLoad;
+    private long rowLoadMark;
     private volatile boolean writerInError;
-    private int writerThreadId;
+    private volatile int writerThreadId;
 
     public TableUpdateDetails(
             LineTcpReceiverConfiguration configuration,
@@ -214,6 +224,10 @@ public class TableUpdateDetails implements Closeable {
         }
     }
 
+    public long getByteLoad() {
+        return byteLoad;
+    }
+
     public long getEventsProcessedSinceReshuffle() {
         return eventsProcessedSinceReshuffle;
     }
@@ -222,6 +236,10 @@ public class TableUpdateDetails implements Closeable {
         return lastMeasurementMillis;
     }
 
+    public long getLastRebalanceMillis() {
+        return lastRebalanceMillis;
+    }
+
     public MillisecondClock getMillisecondClock() {
         return millisecondClock;
     }
@@ -238,6 +256,10 @@ public class TableUpdateDetails implements Closeable {
         return tableNameUtf8;
     }
 
+    public long getRowLoad() {
+        return rowLoad;
+    }
+
     public TableToken getTableToken() {
         return tableToken;
     }
@@ -246,8 +268,9 @@ public class TableUpdateDetails implements Closeable {
         return writerThreadId;
     }
 
-    public void incrementEventsProcessedSinceReshuffle() {
+    public void incrementEventsProcessedSinceReshuffle(long eventSize) {
         ++eventsProcessedSinceReshuffle;
+        bytesProcessedSinceReshuffle += eventSize;
     }
 
     public boolean isAssignedToJob() {
@@ -258,6 +281,10 @@ public class TableUpdateDetails implements Closeable {
         return this.isDropped;
     }
 
+    public boolean isRebalancePending() {
+        return rebalancePending;
+    }
+
     public boolean isWal() {
         return writerThreadId == -1;
     }
@@ -290,16 +317,41 @@ public class TableUpdateDetails implements Closeable {
         this.isDropped = true;
     }
 
+    public void setLastRebalanceMillis(long lastRebalanceMillis) {
+        this.lastRebalanceMillis = lastRebalanceMillis;
+    }
+
+    public void setRebalancePending(boolean rebalancePending) {
+        this.rebalancePending = rebalancePending;
+    }
+
     public void setWriterInError() {
         writerInError = true;
     }
 
+    public void setWriterThreadId(int writerThreadId) {
+        this.writerThreadId = writerThreadId;
+    }
+
     public void tick() {
         if (metadataService != null) {
             metadataService.tick();
         }
     }
 
+    /**
+     * Folds rows and bytes dispatched since the previous call into the table load, halving
+     * the load accumulated before. Called by the scheduler under its table lock.
+     */
+    public void updateLoad() {
+        final long events = eventsProcessedSinceReshuffle;
+        final long bytes = bytesProcessedSinceReshuffle;
+        rowLoad = (rowLoad >> 1) + Math.max(0, events - rowLoadMark);
+        byteLoad = (byteLoad >> 1) + Math.max(0, bytes - byteLoadMark);
+        rowLoadMark = events;
+        byteLoadMark = bytes;
+    }
+
     private void authorizeCommit() {
         if (ownSecurityContext != null) {
             ownSecurityContext.authorizeInsert(tableToken);
@@ -419,6 +471,8 @@ public class TableUpdateDetails implements Closeable {
         // indexed by colIdx + 1, first value accounts for spurious, new cols (index -1)
         private final IntList columnTypeMeta = new IntList();
         private final IntList columnTypes = new IntList();
+        // offsets where the column names of the last WAL line end in lineColNames
+        private final IntList lineColNameHi = new IntList();
         private final Path path = new Path();
         // tracking of processed columns by their index, duplicates will be ignored
         private final BitSet processedCols = new BitSet();
@@ -429,6 +483,11 @@ public class TableUpdateDetails implements Closeable {
         private String colNameUtf16;
         private Utf8String colNameUtf8;
         private GenericRecordMetadata latestKnownMetadata;
+        // column names of the last line appended to WAL, back to back, allocated for WAL tables only
+        private DirectUtf8Sink lineColNames;
+        // metadata version the last WAL line's column types were resolved against, -1 when they are not reusable
+        private long lineMetadataVersion = -1;
+        private int lineTimestampEntity = -1;
         private String symbolNameTemp;
         private TxReader txReader;
 
@@ -464,6 +523,7 @@ public class TableUpdateDetails implements Closeable {
         public void close() {
             Misc.freeObjList(symbolCacheByColumnIndex);
             Misc.free(path);
+            lineColNames = Misc.free(lineColNames);
             txReader = Misc.free(txReader);
         }
 
@@ -626,11 +686,13 @@ public class TableUpdateDetails implements Closeable {
             if (txReader != null) {
                 txReader.clear();
             }
+            lineMetadataVersion = -1;
             clean = true;
         }
 
         void clearColumnTypes() {
             columnTypes.clear();
+            lineMetadataVersion = -1;
         }
 
         void clearProcessedColumns() {
@@ -731,6 +793,11 @@ public class TableUpdateDetails implements Closeable {
             return ANY_TABLE_VERSION;
         }
 
+        // index of the entity the designated timestamp was taken from on the last WAL line, or -1
+        int getLineTimestampEntity() {
+            return lineTimestampEntity;
+        }
+
         DirectUtf8SymbolLookup getSymbolLookup(int columnIndex) {
             if (columnIndex > -1) {
                 SymbolCache symCache = symbolCacheByColumnIndex.getQuiet(columnIndex);
@@ -742,6 +809,28 @@ public class TableUpdateDetails implements Closeable {
             return NOT_FOUND_LOOKUP;
         }
 
+        // Returns true when the line has the same column names in the same order as the last line
+        // appended to WAL, and the table structure has not changed since. Column types resolved
+        // for the last line can be used as they are, without looking up the columns by name.
+        boolean isSameLineLayout(LineTcpParser parser) {
+            final int entCount = parser.getEntityCount();
+            if (lineMetadataVersion != latestKnownMetadataVersion || latestKnownMetadata == null || entCount != lineColNameHi.size()) {
+                return false;
+            }
+            final long namesPtr = lineColNames.ptr();
+            int lo = 0;
+            for (int i = 0; i < entCount; i++) {
+                final DirectUtf8Sequence name = parser.getEntity(i).getName();
+                final int hi = lineColNameHi.getQuick(i);
+                final int size = name.size();
+                if (size != hi - lo || !Vect.memeq(name.ptr(), namesPtr + lo, size)) {
+                    return false;
+                }
+                lo = hi;
+            }
+            return true;
+        }
+
         void removeFromCaches(DirectUtf8Sequence colNameUtf8, boolean hasNonAsciiChars) {
             columnIndexByNameUtf8.remove(colNameUtf8);
             addedColsUtf16.remove(utf8ToUtf16(colNameUtf8, hasNonAsciiChars));
@@ -782,6 +871,21 @@ public class TableUpdateDetails implements Closeable {
             }
         }
 
+        // remembers the column names of a line once its column types are resolved
+        void saveLineLayout(LineTcpParser parser, int timestampEntity, long metadataVersion) {
+            if (lineColNames == null) {
+                lineColNames = new DirectUtf8Sink(64);
+            }
+            lineColNames.clear();
+            lineColNameHi.clear();
+            for (int i = 0, n = parser.getEntityCount(); i < n; i++) {
+                lineColNames.put(parser.getEntity(i).getName());
+                lineColNameHi.add(lineColNames.size());
+            }
+            lineTimestampEntity = timestampEntity;
+            lineMetadataVersion = metadataVersion;
+        }
+
         CharSequence utf8ToUtf16(DirectUtf8Sequence colNameUtf8, boolean hasNonAsciiChars) {
             return Utf8s.directUtf8ToUtf16(colNameUtf8, tempSink);
         }
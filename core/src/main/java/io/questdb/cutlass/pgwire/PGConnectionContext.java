@@ -35,10 +35,10 @@ import io.questdb.cairo.sql.Record;
 import io.questdb.cairo.sql.*;
 import io.questdb.cutlass.auth.Authenticator;
 import io.questdb.cutlass.auth.AuthenticatorException;
-import io.questdb.cutlass.text.TextLoader;
 import io.questdb.griffin.*;
 import io.questdb.griffin.engine.functions.bind.BindVariableServiceImpl;
 import io.questdb.griffin.engine.ops.UpdateOperation;
+import io.questdb.griffin.model.CopyModel;
 import io.questdb.log.Log;
 import io.questdb.log.LogFactory;
 import io.questdb.mp.SCSequence;
@@ -67,6 +67,7 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
     public static final String TAG_ALTER_ROLE = "ALTER ROLE";
     public static final String TAG_BEGIN = "BEGIN";
     public static final String TAG_COMMIT = "COMMIT";
+    public static final String TAG_COPY = "COPY";
     public static final String TAG_CREATE_ROLE = "CREATE ROLE";
     // create as select tag
     public static final String TAG_CTAS = "CTAS";
@@ -80,6 +81,8 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
     public static final String TAG_SET = "SET";
     public static final String TAG_UPDATE = "UPDATE";
     private static final int COMMIT_TRANSACTION = 2;
+    // CopyDone, binary trailer and CopyData header of the trailer
+    private static final int COPY_OUT_TAIL_LENGTH = 16;
     private static final int ERROR_TRANSACTION = 3;
     private static final int INT_BYTES_X = Numbers.bswap(Integer.BYTES);
     private static final int INT_NULL_X = Numbers.bswap(-1);
@@ -150,6 +153,10 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
     private int bufferRemainingOffset = 0;
     private int bufferRemainingSize = 0;
     private boolean completed = true;
+    // created lazily, on the first COPY FROM STDIN of the connection
+    private PGCopyInProcessor copyIn;
+    // created lazily, on the first COPY TO STDOUT of the connection
+    private PGCopyOutProcessor copyOut;
     private RecordCursor currentCursor = null;
     private RecordCursorFactory currentFactory = null;
     private boolean errorSkipToSync;
@@ -201,6 +208,8 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
     private SimpleAssociativeCache<TypesAndUpdate> typesAndUpdateCache;
     private boolean typesAndUpdateIsCached = false;
     private final PGResumeProcessor resumeCursorQueryRef = this::resumeCursorQuery;
+    private final PGResumeProcessor resumeCopyOutCompleteRef = this::resumeCopyOutComplete;
+    private final PGResumeProcessor resumeCopyOutRef = this::resumeCopyOut;
     private final PGResumeProcessor resumeComputeCursorSizeQueryRef = this::resumeComputeCursorSizeQuery;
     private final PGResumeProcessor resumeCursorExecuteRef = this::resumeCursorExecute;
     private final PGResumeProcessor setResumeComputeCursorSizeExecuteRef = this::setResumeComputeCursorSizeExecute;
@@ -338,6 +347,8 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
         Misc.clear(bindVariableTypes);
         Misc.clear(characterStore);
         Misc.clear(circuitBreaker);
+        Misc.clear(copyIn);
+        Misc.clear(copyOut);
 
         clearPool(namedPortalMap, namedPortalPool, "named portal");
         clearPool(namedStatementMap, namedStatementWrapperPool, "named statement");
@@ -406,6 +417,8 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
             sqlExecutionContext.with(DenyAllSecurityContext.INSTANCE, null, null, -1, null);
         }
         path = Misc.free(path);
+        copyIn = Misc.free(copyIn);
+        copyOut = Misc.free(copyOut);
         authenticator = Misc.free(authenticator);
         typesAndSelectCache = Misc.free(typesAndSelectCache);
         typesAndUpdateCache = Misc.free(typesAndUpdateCache);
@@ -693,6 +706,16 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
         }
     }
 
+    // In copy-in mode of a simple query the backend does not wait for Sync after an error,
+    // it replies with ReadyForQuery right away and drops any copy messages that follow.
+    private void abortCopy(int position, CharSequence message, boolean critical, int errno) throws PeerDisconnectedException, PeerIsSlowToReadException {
+        copyIn.clear();
+        metrics.pgWire().getErrorCounter().inc();
+        prepareError(position, message, critical, errno);
+        sendRNQ = true;
+        sendReadyForNewQuery();
+    }
+
     private void appendBinColumn(Record record, int i) throws SqlException {
         BinarySequence sequence = record.getBin(i);
         if (sequence == null) {
@@ -1243,6 +1266,7 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
     private void clearCursorAndFactory() {
         resumeProcessor = null;
         currentCursor = Misc.free(currentCursor);
+        Misc.clear(copyOut);
         // do not free factory, we may cache it
         currentFactory = null;
         // we resumed the cursor send the typesAndSelect will be null
@@ -1365,6 +1389,13 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
         }
     }
 
+    private CairoException copyDataDoesNotFit() {
+        LOG.error().$("not enough space in buffer for copy data [buffer=").$(sendBufferSize).I$();
+        responseUtf8Sink.reset();
+        freeFactory();
+        return CairoException.critical(0).put("server configuration error: not enough space in send buffer for copy data");
+    }
+
     private void configureContextFromNamedStatement(CharSequence statementName) throws BadProtocolException, SqlException {
         this.sendParameterDescription = statementName != null;
 
@@ -1839,6 +1870,22 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
             return;
         }
 
+        if (copyIn != null && copyIn.isActive()) {
+            switch (type) {
+                case 'd':
+                case 'c':
+                case 'f':
+                    break;
+                case 'S':
+                case 'H':
+                    // Sync and Flush are ignored in copy-in mode
+                    return;
+                default:
+                    abortCopy(-1, "unexpected message type during COPY", false, -1);
+                    return;
+            }
+        }
+
         switch (type) {
             case 'P': // parse
                 sendRNQ = true;
@@ -1892,6 +1939,20 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
                 processQuery(msgLo, msgLimit);
                 break;
             case 'd': // COPY data
+                // copy messages received outside of copy-in mode, e.g. after the copy failed, are dropped
+                if (copyIn != null && copyIn.isActive()) {
+                    processCopyData(msgLo, msgLimit);
+                }
+                break;
+            case 'c': // COPY done
+                if (copyIn != null && copyIn.isActive()) {
+                    processCopyDone();
+                }
+                break;
+            case 'f': // COPY fail
+                if (copyIn != null && copyIn.isActive()) {
+                    processCopyFail(msgLo, msgLimit);
+                }
                 break;
             default:
                 LOG.error().$("unknown message [type=").$(type).I$();
@@ -1920,6 +1981,26 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
         responseUtf8Sink.putIntDirect(INT_BYTES_X);
     }
 
+    private void prepareCopyInResponse() {
+        final byte format = copyIn.isBinary() ? (byte) 1 : (byte) 0;
+        responseUtf8Sink.put(MESSAGE_TYPE_COPY_IN_RESPONSE);
+        long addr = responseUtf8Sink.skip();
+        responseUtf8Sink.put(format);
+        final int fieldCount = copyIn.getFieldCount();
+        responseUtf8Sink.putNetworkShort((short) fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            responseUtf8Sink.putNetworkShort(format);
+        }
+        responseUtf8Sink.putLen(addr);
+        // ReadyForQuery is sent once the client completes or fails the copy
+        sendRNQ = false;
+    }
+
+    private void prepareCopyOutComplete() throws PeerDisconnectedException {
+        copyOut.appendComplete();
+        prepareCommandComplete(true);
+    }
+
     private void prepareDescribePortalResponse() {
         if (typesAndSelect != null) {
             try {
@@ -2265,6 +2346,15 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
             case CompiledQuery.SET:
                 queryTag = TAG_SET;
                 break;
+            case CompiledQuery.COPY_REMOTE:
+                if (cq.getRecordCursorFactory() != null) {
+                    // COPY ... TO STDOUT, this query is non-cacheable
+                    typesAndSelectIsCached = false;
+                    typesAndSelect = new TypesAndSelect(cq.getRecordCursorFactory());
+                    typesAndSelect.copyTypesFrom(bindVariableService);
+                }
+                queryTag = TAG_COPY;
+                break;
             case CompiledQuery.DEALLOCATE:
                 queryTag = TAG_DEALLOCATE;
                 removeNamedStatement(cq.getStatementName());
@@ -2304,6 +2394,41 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
         }
     }
 
+    private void processCopyData(long lo, long msgLimit) throws PeerDisconnectedException, PeerIsSlowToReadException {
+        try {
+            copyIn.onData(lo, msgLimit);
+        } catch (CairoException e) {
+            abortCopy(e.getPosition(), e.getFlyweightMessage(), e.isCritical(), e.getErrno());
+        } catch (Throwable th) {
+            abortCopy(-1, th.getMessage(), true, -1);
+        }
+    }
+
+    private void processCopyDone() throws PeerDisconnectedException, PeerIsSlowToReadException {
+        try {
+            rowCount = copyIn.done();
+        } catch (CairoException e) {
+            abortCopy(e.getPosition(), e.getFlyweightMessage(), e.isCritical(), e.getErrno());
+            return;
+        } catch (Throwable th) {
+            abortCopy(-1, th.getMessage(), true, -1);
+            return;
+        }
+        queryTag = TAG_COPY;
+        prepareCommandComplete(true);
+        sendRNQ = true;
+        sendReadyForNewQuery();
+    }
+
+    private void processCopyFail(long lo, long msgLimit) throws PeerDisconnectedException, PeerIsSlowToReadException {
+        final CharacterStoreEntry e = characterStore.newEntry();
+        e.put("COPY from stdin failed: ");
+        if (msgLimit > lo && !Utf8s.utf8ToUtf16(lo, msgLimit - 1, e)) {
+            e.put("<invalid UTF8 message>");
+        }
+        abortCopy(-1, characterStore.toImmutable(), false, -1);
+    }
+
     private void processDescribe(long lo, long msgLimit) throws SqlException, BadProtocolException {
         sqlExecutionContext.getCircuitBreaker().resetTimer();
 
@@ -2449,6 +2574,10 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
             queryText = characterStore.toImmutable();
             try (SqlCompiler compiler = engine.getSqlCompiler()) {
                 compiler.compileBatch(queryText, sqlExecutionContext, batchCallback);
+                if (copyIn != null && copyIn.isActive()) {
+                    // sent only now, COPY FROM STDIN fails if more statements follow it in the batch
+                    prepareCopyInResponse();
+                }
                 clearCursorAndFactory();
                 if (isEmptyQuery) {
                     prepareEmptyQueryResponse();
@@ -2558,6 +2687,21 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
         sendCursor0(currentCursor.getRecord(), currentFactory.getMetadata().getColumnCount(), resumeQueryCompleteRef);
     }
 
+    private void resumeCopyOut(boolean queryWasPaused) throws Exception {
+        try {
+            copyOut.resume(queryWasPaused);
+        } catch (NoSpaceLeftInResponseBufferException e) {
+            throw copyDataDoesNotFit();
+        }
+        sendCopyData();
+        sendReadyForNewQuery();
+    }
+
+    private void resumeCopyOutComplete(boolean queryWasPaused) throws PeerDisconnectedException, PeerIsSlowToReadException {
+        prepareCopyOutComplete();
+        sendReadyForNewQuery();
+    }
+
     private void resumeCursorExecute(boolean queryWasPaused) throws Exception {
         final Record record = currentCursor.getRecord();
         final int columnCount = currentFactory.getMetadata().getColumnCount();
@@ -2610,30 +2754,34 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
         replyAndContinue = false;
     }
 
-    // This method is currently unused. it's used for the COPY sub-protocol, which is currently not implemented.
-    // It's left here so when we add the sub-protocol later we won't need to reimplemented it.
-    // We could keep it just in git history, but chances are nobody would recall to search for it there
-    private void sendCopyInResponse(CairoEngine engine, TextLoader textLoader) throws PeerDisconnectedException, PeerIsSlowToReadException {
-        TableToken tableToken = engine.getTableTokenIfExists(textLoader.getTableName());
-        if (TableUtils.TABLE_EXISTS == engine.getTableStatus(path, tableToken)) {
-            responseUtf8Sink.put(MESSAGE_TYPE_COPY_IN_RESPONSE);
-            long addr = responseUtf8Sink.skip();
-            responseUtf8Sink.put((byte) 0); // TEXT (1=BINARY, which we do not support yet)
+    private void sendCopyData() throws Exception {
+        if (!circuitBreaker.isTimerSet()) {
+            circuitBreaker.resetTimer();
+        }
 
-            try (TableWriter writer = engine.getWriter(tableToken, WRITER_LOCK_REASON)) {
-                RecordMetadata metadata = writer.getMetadata();
-                responseUtf8Sink.putNetworkShort((short) metadata.getColumnCount());
-                for (int i = 0, n = metadata.getColumnCount(); i < n; i++) {
-                    responseUtf8Sink.putNetworkShort((short) PGOids.getTypeOid(metadata.getColumnType(i)));
-                }
-            }
-            responseUtf8Sink.putLen(addr);
-        } else {
-            final SqlException e = SqlException.tableDoesNotExist(0, textLoader.getTableName());
-            prepareNonCriticalError(e.getPosition(), e.getFlyweightMessage());
-            prepareReadyForQuery();
+        try {
+            copyOut.send();
+        } catch (DataUnavailableException e) {
+            isPausedQuery = true;
+            responseUtf8Sink.resetToBookmark();
+            throw QueryPausedException.instance(e.getEvent(), sqlExecutionContext.getCircuitBreaker());
+        } catch (NoSpaceLeftInResponseBufferException e) {
+            throw copyDataDoesNotFit();
+        } catch (SqlException e) {
+            clearCursorAndFactory();
+            responseUtf8Sink.resetToBookmark();
+            throw e;
         }
-        sendAndReset();
+
+        rowCount = copyOut.getRowCount();
+        clearCursorAndFactory();
+        // at this point buffer can contain unsent data,
+        // and it may not have enough space for the copy tail and the command
+        if (sendBufferLimit - sendBufferPtr < PROTOCOL_TAIL_COMMAND_LENGTH + COPY_OUT_TAIL_LENGTH) {
+            resumeProcessor = resumeCopyOutCompleteRef;
+            sendAndReset();
+        }
+        prepareCopyOutComplete();
     }
 
     private void sendCursor(PGResumeProcessor cursorResumeProcessor, PGResumeProcessor commandCompleteResumeProcessor, PGResumeProcessor computeCursorSizeResumeProcessor) throws Exception {
@@ -2722,6 +2870,43 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
         bindVariableService.setUuid(index, lo, hi);
     }
 
+    private void setupCopyIn(CompiledQuery cq) {
+        if (copyIn == null) {
+            copyIn = new PGCopyInProcessor(engine);
+        }
+        copyIn.of(cq.getTableToken(), cq.getCopyModel());
+    }
+
+    private void setupCopyOut(CopyModel model) throws SqlException {
+        if (copyOut == null) {
+            copyOut = new PGCopyOutProcessor(responseUtf8Sink, maxBlobSizeOnQuery);
+        }
+        copyOut.of(model, activeSelectColumnTypes);
+
+        final RecordCursorFactory factory = typesAndSelect.getFactory();
+        if (copyOut.canCopyPageFrames(factory)) {
+            if (!circuitBreaker.isTimerSet()) {
+                circuitBreaker.resetTimer();
+            }
+            currentFactory = factory;
+            try {
+                copyOut.ofPageFrames(
+                        factory.getMetadata(),
+                        factory.getPageFrameCursor(sqlExecutionContext, DataFrameCursorFactory.ORDER_ASC),
+                        sqlExecutionContext.getCircuitBreaker()
+                );
+            } catch (Throwable e) {
+                freeFactory();
+                throw e;
+            }
+        } else {
+            setupFactoryAndCursor();
+            copyOut.ofCursor(currentFactory.getMetadata(), currentCursor);
+        }
+        resumeProcessor = resumeCopyOutRef;
+        responseUtf8Sink.bookmark();
+    }
+
     private void setupFactoryAndCursor() throws SqlException {
         if (currentCursor == null) {
             boolean recompileStale = true;
@@ -2924,7 +3109,12 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
                 PGConnectionContext.this.queryText = text;
                 processCompiledQuery(cq);
 
-                if (typesAndSelect != null) {
+                if (typesAndSelect != null && cq.getType() == CompiledQuery.COPY_REMOTE) {
+                    activeSelectColumnTypes = selectColumnTypes;
+                    buildSelectColumnTypes();
+                    setupCopyOut(cq.getCopyModel());
+                    sendCopyData();
+                } else if (typesAndSelect != null) {
                     activeSelectColumnTypes = selectColumnTypes;
                     buildSelectColumnTypes();
                     assert queryText != null;
@@ -2939,6 +3129,8 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
                     executeUpdate();
                 } else if (cq.getType() == CompiledQuery.INSERT_AS_SELECT || cq.getType() == CompiledQuery.CREATE_TABLE_AS_SELECT) {
                     prepareCommandComplete(true);
+                } else if (cq.getType() == CompiledQuery.COPY_REMOTE) {
+                    setupCopyIn(cq);
                 } else {
                     executeTag();
                     prepareCommandComplete(false);
@@ -2957,6 +3149,11 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
         @Override
         public void preCompile(SqlCompiler compiler) {
             sendRNQ = true;
+            if (copyIn != null && copyIn.isActive()) {
+                // the client can't send data before the rest of the batch is processed
+                copyIn.clear();
+                throw CairoException.nonCritical().put("COPY FROM STDIN must be the last statement of the query");
+            }
             prepareForNewBatchQuery();
             PGConnectionContext.this.typesAndInsert = null;
             PGConnectionContext.this.typesAndUpdate = null;
@@ -2965,10 +3162,11 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
         }
     }
 
-    private class ResponseUtf8Sink implements Utf8Sink, Mutable {
+    private class ResponseUtf8Sink implements PGResponseSink, Mutable {
 
         private long bookmarkPtr = -1;
 
+        @Override
         public void bookmark() {
             this.bookmarkPtr = sendBufferPtr;
         }
@@ -3002,6 +3200,7 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
             return this;
         }
 
+        @Override
         public void put(BinarySequence sequence) {
             final long len = sequence.length();
             if (len > maxBlobSizeOnQuery) {
@@ -3029,38 +3228,45 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
             Unsafe.getUnsafe().putInt(sendBufferPtr + offset, value);
         }
 
+        @Override
         public void putLen(long start) {
             putInt(start, (int) (sendBufferPtr - start));
         }
 
+        @Override
         public void putLenEx(long start) {
             putInt(start, (int) (sendBufferPtr - start - Integer.BYTES));
         }
 
+        @Override
         public void putNetworkDouble(double value) {
             checkCapacity(Double.BYTES);
             Unsafe.getUnsafe().putDouble(sendBufferPtr, Double.longBitsToDouble(Numbers.bswap(Double.doubleToLongBits(value))));
             sendBufferPtr += Double.BYTES;
         }
 
+        @Override
         public void putNetworkFloat(float value) {
             checkCapacity(Float.BYTES);
             Unsafe.getUnsafe().putFloat(sendBufferPtr, Float.intBitsToFloat(Numbers.bswap(Float.floatToIntBits(value))));
             sendBufferPtr += Float.BYTES;
         }
 
+        @Override
         public void putNetworkInt(int value) {
             checkCapacity(Integer.BYTES);
             putInt(sendBufferPtr, value);
             sendBufferPtr += Integer.BYTES;
         }
 
+        @Override
         public void putNetworkLong(long value) {
             checkCapacity(Long.BYTES);
             putLong(sendBufferPtr, value);
             sendBufferPtr += Long.BYTES;
         }
 
+        @Override
         public void putNetworkShort(short value) {
             checkCapacity(Short.BYTES);
             putShort(sendBufferPtr, value);
@@ -3078,12 +3284,31 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
             throw new UnsupportedOperationException();
         }
 
+        @Override
         public void resetToBookmark() {
             assert bookmarkPtr != -1;
             sendBufferPtr = bookmarkPtr;
             bookmarkPtr = -1;
         }
 
+        @Override
+        public void sendAndReset() throws PeerDisconnectedException, PeerIsSlowToReadException {
+            PGConnectionContext.this.sendAndReset();
+        }
+
+        @Override
+        public void setNullValue() {
+            putIntDirect(INT_NULL_X);
+        }
+
+        @Override
+        public long skip() {
+            checkCapacity(Integer.BYTES);
+            long checkpoint = sendBufferPtr;
+            sendBufferPtr += Integer.BYTES;
+            return checkpoint;
+        }
+
         private void checkCapacity(long size) {
             if (sendBufferPtr + size < sendBufferLimit) {
                 return;
@@ -3100,16 +3325,5 @@ public class PGConnectionContext extends IOContext<PGConnectionContext> implemen
         void reset() {
             sendBufferPtr = sendBuffer;
         }
-
-        void setNullValue() {
-            putIntDirect(INT_NULL_X);
-        }
-
-        long skip() {
-            checkCapacity(Integer.BYTES);
-            long checkpoint = sendBufferPtr;
-            sendBufferPtr += Integer.BYTES;
-            return checkpoint;
-        }
     }
 }
@@ -0,0 +1,863 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.cutlass.pgwire;
+
+import io.questdb.cairo.CairoEngine;
+import io.questdb.cairo.CairoException;
+import io.questdb.cairo.ColumnType;
+import io.questdb.cairo.TableToken;
+import io.questdb.cairo.TableWriter;
+import io.questdb.cairo.TableWriterAPI;
+import io.questdb.cairo.sql.TableRecordMetadata;
+import io.questdb.cairo.wal.MetadataService;
+import io.questdb.cutlass.text.TextConfiguration;
+import io.questdb.cutlass.text.types.TypeAdapter;
+import io.questdb.cutlass.text.types.TypeManager;
+import io.questdb.griffin.SqlKeywords;
+import io.questdb.griffin.SqlUtil;
+import io.questdb.griffin.model.CopyModel;
+import io.questdb.griffin.model.ExpressionNode;
+import io.questdb.log.Log;
+import io.questdb.log.LogFactory;
+import io.questdb.std.GenericLexer;
+import io.questdb.std.IntList;
+import io.questdb.std.LongList;
+import io.questdb.std.Misc;
+import io.questdb.std.Mutable;
+import io.questdb.std.Numbers;
+import io.questdb.std.ObjList;
+import io.questdb.std.QuietCloseable;
+import io.questdb.std.Unsafe;
+import io.questdb.std.datetime.millitime.Dates;
+import io.questdb.std.str.DirectUtf16Sink;
+import io.questdb.std.str.DirectUtf8Sequence;
+import io.questdb.std.str.DirectUtf8Sink;
+import io.questdb.std.str.DirectUtf8String;
+import io.questdb.std.str.Utf8String;
+import io.questdb.std.str.Utf8s;
+
+/**
+ * Executes COPY ... FROM STDIN. The client streams rows in CopyData messages, which
+ * are parsed in text, CSV or binary (PGCOPY) format and appended straight to the table
+ * writer. For WAL tables that is the WAL writer, so the rows bypass any intermediate
+ * INSERT machinery. The writer is committed every time max uncommitted rows are reached
+ * and once more when the client sends CopyDone.
+ * <p>
+ * Rows may be split across CopyData messages, the incomplete tail of a message is kept
+ * in a carry buffer until the rest of the row arrives.
+ */
+public class PGCopyInProcessor implements Mutable, QuietCloseable {
+    private static final int BINARY_FLAG_OIDS = 1 << 16;
+    // 11 byte signature, followed by 32-bit flags and 32-bit header extension length
+    private static final int BINARY_HEADER_SIZE = 19;
+    private static final byte[] BINARY_SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xff, '\r', '\n', 0};
+    private static final Utf8String DEFAULT_CSV_NULL = new Utf8String("");
+    private static final Utf8String DEFAULT_TEXT_NULL = new Utf8String("\\N");
+    private static final Log LOG = LogFactory.getLog(PGCopyInProcessor.class);
+    private static final byte PGSQL_AF_INET = 2;
+    private static final String WRITER_LOCK_REASON = "pgCopyIn";
+    private final DirectUtf8Sink carry;
+    private final CairoEngine engine;
+    private final ObjList<TypeAdapter> fieldAdapters = new ObjList<>();
+    // (address, length) pairs of the fields of the current binary tuple
+    private final LongList fieldBounds = new LongList();
+    private final IntList fieldColumnIndexes = new IntList();
+    private final ObjList<CharSequence> fieldColumnNames = new ObjList<>();
+    private final IntList fieldColumnTypes = new IntList();
+    private final ObjList<DirectUtf8String> fieldPool = new ObjList<>();
+    // values of the current text or CSV row, null entries stand for NULL
+    private final ObjList<DirectUtf8String> fieldValues = new ObjList<>();
+    private final TypeManager typeManager;
+    private final DirectUtf16Sink utf16Sink;
+    private final DirectUtf8Sink utf8Sink;
+    private boolean binaryHeader;
+    private byte delimiter;
+    private boolean done;
+    private int fieldCount;
+    private int format;
+    private boolean header;
+    // true when the scanned part of the current CSV row ends inside a quoted value
+    private boolean inQuote;
+    private long maxUncommittedRows;
+    private Utf8String nullValue;
+    private long rowCount;
+    private TableToken tableToken;
+    private int timestampFieldIndex;
+    private TableWriterAPI writer;
+
+    public PGCopyInProcessor(CairoEngine engine) {
+        this.engine = engine;
+        try {
+            final TextConfiguration textConfiguration = engine.getConfiguration().getTextConfiguration();
+            final int utf8SinkSize = textConfiguration.getUtf8SinkSize();
+            this.carry = new DirectUtf8Sink(utf8SinkSize);
+            this.utf16Sink = new DirectUtf16Sink(utf8SinkSize);
+            this.utf8Sink = new DirectUtf8Sink(utf8SinkSize);
+            this.typeManager = new TypeManager(textConfiguration, utf16Sink, utf8Sink);
+        } catch (Throwable th) {
+            close();
+            throw th;
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (writer != null) {
+            try {
+                writer.rollback();
+            } catch (Throwable th) {
+                LOG.error().$("could not rollback COPY [table=").$(tableToken).$(", e=").$(th).I$();
+            }
+            writer = Misc.free(writer);
+        }
+        Misc.clear(carry);
+        fieldAdapters.clear();
+        fieldBounds.clear();
+        fieldColumnIndexes.clear();
+        fieldColumnNames.clear();
+        fieldColumnTypes.clear();
+        fieldValues.clear();
+        Misc.clear(typeManager);
+        tableToken = null;
+        nullValue = null;
+        rowCount = 0;
+        done = false;
+        header = false;
+        inQuote = false;
+    }
+
+    @Override
+    public void close() {
+        clear();
+        Misc.free(carry);
+        Misc.free(utf16Sink);
+        Misc.free(utf8Sink);
+    }
+
+    /**
+     * Commits the rows received so far and finishes the copy.
+     *
+     * @return number of copied rows
+     */
+    public long done() {
+        if (!done) {
+            switch (format) {
+                case CopyModel.STDIN_FORMAT_BINARY:
+                    if (carry.size() > 0 || binaryHeader) {
+                        throw CairoException.nonCritical().put("unexpected end of COPY data [row=").put(rowCount + 1).put(']');
+                    }
+                    break;
+                default:
+                    if (inQuote) {
+                        throw CairoException.nonCritical().put("unterminated CSV quoted field [row=").put(rowCount + 1).put(']');
+                    }
+                    if (carry.size() > 0) {
+                        // the last line is not terminated by a newline
+                        onLine(carry.ptr(), carry.ptr() + carry.size());
+                    }
+                    break;
+            }
+        }
+        writer.commit();
+        final long rowCount = this.rowCount;
+        clear();
+        return rowCount;
+    }
+
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    public boolean isActive() {
+        return writer != null;
+    }
+
+    public boolean isBinary() {
+        return format == CopyModel.STDIN_FORMAT_BINARY;
+    }
+
+    public void of(TableToken tableToken, CopyModel model) {
+        clear();
+        this.tableToken = tableToken;
+        this.format = model.getStdinFormat();
+        this.writer = engine.getTableWriterAPI(tableToken, WRITER_LOCK_REASON);
+        try {
+            final TableRecordMetadata metadata = writer.getMetadata();
+            final ObjList<ExpressionNode> columns = model.getColumns();
+            if (columns.size() > 0) {
+                for (int i = 0, n = columns.size(); i < n; i++) {
+                    final CharSequence columnName = GenericLexer.unquote(columns.getQuick(i).token);
+                    final int columnIndex = metadata.getColumnIndexQuiet(columnName);
+                    if (columnIndex < 0) {
+                        throw CairoException.nonCritical().put("invalid column [name=").put(columnName).put(']');
+                    }
+                    addField(metadata, columnIndex);
+                }
+            } else {
+                for (int i = 0, n = metadata.getColumnCount(); i < n; i++) {
+                    if (metadata.getColumnType(i) > 0) {
+                        addField(metadata, i);
+                    }
+                }
+            }
+            this.fieldCount = fieldColumnIndexes.size();
+
+            final int timestampIndex = metadata.getTimestampIndex();
+            this.timestampFieldIndex = timestampIndex > -1 ? fieldColumnIndexes.indexOf(timestampIndex, 0, fieldCount) : -1;
+            if (timestampIndex > -1 && timestampFieldIndex < 0) {
+                throw CairoException.nonCritical().put("designated timestamp column must be copied [column=")
+                        .put(metadata.getColumnName(timestampIndex)).put(']');
+            }
+
+            this.maxUncommittedRows = writer.supportsMultipleWriters()
+                    ? engine.getConfiguration().getMaxUncommittedRows()
+                    : ((MetadataService) writer).getMetaMaxUncommittedRows();
+
+            switch (format) {
+                case CopyModel.STDIN_FORMAT_CSV:
+                    this.delimiter = model.getDelimiter() > -1 ? model.getDelimiter() : (byte) ',';
+                    this.nullValue = model.getNullString() != null ? new Utf8String(model.getNullString()) : DEFAULT_CSV_NULL;
+                    this.header = model.isHeader();
+                    break;
+                case CopyModel.STDIN_FORMAT_BINARY:
+                    this.binaryHeader = true;
+                    break;
+                default:
+                    this.delimiter = model.getDelimiter() > -1 ? model.getDelimiter() : (byte) '\t';
+                    this.nullValue = model.getNullString() != null ? new Utf8String(model.getNullString()) : DEFAULT_TEXT_NULL;
+                    this.header = model.isHeader();
+                    break;
+            }
+        } catch (Throwable th) {
+            clear();
+            throw th;
+        }
+    }
+
+    /**
+     * Parses payload of a CopyData message and appends complete rows to the table.
+     */
+    public void onData(long lo, long hi) {
+        if (done) {
+            // data after the end-of-data marker is ignored
+            return;
+        }
+        if (format == CopyModel.STDIN_FORMAT_BINARY) {
+            onBinaryData(lo, hi);
+        } else {
+            onTextData(lo, hi);
+        }
+    }
+
+    // Returns size of the binary header or tuple starting at lo if it is complete, otherwise
+    // negative number of bytes that are missing to make progress.
+    private static long binaryRecordSize(long lo, long hi, boolean header) {
+        final long available = hi - lo;
+        if (header) {
+            if (available < BINARY_HEADER_SIZE) {
+                return available - BINARY_HEADER_SIZE;
+            }
+            final long size = BINARY_HEADER_SIZE + (getInt(lo + BINARY_HEADER_SIZE - Integer.BYTES) & 0xffffffffL);
+            return available < size ? available - size : size;
+        }
+
+        if (available < Short.BYTES) {
+            return available - Short.BYTES;
+        }
+        final int n = getShort(lo);
+        long size = Short.BYTES;
+        for (int i = 0; i < n; i++) {
+            if (available < size + Integer.BYTES) {
+                return available - size - Integer.BYTES;
+            }
+            final int len = getInt(lo + size);
+            if (len < -1) {
+                throw CairoException.nonCritical().put("invalid COPY field length [len=").put(len).put(']');
+            }
+            size += Integer.BYTES;
+            if (len > 0) {
+                size += len;
+                if (available < size) {
+                    return available - size;
+                }
+            }
+        }
+        return size;
+    }
+
+    private static int getInt(long address) {
+        return Numbers.bswap(Unsafe.getUnsafe().getInt(address));
+    }
+
+    private static long getInteger(long address, int len) {
+        switch (len) {
+            case Byte.BYTES:
+                return Unsafe.getUnsafe().getByte(address);
+            case Short.BYTES:
+                return getShort(address);
+            case Integer.BYTES:
+                return getInt(address);
+            case Long.BYTES:
+                return getLong(address);
+            default:
+                throw CairoException.nonCritical().put("unexpected integer length [len=").put(len).put(']');
+        }
+    }
+
+    private static long getLong(long address) {
+        return Numbers.bswap(Unsafe.getUnsafe().getLong(address));
+    }
+
+    private static short getShort(long address) {
+        return Numbers.bswap(Unsafe.getUnsafe().getShort(address));
+    }
+
+    private static int hexDigit(byte b) {
+        if (b >= '0' && b <= '9') {
+            return b - '0';
+        }
+        final int c = b | 32;
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        return -1;
+    }
+
+    private static boolean isTrue(DirectUtf8Sequence value) {
+        if (value.size() == 1) {
+            final int b = value.byteAt(0) | 32;
+            return b == 't' || b == 'y' || b == '1';
+        }
+        return SqlKeywords.isTrueKeyword(value)
+                || Utf8s.equalsIgnoreCaseAscii("yes", value)
+                || Utf8s.equalsIgnoreCaseAscii("on", value);
+    }
+
+    // Decodes backslash escapes of the text format in place and returns the new end of the value.
+    private static long unescape(long lo, long hi) {
+        long w = lo;
+        for (long r = lo; r < hi; r++) {
+            byte b = Unsafe.getUnsafe().getByte(r);
+            if (b == '\\' && r + 1 < hi) {
+                b = Unsafe.getUnsafe().getByte(++r);
+                switch (b) {
+                    case 'b':
+                        b = '\b';
+                        break;
+                    case 'f':
+                        b = '\f';
+                        break;
+                    case 'n':
+                        b = '\n';
+                        break;
+                    case 'r':
+                        b = '\r';
+                        break;
+                    case 't':
+                        b = '\t';
+                        break;
+                    case 'v':
+                        b = 0x0b;
+                        break;
+                    case 'x': {
+                        int v = 0;
+                        int digits = 0;
+                        while (digits < 2 && r + 1 < hi) {
+                            final int d = hexDigit(Unsafe.getUnsafe().getByte(r + 1));
+                            if (d < 0) {
+                                break;
+                            }
+                            v = (v << 4) | d;
+                            digits++;
+                            r++;
+                        }
+                        if (digits > 0) {
+                            b = (byte) v;
+                        }
+                        break;
+                    }
+                    default:
+                        if (b >= '0' && b <= '7') {
+                            int v = b - '0';
+                            for (int digits = 1; digits < 3 && r + 1 < hi; digits++) {
+                                final byte d = Unsafe.getUnsafe().getByte(r + 1);
+                                if (d < '0' || d > '7') {
+                                    break;
+                                }
+                                v = (v << 3) | (d - '0');
+                                r++;
+                            }
+                            b = (byte) v;
+                        }
+                        // any other escaped character, including the delimiter, stands for itself
+                        break;
+                }
+            }
+            Unsafe.getUnsafe().putByte(w++, b);
+        }
+        return w;
+    }
+
+    private void addField(TableRecordMetadata metadata, int columnIndex) {
+        final int columnType = metadata.getColumnType(columnIndex);
+        fieldColumnIndexes.add(columnIndex);
+        fieldColumnTypes.add(columnType);
+        fieldColumnNames.add(metadata.getColumnName(columnIndex));
+        switch (ColumnType.tagOf(columnType)) {
+            case ColumnType.BOOLEAN:
+            case ColumnType.DATE:
+            case ColumnType.TIMESTAMP:
+            case ColumnType.STRING:
+            case ColumnType.SYMBOL:
+            case ColumnType.VARCHAR:
+                // written in place: PostgreSQL's text representation of booleans and dates differs from
+                // what the text loader accepts, and its string adapters would collapse doubled quotes again
+                fieldAdapters.add(null);
+                break;
+            default:
+                fieldAdapters.add(typeManager.getTypeAdapter(columnType));
+                break;
+        }
+    }
+
+    private void checkFieldCount(int count) {
+        if (count != fieldCount) {
+            throw CairoException.nonCritical().put("unexpected number of columns [row=").put(rowCount + 1)
+                    .put(", expected=").put(fieldCount)
+                    .put(", actual=").put(count)
+                    .put(']');
+        }
+    }
+
+    private CairoException invalidValue(int fieldIndex) {
+        return CairoException.nonCritical().put("invalid value [row=").put(rowCount + 1)
+                .put(", column=").put(fieldColumnNames.getQuick(fieldIndex))
+                .put(", type=").put(ColumnType.nameOf(fieldColumnTypes.getQuick(fieldIndex)))
+                .put(']');
+    }
+
+    // Returns position of the newline that ends the current row or -1 when the row continues
+    // past hi. Newlines inside quoted CSV values are part of the value.
+    private long findLineEnd(long lo, long hi) {
+        final boolean csv = format == CopyModel.STDIN_FORMAT_CSV;
+        for (long p = lo; p < hi; p++) {
+            final byte b = Unsafe.getUnsafe().getByte(p);
+            if (b == '\n' && !inQuote) {
+                return p;
+            }
+            if (b == '"' && csv) {
+                inQuote = !inQuote;
+            }
+        }
+        return -1;
+    }
+
+    // clients may send any integer width, the value must still fit the column
+    private long getInteger(int fieldIndex, long lo, int len, long min, long max) {
+        final long value = getInteger(lo, len);
+        if (value < min || value > max) {
+            throw invalidValue(fieldIndex);
+        }
+        return value;
+    }
+
+    private DirectUtf8String nextFieldValue(int fieldIndex) {
+        while (fieldPool.size() <= fieldIndex) {
+            fieldPool.add(new DirectUtf8String());
+        }
+        return fieldPool.getQuick(fieldIndex);
+    }
+
+    private DirectUtf8String nextValue(long lo, long hi) {
+        final int fieldIndex = fieldValues.size();
+        if (fieldIndex == fieldCount) {
+            throw CairoException.nonCritical().put("extra data after last expected column [row=").put(rowCount + 1).put(']');
+        }
+        return nextFieldValue(fieldIndex).of(lo, hi);
+    }
+
+    private void onBinaryData(long lo, long hi) {
+        if (carry.size() > 0) {
+            // complete the pending record, appending only as many bytes as it needs
+            long size;
+            while ((size = binaryRecordSize(carry.ptr(), carry.ptr() + carry.size(), binaryHeader)) < 0) {
+                if (lo == hi) {
+                    return;
+                }
+                final long n = Math.min(-size, hi - lo);
+                carry.putNonAscii(lo, lo + n);
+                lo += n;
+            }
+            onBinaryRecord(carry.ptr(), carry.ptr() + size);
+            carry.clear();
+        }
+
+        while (lo < hi && !done) {
+            final long size = binaryRecordSize(lo, hi, binaryHeader);
+            if (size < 0) {
+                carry.putNonAscii(lo, hi);
+                return;
+            }
+            onBinaryRecord(lo, lo + size);
+            lo += size;
+        }
+    }
+
+    private void onBinaryHeader(long lo) {
+        for (int i = 0, n = BINARY_SIGNATURE.length; i < n; i++) {
+            if (Unsafe.getUnsafe().getByte(lo + i) != BINARY_SIGNATURE[i]) {
+                throw CairoException.nonCritical().put("COPY file signature not recognized");
+            }
+        }
+        if ((getInt(lo + BINARY_SIGNATURE.length) & BINARY_FLAG_OIDS) != 0) {
+            throw CairoException.nonCritical().put("COPY binary format with OIDs is not supported");
+        }
+        binaryHeader = false;
+    }
+
+    private void onBinaryRecord(long lo, long hi) {
+        if (binaryHeader) {
+            onBinaryHeader(lo);
+            return;
+        }
+
+        final int n = getShort(lo);
+        if (n == -1) {
+            // file trailer
+            done = true;
+            return;
+        }
+        checkFieldCount(n);
+
+        fieldBounds.clear();
+        long p = lo + Short.BYTES;
+        for (int i = 0; i < n; i++) {
+            final int len = getInt(p);
+            p += Integer.BYTES;
+            fieldBounds.add(p, len);
+            if (len > 0) {
+                p += len;
+            }
+        }
+        assert p == hi;
+
+        final TableWriter.Row row;
+        if (timestampFieldIndex > -1) {
+            final int len = (int) fieldBounds.getQuick(2 * timestampFieldIndex + 1);
+            if (len != Long.BYTES) {
+                throw len < 0 ? timestampIsNull() : invalidValue(timestampFieldIndex);
+            }
+            row = writer.newRow(getLong(fieldBounds.getQuick(2 * timestampFieldIndex)) + Numbers.JULIAN_EPOCH_OFFSET_USEC);
+        } else {
+            row = writer.newRow();
+        }
+
+        try {
+            for (int i = 0; i < n; i++) {
+                final int len = (int) fieldBounds.getQuick(2 * i + 1);
+                if (i != timestampFieldIndex && len > -1) {
+                    putBinaryValue(row, i, fieldBounds.getQuick(2 * i), len);
+                }
+            }
+            row.append();
+        } catch (Throwable th) {
+            row.cancel();
+            throw th;
+        }
+        onRowAppended();
+    }
+
+    private void onCsvLine(long lo, long hi) {
+        // quotes are removed and doubled quotes collapsed in place, so the write
+        // position never overtakes the read position
+        fieldValues.clear();
+        long fieldLo = lo;
+        long w = lo;
+        boolean quoted = false;
+        boolean inQuote = false;
+        for (long r = lo; r < hi; r++) {
+            final byte b = Unsafe.getUnsafe().getByte(r);
+            if (inQuote) {
+                if (b != '"') {
+                    Unsafe.getUnsafe().putByte(w++, b);
+                } else if (r + 1 < hi && Unsafe.getUnsafe().getByte(r + 1) == '"') {
+                    Unsafe.getUnsafe().putByte(w++, b);
+                    r++;
+                } else {
+                    inQuote = false;
+                }
+            } else if (b == '"') {
+                inQuote = quoted = true;
+            } else if (b == delimiter) {
+                onCsvValue(fieldLo, w, quoted);
+                fieldLo = w = r + 1;
+                quoted = false;
+            } else {
+                Unsafe.getUnsafe().putByte(w++, b);
+            }
+        }
+        onCsvValue(fieldLo, w, quoted);
+        checkFieldCount(fieldValues.size());
+        writeTextRow();
+    }
+
+    private void onCsvValue(long lo, long hi, boolean quoted) {
+        final DirectUtf8String value = nextValue(lo, hi);
+        // quoted values are never NULL, this is how CSV tells empty string from NULL
+        fieldValues.add(!quoted && Utf8s.equals(nullValue, value) ? null : value);
+    }
+
+    private void onLine(long lo, long hi) {
+        if (hi > lo && Unsafe.getUnsafe().getByte(hi - 1) == '\r') {
+            hi--;
+        }
+        if (header) {
+            header = false;
+            return;
+        }
+        if (hi - lo == 2 && Unsafe.getUnsafe().getByte(lo) == '\\' && Unsafe.getUnsafe().getByte(lo + 1) == '.') {
+            // end-of-data marker
+            done = true;
+            return;
+        }
+        if (format == CopyModel.STDIN_FORMAT_CSV) {
+            onCsvLine(lo, hi);
+        } else {
+            onTextLine(lo, hi);
+        }
+    }
+
+    private void onRowAppended() {
+        rowCount++;
+        if (writer.getUncommittedRowCount() >= maxUncommittedRows) {
+            writer.commit();
+        }
+    }
+
+    private void onTextData(long lo, long hi) {
+        if (carry.size() > 0) {
+            final long eol = findLineEnd(lo, hi);
+            if (eol < 0) {
+                carry.putNonAscii(lo, hi);
+                return;
+            }
+            carry.putNonAscii(lo, eol);
+            onLine(carry.ptr(), carry.ptr() + carry.size());
+            carry.clear();
+            lo = eol + 1;
+        }
+
+        while (lo < hi && !done) {
+            final long eol = findLineEnd(lo, hi);
+            if (eol < 0) {
+                carry.putNonAscii(lo, hi);
+                return;
+            }
+            onLine(lo, eol);
+            lo = eol + 1;
+        }
+    }
+
+    private void onTextLine(long lo, long hi) {
+        fieldValues.clear();
+        long fieldLo = lo;
+        for (long p = lo; p < hi; p++) {
+            final byte b = Unsafe.getUnsafe().getByte(p);
+            if (b == '\\') {
+                // skip escaped character, it may be the delimiter
+                p++;
+            } else if (b == delimiter) {
+                onTextValue(fieldLo, p);
+                fieldLo = p + 1;
+            }
+        }
+        onTextValue(fieldLo, hi);
+        checkFieldCount(fieldValues.size());
+        writeTextRow();
+    }
+
+    private void onTextValue(long lo, long hi) {
+        final DirectUtf8String value = nextValue(lo, hi);
+        if (Utf8s.equals(nullValue, value)) {
+            fieldValues.add(null);
+        } else {
+            fieldValues.add(value.of(lo, unescape(lo, hi)));
+        }
+    }
+
+    private void putBinaryValue(TableWriter.Row row, int fieldIndex, long lo, int len) {
+        final int columnIndex = fieldColumnIndexes.getQuick(fieldIndex);
+        final int columnType = fieldColumnTypes.getQuick(fieldIndex);
+        switch (ColumnType.tagOf(columnType)) {
+            case ColumnType.BOOLEAN:
+                if (len != Byte.BYTES) {
+                    throw invalidValue(fieldIndex);
+                }
+                row.putBool(columnIndex, Unsafe.getUnsafe().getByte(lo) != 0);
+                break;
+            case ColumnType.BYTE:
+                row.putByte(columnIndex, (byte) getInteger(fieldIndex, lo, len, Byte.MIN_VALUE, Byte.MAX_VALUE));
+                break;
+            case ColumnType.SHORT:
+                row.putShort(columnIndex, (short) getInteger(fieldIndex, lo, len, Short.MIN_VALUE, Short.MAX_VALUE));
+                break;
+            case ColumnType.INT:
+                row.putInt(columnIndex, (int) getInteger(fieldIndex, lo, len, Integer.MIN_VALUE, Integer.MAX_VALUE));
+                break;
+            case ColumnType.LONG:
+                row.putLong(columnIndex, getInteger(lo, len));
+                break;
+            case ColumnType.FLOAT:
+                if (len == Integer.BYTES) {
+                    row.putFloat(columnIndex, Float.intBitsToFloat(getInt(lo)));
+                } else if (len == Long.BYTES) {
+                    row.putFloat(columnIndex, (float) Double.longBitsToDouble(getLong(lo)));
+                } else {
+                    throw invalidValue(fieldIndex);
+                }
+                break;
+            case ColumnType.DOUBLE:
+                if (len == Long.BYTES) {
+                    row.putDouble(columnIndex, Double.longBitsToDouble(getLong(lo)));
+                } else if (len == Integer.BYTES) {
+                    row.putDouble(columnIndex, Float.intBitsToFloat(getInt(lo)));
+                } else {
+                    throw invalidValue(fieldIndex);
+                }
+                break;
+            case ColumnType.TIMESTAMP:
+                if (len != Long.BYTES) {
+                    throw invalidValue(fieldIndex);
+                }
+                row.putTimestamp(columnIndex, getLong(lo) + Numbers.JULIAN_EPOCH_OFFSET_USEC);
+                break;
+            case ColumnType.DATE:
+                if (len == Integer.BYTES) {
+                    // PostgreSQL date is number of days since 2000-01-01
+                    row.putDate(columnIndex, getInt(lo) * Dates.DAY_MILLIS + Numbers.JULIAN_EPOCH_OFFSET_USEC / 1000);
+                } else if (len == Long.BYTES) {
+                    row.putDate(columnIndex, (getLong(lo) + Numbers.JULIAN_EPOCH_OFFSET_USEC) / 1000);
+                } else {
+                    throw invalidValue(fieldIndex);
+                }
+                break;
+            case ColumnType.UUID:
+                if (len != 2 * Long.BYTES) {
+                    throw invalidValue(fieldIndex);
+                }
+                row.putLong128(columnIndex, getLong(lo + Long.BYTES), getLong(lo));
+                break;
+            case ColumnType.IPv4:
+                if (len == 2 * Integer.BYTES && Unsafe.getUnsafe().getByte(lo) == PGSQL_AF_INET) {
+                    // inet: family, bits, is_cidr, address length and the address itself
+                    row.putIPv4(columnIndex, getInt(lo + Integer.BYTES));
+                } else {
+                    putTextValue(row, fieldIndex, nextFieldValue(fieldIndex).of(lo, lo + len));
+                }
+                break;
+            default:
+                // strings, symbols and types without binary representation in PostgreSQL, such as
+                // long256 and geohash, are sent as text
+                putTextValue(row, fieldIndex, nextFieldValue(fieldIndex).of(lo, lo + len));
+                break;
+        }
+    }
+
+    private void putTextValue(TableWriter.Row row, int fieldIndex, DirectUtf8Sequence value) {
+        final int columnIndex = fieldColumnIndexes.getQuick(fieldIndex);
+        try {
+            switch (ColumnType.tagOf(fieldColumnTypes.getQuick(fieldIndex))) {
+                case ColumnType.BOOLEAN:
+                    row.putBool(columnIndex, isTrue(value));
+                    break;
+                case ColumnType.DATE:
+                    row.putDate(columnIndex, SqlUtil.implicitCastStrAsDate(value.asAsciiCharSequence()));
+                    break;
+                case ColumnType.TIMESTAMP:
+                    row.putTimestamp(columnIndex, SqlUtil.implicitCastStrAsTimestamp(value.asAsciiCharSequence()));
+                    break;
+                case ColumnType.STRING:
+                    row.putStr(columnIndex, toUtf16(value, fieldIndex));
+                    break;
+                case ColumnType.SYMBOL:
+                    row.putSymUtf8(columnIndex, value);
+                    break;
+                case ColumnType.VARCHAR:
+                    row.putVarchar(columnIndex, value);
+                    break;
+                default:
+                    fieldAdapters.getQuick(fieldIndex).write(row, columnIndex, value);
+                    break;
+            }
+        } catch (Exception e) {
+            throw invalidValue(fieldIndex);
+        }
+    }
+
+    private CairoException timestampIsNull() {
+        return CairoException.nonCritical().put("designated timestamp cannot be NULL [row=").put(rowCount + 1)
+                .put(", column=").put(fieldColumnNames.getQuick(timestampFieldIndex))
+                .put(']');
+    }
+
+    private CharSequence toUtf16(DirectUtf8Sequence value, int fieldIndex) {
+        utf16Sink.clear();
+        if (!Utf8s.utf8ToUtf16(value.lo(), value.hi(), utf16Sink)) {
+            throw invalidValue(fieldIndex);
+        }
+        return utf16Sink;
+    }
+
+    private void writeTextRow() {
+        final TableWriter.Row row;
+        if (timestampFieldIndex > -1) {
+            final DirectUtf8String value = fieldValues.getQuick(timestampFieldIndex);
+            if (value == null) {
+                throw timestampIsNull();
+            }
+            try {
+                row = writer.newRow(SqlUtil.implicitCastStrAsTimestamp(value.asAsciiCharSequence()));
+            } catch (CairoException e) {
+                throw invalidValue(timestampFieldIndex);
+            }
+        } else {
+            row = writer.newRow();
+        }
+
+        try {
+            for (int i = 0; i < fieldCount; i++) {
+                final DirectUtf8String value = fieldValues.getQuick(i);
+                if (i != timestampFieldIndex && value != null) {
+                    putTextValue(row, i, value);
+                }
+            }
+            row.append();
+        } catch (Throwable th) {
+            row.cancel();
+            throw th;
+        }
+        onRowAppended();
+    }
+}
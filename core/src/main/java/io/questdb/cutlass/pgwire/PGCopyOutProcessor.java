@@ -0,0 +1,945 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.cutlass.pgwire;
+
+import io.questdb.cairo.ColumnType;
+import io.questdb.cairo.GeoHashes;
+import io.questdb.cairo.sql.PageFrame;
+import io.questdb.cairo.sql.PageFrameCursor;
+import io.questdb.cairo.sql.Record;
+import io.questdb.cairo.sql.RecordCursor;
+import io.questdb.cairo.sql.RecordCursorFactory;
+import io.questdb.cairo.sql.RecordMetadata;
+import io.questdb.cairo.sql.SqlExecutionCircuitBreaker;
+import io.questdb.cairo.sql.SymbolTable;
+import io.questdb.griffin.SqlException;
+import io.questdb.griffin.model.CopyModel;
+import io.questdb.network.NoSpaceLeftInResponseBufferException;
+import io.questdb.network.PeerDisconnectedException;
+import io.questdb.network.PeerIsSlowToReadException;
+import io.questdb.std.BinarySequence;
+import io.questdb.std.Chars;
+import io.questdb.std.IntList;
+import io.questdb.std.Long256;
+import io.questdb.std.Long256Impl;
+import io.questdb.std.Misc;
+import io.questdb.std.Mutable;
+import io.questdb.std.Numbers;
+import io.questdb.std.QuietCloseable;
+import io.questdb.std.Unsafe;
+import io.questdb.std.Uuid;
+import io.questdb.std.datetime.microtime.TimestampFormatUtils;
+import io.questdb.std.datetime.millitime.DateFormatUtils;
+import io.questdb.std.str.Utf8Sequence;
+import io.questdb.std.str.Utf8String;
+import io.questdb.std.str.Utf8s;
+
+import static io.questdb.std.datetime.millitime.DateFormatUtils.PG_DATE_MILLI_TIME_Z_PRINT_FORMAT;
+
+/**
+ * Executes COPY ... TO STDOUT. Rows of the query are encoded in text, CSV or binary
+ * (PGCOPY) format and sent in CopyData messages, one message per row as PostgreSQL does.
+ * Clients such as psycopg rely on that when they parse rows. The messages are batched in
+ * the send buffer, it is flushed only when full.
+ * <p>
+ * Binary output of plain forward scans over fixed-size columns is encoded straight from
+ * page frames, everything else goes through the record cursor.
+ */
+public class PGCopyOutProcessor implements Mutable, QuietCloseable {
+    private static final byte MESSAGE_TYPE_COPY_DATA = 'd';
+    private static final byte MESSAGE_TYPE_COPY_DONE = 'c';
+    private static final byte MESSAGE_TYPE_COPY_OUT_RESPONSE = 'H';
+    private final int maxBlobSize;
+    private final PGResponseSink sink;
+    private SqlExecutionCircuitBreaker circuitBreaker;
+    // pairs of column type and geohash bit flags
+    private IntList columnTypes;
+    private RecordCursor cursor;
+    private byte delimiter;
+    private int format;
+    private PageFrame frame;
+    // set when page frames are read rather than records, binary format only
+    private PageFrameCursor frameCursor;
+    private long frameRow;
+    private long frameRowHi;
+    private boolean header;
+    private RecordMetadata metadata;
+    private String nullString;
+    private Utf8String nullValue;
+    private boolean prefixAppended;
+    private long rowCount;
+
+    public PGCopyOutProcessor(PGResponseSink sink, int maxBlobSize) {
+        this.sink = sink;
+        this.maxBlobSize = maxBlobSize;
+    }
+
+    /**
+     * Appends the binary format trailer, if any, and CopyDone.
+     */
+    public void appendComplete() {
+        if (format == CopyModel.STDIN_FORMAT_BINARY) {
+            sink.put(MESSAGE_TYPE_COPY_DATA);
+            sink.putNetworkInt(Integer.BYTES + Short.BYTES);
+            sink.putNetworkShort((short) -1);
+        }
+        sink.put(MESSAGE_TYPE_COPY_DONE);
+        sink.putNetworkInt(Integer.BYTES);
+    }
+
+    // Page frames are read when the rows are sent in binary format straight from table columns
+    // of fixed-size types, e.g. "COPY (SELECT ts, price FROM trades) TO STDOUT WITH (FORMAT binary)".
+    public boolean canCopyPageFrames(RecordCursorFactory factory) {
+        if (
+                format != CopyModel.STDIN_FORMAT_BINARY
+                        || !factory.supportsPageFrameCursor()
+                        || factory.getScanDirection() != RecordCursorFactory.SCAN_DIRECTION_FORWARD
+        ) {
+            return false;
+        }
+        for (int i = 0, n = factory.getMetadata().getColumnCount(); i < n; i++) {
+            switch (ColumnType.tagOf(columnTypes.getQuick(2 * i))) {
+                case ColumnType.BOOLEAN:
+                case ColumnType.BYTE:
+                case ColumnType.SHORT:
+                case ColumnType.CHAR:
+                case ColumnType.INT:
+                case ColumnType.SYMBOL:
+                case ColumnType.LONG:
+                case ColumnType.DATE:
+                case ColumnType.TIMESTAMP:
+                case ColumnType.FLOAT:
+                case ColumnType.DOUBLE:
+                case ColumnType.UUID:
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        // the format is kept, the copy is completed once the cursor is released
+        frameCursor = Misc.free(frameCursor);
+        frame = null;
+        cursor = null;
+        circuitBreaker = null;
+        columnTypes = null;
+        metadata = null;
+        prefixAppended = false;
+        rowCount = 0;
+    }
+
+    @Override
+    public void close() {
+        clear();
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @param model       model of COPY ... TO STDOUT statement
+     * @param columnTypes pairs of column type and geohash bit flags of the query
+     */
+    public void of(CopyModel model, IntList columnTypes) {
+        clear();
+        final boolean csv = model.getStdinFormat() == CopyModel.STDIN_FORMAT_CSV;
+        this.format = model.getStdinFormat();
+        this.delimiter = model.getDelimiter() > -1 ? model.getDelimiter() : csv ? (byte) ',' : (byte) '\t';
+        this.nullString = model.getNullString() != null ? Chars.toString(model.getNullString()) : csv ? "" : "\\N";
+        this.nullValue = new Utf8String(nullString);
+        this.header = model.isHeader();
+        this.columnTypes = columnTypes;
+    }
+
+    /**
+     * Rows are read from the record cursor, the caller keeps the cursor.
+     */
+    public void ofCursor(RecordMetadata metadata, RecordCursor cursor) {
+        this.metadata = metadata;
+        this.cursor = cursor;
+    }
+
+    /**
+     * Rows are read from page frames, the processor takes over the cursor.
+     */
+    public void ofPageFrames(RecordMetadata metadata, PageFrameCursor frameCursor, SqlExecutionCircuitBreaker circuitBreaker) {
+        this.metadata = metadata;
+        this.frameCursor = frameCursor;
+        this.circuitBreaker = circuitBreaker;
+        frame = null;
+        frameRow = 0;
+        frameRowHi = 0;
+    }
+
+    /**
+     * Appends the message that did not fit into the send buffer before it was flushed.
+     * Call {@link #send()} next.
+     *
+     * @param queryWasPaused true when the cursor ran into data that is not available yet,
+     *                       rather than out of buffer space
+     */
+    public void resume(boolean queryWasPaused) throws SqlException {
+        if (!prefixAppended) {
+            appendPrefix();
+            prefixAppended = true;
+        } else if (!queryWasPaused && cursor != null) {
+            // page frame row is not advanced until it's written, there is nothing to repeat
+            appendRecord(cursor.getRecord());
+        }
+        sink.bookmark();
+    }
+
+    /**
+     * Appends CopyOutResponse and the rows to the send buffer, which is sent whenever
+     * it gets full. The sink must be bookmarked. The caller completes the copy with
+     * {@link #appendComplete()} once this method returns.
+     *
+     * @throws NoSpaceLeftInResponseBufferException when a single message does not fit
+     *                                              into the send buffer
+     */
+    public void send() throws PeerDisconnectedException, PeerIsSlowToReadException, SqlException {
+        if (!prefixAppended) {
+            try {
+                appendPrefix();
+            } catch (NoSpaceLeftInResponseBufferException e) {
+                sink.resetToBookmark();
+                sink.sendAndReset();
+                appendPrefix();
+            }
+            prefixAppended = true;
+            sink.bookmark();
+        }
+        if (frameCursor != null) {
+            sendFrames();
+        } else {
+            sendRecords();
+        }
+    }
+
+    private void appendBinaryRecord(Record record) throws SqlException {
+        sink.put(MESSAGE_TYPE_COPY_DATA);
+        final long offset = sink.skip();
+        final int columnCount = metadata.getColumnCount();
+        // binary copy tuple has the same layout as DataRow body, with all fields in binary format
+        sink.putNetworkShort((short) columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            switch (ColumnType.tagOf(columnTypes.getQuick(2 * i))) {
+                case ColumnType.BOOLEAN:
+                    putBinaryBool(record.getBool(i));
+                    break;
+                case ColumnType.BYTE:
+                    putBinaryShort(record.getByte(i));
+                    break;
+                case ColumnType.SHORT:
+                    putBinaryShort(record.getShort(i));
+                    break;
+                case ColumnType.CHAR:
+                    putBinaryChar(record.getChar(i));
+                    break;
+                case ColumnType.INT:
+                    putBinaryInt(record.getInt(i));
+                    break;
+                case ColumnType.IPv4: {
+                    final int value = record.getIPv4(i);
+                    if (value != Numbers.IPv4_NULL) {
+                        final long a = sink.skip();
+                        Numbers.intToIPv4Sink(sink, value);
+                        sink.putLenEx(a);
+                    } else {
+                        sink.setNullValue();
+                    }
+                    break;
+                }
+                case ColumnType.LONG:
+                    putBinaryLong(record.getLong(i));
+                    break;
+                case ColumnType.DATE:
+                    putBinaryDate(record.getDate(i));
+                    break;
+                case ColumnType.TIMESTAMP:
+                    putBinaryTimestamp(record.getTimestamp(i));
+                    break;
+                case ColumnType.FLOAT:
+                    putBinaryFloat(record.getFloat(i));
+                    break;
+                case ColumnType.DOUBLE:
+                    putBinaryDouble(record.getDouble(i));
+                    break;
+                case ColumnType.UUID:
+                    putBinaryUuid(record.getLong128Lo(i), record.getLong128Hi(i));
+                    break;
+                case ColumnType.STRING:
+                    putBinaryStr(record.getStrA(i));
+                    break;
+                case ColumnType.SYMBOL:
+                    putBinaryStr(record.getSymA(i));
+                    break;
+                case ColumnType.VARCHAR: {
+                    final Utf8Sequence value = record.getVarcharA(i);
+                    if (value != null) {
+                        sink.putNetworkInt(value.size());
+                        sink.put(value);
+                    } else {
+                        sink.setNullValue();
+                    }
+                    break;
+                }
+                case ColumnType.BINARY: {
+                    final BinarySequence value = record.getBin(i);
+                    if (value != null) {
+                        checkBlobSize(value, i);
+                        sink.put(value);
+                    } else {
+                        sink.setNullValue();
+                    }
+                    break;
+                }
+                case ColumnType.LONG256: {
+                    final Long256 value = record.getLong256A(i);
+                    if (!Long256Impl.isNull(value)) {
+                        final long a = sink.skip();
+                        Numbers.appendLong256(value.getLong0(), value.getLong1(), value.getLong2(), value.getLong3(), sink);
+                        sink.putLenEx(a);
+                    } else {
+                        sink.setNullValue();
+                    }
+                    break;
+                }
+                case ColumnType.GEOBYTE:
+                    putBinaryGeoHash(record.getGeoByte(i), columnTypes.getQuick(2 * i + 1));
+                    break;
+                case ColumnType.GEOSHORT:
+                    putBinaryGeoHash(record.getGeoShort(i), columnTypes.getQuick(2 * i + 1));
+                    break;
+                case ColumnType.GEOINT:
+                    putBinaryGeoHash(record.getGeoInt(i), columnTypes.getQuick(2 * i + 1));
+                    break;
+                case ColumnType.GEOLONG:
+                    putBinaryGeoHash(record.getGeoLong(i), columnTypes.getQuick(2 * i + 1));
+                    break;
+                case ColumnType.NULL:
+                    sink.setNullValue();
+                    break;
+                default:
+                    assert false;
+            }
+        }
+        sink.putLen(offset);
+        rowCount++;
+    }
+
+    // Reads values straight from the page frame memory, which saves the per-value record dispatch.
+    // Only fixed-size columns are read this way, see canCopyPageFrames().
+    private void appendFrameRow() {
+        sink.put(MESSAGE_TYPE_COPY_DATA);
+        final long offset = sink.skip();
+        final int columnCount = metadata.getColumnCount();
+        final long row = frameRow;
+        sink.putNetworkShort((short) columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            final long address = frame.getPageAddress(i);
+            if (address == 0) {
+                // column top
+                sink.setNullValue();
+                continue;
+            }
+            switch (ColumnType.tagOf(columnTypes.getQuick(2 * i))) {
+                case ColumnType.BOOLEAN:
+                    putBinaryBool(Unsafe.getUnsafe().getByte(address + row) != 0);
+                    break;
+                case ColumnType.BYTE:
+                    putBinaryShort(Unsafe.getUnsafe().getByte(address + row));
+                    break;
+                case ColumnType.SHORT:
+                    putBinaryShort(Unsafe.getUnsafe().getShort(address + (row << 1)));
+                    break;
+                case ColumnType.CHAR:
+                    putBinaryChar(Unsafe.getUnsafe().getChar(address + (row << 1)));
+                    break;
+                case ColumnType.INT:
+                    putBinaryInt(Unsafe.getUnsafe().getInt(address + (row << 2)));
+                    break;
+                case ColumnType.SYMBOL: {
+                    final int key = Unsafe.getUnsafe().getInt(address + (row << 2));
+                    putBinaryStr(key != SymbolTable.VALUE_IS_NULL ? frameCursor.getSymbolTable(i).valueOf(key) : null);
+                    break;
+                }
+                case ColumnType.LONG:
+                    putBinaryLong(Unsafe.getUnsafe().getLong(address + (row << 3)));
+                    break;
+                case ColumnType.DATE:
+                    putBinaryDate(Unsafe.getUnsafe().getLong(address + (row << 3)));
+                    break;
+                case ColumnType.TIMESTAMP:
+                    putBinaryTimestamp(Unsafe.getUnsafe().getLong(address + (row << 3)));
+                    break;
+                case ColumnType.FLOAT:
+                    putBinaryFloat(Unsafe.getUnsafe().getFloat(address + (row << 2)));
+                    break;
+                case ColumnType.DOUBLE:
+                    putBinaryDouble(Unsafe.getUnsafe().getDouble(address + (row << 3)));
+                    break;
+                case ColumnType.UUID:
+                    putBinaryUuid(
+                            Unsafe.getUnsafe().getLong(address + (row << 4)),
+                            Unsafe.getUnsafe().getLong(address + (row << 4) + Long.BYTES)
+                    );
+                    break;
+                default:
+                    assert false;
+            }
+        }
+        sink.putLen(offset);
+        rowCount++;
+    }
+
+    // CopyOutResponse followed by the binary format signature or by the header line
+    private void appendPrefix() {
+        final int columnCount = metadata.getColumnCount();
+        final byte binary = format == CopyModel.STDIN_FORMAT_BINARY ? (byte) 1 : (byte) 0;
+        sink.put(MESSAGE_TYPE_COPY_OUT_RESPONSE);
+        long offset = sink.skip();
+        sink.put(binary);
+        sink.putNetworkShort((short) columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            sink.putNetworkShort(binary);
+        }
+        sink.putLen(offset);
+
+        if (binary == 1) {
+            sink.put(MESSAGE_TYPE_COPY_DATA);
+            offset = sink.skip();
+            sink.putAscii("PGCOPY\n");
+            sink.put((byte) 0xff);
+            sink.putAscii('\r');
+            sink.putAscii('\n');
+            sink.put((byte) 0);
+            // flags and header extension length
+            sink.putNetworkInt(0);
+            sink.putNetworkInt(0);
+            sink.putLen(offset);
+        } else if (header) {
+            sink.put(MESSAGE_TYPE_COPY_DATA);
+            offset = sink.skip();
+            for (int i = 0; i < columnCount; i++) {
+                if (i > 0) {
+                    sink.put(delimiter);
+                }
+                putStr(metadata.getColumnName(i));
+            }
+            sink.putAscii('\n');
+            sink.putLen(offset);
+        }
+    }
+
+    private void appendRecord(Record record) throws SqlException {
+        if (format == CopyModel.STDIN_FORMAT_BINARY) {
+            appendBinaryRecord(record);
+        } else {
+            appendTextRecord(record);
+        }
+    }
+
+    private void appendTextRecord(Record record) throws SqlException {
+        sink.put(MESSAGE_TYPE_COPY_DATA);
+        final long offset = sink.skip();
+        for (int i = 0, n = metadata.getColumnCount(); i < n; i++) {
+            if (i > 0) {
+                sink.put(delimiter);
+            }
+            appendTextValue(record, i);
+        }
+        sink.putAscii('\n');
+        sink.putLen(offset);
+        rowCount++;
+    }
+
+    private void appendTextValue(Record record, int columnIndex) throws SqlException {
+        final int type = columnTypes.getQuick(2 * columnIndex);
+        switch (ColumnType.tagOf(type)) {
+            case ColumnType.BOOLEAN:
+                sink.putAscii(record.getBool(columnIndex) ? 't' : 'f');
+                break;
+            case ColumnType.BYTE:
+                sink.put((int) record.getByte(columnIndex));
+                break;
+            case ColumnType.SHORT:
+                sink.put((int) record.getShort(columnIndex));
+                break;
+            case ColumnType.CHAR: {
+                final char value = record.getChar(columnIndex);
+                if (value == 0) {
+                    sink.put(nullValue);
+                } else {
+                    putChar(value);
+                }
+                break;
+            }
+            case ColumnType.INT: {
+                final int value = record.getInt(columnIndex);
+                if (value != Numbers.INT_NULL) {
+                    sink.put(value);
+                } else {
+                    sink.put(nullValue);
+                }
+                break;
+            }
+            case ColumnType.IPv4: {
+                final int value = record.getIPv4(columnIndex);
+                if (value != Numbers.IPv4_NULL) {
+                    Numbers.intToIPv4Sink(sink, value);
+                } else {
+                    sink.put(nullValue);
+                }
+                break;
+            }
+            case ColumnType.LONG: {
+                final long value = record.getLong(columnIndex);
+                if (value != Numbers.LONG_NULL) {
+                    sink.put(value);
+                } else {
+                    sink.put(nullValue);
+                }
+                break;
+            }
+            case ColumnType.DATE: {
+                final long value = record.getDate(columnIndex);
+                if (value != Numbers.LONG_NULL) {
+                    PG_DATE_MILLI_TIME_Z_PRINT_FORMAT.format(value, DateFormatUtils.EN_LOCALE, null, sink);
+                } else {
+                    sink.put(nullValue);
+                }
+                break;
+            }
+            case ColumnType.TIMESTAMP: {
+                final long value = record.getTimestamp(columnIndex);
+                if (value != Numbers.LONG_NULL) {
+                    TimestampFormatUtils.PG_TIMESTAMP_FORMAT.format(value, DateFormatUtils.EN_LOCALE, null, sink);
+                } else {
+                    sink.put(nullValue);
+                }
+                break;
+            }
+            case ColumnType.FLOAT: {
+                final float value = record.getFloat(columnIndex);
+                if (value == value) {
+                    sink.put(value, 3);
+                } else {
+                    sink.put(nullValue);
+                }
+                break;
+            }
+            case ColumnType.DOUBLE: {
+                final double value = record.getDouble(columnIndex);
+                if (value == value) {
+                    sink.put(value);
+                } else {
+                    sink.put(nullValue);
+                }
+                break;
+            }
+            case ColumnType.UUID: {
+                final long lo = record.getLong128Lo(columnIndex);
+                final long hi = record.getLong128Hi(columnIndex);
+                if (!Uuid.isNull(lo, hi)) {
+                    Numbers.appendUuid(lo, hi, sink);
+                } else {
+                    sink.put(nullValue);
+                }
+                break;
+            }
+            case ColumnType.LONG256: {
+                final Long256 value = record.getLong256A(columnIndex);
+                if (Long256Impl.isNull(value)) {
+                    sink.put(nullValue);
+                } else {
+                    Numbers.appendLong256(value.getLong0(), value.getLong1(), value.getLong2(), value.getLong3(), sink);
+                }
+                break;
+            }
+            case ColumnType.GEOBYTE:
+                putGeoHash(record.getGeoByte(columnIndex), columnTypes.getQuick(2 * columnIndex + 1));
+                break;
+            case ColumnType.GEOSHORT:
+                putGeoHash(record.getGeoShort(columnIndex), columnTypes.getQuick(2 * columnIndex + 1));
+                break;
+            case ColumnType.GEOINT:
+                putGeoHash(record.getGeoInt(columnIndex), columnTypes.getQuick(2 * columnIndex + 1));
+                break;
+            case ColumnType.GEOLONG:
+                putGeoHash(record.getGeoLong(columnIndex), columnTypes.getQuick(2 * columnIndex + 1));
+                break;
+            case ColumnType.STRING: {
+                final CharSequence value = record.getStrA(columnIndex);
+                if (value != null) {
+                    putStr(value);
+                } else {
+                    sink.put(nullValue);
+                }
+                break;
+            }
+            case ColumnType.SYMBOL: {
+                final CharSequence value = record.getSymA(columnIndex);
+                if (value != null) {
+                    putStr(value);
+                } else {
+                    sink.put(nullValue);
+                }
+                break;
+            }
+            case ColumnType.VARCHAR: {
+                final Utf8Sequence value = record.getVarcharA(columnIndex);
+                if (value != null) {
+                    putVarchar(value);
+                } else {
+                    sink.put(nullValue);
+                }
+                break;
+            }
+            case ColumnType.BINARY: {
+                final BinarySequence value = record.getBin(columnIndex);
+                if (value != null) {
+                    putBin(value, columnIndex);
+                } else {
+                    sink.put(nullValue);
+                }
+                break;
+            }
+            case ColumnType.NULL:
+                sink.put(nullValue);
+                break;
+            default:
+                assert false;
+        }
+    }
+
+    private void checkBlobSize(BinarySequence value, int columnIndex) throws SqlException {
+        final long len = value.length();
+        if (len >= maxBlobSize) {
+            throw SqlException.position(0).put("blob is too large [blobSize=").put(len).put(", max=").put(maxBlobSize).put(", columnIndex=").put(columnIndex).put(']');
+        }
+    }
+
+    private boolean isCsvSpecial(char c) {
+        return c == delimiter || c == '"' || c == '\n' || c == '\r';
+    }
+
+    private void putBin(BinarySequence value, int columnIndex) throws SqlException {
+        checkBlobSize(value, columnIndex);
+        // bytea hex format, the backslash itself is escaped in text format
+        if (format != CopyModel.STDIN_FORMAT_CSV) {
+            sink.putAscii('\\');
+        }
+        sink.putAscii('\\');
+        sink.putAscii('x');
+        for (long i = 0, n = value.length(); i < n; i++) {
+            final int b = value.byteAt(i) & 0xff;
+            sink.putAscii(Numbers.hexDigits[b >> 4]);
+            sink.putAscii(Numbers.hexDigits[b & 0xf]);
+        }
+    }
+
+    private void putBinaryBool(boolean value) {
+        sink.putNetworkInt(Byte.BYTES);
+        sink.put(value ? (byte) 1 : (byte) 0);
+    }
+
+    private void putBinaryChar(char value) {
+        if (value != 0) {
+            final long a = sink.skip();
+            sink.put(value);
+            sink.putLenEx(a);
+        } else {
+            sink.setNullValue();
+        }
+    }
+
+    private void putBinaryDate(long value) {
+        if (value != Numbers.LONG_NULL) {
+            sink.putNetworkInt(Long.BYTES);
+            // PG epoch starts at 2000 rather than 1970
+            sink.putNetworkLong(value * 1000 - Numbers.JULIAN_EPOCH_OFFSET_USEC);
+        } else {
+            sink.setNullValue();
+        }
+    }
+
+    private void putBinaryDouble(double value) {
+        if (value == value) {
+            sink.putNetworkInt(Double.BYTES);
+            sink.putNetworkDouble(value);
+        } else {
+            sink.setNullValue();
+        }
+    }
+
+    private void putBinaryFloat(float value) {
+        if (value == value) {
+            sink.putNetworkInt(Float.BYTES);
+            sink.putNetworkFloat(value);
+        } else {
+            sink.setNullValue();
+        }
+    }
+
+    private void putBinaryGeoHash(long value, int bitFlags) {
+        if (value != GeoHashes.NULL) {
+            final long a = sink.skip();
+            putGeoHashChars(value, bitFlags);
+            sink.putLenEx(a);
+        } else {
+            sink.setNullValue();
+        }
+    }
+
+    private void putBinaryInt(int value) {
+        if (value != Numbers.INT_NULL) {
+            sink.putNetworkInt(Integer.BYTES);
+            sink.putNetworkInt(value);
+        } else {
+            sink.setNullValue();
+        }
+    }
+
+    private void putBinaryLong(long value) {
+        if (value != Numbers.LONG_NULL) {
+            sink.putNetworkInt(Long.BYTES);
+            sink.putNetworkLong(value);
+        } else {
+            sink.setNullValue();
+        }
+    }
+
+    private void putBinaryShort(short value) {
+        sink.putNetworkInt(Short.BYTES);
+        sink.putNetworkShort(value);
+    }
+
+    private void putBinaryStr(CharSequence value) {
+        if (value != null) {
+            final long a = sink.skip();
+            sink.put(value);
+            sink.putLenEx(a);
+        } else {
+            sink.setNullValue();
+        }
+    }
+
+    private void putBinaryTimestamp(long value) {
+        if (value != Numbers.LONG_NULL) {
+            sink.putNetworkInt(Long.BYTES);
+            // PG epoch starts at 2000 rather than 1970
+            sink.putNetworkLong(value - Numbers.JULIAN_EPOCH_OFFSET_USEC);
+        } else {
+            sink.setNullValue();
+        }
+    }
+
+    private void putBinaryUuid(long lo, long hi) {
+        if (!Uuid.isNull(lo, hi)) {
+            sink.putNetworkInt(Long.BYTES * 2);
+            sink.putNetworkLong(hi);
+            sink.putNetworkLong(lo);
+        } else {
+            sink.setNullValue();
+        }
+    }
+
+    private void putChar(char value) {
+        if (format == CopyModel.STDIN_FORMAT_CSV) {
+            if (isCsvSpecial(value) || Chars.equals(nullString, value)) {
+                sink.putAscii('"');
+                sink.put(value);
+                if (value == '"') {
+                    sink.putAscii('"');
+                }
+                sink.putAscii('"');
+            } else {
+                sink.put(value);
+            }
+        } else {
+            final char escape = textEscape(value);
+            if (escape != 0) {
+                sink.putAscii('\\');
+                sink.putAscii(escape);
+            } else {
+                sink.put(value);
+            }
+        }
+    }
+
+    private void putGeoHash(long value, int bitFlags) {
+        if (value != GeoHashes.NULL) {
+            putGeoHashChars(value, bitFlags);
+        } else {
+            sink.put(nullValue);
+        }
+    }
+
+    private void putGeoHashChars(long value, int bitFlags) {
+        if (bitFlags < 0) {
+            GeoHashes.appendCharsUnsafe(value, -bitFlags, sink);
+        } else {
+            GeoHashes.appendBinaryStringUnsafe(value, bitFlags, sink);
+        }
+    }
+
+    // In text format special characters are escaped with backslash. In CSV format values
+    // that contain them, or that match the null string, are quoted and the quotes are doubled.
+    private void putStr(CharSequence value) {
+        final int len = value.length();
+        int lo = 0;
+        if (format == CopyModel.STDIN_FORMAT_CSV) {
+            boolean quote = Chars.equals(value, nullString);
+            for (int i = 0; i < len && !quote; i++) {
+                quote = isCsvSpecial(value.charAt(i));
+            }
+            if (!quote) {
+                sink.put(value);
+                return;
+            }
+            sink.putAscii('"');
+            for (int i = 0; i < len; i++) {
+                if (value.charAt(i) == '"') {
+                    sink.put(value, lo, i + 1);
+                    lo = i;
+                }
+            }
+            sink.put(value, lo, len);
+            sink.putAscii('"');
+        } else {
+            for (int i = 0; i < len; i++) {
+                final char escape = textEscape(value.charAt(i));
+                if (escape != 0) {
+                    sink.put(value, lo, i);
+                    sink.putAscii('\\');
+                    sink.putAscii(escape);
+                    lo = i + 1;
+                }
+            }
+            sink.put(value, lo, len);
+        }
+    }
+
+    // same as putStr(), special characters are all ASCII, so it's safe to look at single bytes
+    private void putVarchar(Utf8Sequence value) {
+        final int size = value.size();
+        int lo = 0;
+        if (format == CopyModel.STDIN_FORMAT_CSV) {
+            boolean quote = Utf8s.equals(value, nullValue);
+            for (int i = 0; i < size && !quote; i++) {
+                quote = isCsvSpecial((char) value.byteAt(i));
+            }
+            if (!quote) {
+                sink.put(value);
+                return;
+            }
+            sink.putAscii('"');
+            for (int i = 0; i < size; i++) {
+                if (value.byteAt(i) == '"') {
+                    sink.put(value, lo, i + 1);
+                    lo = i;
+                }
+            }
+            sink.put(value, lo, size);
+            sink.putAscii('"');
+        } else {
+            for (int i = 0; i < size; i++) {
+                final char escape = textEscape((char) value.byteAt(i));
+                if (escape != 0) {
+                    sink.put(value, lo, i);
+                    sink.putAscii('\\');
+                    sink.putAscii(escape);
+                    lo = i + 1;
+                }
+            }
+            sink.put(value, lo, size);
+        }
+    }
+
+    private void sendFrames() throws PeerDisconnectedException, PeerIsSlowToReadException {
+        while (true) {
+            if (frameRow == frameRowHi) {
+                frame = frameCursor.next();
+                if (frame == null) {
+                    break;
+                }
+                frameRow = 0;
+                frameRowHi = frame.getPartitionHi() - frame.getPartitionLo();
+                circuitBreaker.statefulThrowExceptionIfTripped();
+            }
+            try {
+                appendFrameRow();
+            } catch (NoSpaceLeftInResponseBufferException e) {
+                sink.resetToBookmark();
+                sink.sendAndReset();
+                appendFrameRow();
+            }
+            sink.bookmark();
+            frameRow++;
+        }
+    }
+
+    private void sendRecords() throws PeerDisconnectedException, PeerIsSlowToReadException, SqlException {
+        final Record record = cursor.getRecord();
+        while (cursor.hasNext()) {
+            try {
+                appendRecord(record);
+            } catch (NoSpaceLeftInResponseBufferException e) {
+                sink.resetToBookmark();
+                sink.sendAndReset();
+                appendRecord(record);
+            }
+            sink.bookmark();
+        }
+    }
+
+    // returns the character that follows the backslash when c is escaped in text format, or 0
+    private char textEscape(char c) {
+        switch (c) {
+            case '\\':
+                return '\\';
+            case '\b':
+                return 'b';
+            case '\f':
+                return 'f';
+            case '\n':
+                return 'n';
+            case '\r':
+                return 'r';
+            case '\t':
+                return 't';
+            case 11:
+                return 'v';
+            default:
+                return c == delimiter ? c : 0;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.cutlass.pgwire;
+
+import io.questdb.network.PeerDisconnectedException;
+import io.questdb.network.PeerIsSlowToReadException;
+import io.questdb.std.BinarySequence;
+import io.questdb.std.str.Utf8Sink;
+
+/**
+ * Send buffer of a PG wire connection. Values are written in network byte order, length
+ * prefixes are reserved with {@link #skip()} and filled in once the message is complete.
+ * Writes throw {@link io.questdb.network.NoSpaceLeftInResponseBufferException} when the
+ * buffer is full.
+ */
+public interface PGResponseSink extends Utf8Sink {
+
+    /**
+     * Remembers the end of the last complete message, see {@link #resetToBookmark()}.
+     */
+    void bookmark();
+
+    void put(BinarySequence sequence);
+
+    void putLen(long start);
+
+    void putLenEx(long start);
+
+    void putNetworkDouble(double value);
+
+    void putNetworkFloat(float value);
+
+    void putNetworkInt(int value);
+
+    void putNetworkLong(long value);
+
+    void putNetworkShort(short value);
+
+    /**
+     * Drops the partially written message that follows the bookmark.
+     */
+    void resetToBookmark();
+
+    /**
+     * Sends the buffered messages to the client and empties the buffer.
+     */
+    void sendAndReset() throws PeerDisconnectedException, PeerIsSlowToReadException;
+
+    void setNullValue();
+
+    long skip();
+}
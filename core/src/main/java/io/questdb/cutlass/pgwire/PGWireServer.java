@@ -48,6 +48,7 @@ public class PGWireServer implements Closeable {
     private static final NoOpAssociativeCache<TypesAndSelect> NO_OP_CACHE = new NoOpAssociativeCache<>();
     private final PGConnectionContextFactory contextFactory;
     private final IODispatcher<PGConnectionContext> dispatcher;
+    private final CairoEngine engine;
     private final Metrics metrics;
     private final CircuitBreakerRegistry registry;
     private final AssociativeCache<TypesAndSelect> typesAndSelectCache;
@@ -60,6 +61,7 @@ public class PGWireServer implements Closeable {
             CircuitBreakerRegistry registry,
             ObjectFactory<SqlExecutionContextImpl> executionContextObjectFactory
     ) {
+        this.engine = engine;
         this.metrics = engine.getMetrics();
         if (configuration.isSelectCacheEnabled()) {
             this.typesAndSelectCache = new ConcurrentAssociativeCache<>(
@@ -72,6 +74,7 @@ public class PGWireServer implements Closeable {
         } else {
             this.typesAndSelectCache = NO_OP_CACHE;
         }
+        engine.addQueryCache(typesAndSelectCache);
         this.contextFactory = new PGConnectionContextFactory(
                 engine,
                 configuration,
@@ -138,6 +141,7 @@ public class PGWireServer implements Closeable {
         Misc.free(dispatcher);
         Misc.free(registry);
         Misc.free(contextFactory);
+        engine.removeQueryCache(typesAndSelectCache);
         Misc.free(typesAndSelectCache);
     }
 
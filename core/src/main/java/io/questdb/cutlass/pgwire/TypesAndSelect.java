@@ -24,8 +24,10 @@
 
 package io.questdb.cutlass.pgwire;
 
+import io.questdb.cairo.TableToken;
 import io.questdb.cairo.sql.BindVariableService;
 import io.questdb.cairo.sql.RecordCursorFactory;
+import io.questdb.cairo.sql.TableDependent;
 import io.questdb.griffin.SqlException;
 import io.questdb.std.IntList;
 import io.questdb.std.Misc;
@@ -35,7 +37,7 @@ import io.questdb.std.QuietCloseable;
  * Unlike other TypesAnd* classes, this one doesn't self-return to a pool. That's because
  * it's used for multi-threaded calls to {@link io.questdb.std.ConcurrentAssociativeCache}.
  */
-public class TypesAndSelect implements QuietCloseable {
+public class TypesAndSelect implements QuietCloseable, TableDependent {
     private final IntList types = new IntList();
     private RecordCursorFactory factory;
 
@@ -52,6 +54,11 @@ public class TypesAndSelect implements QuietCloseable {
         AbstractTypeContainer.copyTypes(bindVariableService, types);
     }
 
+    @Override
+    public boolean dependsOn(TableToken tableToken) {
+        return !(factory instanceof TableDependent) || ((TableDependent) factory).dependsOn(tableToken);
+    }
+
     public void defineBindVariables(BindVariableService bindVariableService) throws SqlException {
         AbstractTypeContainer.defineBindVariables(types, bindVariableService);
     }
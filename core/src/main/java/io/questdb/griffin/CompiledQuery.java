@@ -29,6 +29,7 @@ import io.questdb.cairo.sql.InsertOperation;
 import io.questdb.cairo.sql.OperationFuture;
 import io.questdb.cairo.sql.RecordCursorFactory;
 import io.questdb.griffin.engine.ops.AlterOperation;
+import io.questdb.griffin.model.CopyModel;
 import io.questdb.griffin.engine.ops.UpdateOperation;
 import io.questdb.mp.SCSequence;
 import io.questdb.std.Transient;
@@ -95,6 +96,15 @@ public interface CompiledQuery {
     @Transient
     AlterOperation getAlterOperation();
 
+    /**
+     * Returns model of COPY ... FROM STDIN statement, the data for which is streamed by the client,
+     * or of COPY ... TO STDOUT statement, the rows of which are streamed to the client by
+     * the factory returned from {@link #getRecordCursorFactory()}. Used e.g. in pg wire protocol.
+     *
+     * @return copy model, valid until the next compilation
+     */
+    CopyModel getCopyModel();
+
     InsertOperation getInsertOperation();
 
     RecordCursorFactory getRecordCursorFactory();
@@ -157,6 +157,8 @@ public class SqlCodeGenerator implements Mutable, Closeable {
     private final PageFrameReduceTaskFactory reduceTaskFactory;
     private final ArrayDeque<ExpressionNode> sqlNodeStack = new ArrayDeque<>();
     private final WhereClauseSymbolEstimator symbolEstimator = new WhereClauseSymbolEstimator();
+    // tables read by the generated factories, used to invalidate cached queries on schema changes
+    private final ObjList<TableToken> tableTokens = new ObjList<>();
     private final IntList tempAggIndex = new IntList();
     private final IntList tempKeyIndex = new IntList();
     private final IntList tempKeyIndexesInBase = new IntList();
@@ -230,6 +232,7 @@ public class SqlCodeGenerator implements Mutable, Closeable {
         whereClauseParser.clear();
         symbolEstimator.clear();
         intListPool.clear();
+        tableTokens.clear();
     }
 
     @Override
@@ -405,6 +408,12 @@ public class SqlCodeGenerator implements Mutable, Closeable {
         return metadata;
     }
 
+    private void addTableToken(TableToken tableToken) {
+        if (tableTokens.indexOf(tableToken) < 0) {
+            tableTokens.add(tableToken);
+        }
+    }
+
     private VectorAggregateFunctionConstructor assembleFunctionReference(RecordMetadata metadata, ExpressionNode ast) {
         int columnIndex;
         if (ast.type == FUNCTION && ast.paramCount == 1 && SqlKeywords.isSumKeyword(ast.token) && ast.rhs.type == LITERAL) {
@@ -1703,6 +1712,9 @@ public class SqlCodeGenerator implements Mutable, Closeable {
         final boolean enableParallelFilter = executionContext.isParallelFilterEnabled();
         final boolean preTouchColumns = configuration.isSqlParallelFilterPreTouchEnabled();
         if (enableParallelFilter && factory.supportsPageFrameCursor()) {
+            if (configuration.isSqlZoneMapsEnabled() || configuration.isSqlBloomFiltersEnabled()) {
+                factory.setZoneMapFilter(ZoneMapFilter.of(configuration, filterExpr, factory.getMetadata()));
+            }
             final boolean useJit = executionContext.getJitMode() != SqlJitMode.JIT_MODE_DISABLED
                     && (!model.isUpdate() || executionContext.isWalApplication());
             final boolean canCompile = factory.supportsPageFrameCursor() && JitUtil.isJitSupported();
@@ -1930,27 +1942,40 @@ public class SqlCodeGenerator implements Mutable, Closeable {
                                 processJoinContext(index == 1, slaveModel.getContext(), masterMetadata, slaveMetadata);
                                 if (slave.recordCursorSupportsRandomAccess() && !fullFatJoins) {
                                     if (isKeyedTemporalJoin(masterMetadata, slaveMetadata)) {
-                                        master = createAsOfJoin(
-                                                createJoinMetadata(masterAlias, masterMetadata, slaveModel.getName(), slaveMetadata),
-                                                master,
-                                                RecordSinkFactory.getInstance(
-                                                        asm,
-                                                        masterMetadata,
-                                                        listColumnFilterB,
-                                                        true,
-                                                        writeStringAsVarcharB
-                                                ),
-                                                slave,
-                                                RecordSinkFactory.getInstance(
-                                                        asm,
-                                                        slaveMetadata,
-                                                        listColumnFilterA,
-                                                        true,
-                                                        writeStringAsVarcharA
-                                                ),
-                                                masterMetadata.getColumnCount(),
-                                                slaveModel.getContext()
-                                        );
+                                        if (configuration.isSqlAsOfJoinFastScanEnabled() && slave.supportsTimeFrameCursor() && isSingleSymbolJoin(masterMetadata, slaveMetadata)) {
+                                            master = new AsOfJoinFastRecordCursorFactory(
+                                                    configuration,
+                                                    createJoinMetadata(masterAlias, masterMetadata, slaveModel.getName(), slaveMetadata),
+                                                    master,
+                                                    slave,
+                                                    masterMetadata.getColumnCount(),
+                                                    listColumnFilterB.getColumnIndexFactored(0),
+                                                    listColumnFilterA.getColumnIndexFactored(0),
+                                                    slaveModel.getContext()
+                                            );
+                                        } else {
+                                            master = createAsOfJoin(
+                                                    createJoinMetadata(masterAlias, masterMetadata, slaveModel.getName(), slaveMetadata),
+                                                    master,
+                                                    RecordSinkFactory.getInstance(
+                                                            asm,
+                                                            masterMetadata,
+                                                            listColumnFilterB,
+                                                            true,
+                                                            writeStringAsVarcharB
+                                                    ),
+                                                    slave,
+                                                    RecordSinkFactory.getInstance(
+                                                            asm,
+                                                            slaveMetadata,
+                                                            listColumnFilterA,
+                                                            true,
+                                                            writeStringAsVarcharA
+                                                    ),
+                                                    masterMetadata.getColumnCount(),
+                                                    slaveModel.getContext()
+                                            );
+                                        }
                                     } else {
                                         if (slave.supportsTimeFrameCursor()) {
                                             master = new AsOfJoinNoKeyFastRecordCursorFactory(
@@ -3369,6 +3394,7 @@ public class SqlCodeGenerator implements Mutable, Closeable {
         ) {
             CharSequence tableName = tableNameEn.token;
             TableToken tableToken = executionContext.getTableToken(tableName);
+            addTableToken(tableToken);
             try (TableReader reader = executionContext.getReader(tableToken)) {
                 QueryColumn queryColumn = nested.getBottomUpColumns().get(0);
                 CharSequence physicalColumnName = queryColumn.getAst().token;
@@ -4593,6 +4619,7 @@ public class SqlCodeGenerator implements Mutable, Closeable {
         }
 
         final TableToken tableToken = executionContext.getTableToken(tab);
+        addTableToken(tableToken);
         if (model.isUpdate() && !executionContext.isWalApplication() && executionContext.getCairoEngine().isWalTable(tableToken)) {
             // two phase update execution, this is client-side branch. It has to execute against the sequencer metadata
             // to allow the client to succeed even if WAL apply does not run.
@@ -5098,11 +5125,22 @@ public class SqlCodeGenerator implements Mutable, Closeable {
                 }
             }
 
-            RowCursorFactory rowFactory;
-            if (orderDescendingByDesignatedTimestampOnly) {
-                rowFactory = new BwdDataFrameRowCursorFactory();
-            } else {
-                rowFactory = new DataFrameRowCursorFactory();
+            RowCursorFactory rowFactory = null;
+            if (!orderDescendingByDesignatedTimestampOnly && intrinsicModel.filter != null && reader != null) {
+                // only columns with a sorted index, i.e. "alter table t alter column c add sorted index",
+                // and only for = and in predicates, other filters keep the parallel/JIT path
+                rowFactory = SortedIndexRowCursorFactory.of(configuration, intrinsicModel.filter, myMeta, reader.getMetadata(), columnIndexes);
+                if (rowFactory != null) {
+                    // index lookups are row based, the filter is re-applied on top of the looked up rows
+                    framingSupported = false;
+                }
+            }
+            if (rowFactory == null) {
+                if (orderDescendingByDesignatedTimestampOnly) {
+                    rowFactory = new BwdDataFrameRowCursorFactory();
+                } else {
+                    rowFactory = new DataFrameRowCursorFactory();
+                }
             }
 
             model.setWhereClause(intrinsicModel.filter);
@@ -5370,6 +5408,12 @@ public class SqlCodeGenerator implements Mutable, Closeable {
                 getOrderByDirectionOrDefault(model, 0) == ORDER_DIRECTION_DESCENDING;
     }
 
+    private boolean isSingleSymbolJoin(RecordMetadata masterMetadata, RecordMetadata slaveMetadata) {
+        return listColumnFilterA.size() == 1 && listColumnFilterB.size() == 1
+                && ColumnType.isSymbol(masterMetadata.getColumnType(listColumnFilterB.getColumnIndexFactored(0)))
+                && ColumnType.isSymbol(slaveMetadata.getColumnType(listColumnFilterA.getColumnIndexFactored(0)));
+    }
+
     private void lookupColumnIndexes(
             ListColumnFilter filter,
             ObjList<ExpressionNode> columnNames,
@@ -5666,6 +5710,11 @@ public class SqlCodeGenerator implements Mutable, Closeable {
         }
     }
 
+    // tables read by the factories generated since the last clear()
+    ObjList<TableToken> getTableTokens() {
+        return tableTokens;
+    }
+
     // used in tests
     void setEnableJitNullChecks(boolean value) {
         enableJitNullChecks = value;
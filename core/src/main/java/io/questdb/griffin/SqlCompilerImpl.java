@@ -29,6 +29,7 @@ import io.questdb.PropServerConfiguration;
 import io.questdb.TelemetryOrigin;
 import io.questdb.TelemetrySystemEvent;
 import io.questdb.cairo.*;
+import io.questdb.cairo.mv.MatViewDefinition;
 import io.questdb.cairo.sql.Record;
 import io.questdb.cairo.sql.*;
 import io.questdb.cairo.vm.Vm;
@@ -94,6 +95,7 @@ public class SqlCompilerImpl implements SqlCompiler, Closeable, SqlParserCallbac
     private final FilesFacade ff;
     private final FunctionParser functionParser;
     private final ListColumnFilter listColumnFilter = new ListColumnFilter();
+    private final GenericLexer matViewLexer;
     private final int maxRecompileAttempts;
     private final MemoryMARW mem = Vm.getMARWInstance();
     private final MessageBus messageBus;
@@ -139,6 +141,7 @@ public class SqlCompilerImpl implements SqlCompiler, Closeable, SqlParserCallbac
             );
 
             this.lexer = new GenericLexer(configuration.getSqlLexerPoolCapacity());
+            this.matViewLexer = new GenericLexer(configuration.getSqlLexerPoolCapacity());
             this.functionParser = new FunctionParser(configuration, engine.getFunctionFactoryCache());
             this.codeGenerator = new SqlCodeGenerator(engine, configuration, functionParser, sqlNodePool);
             this.vacuumColumnVersions = new VacuumColumnVersions(engine);
@@ -151,6 +154,7 @@ public class SqlCompilerImpl implements SqlCompiler, Closeable, SqlParserCallbac
             registerKeywordBasedExecutors();
 
             configureLexer(lexer);
+            configureLexer(matViewLexer);
 
             final PostOrderTreeTraversalAlgo postOrderTreeTraversalAlgo = new PostOrderTreeTraversalAlgo();
 
@@ -399,6 +403,23 @@ public class SqlCompilerImpl implements SqlCompiler, Closeable, SqlParserCallbac
                 || (from == ColumnType.IPv4 && to == ColumnType.VARCHAR);
     }
 
+    // consumes "sorted index" following "add" or "drop", leaves the lexer untouched for other statements
+    private static boolean isSortedIndex(GenericLexer lexer) throws SqlException {
+        CharSequence tok = SqlUtil.fetchNext(lexer);
+        if (tok == null || !SqlKeywords.isSortedKeyword(tok)) {
+            if (tok != null) {
+                lexer.unparseLast();
+            }
+            return false;
+        }
+        expectKeyword(lexer, "index");
+        tok = SqlUtil.fetchNext(lexer);
+        if (tok != null && !isSemicolon(tok)) {
+            throw SqlException.$(lexer.lastTokenPosition(), "unexpected token [").put(tok).put("] while trying to change sorted index");
+        }
+        return true;
+    }
+
     private int addColumnWithType(AlterOperationBuilder addColumn, CharSequence columnName, int columnNamePosition) throws SqlException {
         CharSequence tok;
         tok = expectToken(lexer, "column type");
@@ -600,7 +621,29 @@ public class SqlCompilerImpl implements SqlCompiler, Closeable, SqlParserCallbac
                     }
 
                     tok = expectToken(lexer, "'add index' or 'drop index' or 'type' or 'cache' or 'nocache'");
-                    if (SqlKeywords.isAddKeyword(tok)) {
+                    if (SqlKeywords.isAddKeyword(tok) && isSortedIndex(lexer)) {
+                        // alter table <table name> alter column <column name> add sorted index
+                        alterTableColumnSortedIndex(
+                                securityContext,
+                                tableNamePosition,
+                                tableToken,
+                                columnNamePosition,
+                                columnName,
+                                tableMetadata,
+                                true
+                        );
+                    } else if (SqlKeywords.isDropKeyword(tok) && isSortedIndex(lexer)) {
+                        // alter table <table name> alter column <column name> drop sorted index
+                        alterTableColumnSortedIndex(
+                                securityContext,
+                                tableNamePosition,
+                                tableToken,
+                                columnNamePosition,
+                                columnName,
+                                tableMetadata,
+                                false
+                        );
+                    } else if (SqlKeywords.isAddKeyword(tok)) {
                         expectKeyword(lexer, "index");
                         tok = SqlUtil.fetchNext(lexer);
                         int indexValueCapacity = -1;
@@ -975,6 +1018,35 @@ public class SqlCompilerImpl implements SqlCompiler, Closeable, SqlParserCallbac
         compiledQuery.ofAlter(alterOperationBuilder.build());
     }
 
+    private void alterTableColumnSortedIndex(
+            SecurityContext securityContext,
+            int tableNamePosition,
+            TableToken tableToken,
+            int columnNamePosition,
+            CharSequence columnName,
+            TableRecordMetadata metadata,
+            boolean add
+    ) throws SqlException {
+        final int columnIndex = metadata.getColumnIndexQuiet(columnName);
+        if (columnIndex == -1) {
+            throw SqlException.invalidColumn(columnNamePosition, columnName);
+        }
+
+        final int type = metadata.getColumnType(columnIndex);
+        if (!PartitionSortedIndex.isSupported(type)) {
+            throw SqlException.position(columnNamePosition).put("sorted indexes are only supported for INT, LONG, UUID and VARCHAR types [column=").put(columnName).put(", type=").put(ColumnType.nameOf(type)).put(']');
+        }
+
+        if (add) {
+            alterOperationBuilder.ofAddSortedIndex(tableNamePosition, tableToken, metadata.getTableId(), columnName, columnNamePosition);
+            securityContext.authorizeAlterTableAddIndex(tableToken, alterOperationBuilder.getExtraStrInfo());
+        } else {
+            alterOperationBuilder.ofDropSortedIndex(tableNamePosition, tableToken, metadata.getTableId(), columnName, columnNamePosition);
+            securityContext.authorizeAlterTableDropIndex(tableToken, alterOperationBuilder.getExtraStrInfo());
+        }
+        compiledQuery.ofAlter(alterOperationBuilder.build());
+    }
+
     private void alterTableDedupEnable(int tableNamePosition, TableToken tableToken, TableRecordMetadata tableMetadata, GenericLexer lexer) throws SqlException {
         if (!tableMetadata.isWalEnabled()) {
             throw SqlException.$(tableNamePosition, "deduplication is only supported for WAL tables");
@@ -1325,6 +1397,12 @@ public class SqlCompilerImpl implements SqlCompiler, Closeable, SqlParserCallbac
                 throw SqlException.$(paramNamePosition, "o3MaxLag must be non negative");
             }
             compiledQuery.ofAlter(alterOperationBuilder.ofSetO3MaxLag(tableNamePosition, tableToken, tableId, o3MaxLag).build());
+        } else if (isTtlKeyword(paramName)) {
+            long ttl = SqlUtil.expectMicros(value, paramNamePosition);
+            if (ttl < 0) {
+                throw SqlException.$(paramNamePosition, "ttl must be non negative");
+            }
+            compiledQuery.ofAlter(alterOperationBuilder.ofSetTtl(tableNamePosition, tableToken, tableId, ttl).build());
         } else {
             throw SqlException.$(paramNamePosition, "unknown parameter '").put(paramName).put('\'');
         }
@@ -1450,6 +1528,45 @@ public class SqlCompilerImpl implements SqlCompiler, Closeable, SqlParserCallbac
         );
     }
 
+    private RecordCursorFactory compileCopyExport(SqlExecutionContext executionContext, CopyModel model) throws SqlException {
+        assert model.isExport();
+
+        final ExpressionNode target = model.getTarget();
+        final TableToken tableToken = tableExistsOrFail(target.position, GenericLexer.unquote(target.token), executionContext);
+        final ExpressionNode dirNameNode = model.getFileName();
+        final CharSequence dirName = GenericLexer.assertNoDotsAndSlashes(GenericLexer.unquote(dirNameNode.token), dirNameNode.position);
+
+        try (TableMetadata metadata = executionContext.getMetadataForRead(tableToken)) {
+            final ObjList<CharSequence> columnNames = new ObjList<>();
+            for (int i = 0, n = metadata.getColumnCount(); i < n; i++) {
+                final int columnType = metadata.getColumnType(i);
+                if (!ParquetPartitionEncoder.isSupported(columnType)) {
+                    throw SqlException.$(target.position, "unsupported column type for parquet export [column=")
+                            .put(metadata.getColumnName(i)).put(", type=").put(ColumnType.nameOf(columnType)).put(']');
+                }
+                columnNames.add(metadata.getColumnName(i));
+            }
+            executionContext.getSecurityContext().authorizeSelect(tableToken, columnNames);
+        }
+        // the export writes files to the server file system, so it is a separate permission from select
+        executionContext.getSecurityContext().authorizeCopyExport(tableToken);
+
+        return new CopyExportFactory(configuration, tableToken, Chars.toString(dirName));
+    }
+
+    private void compileCreate(SqlExecutionContext executionContext) throws SqlException {
+        final int createPosition = lexer.lastTokenPosition();
+        final CharSequence tok = SqlUtil.fetchNext(lexer);
+        if (tok != null && isMaterializedKeyword(tok)) {
+            createMatView(executionContext);
+        } else {
+            // position lexer back on 'create' and let the execution model handle the statement
+            lexer.backTo(createPosition, null);
+            SqlUtil.fetchNext(lexer);
+            compiledQuery.ofNone();
+        }
+    }
+
     private void compileDeallocate(SqlExecutionContext executionContext) throws SqlException {
         CharSequence statementName = GenericLexer.unquote(expectToken(lexer, "statement name"));
         CharSequence tok = SqlUtil.fetchNext(lexer);
@@ -1661,10 +1778,14 @@ public class SqlCompilerImpl implements SqlCompiler, Closeable, SqlParserCallbac
     }
 
     private void copy(SqlExecutionContext executionContext, CopyModel copyModel) throws SqlException {
-        if (!copyModel.isCancel() && Chars.equalsLowerCaseAscii(copyModel.getFileName().token, "stdin")) {
-            // no-op implementation
-            authorizeInsertForCopy(executionContext.getSecurityContext(), copyModel);
-            compiledQuery.ofCopyRemote();
+        if (copyModel.isExport()) {
+            compiledQuery.ofPseudoSelect(compileCopyExport(executionContext, copyModel));
+        } else if (!copyModel.isCancel() && Chars.equalsLowerCaseAscii(copyModel.getFileName().token, "stdin")) {
+            // data is streamed by the client, e.g. over PG Wire, which executes the copy
+            copyFromStdin(executionContext, copyModel);
+        } else if (!copyModel.isCancel() && Chars.equalsLowerCaseAscii(copyModel.getFileName().token, "stdout")) {
+            // rows are streamed to the client, e.g. over PG Wire, which executes the copy
+            copyToStdout(executionContext, copyModel);
         } else {
             final RecordCursorFactory copyFactory;
             if (copyModel.isCancel()) {
@@ -1676,6 +1797,51 @@ public class SqlCompilerImpl implements SqlCompiler, Closeable, SqlParserCallbac
         }
     }
 
+    private void copyFromStdin(SqlExecutionContext executionContext, CopyModel copyModel) throws SqlException {
+        final ExpressionNode target = copyModel.getTarget();
+        final TableToken tableToken = tableExistsOrFail(target.position, GenericLexer.unquote(target.token), executionContext);
+        executionContext.getSecurityContext().authorizeInsert(tableToken);
+
+        final ObjList<ExpressionNode> columns = copyModel.getColumns();
+        if (columns.size() > 0) {
+            try (TableRecordMetadata metadata = executionContext.getMetadataForWrite(tableToken)) {
+                for (int i = 0, n = columns.size(); i < n; i++) {
+                    final ExpressionNode column = columns.getQuick(i);
+                    final CharSequence columnName = GenericLexer.unquote(column.token);
+                    if (metadata.getColumnIndexQuiet(columnName) < 0) {
+                        throw SqlException.invalidColumn(column.position, columnName);
+                    }
+                    for (int j = 0; j < i; j++) {
+                        if (Chars.equalsIgnoreCase(GenericLexer.unquote(columns.getQuick(j).token), columnName)) {
+                            throw SqlException.duplicateColumn(column.position, columnName);
+                        }
+                    }
+                }
+            }
+        }
+        compiledQuery.ofCopyRemote(tableToken, copyModel);
+    }
+
+    private void copyToStdout(SqlExecutionContext executionContext, CopyModel copyModel) throws SqlException {
+        CopyModel model = copyModel;
+        int remainingRetries = maxRecompileAttempts;
+        for (; ; ) {
+            try {
+                final QueryModel queryModel = optimiser.optimise(model.getQueryModel(), executionContext, this);
+                compiledQuery.ofCopyRemote(generateFactory(queryModel, executionContext, true), model);
+                return;
+            } catch (TableReferenceOutOfDateException e) {
+                if (--remainingRetries < 0) {
+                    throw SqlException.$(0, e.getFlyweightMessage());
+                }
+                LOG.info().$("retrying plan [q=`").$(model.getQueryModel()).$("`, fd=").$(executionContext.getRequestFd()).$(']').$();
+                clear();
+                lexer.restart();
+                model = (CopyModel) compileExecutionModel(executionContext);
+            }
+        }
+    }
+
     private long copyOrdered(
             TableWriterAPI writer,
             RecordMetadata metadata,
@@ -1914,6 +2080,7 @@ public class SqlCompilerImpl implements SqlCompiler, Closeable, SqlParserCallbac
         try (TableReader rdr = executionContext.getReader(tableToken)) {
             model.setO3MaxLag(rdr.getO3MaxLag());
             model.setMaxUncommittedRows(rdr.getMaxUncommittedRows());
+            model.setTtl(rdr.getMetadata().getTtl());
             TableReaderMetadata rdrMetadata = rdr.getMetadata();
             for (int i = 0; i < rdrMetadata.getColumnCount(); i++) {
                 int columnType = rdrMetadata.getColumnType(i);
@@ -1955,6 +2122,152 @@ public class SqlCompilerImpl implements SqlCompiler, Closeable, SqlParserCallbac
         return rowCount;
     }
 
+    private void createMatView(SqlExecutionContext executionContext) throws SqlException {
+        expectKeyword(lexer, "view");
+        CharSequence tok = expectToken(lexer, "view name");
+        assertTableNameIsQuotedOrNotAKeyword(tok, lexer.lastTokenPosition());
+        final int viewNamePosition = lexer.lastTokenPosition();
+        final String viewName = Chars.toString(GenericLexer.assertNoDotsAndSlashes(GenericLexer.unquote(tok), viewNamePosition));
+        if (engine.getTableTokenIfExists(viewName) != null) {
+            throw SqlException.$(viewNamePosition, "table already exists");
+        }
+        expectKeyword(lexer, "as");
+        expectKeyword(lexer, "(");
+
+        // view query is the text between the parentheses
+        final int queryLo = lexer.getPosition();
+        int depth = 1;
+        do {
+            tok = SqlUtil.fetchNext(lexer);
+            if (tok == null) {
+                throw SqlException.$(lexer.getPosition(), "')' expected");
+            }
+            if (Chars.equals(tok, '(')) {
+                depth++;
+            } else if (Chars.equals(tok, ')')) {
+                depth--;
+            }
+        } while (depth > 0);
+        final int queryHi = lexer.lastTokenPosition();
+        tok = SqlUtil.fetchNext(lexer);
+        if (tok != null && !isSemicolon(tok)) {
+            throw SqlException.unexpectedToken(lexer.lastTokenPosition(), tok);
+        }
+        final CharSequence sql = lexer.getContent();
+
+        matViewLexer.of(sql, queryLo, queryHi);
+        final ExecutionModel executionModel = parser.parse(matViewLexer, executionContext, this);
+        if (executionModel.getModelType() != ExecutionModel.QUERY) {
+            throw SqlException.$(queryLo, "SELECT query expected");
+        }
+        // the raw model selects columns from the nested model, which holds
+        // the table name, the filter and the sample by clause
+        final QueryModel model = (QueryModel) executionModel;
+        final QueryModel fromModel = model.getNestedModel();
+        final ExpressionNode sampleBy = fromModel != null ? fromModel.getSampleBy() : null;
+        if (sampleBy == null) {
+            throw SqlException.$(queryLo, "SAMPLE BY query expected");
+        }
+        final ExpressionNode tableNameExpr = fromModel.getTableNameExpr();
+        if (
+                tableNameExpr == null
+                        || tableNameExpr.type != ExpressionNode.LITERAL
+                        || fromModel.getJoinModels().size() > 1
+                        || model.getUnionModel() != null
+        ) {
+            throw SqlException.$(queryLo, "materialized view query must select from a single table");
+        }
+        if (fromModel.getSampleByUnit() != null) {
+            throw SqlException.$(sampleBy.position, "constant sample by interval expected");
+        }
+        if (fromModel.getSampleByFill().size() > 0) {
+            throw SqlException.$(sampleBy.position, "FILL is not supported for materialized views");
+        }
+        if (fromModel.getSampleByTimezoneName() != null) {
+            throw SqlException.$(sampleBy.position, "time zone is not supported for materialized views");
+        }
+        final ExpressionNode sampleByOffset = fromModel.getSampleByOffset();
+        if (sampleByOffset == null || !Chars.equals(sampleByOffset.token, SqlParser.ZERO_OFFSET.token)) {
+            throw SqlException.$(sampleBy.position, "materialized views must be aligned to calendar with zero offset");
+        }
+        if (fromModel.getLatestBy().size() > 0 || model.getLimitLo() != null) {
+            throw SqlException.$(queryLo, "LATEST BY and LIMIT are not supported for materialized views");
+        }
+
+        final int tableNamePosition = tableNameExpr.position;
+        final TableToken baseToken = tableExistsOrFail(tableNamePosition, GenericLexer.unquote(tableNameExpr.token), executionContext);
+        if (!baseToken.isWal()) {
+            throw SqlException.$(tableNamePosition, "materialized view base table must be a WAL table");
+        }
+        final String samplingInterval = Chars.toString(sampleBy.token);
+
+        // non-aggregate columns are the grouping keys of the view
+        final ObjList<CharSequence> keyColumnNames = new ObjList<>();
+        final ObjList<QueryColumn> columns = model.getBottomUpColumns();
+        for (int i = 0, n = columns.size(); i < n; i++) {
+            final QueryColumn column = columns.getQuick(i);
+            if (column.getAst().isWildcard()) {
+                throw SqlException.$(column.getAst().position, "wildcard is not supported for materialized views");
+            }
+            if (!hasGroupByFunction(column.getAst())) {
+                keyColumnNames.add(Chars.toString(column.getAlias()));
+            }
+        }
+
+        // the model tokens are no longer needed, the lexer can be reused
+        matViewLexer.of(sql, tableNamePosition, queryHi);
+        SqlUtil.fetchNext(matViewLexer);
+        final int tableNameHi = matViewLexer.getPosition();
+        final String query = Chars.toString(sql, queryLo, queryHi);
+
+        final String baseTimestampColumnName;
+        final long refreshTxn;
+        try (TableReader reader = executionContext.getReader(baseToken)) {
+            baseTimestampColumnName = reader.getMetadata().getColumnName(reader.getMetadata().getTimestampIndex());
+            // data committed after this txn is re-aggregated by the first refresh
+            refreshTxn = reader.getTxFile().getSeqTxn();
+        }
+
+        // the nested compiler may use the thread-local sink
+        final StringSink sink = new StringSink();
+        try (RecordCursorFactory factory = engine.select(query, executionContext)) {
+            final RecordMetadata metadata = factory.getMetadata();
+            final int timestampIndex = metadata.getTimestampIndex();
+            if (timestampIndex < 0) {
+                throw SqlException.$(queryLo, "materialized view query must select the designated timestamp");
+            }
+            final CharSequence timestampColumnName = metadata.getColumnName(timestampIndex);
+            sink.put("create table \"").put(viewName).put("\" as (").put(query).put(") timestamp(\"").put(timestampColumnName)
+                    .put("\") partition by day wal dedup upsert keys(\"").put(timestampColumnName).put('"');
+            for (int i = 0, n = keyColumnNames.size(); i < n; i++) {
+                final CharSequence keyColumnName = keyColumnNames.getQuick(i);
+                if (metadata.getColumnIndexQuiet(keyColumnName) < 0) {
+                    throw SqlException.$(queryLo, "materialized view key column not found [column=").put(keyColumnName).put(']');
+                }
+                if (!Chars.equalsIgnoreCase(keyColumnName, timestampColumnName)) {
+                    sink.put(", \"").put(keyColumnName).put('"');
+                }
+            }
+            sink.put(')');
+        }
+        engine.ddl(sink, executionContext);
+
+        final TableToken viewToken = engine.verifyTableName(viewName);
+        final MatViewDefinition definition = new MatViewDefinition(
+                viewToken,
+                Chars.toString(baseToken.getTableName()),
+                baseTimestampColumnName,
+                samplingInterval,
+                query,
+                tableNamePosition - queryLo,
+                tableNameHi - queryLo,
+                refreshTxn
+        );
+        definition.writeTo(ff, mem, path.of(configuration.getRoot()).concat(viewToken));
+        engine.getMatViewGraph().addView(definition);
+        compiledQuery.ofCreateTable(viewToken);
+    }
+
     private void createTable(final ExecutionModel model, SqlExecutionContext executionContext) throws SqlException {
         final CreateTableModel createTableModel = (CreateTableModel) model;
         final ExpressionNode name = createTableModel.getName();
@@ -2283,6 +2596,21 @@ public class SqlCompilerImpl implements SqlCompiler, Closeable, SqlParserCallbac
         return lexer.getPosition();
     }
 
+    private boolean hasGroupByFunction(ExpressionNode node) {
+        if (node == null) {
+            return false;
+        }
+        if (node.type == ExpressionNode.FUNCTION && functionParser.getFunctionFactoryCache().isGroupBy(node.token)) {
+            return true;
+        }
+        for (int i = 0, n = node.args.size(); i < n; i++) {
+            if (hasGroupByFunction(node.args.getQuick(i))) {
+                return true;
+            }
+        }
+        return hasGroupByFunction(node.lhs) || hasGroupByFunction(node.rhs);
+    }
+
     private void insert(ExecutionModel executionModel, SqlExecutionContext executionContext) throws SqlException {
         final InsertModel model = (InsertModel) executionModel;
         final ExpressionNode tableNameExpr = model.getTableNameExpr();
@@ -3011,9 +3339,10 @@ public class SqlCompilerImpl implements SqlCompiler, Closeable, SqlParserCallbac
             SqlExecutionContext executionContext,
             boolean isSelect
     ) throws SqlException {
+        codeGenerator.getTableTokens().clear();
         RecordCursorFactory factory = codeGenerator.generate(selectQueryModel, executionContext);
         if (isSelect) {
-            return new QueryProgress(queryRegistry, sqlText, factory);
+            return new QueryProgress(queryRegistry, sqlText, factory, codeGenerator.getTableTokens());
         } else {
             return factory;
         }
@@ -3066,6 +3395,7 @@ public class SqlCompilerImpl implements SqlCompiler, Closeable, SqlParserCallbac
         final KeywordBasedExecutor compileSet = this::compileSet;
         final KeywordBasedExecutor compileBegin = this::compileBegin;
         final KeywordBasedExecutor compileCommit = this::compileCommit;
+        final KeywordBasedExecutor compileCreate = this::compileCreate;
         final KeywordBasedExecutor compileRollback = this::compileRollback;
         final KeywordBasedExecutor truncateTables = this::truncateTables;
         final KeywordBasedExecutor alterTable = this::alterTable;
@@ -3094,6 +3424,7 @@ public class SqlCompilerImpl implements SqlCompiler, Closeable, SqlParserCallbac
         keywordBasedExecutors.put("snapshot", snapshotDatabase);
         keywordBasedExecutors.put("deallocate", compileDeallocate);
         keywordBasedExecutors.put("cancel", cancelQuery);
+        keywordBasedExecutors.put("create", compileCreate);
     }
 
     protected void unknownAlterStatement(SqlExecutionContext executionContext, CharSequence tok) throws SqlException {
@@ -3219,6 +3550,11 @@ public class SqlCompilerImpl implements SqlCompiler, Closeable, SqlParserCallbac
             return timestampIndex;
         }
 
+        @Override
+        public long getTtl() {
+            return model.getTtl();
+        }
+
         @Override
         public boolean isDedupKey(int columnIndex) {
             return model.isDedupKey(columnIndex);
@@ -34,6 +34,7 @@ import io.questdb.griffin.engine.table.ShowColumnsRecordCursorFactory;
 import io.questdb.griffin.engine.table.ShowPartitionsRecordCursorFactory;
 import io.questdb.griffin.model.*;
 import io.questdb.std.*;
+import io.questdb.std.datetime.microtime.Timestamps;
 import io.questdb.std.str.FlyweightCharSequence;
 import io.questdb.std.str.Path;
 import io.questdb.std.str.StringSink;
@@ -219,6 +220,48 @@ public class SqlOptimiser implements Mutable {
         return -1;
     }
 
+    /**
+     * Calculates the constant shift, in minutes, of SAMPLE BY bucket boundaries relative to
+     * the epoch-aligned buckets produced by timestamp_floor(). Calendar alignment makes
+     * buckets start at the given offset in the given time zone, so for a fixed-offset time
+     * zone the shift is the calendar offset minus the time zone offset.
+     *
+     * @return the shift in minutes or Integer.MIN_VALUE when buckets cannot be expressed via
+     * timestamp_floor(), e.g. when time zone has daylight saving rules, offset or time zone are
+     * not constants, or when month/year buckets are shifted.
+     */
+    private static int getSampleByBucketShift(ExpressionNode sampleBy, ExpressionNode offset, @Nullable ExpressionNode timezoneName) {
+        if (SqlKeywords.isZeroOffset(offset.token) && (timezoneName == null || SqlKeywords.isUTC(timezoneName.token))) {
+            return 0;
+        }
+
+        final long offsetMinutes = parseQuotedOffset(offset);
+        if (offsetMinutes == Long.MIN_VALUE) {
+            return Integer.MIN_VALUE;
+        }
+
+        long timezoneMinutes = 0;
+        if (timezoneName != null && !SqlKeywords.isUTC(timezoneName.token)) {
+            timezoneMinutes = parseQuotedOffset(timezoneName);
+            if (timezoneMinutes == Long.MIN_VALUE) {
+                // named time zones may have DST transitions, which the sample by cursors handle
+                return Integer.MIN_VALUE;
+            }
+        }
+
+        final int shift = (int) (offsetMinutes - timezoneMinutes);
+        if (shift != 0) {
+            // month and year samplers align buckets to day and time of the offset rather than
+            // shifting them, which timestamp_floor() cannot reproduce
+            final CharSequence token = sampleBy.token;
+            final char unit = token.length() > 0 ? token.charAt(token.length() - 1) : 0;
+            if (unit == 'M' || unit == 'y') {
+                return Integer.MIN_VALUE;
+            }
+        }
+        return shift;
+    }
+
     private static boolean isOrderedByDesignatedTimestamp(QueryModel model) {
         return model.getTimestamp() != null && model.getOrderBy().size() == 1
                 && Chars.equals(model.getOrderBy().getQuick(0).token, model.getTimestamp().token);
@@ -238,6 +281,19 @@ public class SqlOptimiser implements Mutable {
         return model != null && flexColumnModelTypes.contains(model.getSelectModelType());
     }
 
+    private static long parseQuotedOffset(ExpressionNode node) {
+        final CharSequence token = node.token;
+        final int len = token.length();
+        if (node.type != CONSTANT || len < 3 || token.charAt(0) != '\'' || token.charAt(len - 1) != '\'') {
+            return Long.MIN_VALUE;
+        }
+        final long val = Timestamps.parseOffset(token, 1, len - 1);
+        if (val == Long.MIN_VALUE || Numbers.decodeHighInt(val) != len - 2) {
+            return Long.MIN_VALUE;
+        }
+        return Numbers.decodeLowInt(val);
+    }
+
     /**
      * Recurse down expression node tree looking for an alias.
      */
@@ -2732,6 +2788,18 @@ public class SqlOptimiser implements Mutable {
         return nextLiteral(token, 0);
     }
 
+    private ExpressionNode nextShiftedTimestamp(ExpressionNode timestamp, int minutes, int position) {
+        final ExpressionNode dateAdd = expressionNodePool.next().of(FUNCTION, "dateadd", 0, position);
+        dateAdd.paramCount = 3;
+        // function args are stored in reverse order
+        dateAdd.args.add(timestamp);
+        CharacterStoreEntry characterStoreEntry = characterStore.newEntry();
+        characterStoreEntry.put(minutes);
+        dateAdd.args.add(expressionNodePool.next().of(CONSTANT, characterStoreEntry.toImmutable(), 0, position));
+        dateAdd.args.add(expressionNodePool.next().of(CONSTANT, "'m'", 0, position));
+        return dateAdd;
+    }
+
     private boolean nonAggregateFunctionDependsOn(ExpressionNode node, CharSequence argument) {
         sqlNodeStack.clear();
         while (node != null) {
@@ -4441,10 +4509,12 @@ public class SqlOptimiser implements Mutable {
             ExpressionNode sampleByUnit = nested.getSampleByUnit();
             ExpressionNode timestamp = nested.getTimestamp();
 
+            final int bucketShift;
             if (
                     sampleBy != null
                             && timestamp != null
-                            && (sampleByOffset != null && SqlKeywords.isZeroOffset(sampleByOffset.token) && (sampleByTimezoneName == null || SqlKeywords.isUTC(sampleByTimezoneName.token)))
+                            && sampleByOffset != null
+                            && (bucketShift = getSampleByBucketShift(sampleBy, sampleByOffset, sampleByTimezoneName)) != Integer.MIN_VALUE
                             && (sampleByFill.size() == 0 || (sampleByFill.size() == 1 && SqlKeywords.isNoneKeyword(sampleByFill.getQuick(0).token)))
                             && sampleByUnit == null
             ) {
@@ -4581,7 +4651,7 @@ public class SqlOptimiser implements Mutable {
                 int timestampPos = model.getColumnAliasIndex(timestampAlias);
 
                 // create function ast
-                final ExpressionNode timestampFunc = expressionNodePool.next();
+                ExpressionNode timestampFunc = expressionNodePool.next();
                 timestampFunc.token = "timestamp_floor";
                 timestampFunc.paramCount = 2;
                 timestampFunc.type = FUNCTION;
@@ -4594,15 +4664,27 @@ public class SqlOptimiser implements Mutable {
                 lhs.paramCount = 0;
                 lhs.type = CONSTANT;
 
-                final ExpressionNode rhs = expressionNodePool.next();
+                ExpressionNode rhs = expressionNodePool.next();
                 rhs.token = timestampColumn;
                 rhs.position = timestamp.position;
                 rhs.paramCount = 0;
                 rhs.type = LITERAL;
 
+                if (bucketShift != 0) {
+                    // Calendar offset and fixed time zone offset move bucket boundaries
+                    // by a constant number of minutes, so we floor the shifted timestamp
+                    // and shift the result back:
+                    // dateadd('m', shift, timestamp_floor('1h', dateadd('m', -shift, ts)))
+                    rhs = nextShiftedTimestamp(rhs, -bucketShift, timestamp.position);
+                }
+
                 timestampFunc.lhs = lhs;
                 timestampFunc.rhs = rhs;
 
+                if (bucketShift != 0) {
+                    timestampFunc = nextShiftedTimestamp(timestampFunc, bucketShift, timestamp.position);
+                }
+
                 model.getBottomUpColumns().setQuick(
                         timestampPos,
                         queryColumnPool.next().of(timestampAlias, timestampFunc)
@@ -4627,6 +4709,7 @@ public class SqlOptimiser implements Mutable {
                 // clear sample by
                 nested.setSampleBy(null);
                 nested.setSampleByOffset(null);
+                nested.setSampleByTimezoneName(null);
 
                 if ((wrapAction & SAMPLE_BY_REWRITE_WRAP_ADD_TIMESTAMP_COPIES) != 0) {
                     model = wrapWithSelectModel(model, tempList, insetColumnAliases, timestampAlias);
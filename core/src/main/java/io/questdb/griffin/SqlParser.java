@@ -409,6 +409,30 @@ public class SqlParser {
         return expressionNodePool.next().of(ExpressionNode.LITERAL, GenericLexer.unquote(name), 0, position);
     }
 
+    // builds model of "SELECT columns FROM table" for COPY table TO STDOUT
+    private QueryModel newCopyStdoutQueryModel(CopyModel copyModel) throws SqlException {
+        final ExpressionNode target = copyModel.getTarget();
+        final QueryModel model = queryModelPool.next();
+        model.setModelPosition(target.position);
+        final ObjList<ExpressionNode> columns = copyModel.getColumns();
+        if (columns.size() > 0) {
+            for (int i = 0, n = columns.size(); i < n; i++) {
+                final ExpressionNode column = columns.getQuick(i);
+                final ExpressionNode literal = literal(column.token, column.position);
+                model.addBottomUpColumn(column.position, queryColumnPool.next().of(literal.token, literal), false);
+            }
+        } else {
+            SqlUtil.addSelectStar(model, queryColumnPool, expressionNodePool);
+        }
+
+        final QueryModel nestedModel = queryModelPool.next();
+        nestedModel.setModelPosition(target.position);
+        nestedModel.setTableNameExpr(literal(target.token, target.position));
+        model.setSelectModelType(QueryModel.SELECT_MODEL_CHOOSE);
+        model.setNestedModel(nestedModel);
+        return model;
+    }
+
     private ExpressionNode nextLiteral(CharSequence token, int position) {
         return SqlUtil.nextLiteral(expressionNodePool, token, position);
     }
@@ -442,20 +466,70 @@ public class SqlParser {
     }
 
     private ExecutionModel parseCopy(GenericLexer lexer, SqlParserCallback sqlParserCallback) throws SqlException {
-        if (Chars.isBlank(configuration.getSqlCopyInputRoot())) {
-            throw SqlException.$(lexer.lastTokenPosition(), "COPY is disabled ['cairo.sql.copy.root' is not set?]");
+        final int copyPosition = lexer.lastTokenPosition();
+        CharSequence tok = tok(lexer, "table name or '('");
+        if (Chars.equals(tok, '(')) {
+            // COPY (query) TO STDOUT
+            final QueryModel queryModel = parseAsSubQueryAndExpectClosingBrace(lexer, null, true, sqlParserCallback);
+            expectTok(lexer, "to");
+            CopyModel model = parseCopyStdout(lexer);
+            model.setQueryModel(queryModel);
+            parseCopyRemoteOptions(lexer, model);
+            return model;
         }
+        lexer.unparseLast();
+
         ExpressionNode target = expectExpr(lexer, sqlParserCallback);
-        CharSequence tok = tok(lexer, "'from' or 'to' or 'cancel'");
+        tok = tok(lexer, "'from' or 'to' or 'cancel'");
+
+        final boolean from = isFromKeyword(tok);
+        boolean export = false;
+        if (from) {
+            // COPY FROM STDIN streams data over the client connection, so it does not need the copy root
+            tok = optTok(lexer);
+            if (tok != null && isStdinKeyword(tok)) {
+                CopyModel model = copyModelPool.next();
+                model.setFileName(nextLiteral(GenericLexer.immutableOf(tok), lexer.lastTokenPosition()));
+                parseCopyRemoteTarget(model, target);
+                parseCopyRemoteOptions(lexer, model);
+                return model;
+            }
+            if (tok != null) {
+                lexer.unparseLast();
+            }
+        } else if (isToKeyword(tok)) {
+            export = Chars.isQuoted(tok(lexer, "'stdout' or directory name"));
+            lexer.unparseLast();
+            if (!export) {
+                // COPY table [(column, ...)] TO STDOUT, which is a shorthand for COPY (SELECT ...) TO STDOUT
+                CopyModel model = parseCopyStdout(lexer);
+                parseCopyRemoteTarget(model, target);
+                model.setQueryModel(newCopyStdoutQueryModel(model));
+                parseCopyRemoteOptions(lexer, model);
+                return model;
+            }
+        }
+
+        if (export) {
+            // COPY table TO 'dir' writes files under the export root, which is separate from the copy root
+            if (Chars.isBlank(configuration.getSqlCopyExportRoot())) {
+                throw SqlException.$(copyPosition, "COPY TO is disabled ['cairo.sql.copy.export.root' is not set?]");
+            }
+            return parseCopyExport(lexer, target);
+        }
 
-        if (isCancelKeyword(tok)) {
+        if (Chars.isBlank(configuration.getSqlCopyInputRoot())) {
+            throw SqlException.$(copyPosition, "COPY is disabled ['cairo.sql.copy.root' is not set?]");
+        }
+
+        if (!from && isCancelKeyword(tok)) {
             CopyModel model = copyModelPool.next();
             model.setCancel(true);
             model.setTarget(target);
             return model;
         }
 
-        if (isFromKeyword(tok)) {
+        if (from) {
             final ExpressionNode fileName = expectExpr(lexer, sqlParserCallback);
             if (fileName.token.length() < 3 && Chars.startsWith(fileName.token, '\'')) {
                 throw SqlException.$(fileName.position, "file name expected");
@@ -531,6 +605,175 @@ public class SqlParser {
         throw SqlException.$(lexer.lastTokenPosition(), "'from' expected");
     }
 
+    // COPY table TO 'dir' [[WITH] [(]FORMAT PARQUET[)]], Parquet is the only supported export format
+    private CopyModel parseCopyExport(GenericLexer lexer, ExpressionNode target) throws SqlException {
+        if (target.type != ExpressionNode.LITERAL) {
+            throw SqlException.$(target.position, "table name expected");
+        }
+        CharSequence tok = tok(lexer, "directory name");
+        if (tok.length() < 3) {
+            throw SqlException.$(lexer.lastTokenPosition(), "directory name expected");
+        }
+
+        CopyModel model = copyModelPool.next();
+        model.setTarget(target);
+        model.setFileName(nextLiteral(GenericLexer.immutableOf(tok), lexer.lastTokenPosition()));
+        model.setExport(true);
+
+        tok = optTok(lexer);
+        if (tok != null && isWithKeyword(tok)) {
+            tok = tok(lexer, "'format'");
+        }
+        final boolean parenthesised = tok != null && Chars.equals(tok, '(');
+        if (parenthesised) {
+            tok = tok(lexer, "'format'");
+        }
+        if (tok != null && isFormatKeyword(tok)) {
+            if (!isParquetKeyword(GenericLexer.unquote(tok(lexer, "'parquet'")))) {
+                throw SqlException.$(lexer.lastTokenPosition(), "'parquet' expected");
+            }
+            tok = optTok(lexer);
+        }
+        if (parenthesised) {
+            expectTok(tok, tok != null ? lexer.lastTokenPosition() : lexer.getPosition(), ')');
+            tok = optTok(lexer);
+        }
+        if (tok != null && !isSemicolon(tok)) {
+            throw SqlException.$(lexer.lastTokenPosition(), "unexpected token [").put(tok).put(']');
+        }
+        return model;
+    }
+
+    private void parseCopyRemoteColumn(CopyModel model, ExpressionNode column) throws SqlException {
+        if (column.type != ExpressionNode.LITERAL) {
+            throw SqlException.$(column.position, "column name expected");
+        }
+        model.addColumn(column);
+    }
+
+    private CharSequence parseCopyRemoteOption(GenericLexer lexer, CopyModel model, CharSequence tok) throws SqlException {
+        if (isFormatKeyword(tok)) {
+            tok = GenericLexer.unquote(tok(lexer, "'text', 'csv' or 'binary'"));
+            if (isTextKeyword(tok)) {
+                model.setStdinFormat(CopyModel.STDIN_FORMAT_TEXT);
+            } else if (isCsvKeyword(tok)) {
+                model.setStdinFormat(CopyModel.STDIN_FORMAT_CSV);
+            } else if (isBinaryKeyword(tok)) {
+                model.setStdinFormat(CopyModel.STDIN_FORMAT_BINARY);
+            } else {
+                throw SqlException.$(lexer.lastTokenPosition(), "'text', 'csv' or 'binary' expected");
+            }
+        } else if (isCsvKeyword(tok)) {
+            model.setStdinFormat(CopyModel.STDIN_FORMAT_CSV);
+        } else if (isBinaryKeyword(tok)) {
+            model.setStdinFormat(CopyModel.STDIN_FORMAT_BINARY);
+        } else if (isHeaderKeyword(tok)) {
+            tok = optTok(lexer);
+            if (tok != null && (isTrueKeyword(tok) || isOnKeyword(tok))) {
+                model.setHeader(true);
+            } else if (tok != null && (isFalseKeyword(tok) || isOffKeyword(tok))) {
+                model.setHeader(false);
+            } else {
+                model.setHeader(true);
+                return tok;
+            }
+        } else if (isDelimiterKeyword(tok)) {
+            tok = tok(lexer, "delimiter character");
+            if (isAsKeyword(tok)) {
+                tok = tok(lexer, "delimiter character");
+            }
+            CharSequence delimiter = GenericLexer.unquote(tok);
+            if (delimiter.length() != 1) {
+                throw SqlException.$(lexer.lastTokenPosition(), "delimiter is empty or contains more than 1 character");
+            }
+            char delimiterChar = delimiter.charAt(0);
+            if (delimiterChar > 127 || delimiterChar == '\n' || delimiterChar == '\r' || delimiterChar == '\\') {
+                throw SqlException.$(lexer.lastTokenPosition(), "delimiter must be an ascii character other than newline, carriage return or backslash");
+            }
+            model.setDelimiter((byte) delimiterChar);
+        } else if (isNullKeyword(tok)) {
+            tok = tok(lexer, "null string");
+            if (isAsKeyword(tok)) {
+                tok = tok(lexer, "null string");
+            }
+            if (!Chars.isQuoted(tok)) {
+                throw SqlException.$(lexer.lastTokenPosition(), "quoted null string expected");
+            }
+            model.setNullString(GenericLexer.immutableOf(GenericLexer.unquote(tok)));
+        } else {
+            throw SqlException.$(lexer.lastTokenPosition(), "unexpected option");
+        }
+        return optTok(lexer);
+    }
+
+    // COPY table [(column, ...)] FROM STDIN [[WITH] (option [, ...])], where option is one of
+    // FORMAT text|csv|binary, DELIMITER 'c', NULL 's' or HEADER [boolean]. The options can also
+    // be listed without parentheses, which covers the pre-9.0 syntax, e.g. WITH CSV HEADER or BINARY.
+    private void parseCopyRemoteOptions(GenericLexer lexer, CopyModel model) throws SqlException {
+        CharSequence tok = optTok(lexer);
+        if (tok != null && isWithKeyword(tok)) {
+            tok = tok(lexer, "copy option");
+        }
+
+        if (tok != null && Chars.equals(tok, '(')) {
+            do {
+                tok = parseCopyRemoteOption(lexer, model, tok(lexer, "copy option"));
+            } while (tok != null && Chars.equals(tok, ','));
+            expectTok(tok, tok != null ? lexer.lastTokenPosition() : lexer.getPosition(), ')');
+            tok = optTok(lexer);
+        } else {
+            while (tok != null && !isSemicolon(tok)) {
+                tok = parseCopyRemoteOption(lexer, model, tok);
+            }
+        }
+
+        if (tok != null && !isSemicolon(tok)) {
+            throw SqlException.$(lexer.lastTokenPosition(), "unexpected token [").put(tok).put(']');
+        }
+
+        if (model.getStdinFormat() == CopyModel.STDIN_FORMAT_BINARY
+                && (model.getDelimiter() > -1 || model.getNullString() != null || model.isHeader())) {
+            throw SqlException.$(model.getFileName().position, "DELIMITER, NULL and HEADER options are not supported in binary format");
+        }
+    }
+
+    private void parseCopyRemoteTarget(CopyModel model, ExpressionNode target) throws SqlException {
+        if (target.type == ExpressionNode.FUNCTION) {
+            // "table (a, b)" is parsed as a function call, its arguments make up the column list
+            switch (target.paramCount) {
+                case 0:
+                    break;
+                case 1:
+                    parseCopyRemoteColumn(model, target.rhs);
+                    break;
+                case 2:
+                    parseCopyRemoteColumn(model, target.lhs);
+                    parseCopyRemoteColumn(model, target.rhs);
+                    break;
+                default:
+                    for (int i = target.args.size() - 1; i > -1; i--) {
+                        parseCopyRemoteColumn(model, target.args.getQuick(i));
+                    }
+                    break;
+            }
+            model.setTarget(nextLiteral(target.token, target.position));
+        } else if (target.type == ExpressionNode.LITERAL) {
+            model.setTarget(target);
+        } else {
+            throw SqlException.$(target.position, "table name expected");
+        }
+    }
+
+    private CopyModel parseCopyStdout(GenericLexer lexer) throws SqlException {
+        final CharSequence tok = tok(lexer, "'stdout'");
+        if (!isStdoutKeyword(tok)) {
+            throw SqlException.$(lexer.lastTokenPosition(), "'stdout' expected");
+        }
+        CopyModel model = copyModelPool.next();
+        model.setFileName(nextLiteral(GenericLexer.immutableOf(tok), lexer.lastTokenPosition()));
+        return model;
+    }
+
     private ExecutionModel parseCreateTable(
             GenericLexer lexer,
             SqlExecutionContext executionContext,
@@ -684,6 +927,7 @@ public class SqlParser {
 
         int maxUncommittedRows = configuration.getMaxUncommittedRows();
         long o3MaxLag = configuration.getO3MaxLag();
+        long ttl = 0;
 
         if (tok != null && isWithKeyword(tok)) {
             ExpressionNode expr;
@@ -697,6 +941,8 @@ public class SqlParser {
                         }
                     } else if (isO3MaxLagKeyword(expr.lhs.token)) {
                         o3MaxLag = SqlUtil.expectMicros(expr.rhs.token, lexer.getPosition());
+                    } else if (isTtlKeyword(expr.lhs.token)) {
+                        ttl = SqlUtil.expectMicros(expr.rhs.token, lexer.getPosition());
                     } else {
                         throw SqlException.position(lexer.getPosition()).put(" unrecognized ").put(expr.lhs.token).put(" after WITH");
                     }
@@ -717,6 +963,7 @@ public class SqlParser {
         }
         model.setMaxUncommittedRows(maxUncommittedRows);
         model.setO3MaxLag(o3MaxLag);
+        model.setTtl(ttl);
 
         if (tok != null && isInKeyword(tok)) {
             tok = tok(lexer, "volume");
@@ -40,24 +40,27 @@ import io.questdb.log.LogFactory;
 import io.questdb.mp.SCSequence;
 import io.questdb.std.Chars;
 import io.questdb.std.FlyweightMessageContainer;
+import io.questdb.std.ObjList;
 
 // Factory that adds query to registry on getCursor() and removes on cursor close().
-public class QueryProgress extends AbstractRecordCursorFactory {
+public class QueryProgress extends AbstractRecordCursorFactory implements TableDependent {
     private static final Log LOG = LogFactory.getLog(QueryProgress.class);
     private final RecordCursorFactory base;
     private final RegisteredRecordCursor cursor;
     private final QueryRegistry registry;
     private final String sqlText;
+    private final ObjList<TableToken> tableTokens = new ObjList<>();
     private long beginNanos;
     private SqlExecutionContext executionContext;
     private boolean failed = false;
     private long sqlId;
 
-    public QueryProgress(QueryRegistry registry, CharSequence sqlText, RecordCursorFactory base) {
+    public QueryProgress(QueryRegistry registry, CharSequence sqlText, RecordCursorFactory base, ObjList<TableToken> tableTokens) {
         super(base.getMetadata());
         this.base = base;
         this.registry = registry;
         this.sqlText = Chars.toString(sqlText);
+        this.tableTokens.addAll(tableTokens);
         this.cursor = new RegisteredRecordCursor();
     }
 
@@ -107,6 +110,16 @@ public class QueryProgress extends AbstractRecordCursorFactory {
                 .I$();
     }
 
+    @Override
+    public boolean dependsOn(TableToken tableToken) {
+        for (int i = 0, n = tableTokens.size(); i < n; i++) {
+            if (tableTokens.getQuick(i).getTableId() == tableToken.getTableId()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public PageFrameSequence<?> execute(SqlExecutionContext executionContext, SCSequence collectSubSeq, int order) throws SqlException {
         return base.execute(executionContext, collectSubSeq, order);
@@ -0,0 +1,167 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+
+package io.questdb.griffin.engine.functions.math;
+
+import io.questdb.cairo.sql.Function;
+import io.questdb.cairo.sql.Record;
+import io.questdb.griffin.PlanSink;
+import io.questdb.griffin.engine.functions.BinaryFunction;
+import io.questdb.griffin.engine.functions.DoubleFunction;
+import io.questdb.griffin.engine.functions.columns.DoubleColumn;
+import io.questdb.griffin.engine.functions.columns.LongColumn;
+import io.questdb.std.Numbers;
+
+/**
+ * Base for double arithmetic over two plain column references, e.g. {@code price * size}.
+ * Such expressions are the bulk of projections, so operands are read straight from the
+ * record, without the virtual call per operand made by the generic function tree.
+ * <p>
+ * Each operator has its own final subclass, so that the arithmetic stays monomorphic,
+ * both arguments of the {@code new*()} factories must be column references, see
+ * {@link #isColumn(Function)}. See {@code ColumnArithmeticBenchmark} for the comparison
+ * with the generic per-operator functions.
+ */
+public abstract class ColumnArithmeticFunction extends DoubleFunction implements BinaryFunction {
+    private final Function left;
+    private final int leftIndex;
+    private final boolean leftLong;
+    private final char operator;
+    private final Function right;
+    private final int rightIndex;
+    private final boolean rightLong;
+
+    private ColumnArithmeticFunction(Function left, Function right, char operator) {
+        assert isColumn(left) && isColumn(right);
+        this.left = left;
+        this.right = right;
+        this.operator = operator;
+        this.leftLong = left instanceof LongColumn;
+        this.leftIndex = columnIndexOf(left);
+        this.rightLong = right instanceof LongColumn;
+        this.rightIndex = columnIndexOf(right);
+    }
+
+    public static boolean isColumn(Function function) {
+        return function instanceof DoubleColumn || function instanceof LongColumn;
+    }
+
+    public static ColumnArithmeticFunction newAdd(Function left, Function right) {
+        return new AddFunc(left, right);
+    }
+
+    public static ColumnArithmeticFunction newDiv(Function left, Function right) {
+        return new DivFunc(left, right);
+    }
+
+    public static ColumnArithmeticFunction newMul(Function left, Function right) {
+        return new MulFunc(left, right);
+    }
+
+    public static ColumnArithmeticFunction newSub(Function left, Function right) {
+        return new SubFunc(left, right);
+    }
+
+    @Override
+    public Function getLeft() {
+        return left;
+    }
+
+    @Override
+    public Function getRight() {
+        return right;
+    }
+
+    @Override
+    public void toPlan(PlanSink sink) {
+        sink.val(left).val(operator).val(right);
+    }
+
+    private static int columnIndexOf(Function function) {
+        return function instanceof LongColumn
+                ? ((LongColumn) function).getColumnIndex()
+                : ((DoubleColumn) function).getColumnIndex();
+    }
+
+    private static double getDouble(Record rec, int columnIndex, boolean isLong) {
+        if (isLong) {
+            final long value = rec.getLong(columnIndex);
+            return value != Numbers.LONG_NULL ? value : Double.NaN;
+        }
+        return rec.getDouble(columnIndex);
+    }
+
+    double getLeftDouble(Record rec) {
+        return getDouble(rec, leftIndex, leftLong);
+    }
+
+    double getRightDouble(Record rec) {
+        return getDouble(rec, rightIndex, rightLong);
+    }
+
+    private static final class AddFunc extends ColumnArithmeticFunction {
+        private AddFunc(Function left, Function right) {
+            super(left, right, '+');
+        }
+
+        @Override
+        public double getDouble(Record rec) {
+            return getLeftDouble(rec) + getRightDouble(rec);
+        }
+    }
+
+    private static final class DivFunc extends ColumnArithmeticFunction {
+        private DivFunc(Function left, Function right) {
+            super(left, right, '/');
+        }
+
+        @Override
+        public double getDouble(Record rec) {
+            return getLeftDouble(rec) / getRightDouble(rec);
+        }
+    }
+
+    private static final class MulFunc extends ColumnArithmeticFunction {
+        private MulFunc(Function left, Function right) {
+            super(left, right, '*');
+        }
+
+        @Override
+        public double getDouble(Record rec) {
+            return getLeftDouble(rec) * getRightDouble(rec);
+        }
+    }
+
+    private static final class SubFunc extends ColumnArithmeticFunction {
+        private SubFunc(Function left, Function right) {
+            super(left, right, '-');
+        }
+
+        @Override
+        public double getDouble(Record rec) {
+            return getLeftDouble(rec) - getRightDouble(rec);
+        }
+    }
+}
@@ -43,7 +43,12 @@ public class DivDoubleFunctionFactory implements FunctionFactory {
 
     @Override
     public Function newInstance(int position, ObjList<Function> args, IntList argPositions, CairoConfiguration configuration, SqlExecutionContext sqlExecutionContext) {
-        return new Func(args.getQuick(0), args.getQuick(1));
+        final Function left = args.getQuick(0);
+        final Function right = args.getQuick(1);
+        if (ColumnArithmeticFunction.isColumn(left) && ColumnArithmeticFunction.isColumn(right)) {
+            return ColumnArithmeticFunction.newDiv(left, right);
+        }
+        return new Func(left, right);
     }
 
     private static class Func extends DoubleFunction implements BinaryFunction {
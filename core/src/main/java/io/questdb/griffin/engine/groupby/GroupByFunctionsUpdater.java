@@ -24,6 +24,8 @@
 
 package io.questdb.griffin.engine.groupby;
 
+import io.questdb.cairo.RecordSink;
+import io.questdb.cairo.map.Map;
 import io.questdb.cairo.map.MapValue;
 import io.questdb.cairo.map.MapValueMergeFunction;
 import io.questdb.cairo.sql.Record;
@@ -32,6 +34,24 @@ import io.questdb.std.ObjList;
 
 public interface GroupByFunctionsUpdater extends MapValueMergeFunction {
 
+    /**
+     * Copies the record's key into the map and updates the key's value with the group by functions.
+     * This is a fused equivalent of the following code:
+     * <pre>
+     * MapKey key = map.withKey();
+     * mapSink.copy(record, key);
+     * MapValue value = key.createValue();
+     * if (value.isNew()) {
+     *     updateNew(value, record, rowId);
+     * } else {
+     *     updateExisting(value, record, rowId);
+     * }
+     * </pre>
+     * Since the implementation is generated per query, all calls made by it are monomorphic,
+     * unlike the same code in the shared group by loops.
+     */
+    void aggregate(Map map, RecordSink mapSink, Record record, long rowId);
+
     void setFunctions(ObjList<GroupByFunction> groupByFunctions);
 
     void updateEmpty(MapValue value);
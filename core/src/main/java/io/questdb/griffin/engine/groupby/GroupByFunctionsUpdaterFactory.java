@@ -24,6 +24,10 @@
 
 package io.questdb.griffin.engine.groupby;
 
+import io.questdb.cairo.RecordSink;
+import io.questdb.cairo.map.Map;
+import io.questdb.cairo.map.MapKey;
+import io.questdb.cairo.map.MapValue;
 import io.questdb.griffin.engine.functions.GroupByFunction;
 import io.questdb.std.BytecodeAssembler;
 import io.questdb.std.ObjList;
@@ -46,6 +50,7 @@ public class GroupByFunctionsUpdaterFactory {
      * <li>updateExisting(MapValue value, Record record, long rowId) - calls f0, f1, f2 ... fn.computeNext(value, record, rowId) for each group by function</li>
      * <li>updateEmpty(MapValue value) - calls f0, f1, f2 ... fn.setEmpty(value) for each group by function</li>
      * <li>merge(MapValue destValue, MapValue srcValue) - calls fn.merge(destValue, srcValue) for each group by function</li>
+     * <li>aggregate(Map map, RecordSink mapSink, Record record, long rowId) - copies the key to the map and calls updateNew or updateExisting code inline</li>
      * <li>setFunctions(ObjList&lt;GroupByFunction&gt; groupByFunctions) - sets the group by functions to the fields. This method is called by the factory and should not be called by the caller.</li>
      * </ul>
      *
@@ -99,6 +104,15 @@ public class GroupByFunctionsUpdaterFactory {
 
         final int getIndex = asm.poolMethod(ObjList.class, "get", "(I)Ljava/lang/Object;");
 
+        final int withKeyIndex = asm.poolInterfaceMethod(Map.class, "withKey", "()Lio/questdb/cairo/map/MapKey;");
+        final int copyIndex = asm.poolInterfaceMethod(RecordSink.class, "copy", "(Lio/questdb/cairo/sql/Record;Lio/questdb/cairo/RecordSinkSPI;)V");
+        final int createValueIndex = asm.poolInterfaceMethod(MapKey.class, "createValue", "()Lio/questdb/cairo/map/MapValue;");
+        final int isNewIndex = asm.poolInterfaceMethod(MapValue.class, "isNew", "()Z");
+        final int mapValueClassIndex = asm.poolClass(MapValue.class);
+        final int aggregateIndex = asm.poolUtf8("aggregate");
+        final int aggregateSigIndex = asm.poolUtf8("(Lio/questdb/cairo/map/Map;Lio/questdb/cairo/RecordSink;Lio/questdb/cairo/sql/Record;J)V");
+        final int stackMapTableIndex = asm.poolUtf8("StackMapTable");
+
         asm.finishPool();
 
         asm.defineClass(thisClassIndex, superclassIndex);
@@ -108,7 +122,7 @@ public class GroupByFunctionsUpdaterFactory {
         for (int i = 0; i < functionSize; i++) {
             asm.defineField(firstFieldNameIndex + (i * FIELD_POOL_OFFSET), typeIndex);
         }
-        asm.methodCount(6);
+        asm.methodCount(7);
         asm.defineDefaultConstructor(superIndex);
 
         generateUpdateNew(asm, functionSize, firstFieldIndex, computeFirstIndex, updateNewIndex, updateNewSigIndex);
@@ -116,6 +130,21 @@ public class GroupByFunctionsUpdaterFactory {
         generateUpdateEmpty(asm, functionSize, firstFieldIndex, setEmptyIndex, updateEmptyIndex, updateEmptySigIndex);
         generateSetFunctions(asm, functionSize, firstFieldIndex, setFunctionsIndex, setFunctionsSigIndex, getIndex);
         generateMerge(asm, functionSize, firstFieldIndex, mergeFunctionIndex, mergeIndex, mergeSigIndex);
+        generateAggregate(
+                asm,
+                functionSize,
+                firstFieldIndex,
+                withKeyIndex,
+                copyIndex,
+                createValueIndex,
+                isNewIndex,
+                computeFirstIndex,
+                computeNextIndex,
+                mapValueClassIndex,
+                stackMapTableIndex,
+                aggregateIndex,
+                aggregateSigIndex
+        );
 
         // class attribute count
         asm.putShort(0);
@@ -126,6 +155,88 @@ public class GroupByFunctionsUpdaterFactory {
         return updater;
     }
 
+    /**
+     * Generates the fused key copy and update method, see {@link GroupByFunctionsUpdater#aggregate}.
+     * The end bytecode equals to the following:
+     * <code>
+     * MapKey key = map.withKey();
+     * mapSink.copy(record, key);
+     * MapValue value = key.createValue();
+     * if (value.isNew()) {
+     * f0.computeFirst(value, record, rowId);
+     * // ...
+     * fn.computeFirst(value, record, rowId);
+     * return;
+     * }
+     * f0.computeNext(value, record, rowId);
+     * // ...
+     * fn.computeNext(value, record, rowId);
+     * </code>
+     * The key and the value share the same local variable slot.
+     */
+    private static void generateAggregate(
+            BytecodeAssembler asm,
+            int fieldCount,
+            int firstFieldIndex,
+            int withKeyIndex,
+            int copyIndex,
+            int createValueIndex,
+            int isNewIndex,
+            int computeFirstIndex,
+            int computeNextIndex,
+            int mapValueClassIndex,
+            int stackMapTableIndex,
+            int aggregateIndex,
+            int aggregateSigIndex
+    ) {
+        // locals: this, map, mapSink, record, rowId (2 slots), key/value
+        asm.startMethod(aggregateIndex, aggregateSigIndex, 5, 7);
+        asm.aload(1); // map
+        asm.invokeInterface(withKeyIndex, 0);
+        asm.astore(6);
+        asm.aload(2); // map sink
+        asm.aload(3); // record
+        asm.aload(6); // map key
+        asm.invokeInterface(copyIndex, 2);
+        asm.aload(6);
+        asm.invokeInterface(createValueIndex, 0);
+        asm.astore(6);
+        asm.aload(6); // map value
+        asm.invokeInterface(isNewIndex, 0);
+        final int existingBranch = asm.ifeq();
+        for (int i = 0; i < fieldCount; i++) {
+            asm.aload(0);
+            asm.getfield(firstFieldIndex + (i * FIELD_POOL_OFFSET));
+            asm.aload(6); // map value
+            asm.aload(3); // record
+            asm.lload(4); // row id
+            asm.invokeInterface(computeFirstIndex, 4);
+        }
+        asm.return_();
+        final int existingOffset = asm.position();
+        asm.setJmp(existingBranch, existingOffset);
+        for (int i = 0; i < fieldCount; i++) {
+            asm.aload(0);
+            asm.getfield(firstFieldIndex + (i * FIELD_POOL_OFFSET));
+            asm.aload(6); // map value
+            asm.aload(3); // record
+            asm.lload(4); // row id
+            asm.invokeInterface(computeNextIndex, 4);
+        }
+        asm.return_();
+        asm.endMethodCode();
+        // exceptions
+        asm.putShort(0);
+        // attributes
+        asm.putShort(1);
+        asm.startStackMapTables(stackMapTableIndex, 1);
+        // the branch target has the map value appended to the method arguments
+        asm.append_frame(1, existingOffset - asm.getCodeStart());
+        asm.putITEM_Object(mapValueClassIndex);
+        asm.endStackMapTables();
+        asm.endMethod();
+    }
+
     private static void generateMerge(
             BytecodeAssembler asm,
             int fieldCount,
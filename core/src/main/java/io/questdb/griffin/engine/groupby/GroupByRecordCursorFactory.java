@@ -27,8 +27,6 @@ package io.questdb.griffin.engine.groupby;
 import io.questdb.cairo.*;
 import io.questdb.cairo.map.Map;
 import io.questdb.cairo.map.MapFactory;
-import io.questdb.cairo.map.MapKey;
-import io.questdb.cairo.map.MapValue;
 import io.questdb.cairo.sql.Record;
 import io.questdb.cairo.sql.*;
 import io.questdb.griffin.PlanSink;
@@ -223,14 +221,7 @@ public class GroupByRecordCursorFactory extends AbstractRecordCursorFactory {
             final Record baseRecord = managedCursor.getRecord();
             while (managedCursor.hasNext()) {
                 circuitBreaker.statefulThrowExceptionIfTripped();
-                final MapKey key = dataMap.withKey();
-                mapSink.copy(baseRecord, key);
-                MapValue value = key.createValue();
-                if (value.isNew()) {
-                    groupByFunctionsUpdater.updateNew(value, baseRecord, rowId++);
-                } else {
-                    groupByFunctionsUpdater.updateExisting(value, baseRecord, rowId++);
-                }
+                groupByFunctionsUpdater.aggregate(dataMap, mapSink, baseRecord, rowId++);
             }
             super.of(dataMap.getCursor());
             isDataMapBuilt = true;
@@ -166,8 +166,7 @@ public abstract class AbstractAsOfJoinFastRecordCursor implements NoRandomAccess
             if (lookaheadTimestamp > masterTimestamp) {
                 return true;
             }
-            record.hasSlave(true);
-            slaveCursor.recordAt(slaveRecB, Rows.toRowID(slaveFrameIndex, slaveFrameRow));
+            positionSlaveRecord(Rows.toRowID(slaveFrameIndex, slaveFrameRow));
             slaveFrameRow++;
         }
         return false;
@@ -191,8 +190,7 @@ public abstract class AbstractAsOfJoinFastRecordCursor implements NoRandomAccess
                         return;
                     }
                     slaveFrameRow = foundRow;
-                    record.hasSlave(true);
-                    slaveCursor.recordAt(slaveRecB, Rows.toRowID(slaveFrameIndex, slaveFrameRow));
+                    positionSlaveRecord(Rows.toRowID(slaveFrameIndex, slaveFrameRow));
                     long slaveTimestamp = slaveRecB.getTimestamp(slaveTimestampIndex);
                     if (slaveFrameRow < frame.getRowHi() - 1) {
                         slaveCursor.recordAt(slaveRecA, Rows.toRowID(slaveFrameIndex, slaveFrameRow + 1));
@@ -262,4 +260,11 @@ public abstract class AbstractAsOfJoinFastRecordCursor implements NoRandomAccess
             }
         }
     }
+
+    // Positions slave record B at the last found row, i.e. the row with the latest timestamp
+    // less or equal to the master timestamp.
+    protected void positionSlaveRecord(long slaveRowId) {
+        record.hasSlave(true);
+        slaveCursor.recordAt(slaveRecB, slaveRowId);
+    }
 }
@@ -0,0 +1,319 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.griffin.engine.join;
+
+import io.questdb.cairo.CairoConfiguration;
+import io.questdb.cairo.sql.Record;
+import io.questdb.cairo.sql.*;
+import io.questdb.griffin.PlanSink;
+import io.questdb.griffin.SqlException;
+import io.questdb.griffin.SqlExecutionContext;
+import io.questdb.griffin.model.JoinContext;
+import io.questdb.std.LongList;
+import io.questdb.std.Misc;
+import io.questdb.std.Rows;
+
+/**
+ * Keyed ASOF JOIN on a single symbol column. Instead of merging the whole slave cursor,
+ * the slave is positioned at the last row less or equal to the master timestamp with a binary
+ * search over its time frames, and then scanned backwards until a row with the master's key is met.
+ * Slave rows already scanned for a key are never scanned again for the same key.
+ * <p>
+ * A backward scan is limited to the lookahead number of rows. When the key is not met within
+ * the limit, slave rows are swept forward once for all keys instead, so that sparse keys cost
+ * no more than the regular keyed ASOF JOIN.
+ */
+public class AsOfJoinFastRecordCursorFactory extends AbstractJoinRecordCursorFactory {
+    private final AsOfJoinKeyedFastRecordCursor cursor;
+
+    public AsOfJoinFastRecordCursorFactory(
+            CairoConfiguration configuration,
+            RecordMetadata metadata,
+            RecordCursorFactory masterFactory,
+            RecordCursorFactory slaveFactory,
+            int columnSplit,
+            int masterSymbolIndex,
+            int slaveSymbolIndex,
+            JoinContext joinContext
+    ) {
+        super(metadata, joinContext, masterFactory, slaveFactory);
+        assert slaveFactory.supportsTimeFrameCursor();
+        this.cursor = new AsOfJoinKeyedFastRecordCursor(
+                columnSplit,
+                NullRecordFactory.getInstance(slaveFactory.getMetadata()),
+                masterFactory.getMetadata().getTimestampIndex(),
+                slaveFactory.getMetadata().getTimestampIndex(),
+                configuration.getSqlAsOfJoinLookAhead(),
+                masterSymbolIndex,
+                slaveSymbolIndex
+        );
+    }
+
+    @Override
+    public boolean followedOrderByAdvice() {
+        return masterFactory.followedOrderByAdvice();
+    }
+
+    @Override
+    public RecordCursor getCursor(SqlExecutionContext executionContext) throws SqlException {
+        RecordCursor masterCursor = masterFactory.getCursor(executionContext);
+        TimeFrameRecordCursor slaveCursor = null;
+        try {
+            slaveCursor = slaveFactory.getTimeFrameCursor(executionContext);
+            cursor.of(masterCursor, slaveCursor);
+            return cursor;
+        } catch (Throwable e) {
+            Misc.free(slaveCursor);
+            Misc.free(masterCursor);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getScanDirection() {
+        return masterFactory.getScanDirection();
+    }
+
+    @Override
+    public boolean recordCursorSupportsRandomAccess() {
+        return false;
+    }
+
+    @Override
+    public void toPlan(PlanSink sink) {
+        sink.type("AsOf Join Fast Scan");
+        sink.attr("condition").val(joinContext);
+        sink.child(masterFactory);
+        sink.child(slaveFactory);
+    }
+
+    @Override
+    protected void _close() {
+        Misc.freeIfCloseable(getMetadata());
+        Misc.free(masterFactory);
+        Misc.free(slaveFactory);
+    }
+
+    private static class AsOfJoinKeyedFastRecordCursor extends AbstractAsOfJoinFastRecordCursor {
+        // Pairs of (last scanned slave row id, found slave row id) per slave symbol key.
+        // The first pair is reserved for the null key.
+        private final LongList keyScans = new LongList();
+        private final int masterSymbolIndex;
+        private final int slaveSymbolIndex;
+        // The last slave row with timestamp less or equal to the master timestamp, regardless of the key.
+        private boolean isScanBackwardComplete;
+        private long slaveRowId = Long.MIN_VALUE;
+        private StaticSymbolTable slaveSymbolTable;
+        // All slave rows up to this one were swept forward, i.e. found rows of all keys are known up to it.
+        private long sweptRowId = Long.MIN_VALUE;
+
+        public AsOfJoinKeyedFastRecordCursor(
+                int columnSplit,
+                Record nullRecord,
+                int masterTimestampIndex,
+                int slaveTimestampIndex,
+                int lookahead,
+                int masterSymbolIndex,
+                int slaveSymbolIndex
+        ) {
+            super(columnSplit, nullRecord, masterTimestampIndex, slaveTimestampIndex, lookahead);
+            this.masterSymbolIndex = masterSymbolIndex;
+            this.slaveSymbolIndex = slaveSymbolIndex;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (isMasterHasNextPending) {
+                masterHasNext = masterCursor.hasNext();
+                isMasterHasNextPending = false;
+            }
+            if (masterHasNext) {
+                final long masterTimestamp = masterRecord.getTimestamp(masterTimestampIndex);
+                if (masterTimestamp >= lookaheadTimestamp) {
+                    nextSlave(masterTimestamp);
+                }
+
+                long foundRowId = Long.MIN_VALUE;
+                if (slaveRowId != Long.MIN_VALUE) {
+                    final int slaveKey = slaveSymbolTable.keyOf(masterRecord.getSymA(masterSymbolIndex));
+                    if (slaveKey != SymbolTable.VALUE_NOT_FOUND) {
+                        foundRowId = findSlaveRow(slaveKey);
+                    }
+                }
+                // The backward scan may be interrupted with DataUnavailableException,
+                // so we move on to the next master row only once the search is done.
+                isMasterHasNextPending = true;
+                if (foundRowId != Long.MIN_VALUE) {
+                    slaveCursor.recordAt(slaveRecB, foundRowId);
+                    record.hasSlave(true);
+                } else {
+                    record.hasSlave(false);
+                }
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void of(RecordCursor masterCursor, TimeFrameRecordCursor slaveCursor) {
+            slaveSymbolTable = (StaticSymbolTable) slaveCursor.getSymbolTable(slaveSymbolIndex);
+            super.of(masterCursor, slaveCursor);
+        }
+
+        @Override
+        public void toTop() {
+            super.toTop();
+            slaveRowId = Long.MIN_VALUE;
+            sweptRowId = Long.MIN_VALUE;
+            keyScans.clear();
+        }
+
+        private static int keyIndex(int slaveKey) {
+            return slaveKey == SymbolTable.VALUE_IS_NULL ? 0 : (slaveKey + 1) << 1;
+        }
+
+        private void ensureKeyCapacity(int index) {
+            final int size = keyScans.size();
+            if (index >= size) {
+                keyScans.extendAndSet(index + 1, Long.MIN_VALUE);
+                keyScans.fill(size, index + 1, Long.MIN_VALUE);
+            }
+        }
+
+        private long findSlaveRow(int slaveKey) {
+            final int index = keyIndex(slaveKey);
+            ensureKeyCapacity(index);
+
+            // rows up to the sweep position are known for all keys
+            final long scannedRowId = Math.max(keyScans.getQuick(index), sweptRowId);
+            if (scannedRowId == slaveRowId) {
+                return keyScans.getQuick(index + 1);
+            }
+
+            final TimeFrame frame = slaveCursor.getTimeFrame();
+            final int savedFrameIndex = frame.getIndex();
+            final boolean savedFrameOpen = frame.isOpen();
+            try {
+                final long foundRowId = scanBackward(frame, slaveKey, scannedRowId);
+                if (foundRowId != Long.MIN_VALUE) {
+                    keyScans.setQuick(index + 1, foundRowId);
+                } else if (!isScanBackwardComplete) {
+                    // The key is sparse, sweep all rows instead of scanning them again for every key.
+                    sweepForward(frame);
+                }
+                // Otherwise the key is not present in the newly scanned rows, so the previous match is still valid.
+                keyScans.setQuick(index, slaveRowId);
+                return keyScans.getQuick(index + 1);
+            } finally {
+                // Restore the time frame cursor state expected by the forward scan.
+                if (frame.getIndex() != savedFrameIndex || frame.isOpen() != savedFrameOpen) {
+                    slaveCursor.jumpTo(savedFrameIndex);
+                    if (savedFrameOpen) {
+                        slaveCursor.open();
+                    }
+                }
+            }
+        }
+
+        private void openFrame(TimeFrame frame, int frameIndex) {
+            if (frame.getIndex() != frameIndex || !frame.isOpen()) {
+                slaveCursor.jumpTo(frameIndex);
+                slaveCursor.open();
+            }
+        }
+
+        // Scans slave rows backwards, starting with the current slave row and stopping
+        // at the given (exclusive) row id or after the lookahead number of rows.
+        // Returns the first row id with the given key.
+        private long scanBackward(TimeFrame frame, int slaveKey, long stopRowId) {
+            int frameIndex = Rows.toPartitionIndex(slaveRowId);
+            long row = Rows.toLocalRowID(slaveRowId);
+            openFrame(frame, frameIndex);
+            isScanBackwardComplete = false;
+            for (long scanned = 0; scanned < lookahead; ) {
+                for (long rowLo = frame.getRowLo(); row >= rowLo && scanned < lookahead; row--, scanned++) {
+                    final long rowId = Rows.toRowID(frameIndex, row);
+                    if (rowId <= stopRowId) {
+                        isScanBackwardComplete = true;
+                        return Long.MIN_VALUE;
+                    }
+                    slaveCursor.recordAt(slaveRecA, rowId);
+                    if (slaveRecA.getInt(slaveSymbolIndex) == slaveKey) {
+                        isScanBackwardComplete = true;
+                        return rowId;
+                    }
+                }
+                if (row >= frame.getRowLo()) {
+                    break;
+                }
+                // Move on to the previous non-empty frame.
+                do {
+                    if (!slaveCursor.prev()) {
+                        isScanBackwardComplete = true;
+                        return Long.MIN_VALUE;
+                    }
+                } while (slaveCursor.open() < 1);
+                frameIndex = frame.getIndex();
+                row = frame.getRowHi() - 1;
+            }
+            return Long.MIN_VALUE;
+        }
+
+        // Scans slave rows forward, from the last swept row to the current slave row,
+        // and records the last row of every key met on the way.
+        private void sweepForward(TimeFrame frame) {
+            int frameIndex;
+            long row;
+            if (sweptRowId == Long.MIN_VALUE) {
+                frameIndex = 0;
+                row = 0;
+            } else {
+                frameIndex = Rows.toPartitionIndex(sweptRowId);
+                row = Rows.toLocalRowID(sweptRowId) + 1;
+            }
+            final int frameHi = Rows.toPartitionIndex(slaveRowId);
+            for (; frameIndex <= frameHi; frameIndex++, row = 0) {
+                openFrame(frame, frameIndex);
+                final long rowHi = frameIndex == frameHi ? Rows.toLocalRowID(slaveRowId) + 1 : frame.getRowHi();
+                for (row = Math.max(row, frame.getRowLo()); row < rowHi; row++) {
+                    final long rowId = Rows.toRowID(frameIndex, row);
+                    slaveCursor.recordAt(slaveRecA, rowId);
+                    final int index = keyIndex(slaveRecA.getInt(slaveSymbolIndex));
+                    ensureKeyCapacity(index);
+                    if (rowId > keyScans.getQuick(index)) {
+                        keyScans.setQuick(index + 1, rowId);
+                    }
+                }
+            }
+            sweptRowId = slaveRowId;
+        }
+
+        @Override
+        protected void positionSlaveRecord(long slaveRowId) {
+            super.positionSlaveRecord(slaveRowId);
+            this.slaveRowId = slaveRowId;
+        }
+    }
+}
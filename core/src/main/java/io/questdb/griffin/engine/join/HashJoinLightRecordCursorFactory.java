@@ -37,6 +37,7 @@ import io.questdb.griffin.SqlExecutionContext;
 import io.questdb.griffin.model.JoinContext;
 import io.questdb.std.Misc;
 import io.questdb.std.Transient;
+import org.jetbrains.annotations.TestOnly;
 
 public class HashJoinLightRecordCursorFactory extends AbstractJoinRecordCursorFactory {
     private final HashJoinRecordCursor cursor;
@@ -86,6 +87,11 @@ public class HashJoinLightRecordCursorFactory extends AbstractJoinRecordCursorFa
         }
     }
 
+    @TestOnly
+    public Map getJoinKeyMap() {
+        return cursor.joinKeyMap;
+    }
+
     @Override
     public int getScanDirection() {
         return masterFactory.getScanDirection();
@@ -119,6 +125,7 @@ public class HashJoinLightRecordCursorFactory extends AbstractJoinRecordCursorFa
 
     private class HashJoinRecordCursor extends AbstractJoinCursor {
         private final Map joinKeyMap;
+        private final HashJoinMapPresizer mapPresizer;
         private final JoinRecord record;
         private final LongChain slaveChain;
         private SqlExecutionCircuitBreaker circuitBreaker;
@@ -133,6 +140,7 @@ public class HashJoinLightRecordCursorFactory extends AbstractJoinRecordCursorFa
             super(columnSplit);
             try {
                 isOpen = true;
+                mapPresizer = new HashJoinMapPresizer(configuration);
                 record = new JoinRecord(columnSplit);
                 joinKeyMap = MapFactory.createUnorderedMap(configuration, joinColumnTypes, valueTypes);
                 slaveChain = new LongChain(configuration.getSqlHashJoinLightValuePageSize(), configuration.getSqlHashJoinLightValueMaxPages());
@@ -206,6 +214,7 @@ public class HashJoinLightRecordCursorFactory extends AbstractJoinRecordCursorFa
         private void buildMapOfSlaveRecords() {
             if (!isMapBuilt) {
                 TableUtils.populateRowIDHashMap(circuitBreaker, slaveCursor, joinKeyMap, slaveKeySink, slaveChain);
+                mapPresizer.update(joinKeyMap);
                 isMapBuilt = true;
             }
         }
@@ -213,7 +222,7 @@ public class HashJoinLightRecordCursorFactory extends AbstractJoinRecordCursorFa
         private void of(RecordCursor masterCursor, RecordCursor slaveCursor, SqlExecutionCircuitBreaker circuitBreaker) {
             if (!isOpen) {
                 isOpen = true;
-                joinKeyMap.reopen();
+                mapPresizer.reopen(joinKeyMap);
                 slaveChain.reopen();
             }
             this.masterCursor = masterCursor;
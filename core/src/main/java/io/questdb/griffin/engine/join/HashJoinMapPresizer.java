@@ -0,0 +1,63 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.griffin.engine.join;
+
+import io.questdb.cairo.CairoConfiguration;
+import io.questdb.cairo.map.Map;
+
+/**
+ * Remembers the size of a hash join key map built by the previous execution of a cached factory,
+ * so that the next execution reopens the map pre-sized instead of growing it while scanning the slave.
+ * <p>
+ * Key counts and heap sizes above {@link CairoConfiguration#getSqlHashJoinPresizeMaxSize()} and
+ * {@link CairoConfiguration#getSqlHashJoinPresizeMaxHeapSize()} are not remembered, so that a single
+ * large join does not pin that much memory on every later execution.
+ */
+class HashJoinMapPresizer {
+    private final long defaultHeapSize;
+    private final int defaultKeyCapacity;
+    private final long maxHeapSize;
+    private final long maxSize;
+    private long heapSize;
+    private int keyCapacity;
+
+    HashJoinMapPresizer(CairoConfiguration configuration) {
+        this.defaultKeyCapacity = keyCapacity = configuration.getSqlSmallMapKeyCapacity();
+        this.defaultHeapSize = heapSize = configuration.getSqlSmallMapPageSize();
+        this.maxSize = configuration.getSqlHashJoinPresizeMaxSize();
+        this.maxHeapSize = configuration.getSqlHashJoinPresizeMaxHeapSize();
+    }
+
+    void reopen(Map map) {
+        map.reopen(keyCapacity, heapSize);
+    }
+
+    void update(Map map) {
+        final long size = map.size();
+        keyCapacity = size <= maxSize ? Math.max((int) size, defaultKeyCapacity) : defaultKeyCapacity;
+        final long usedHeapSize = map.getUsedHeapSize();
+        heapSize = usedHeapSize <= maxHeapSize ? Math.max(usedHeapSize, defaultHeapSize) : defaultHeapSize;
+    }
+}
@@ -37,6 +37,7 @@ import io.questdb.griffin.SqlExecutionContext;
 import io.questdb.griffin.model.JoinContext;
 import io.questdb.std.Misc;
 import io.questdb.std.Transient;
+import org.jetbrains.annotations.TestOnly;
 
 public class HashJoinRecordCursorFactory extends AbstractJoinRecordCursorFactory {
     private final HashJoinRecordCursor cursor;
@@ -64,7 +65,7 @@ public class HashJoinRecordCursorFactory extends AbstractJoinRecordCursorFactory
             slaveChain = new RecordChain(slaveFactory.getMetadata(), slaveChainSink, configuration.getSqlHashJoinValuePageSize(), configuration.getSqlHashJoinValueMaxPages());
             this.masterSink = masterSink;
             this.slaveKeySink = slaveKeySink;
-            cursor = new HashJoinRecordCursor(columnSplit, joinKeyMap, slaveChain);
+            cursor = new HashJoinRecordCursor(columnSplit, configuration, joinKeyMap, slaveChain);
         } catch (Throwable th) {
             Misc.free(joinKeyMap);
             Misc.free(slaveChain);
@@ -93,6 +94,11 @@ public class HashJoinRecordCursorFactory extends AbstractJoinRecordCursorFactory
         }
     }
 
+    @TestOnly
+    public Map getJoinKeyMap() {
+        return cursor.joinKeyMap;
+    }
+
     @Override
     public int getScanDirection() {
         return masterFactory.getScanDirection();
@@ -126,6 +132,7 @@ public class HashJoinRecordCursorFactory extends AbstractJoinRecordCursorFactory
 
     private class HashJoinRecordCursor extends AbstractJoinCursor {
         private final Map joinKeyMap;
+        private final HashJoinMapPresizer mapPresizer;
         private final JoinRecord recordA;
         private final RecordChain slaveChain;
         private SqlExecutionCircuitBreaker circuitBreaker;
@@ -135,8 +142,9 @@ public class HashJoinRecordCursorFactory extends AbstractJoinRecordCursorFactory
         private long size = -1;
         private boolean useSlaveCursor;
 
-        public HashJoinRecordCursor(int columnSplit, Map joinKeyMap, RecordChain slaveChain) {
+        public HashJoinRecordCursor(int columnSplit, CairoConfiguration configuration, Map joinKeyMap, RecordChain slaveChain) {
             super(columnSplit);
+            this.mapPresizer = new HashJoinMapPresizer(configuration);
             this.recordA = new JoinRecord(columnSplit);
             this.joinKeyMap = joinKeyMap;
             this.slaveChain = slaveChain;
@@ -205,6 +213,7 @@ public class HashJoinRecordCursorFactory extends AbstractJoinRecordCursorFactory
         private void buildMapOfSlaveRecords() {
             if (!isMapBuilt) {
                 TableUtils.populateRecordHashMap(circuitBreaker, slaveCursor, joinKeyMap, slaveKeySink, slaveChain);
+                mapPresizer.update(joinKeyMap);
                 isMapBuilt = true;
             }
         }
@@ -212,7 +221,7 @@ public class HashJoinRecordCursorFactory extends AbstractJoinRecordCursorFactory
         private void of(RecordCursor masterCursor, RecordCursor slaveCursor, SqlExecutionCircuitBreaker circuitBreaker) {
             if (!isOpen) {
                 isOpen = true;
-                joinKeyMap.reopen();
+                mapPresizer.reopen(joinKeyMap);
                 slaveChain.reopen();
             }
             this.masterCursor = masterCursor;
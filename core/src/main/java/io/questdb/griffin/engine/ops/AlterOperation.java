@@ -60,6 +60,9 @@ public class AlterOperation extends AbstractOperation implements Mutable {
     public final static short SET_DEDUP_ENABLE = RENAME_TABLE + 1; // 15
     public final static short SET_DEDUP_DISABLE = SET_DEDUP_ENABLE + 1; // 16
     public final static short CHANGE_COLUMN_TYPE = SET_DEDUP_DISABLE + 1; // 17
+    public final static short SET_PARAM_TTL = CHANGE_COLUMN_TYPE + 1; // 18
+    public final static short ADD_SORTED_INDEX = SET_PARAM_TTL + 1; // 19
+    public final static short DROP_SORTED_INDEX = ADD_SORTED_INDEX + 1; // 20
     private static final long BIT_INDEXED = 0x1L;
     private static final long BIT_DEDUP_KEY = BIT_INDEXED << 1;
     private final static Log LOG = LogFactory.getLog(AlterOperation.class);
@@ -134,6 +137,12 @@ public class AlterOperation extends AbstractOperation implements Mutable {
                 case DROP_INDEX:
                     applyDropIndex(svc);
                     break;
+                case ADD_SORTED_INDEX:
+                    applySortedIndex(svc, true);
+                    break;
+                case DROP_SORTED_INDEX:
+                    applySortedIndex(svc, false);
+                    break;
                 case ADD_SYMBOL_CACHE:
                     applySetSymbolCache(svc, true);
                     break;
@@ -146,6 +155,9 @@ public class AlterOperation extends AbstractOperation implements Mutable {
                 case SET_PARAM_COMMIT_LAG:
                     applyParamO3MaxLag(svc);
                     break;
+                case SET_PARAM_TTL:
+                    applyParamTtl(svc);
+                    break;
                 case RENAME_TABLE:
                     applyRenameTable(svc);
                     break;
@@ -469,6 +481,16 @@ public class AlterOperation extends AbstractOperation implements Mutable {
         }
     }
 
+    private void applyParamTtl(MetadataService svc) {
+        long ttl = extraInfo.get(0);
+        try {
+            svc.setMetaTtl(ttl);
+        } catch (CairoException e) {
+            e.position(tableNamePosition);
+            throw e;
+        }
+    }
+
     private void applyParamUncommittedRows(MetadataService svc) {
         int maxUncommittedRows = (int) extraInfo.get(0);
         try {
@@ -502,6 +524,21 @@ public class AlterOperation extends AbstractOperation implements Mutable {
         );
     }
 
+    private void applySortedIndex(MetadataService svc, boolean add) {
+        final CharSequence columnName = activeExtraStrInfo.getStrA(0);
+        final int columnNamePosition = (int) extraInfo.get(0);
+        try {
+            if (add) {
+                svc.addSortedIndex(columnName);
+            } else {
+                svc.dropSortedIndex(columnName);
+            }
+        } catch (CairoException e) {
+            e.position(columnNamePosition);
+            throw e;
+        }
+    }
+
     private void changeColumnType(MetadataService svc) {
         if (activeExtraStrInfo.size() != 1) {
             throw CairoException.nonCritical().put("invalid change column type alter statement");
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.griffin.engine.ops;
+
+import io.questdb.cairo.AbstractRecordCursorFactory;
+import io.questdb.cairo.CairoConfiguration;
+import io.questdb.cairo.CairoException;
+import io.questdb.cairo.ColumnType;
+import io.questdb.cairo.GenericRecordMetadata;
+import io.questdb.cairo.ParquetPartitionEncoder;
+import io.questdb.cairo.PartitionBy;
+import io.questdb.cairo.TableColumnMetadata;
+import io.questdb.cairo.TableReader;
+import io.questdb.cairo.TableToken;
+import io.questdb.cairo.sql.Record;
+import io.questdb.cairo.sql.RecordCursor;
+import io.questdb.cairo.sql.SqlExecutionCircuitBreaker;
+import io.questdb.griffin.PlanSink;
+import io.questdb.griffin.SqlExecutionContext;
+import io.questdb.griffin.engine.SingleValueRecordCursor;
+import io.questdb.std.FilesFacade;
+import io.questdb.std.Misc;
+import io.questdb.std.str.Path;
+
+/**
+ * Executes {@code COPY table TO 'dir'}, which writes each partition of the table as a Parquet
+ * file named after the partition, e.g. {@code 2024-01-01.parquet}, to the directory under
+ * {@link CairoConfiguration#getSqlCopyExportRoot()}. Existing files are overwritten.
+ * <p>
+ * Like {@link CopyFactory}, the export runs on record cursor initialization and returns
+ * the number of exported partitions.
+ */
+public class CopyExportFactory extends AbstractRecordCursorFactory {
+    private final static GenericRecordMetadata METADATA = new GenericRecordMetadata();
+    private final CairoConfiguration configuration;
+    private final String dirName;
+    private final ParquetPartitionEncoder encoder;
+    private final Path path = new Path();
+    private final CopyExportRecord record = new CopyExportRecord();
+    private final SingleValueRecordCursor cursor = new SingleValueRecordCursor(record);
+    private final TableToken tableToken;
+
+    public CopyExportFactory(CairoConfiguration configuration, TableToken tableToken, String dirName) {
+        super(METADATA);
+        this.configuration = configuration;
+        this.tableToken = tableToken;
+        this.dirName = dirName;
+        this.encoder = new ParquetPartitionEncoder(configuration.getFilesFacade(), configuration.getSqlCopyExportRowGroupSize());
+    }
+
+    @Override
+    public RecordCursor getCursor(SqlExecutionContext executionContext) {
+        final FilesFacade ff = configuration.getFilesFacade();
+        path.of(configuration.getSqlCopyExportRoot()).concat(dirName).slash$();
+        if (ff.mkdirs(path, configuration.getMkDirMode()) != 0) {
+            throw CairoException.critical(ff.errno()).put("could not create export directory [path=").put(path).put(']');
+        }
+        final int dirLen = path.size();
+
+        final SqlExecutionCircuitBreaker circuitBreaker = executionContext.getCircuitBreaker();
+        long partitionCount = 0;
+        try (TableReader reader = executionContext.getReader(tableToken)) {
+            final int partitionBy = reader.getPartitionedBy();
+            for (int i = 0, n = reader.getPartitionCount(); i < n; i++) {
+                circuitBreaker.statefulThrowExceptionIfTripped();
+                path.trimTo(dirLen);
+                PartitionBy.setSinkForPartition(path, partitionBy, reader.getPartitionTimestampByIndex(i));
+                path.put(".parquet");
+                encoder.encode(reader, i, path);
+                partitionCount++;
+            }
+        }
+        record.setValue(partitionCount);
+        cursor.toTop();
+        return cursor;
+    }
+
+    @Override
+    public boolean recordCursorSupportsRandomAccess() {
+        return false;
+    }
+
+    @Override
+    public void toPlan(PlanSink sink) {
+        sink.type("Copy Export");
+        sink.meta("table").val(tableToken.getTableName());
+    }
+
+    @Override
+    protected void _close() {
+        Misc.free(encoder);
+        Misc.free(path);
+    }
+
+    private static class CopyExportRecord implements Record {
+        private long value;
+
+        @Override
+        public long getLong(int col) {
+            return value;
+        }
+
+        public void setValue(long value) {
+            this.value = value;
+        }
+    }
+
+    static {
+        METADATA.add(new TableColumnMetadata("partitions", ColumnType.LONG));
+    }
+}
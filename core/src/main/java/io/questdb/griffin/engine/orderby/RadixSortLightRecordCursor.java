@@ -0,0 +1,189 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.griffin.engine.orderby;
+
+import io.questdb.cairo.ColumnType;
+import io.questdb.cairo.sql.Record;
+import io.questdb.cairo.sql.*;
+import io.questdb.griffin.SqlExecutionContext;
+import io.questdb.griffin.engine.LimitOverflowException;
+import io.questdb.std.DirectLongList;
+import io.questdb.std.MemoryTag;
+import io.questdb.std.Misc;
+import io.questdb.std.Vect;
+
+/**
+ * Sorts row ids by a single fixed-width integer column. Instead of inserting rows
+ * into a red-black tree one by one, the cursor collects (key, row id) pairs and sorts
+ * them with LSD radix sort, which is linear in the number of rows and does not need
+ * to reposition base records to compare them.
+ * <p>
+ * Keys are converted to unsigned order by flipping the sign bit, so that nulls
+ * (MIN_VALUE for all integer types) come first, same as with the comparator. For
+ * descending order the keys are inverted, so that the sort stays stable and rows
+ * with equal keys are returned in the base cursor order.
+ */
+class RadixSortLightRecordCursor implements DelegatingRecordCursor {
+    private static final long ENTRY_SIZE = 2 * Long.BYTES;
+    private final int columnIndex;
+    private final int columnType;
+    private final DirectLongList cpy;
+    private final boolean descending;
+    private final DirectLongList entries;
+    private final long maxEntries;
+    private final int maxPages;
+    private RecordCursor base;
+    private Record baseRecord;
+    private SqlExecutionCircuitBreaker circuitBreaker;
+    private long entryCount;
+    private long entryIndex;
+    private boolean isOpen;
+    private boolean isSorted;
+
+    public RadixSortLightRecordCursor(long pageSize, int maxPages, int columnIndex, int columnType, boolean descending) {
+        this.columnIndex = columnIndex;
+        this.columnType = columnType;
+        this.descending = descending;
+        // keep the same memory budget as the value chain of light sort tree
+        this.maxPages = maxPages;
+        this.maxEntries = pageSize * maxPages / ENTRY_SIZE;
+        final long initialCapacity = Math.max(pageSize / Long.BYTES, 2);
+        this.entries = new DirectLongList(initialCapacity, MemoryTag.NATIVE_TREE_CHAIN);
+        this.cpy = new DirectLongList(initialCapacity, MemoryTag.NATIVE_TREE_CHAIN);
+        this.isOpen = true;
+    }
+
+    @Override
+    public void close() {
+        if (isOpen) {
+            isOpen = false;
+            Misc.free(entries);
+            Misc.free(cpy);
+            base = Misc.free(base);
+            baseRecord = null;
+        }
+    }
+
+    @Override
+    public Record getRecord() {
+        return baseRecord;
+    }
+
+    @Override
+    public Record getRecordB() {
+        return base.getRecordB();
+    }
+
+    @Override
+    public SymbolTable getSymbolTable(int columnIndex) {
+        return base.getSymbolTable(columnIndex);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!isSorted) {
+            sort();
+            isSorted = true;
+        }
+        if (entryIndex < entryCount) {
+            base.recordAt(baseRecord, entries.get(2 * entryIndex + 1));
+            entryIndex++;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public SymbolTable newSymbolTable(int columnIndex) {
+        return base.newSymbolTable(columnIndex);
+    }
+
+    @Override
+    public void of(RecordCursor base, SqlExecutionContext executionContext) {
+        if (!isOpen) {
+            isOpen = true;
+            entries.reopen();
+            cpy.reopen();
+        }
+
+        this.base = base;
+        baseRecord = base.getRecord();
+        circuitBreaker = executionContext.getCircuitBreaker();
+        isSorted = false;
+        entries.clear();
+        entryCount = 0;
+        entryIndex = 0;
+    }
+
+    @Override
+    public void recordAt(Record record, long atRowId) {
+        base.recordAt(record, atRowId);
+    }
+
+    @Override
+    public long size() {
+        return base.size();
+    }
+
+    @Override
+    public void toTop() {
+        entryIndex = 0;
+    }
+
+    private long getKey(Record record) {
+        switch (ColumnType.tagOf(columnType)) {
+            case ColumnType.BYTE:
+                return record.getByte(columnIndex);
+            case ColumnType.SHORT:
+                return record.getShort(columnIndex);
+            case ColumnType.INT:
+                return record.getInt(columnIndex);
+            case ColumnType.DATE:
+                return record.getDate(columnIndex);
+            case ColumnType.TIMESTAMP:
+                return record.getTimestamp(columnIndex);
+            default:
+                return record.getLong(columnIndex);
+        }
+    }
+
+    private void sort() {
+        while (base.hasNext()) {
+            circuitBreaker.statefulThrowExceptionIfTripped();
+            if (entryCount == maxEntries) {
+                throw LimitOverflowException.instance().put("Maximum number of pages (").put(maxPages).put(") breached in sort buffer");
+            }
+            long key = getKey(baseRecord) ^ Long.MIN_VALUE;
+            entries.add(descending ? ~key : key);
+            entries.add(baseRecord.getRowId());
+            entryCount++;
+        }
+        if (entryCount > 1) {
+            cpy.setCapacity(2 * entryCount);
+            Vect.radixSortLongIndexAscInPlace(entries.getAddress(), entryCount, cpy.getAddress());
+        }
+        entryIndex = 0;
+    }
+}
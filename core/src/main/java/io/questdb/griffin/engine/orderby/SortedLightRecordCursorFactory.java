@@ -26,7 +26,9 @@ package io.questdb.griffin.engine.orderby;
 
 import io.questdb.cairo.AbstractRecordCursorFactory;
 import io.questdb.cairo.CairoConfiguration;
+import io.questdb.cairo.ColumnType;
 import io.questdb.cairo.ListColumnFilter;
+import io.questdb.cairo.sql.DelegatingRecordCursor;
 import io.questdb.cairo.sql.RecordCursor;
 import io.questdb.cairo.sql.RecordCursorFactory;
 import io.questdb.cairo.sql.RecordMetadata;
@@ -37,7 +39,7 @@ import io.questdb.griffin.engine.RecordComparator;
 
 public class SortedLightRecordCursorFactory extends AbstractRecordCursorFactory {
     private final RecordCursorFactory base;
-    private final SortedLightRecordCursor cursor;
+    private final DelegatingRecordCursor cursor;
     private final ListColumnFilter sortColumnFilter;
 
     public SortedLightRecordCursorFactory(
@@ -48,14 +50,25 @@ public class SortedLightRecordCursorFactory extends AbstractRecordCursorFactory
             ListColumnFilter sortColumnFilter
     ) {
         super(metadata);
-        LongTreeChain chain = new LongTreeChain(
-                configuration.getSqlSortKeyPageSize(),
-                configuration.getSqlSortKeyMaxPages(),
-                configuration.getSqlSortLightValuePageSize(),
-                configuration.getSqlSortLightValueMaxPages()
-        );
         this.base = base;
-        this.cursor = new SortedLightRecordCursor(chain, comparator);
+        if (isRadixSortable(base.getMetadata(), sortColumnFilter)) {
+            final int index = sortColumnFilter.getColumnIndexFactored(0);
+            this.cursor = new RadixSortLightRecordCursor(
+                    configuration.getSqlSortLightValuePageSize(),
+                    configuration.getSqlSortLightValueMaxPages(),
+                    index,
+                    base.getMetadata().getColumnType(index),
+                    sortColumnFilter.getQuick(0) < 0
+            );
+        } else {
+            LongTreeChain chain = new LongTreeChain(
+                    configuration.getSqlSortKeyPageSize(),
+                    configuration.getSqlSortKeyMaxPages(),
+                    configuration.getSqlSortLightValuePageSize(),
+                    configuration.getSqlSortLightValueMaxPages()
+            );
+            this.cursor = new SortedLightRecordCursor(chain, comparator);
+        }
         this.sortColumnFilter = sortColumnFilter;
     }
 
@@ -65,6 +78,26 @@ public class SortedLightRecordCursorFactory extends AbstractRecordCursorFactory
         sink.val(']');
     }
 
+    /**
+     * Single integer key can be sorted with radix sort instead of the comparator-driven tree.
+     */
+    public static boolean isRadixSortable(RecordMetadata metadata, ListColumnFilter sortColumnFilter) {
+        if (sortColumnFilter.size() != 1) {
+            return false;
+        }
+        switch (ColumnType.tagOf(metadata.getColumnType(sortColumnFilter.getColumnIndexFactored(0)))) {
+            case ColumnType.BYTE:
+            case ColumnType.SHORT:
+            case ColumnType.INT:
+            case ColumnType.LONG:
+            case ColumnType.DATE:
+            case ColumnType.TIMESTAMP:
+                return true;
+            default:
+                return false;
+        }
+    }
+
     @Override
     public RecordCursorFactory getBaseFactory() {
         return base;
@@ -221,15 +221,7 @@ public class AsyncGroupByRecordCursorFactory extends AbstractRecordCursorFactory
         for (long p = 0, n = rows.size(); p < n; p++) {
             long r = rows.get(p);
             record.setRowIndex(r);
-
-            final MapKey key = map.withKey();
-            mapSink.copy(record, key);
-            MapValue value = key.createValue();
-            if (value.isNew()) {
-                functionUpdater.updateNew(value, record, baseRowId + r);
-            } else {
-                functionUpdater.updateExisting(value, record, baseRowId + r);
-            }
+            functionUpdater.aggregate(map, mapSink, record, baseRowId + r);
         }
     }
 
@@ -281,15 +273,7 @@ public class AsyncGroupByRecordCursorFactory extends AbstractRecordCursorFactory
         final Map map = fragment.reopenMap();
         for (long r = 0; r < frameRowCount; r++) {
             record.setRowIndex(r);
-
-            final MapKey key = map.withKey();
-            mapSink.copy(record, key);
-            MapValue value = key.createValue();
-            if (value.isNew()) {
-                functionUpdater.updateNew(value, record, baseRowId + r);
-            } else {
-                functionUpdater.updateExisting(value, record, baseRowId + r);
-            }
+            functionUpdater.aggregate(map, mapSink, record, baseRowId + r);
         }
     }
 
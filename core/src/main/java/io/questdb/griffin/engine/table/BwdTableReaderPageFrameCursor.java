@@ -58,6 +58,7 @@ public class BwdTableReaderPageFrameCursor implements PageFrameCursor {
     private long reenterPartitionHi;
     private int reenterPartitionIndex;
     private long reenterPartitionLo;
+    private ZoneMapFilter zoneMapFilter;
 
     public BwdTableReaderPageFrameCursor(
             IntList columnIndexes,
@@ -99,8 +100,11 @@ public class BwdTableReaderPageFrameCursor implements PageFrameCursor {
         if (reenterDataFrame) {
             return computeFrame(reenterPartitionLo, reenterPartitionHi);
         }
-        DataFrame dataFrame = dataFrameCursor.next();
-        if (dataFrame != null) {
+        DataFrame dataFrame;
+        while ((dataFrame = dataFrameCursor.next()) != null) {
+            if (zoneMapFilter != null && !zoneMapFilter.mayMatch(reader, dataFrame.getPartitionIndex(), columnIndexes)) {
+                continue;
+            }
             reenterPartitionIndex = dataFrame.getPartitionIndex();
             final long lo = dataFrame.getRowLo();
             final long hi = dataFrame.getRowHi();
@@ -120,6 +124,11 @@ public class BwdTableReaderPageFrameCursor implements PageFrameCursor {
         return this;
     }
 
+    // the filter is owned by the factory
+    public void setZoneMapFilter(@Nullable ZoneMapFilter zoneMapFilter) {
+        this.zoneMapFilter = zoneMapFilter;
+    }
+
     @Override
     public long size() {
         return reader.size();
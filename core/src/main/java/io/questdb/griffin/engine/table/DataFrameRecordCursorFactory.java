@@ -45,6 +45,7 @@ public class DataFrameRecordCursorFactory extends AbstractDataFrameRecordCursorF
     protected final RowCursorFactory rowCursorFactory;
     private final IntList columnIndexes;
     private final IntList columnSizes;
+    private final CairoConfiguration configuration;
     private final Function filter;
     private final boolean followsOrderByAdvice;
     private final boolean framingSupported;
@@ -52,6 +53,7 @@ public class DataFrameRecordCursorFactory extends AbstractDataFrameRecordCursorF
     protected BwdTableReaderPageFrameCursor bwdPageFrameCursor;
     protected FwdTableReaderPageFrameCursor fwdPageFrameCursor;
     protected TableReaderTimeFrameCursor timeFrameCursor;
+    private ZoneMapFilter zoneMapFilter;
 
     public DataFrameRecordCursorFactory(
             @NotNull CairoConfiguration configuration,
@@ -75,6 +77,7 @@ public class DataFrameRecordCursorFactory extends AbstractDataFrameRecordCursorF
         this.framingSupported = framingSupported;
         this.columnIndexes = columnIndexes;
         this.columnSizes = columnSizes;
+        this.configuration = configuration;
         pageFrameMinRows = configuration.getSqlPageFrameMinRows();
         pageFrameMaxRows = configuration.getSqlPageFrameMaxRows();
         this.supportsRandomAccess = supportsRandomAccess;
@@ -136,6 +139,18 @@ public class DataFrameRecordCursorFactory extends AbstractDataFrameRecordCursorF
         return supportsRandomAccess;
     }
 
+    @Override
+    public void setZoneMapFilter(@Nullable ZoneMapFilter zoneMapFilter) {
+        Misc.free(this.zoneMapFilter);
+        this.zoneMapFilter = zoneMapFilter;
+        if (fwdPageFrameCursor != null) {
+            fwdPageFrameCursor.setZoneMapFilter(zoneMapFilter);
+        }
+        if (bwdPageFrameCursor != null) {
+            bwdPageFrameCursor.setZoneMapFilter(zoneMapFilter);
+        }
+    }
+
     @Override
     public boolean supportsPageFrameCursor() {
         return framingSupported;
@@ -174,6 +189,8 @@ public class DataFrameRecordCursorFactory extends AbstractDataFrameRecordCursorF
     protected void _close() {
         super._close();
         Misc.free(filter);
+        Misc.freeIfCloseable(rowCursorFactory);
+        zoneMapFilter = Misc.free(zoneMapFilter);
     }
 
     @Override
@@ -200,6 +217,7 @@ public class DataFrameRecordCursorFactory extends AbstractDataFrameRecordCursorF
                     pageFrameMinRows,
                     pageFrameMaxRows
             );
+            bwdPageFrameCursor.setZoneMapFilter(zoneMapFilter);
         }
         return bwdPageFrameCursor.of(dataFrameCursor);
     }
@@ -214,8 +232,11 @@ public class DataFrameRecordCursorFactory extends AbstractDataFrameRecordCursorF
                     columnSizes,
                     executionContext.getSharedWorkerCount(),
                     pageFrameMinRows,
-                    pageFrameMaxRows
+                    pageFrameMaxRows,
+                    executionContext.getCairoEngine().getPageFrameReadAheadPool(),
+                    configuration.getSqlPageFrameReadAheadFrames()
             );
+            fwdPageFrameCursor.setZoneMapFilter(zoneMapFilter);
         }
         return fwdPageFrameCursor.of(dataFrameCursor);
     }
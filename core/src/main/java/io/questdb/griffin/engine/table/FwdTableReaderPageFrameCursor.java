@@ -30,6 +30,7 @@ import io.questdb.cairo.ColumnTypeDriver;
 import io.questdb.cairo.TableReader;
 import io.questdb.cairo.sql.*;
 import io.questdb.cairo.vm.NullMemoryMR;
+import io.questdb.cairo.vm.api.MemoryCR;
 import io.questdb.cairo.vm.api.MemoryR;
 import io.questdb.std.IntList;
 import io.questdb.std.LongList;
@@ -49,15 +50,28 @@ public class FwdTableReaderPageFrameCursor implements PageFrameCursor {
     private final LongList pageRowsRemaining = new LongList();
     private final LongList pageSizes = new LongList();
     private final IntList pages = new IntList();
+    private final int readAheadFrames;
+    private final PageFrameReadAheadPool readAheadPool;
+    // start of each frame's (fd, offset, len) triplets in readAheadRanges
+    private final IntList readAheadRangeIndexes = new IntList();
+    private final LongList readAheadRanges = new LongList();
     private final LongList topsRemaining = new LongList();
     private final int workerCount;
     private long currentPageFrameRowLimit;
     private DataFrameCursor dataFrameCursor;
+    private int frameCount;
+    // taken from the pool while the cursor is open
+    private PageFrameReadAhead readAhead;
+    // highest frame index with ranges handed over to read-ahead
+    private int readAheadFrameHi;
+    // index of the last consumed frame
+    private int readAheadFrameLo;
     private TableReader reader;
     private boolean reenterDataFrame = false;
     private long reenterPartitionHi;
     private int reenterPartitionIndex;
     private long reenterPartitionLo;
+    private ZoneMapFilter zoneMapFilter;
 
     public FwdTableReaderPageFrameCursor(
             IntList columnIndexes,
@@ -65,6 +79,18 @@ public class FwdTableReaderPageFrameCursor implements PageFrameCursor {
             int workerCount,
             int pageFrameMinRows,
             int pageFrameMaxRows
+    ) {
+        this(columnIndexes, columnSizes, workerCount, pageFrameMinRows, pageFrameMaxRows, null, 0);
+    }
+
+    public FwdTableReaderPageFrameCursor(
+            IntList columnIndexes,
+            IntList columnSizes,
+            int workerCount,
+            int pageFrameMinRows,
+            int pageFrameMaxRows,
+            @Nullable PageFrameReadAheadPool readAheadPool,
+            int readAheadFrames
     ) {
         this.columnIndexes = columnIndexes;
         this.columnSizes = columnSizes;
@@ -72,10 +98,17 @@ public class FwdTableReaderPageFrameCursor implements PageFrameCursor {
         this.workerCount = workerCount;
         this.pageFrameMinRows = pageFrameMinRows;
         this.pageFrameMaxRows = pageFrameMaxRows;
+        this.readAheadPool = readAheadPool;
+        this.readAheadFrames = readAheadFrames;
     }
 
     @Override
     public void close() {
+        // reads in flight must complete before the reader and its files are released
+        clearReadAhead();
+        if (readAhead != null) {
+            readAhead = readAheadPool.release(readAhead);
+        }
         dataFrameCursor = Misc.free(dataFrameCursor);
     }
 
@@ -99,8 +132,11 @@ public class FwdTableReaderPageFrameCursor implements PageFrameCursor {
         if (reenterDataFrame) {
             return computeFrame(reenterPartitionLo, reenterPartitionHi);
         }
-        DataFrame dataFrame = dataFrameCursor.next();
-        if (dataFrame != null) {
+        DataFrame dataFrame;
+        while ((dataFrame = dataFrameCursor.next()) != null) {
+            if (zoneMapFilter != null && !zoneMapFilter.mayMatch(reader, dataFrame.getPartitionIndex(), columnIndexes)) {
+                continue;
+            }
             reenterPartitionIndex = dataFrame.getPartitionIndex();
             final long lo = dataFrame.getRowLo();
             final long hi = dataFrame.getRowHi();
@@ -116,10 +152,42 @@ public class FwdTableReaderPageFrameCursor implements PageFrameCursor {
     public FwdTableReaderPageFrameCursor of(DataFrameCursor dataFrameCursor) {
         reader = dataFrameCursor.getTableReader();
         this.dataFrameCursor = dataFrameCursor;
+        if (readAhead == null && readAheadPool != null) {
+            readAhead = readAheadPool.acquire();
+        }
         toTop();
         return this;
     }
 
+    @Override
+    public void readAhead(int frameIndex) {
+        if (readAhead == null) {
+            return;
+        }
+        if (frameIndex < readAheadFrameLo) {
+            // frames are consumed again from the top
+            readAheadFrameHi = frameIndex - 1;
+        }
+        readAheadFrameLo = frameIndex;
+        final int frameHi = Math.min(frameIndex + readAheadFrames, frameCount - 1);
+        for (int i = Math.max(frameIndex, readAheadFrameHi + 1); i <= frameHi; i++) {
+            for (int j = readAheadRangeIndexes.getQuick(i), n = readAheadRangeIndexes.getQuick(i + 1); j < n; j += 3) {
+                readAhead.add(
+                        (int) readAheadRanges.getQuick(j),
+                        readAheadRanges.getQuick(j + 1),
+                        readAheadRanges.getQuick(j + 2)
+                );
+            }
+        }
+        readAheadFrameHi = Math.max(readAheadFrameHi, frameHi);
+        readAhead.submit();
+    }
+
+    // the filter is owned by the factory
+    public void setZoneMapFilter(@Nullable ZoneMapFilter zoneMapFilter) {
+        this.zoneMapFilter = zoneMapFilter;
+    }
+
     @Override
     public long size() {
         return reader.size();
@@ -127,6 +195,7 @@ public class FwdTableReaderPageFrameCursor implements PageFrameCursor {
 
     @Override
     public void toTop() {
+        clearReadAhead();
         dataFrameCursor.toTop();
         pages.setAll(columnCount, 0);
         topsRemaining.setAll(columnCount, 0);
@@ -137,6 +206,25 @@ public class FwdTableReaderPageFrameCursor implements PageFrameCursor {
         reenterDataFrame = false;
     }
 
+    private void addReadAheadRange(MemoryR colMem, long address, long size) {
+        if (address != 0 && size > 0 && colMem instanceof MemoryCR) {
+            readAheadRanges.add(((MemoryCR) colMem).getFd(), address - colMem.getPageAddress(0));
+            readAheadRanges.add(size);
+        }
+    }
+
+    private void clearReadAhead() {
+        if (readAhead != null) {
+            readAhead.clear();
+            readAheadRanges.clear();
+            readAheadRangeIndexes.clear();
+            readAheadRangeIndexes.add(0);
+            frameCount = 0;
+            readAheadFrameHi = -1;
+            readAheadFrameLo = 0;
+        }
+    }
+
     private TableReaderPageFrame computeFrame(final long partitionLo, final long partitionHi) {
         final int base = reader.getColumnBase(reenterPartitionIndex);
 
@@ -170,6 +258,9 @@ public class FwdTableReaderPageFrameCursor implements PageFrameCursor {
                     long offset = partitionLoAdjusted << sh;
                     columnPageAddress.setQuick(i * 2, address + offset);
                     pageSizes.setQuick(i * 2, addressSize - offset);
+                    if (readAhead != null) {
+                        addReadAheadRange(colMem, address + offset, addressSize - offset);
+                    }
                 } else {
                     final int columnType = reader.getMetadata().getColumnType(columnIndex);
                     final ColumnTypeDriver columnTypeDriver = ColumnType.getDriver(columnType);
@@ -186,6 +277,13 @@ public class FwdTableReaderPageFrameCursor implements PageFrameCursor {
                     columnPageAddress.setQuick(i * 2 + 1, auxAddress + auxOffsetLo);
                     pageSizes.setQuick(i * 2, dataSize);
                     pageSizes.setQuick(i * 2 + 1, auxOffsetHi - auxOffsetLo);
+                    if (readAhead != null) {
+                        addReadAheadRange(auxCol, auxAddress + auxOffsetLo, auxOffsetHi - auxOffsetLo);
+                        if (dataSize > 0) {
+                            final long dataOffsetLo = columnTypeDriver.getDataVectorOffset(auxAddress, partitionLoAdjusted);
+                            addReadAheadRange(colMem, dataAddress + dataOffsetLo, dataSize - dataOffsetLo);
+                        }
+                    }
                 }
             } else {
                 columnPageAddress.setQuick(i * 2, 0);
@@ -205,6 +303,11 @@ public class FwdTableReaderPageFrameCursor implements PageFrameCursor {
             reenterDataFrame = false;
         }
 
+        if (readAhead != null) {
+            frameCount++;
+            readAheadRangeIndexes.add(readAheadRanges.size());
+        }
+
         frame.partitionLo = partitionLo;
         frame.partitionHi = adjustedHi;
         frame.partitionIndex = reenterPartitionIndex;
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.griffin.engine.table;
+
+import io.questdb.std.*;
+
+/**
+ * Warms up OS page cache for column file ranges ahead of page frame consumption.
+ * Ranges are read via io_uring into a bounded pool of scratch buffers, the data
+ * itself is discarded, so that the consumers that access the same ranges via mmap
+ * hit page cache instead of stalling on major page faults. Reads are best-effort:
+ * failures are ignored and ranges that do not fit the buffer pool wait for the
+ * next {@link #submit()} call. The buffers are allocated on first use and released
+ * by {@link #clear()}, so that idle instances kept in {@link PageFrameReadAheadPool} stay cheap.
+ */
+public class PageFrameReadAhead implements QuietCloseable, Mutable {
+    private static final int BUFFER_COUNT = 16;
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final int RING_CAPACITY = 32;
+    // cqe id of the read in flight for each buffer, -1 when the buffer is free
+    private final LongList bufferReadIds = new LongList(BUFFER_COUNT);
+    // (fd, offset, len) triplets
+    private final LongList pendingRanges = new LongList();
+    private final IOURing ring;
+    private long buffersAddr;
+    private boolean closed;
+    private int inFlightCount;
+    private int pendingRangeIndex;
+    private long readCount;
+
+    public PageFrameReadAhead(IOURingFacade rf) {
+        ring = rf.newInstance(RING_CAPACITY);
+        bufferReadIds.setAll(BUFFER_COUNT, -1);
+    }
+
+    public void add(int fd, long offset, long len) {
+        if (fd > -1 && len > 0) {
+            pendingRanges.add(fd, offset);
+            pendingRanges.add(len);
+        }
+    }
+
+    /**
+     * Drops pending ranges and waits for the reads in flight, so that the
+     * files and buffers they use can be safely released.
+     */
+    @Override
+    public void clear() {
+        pendingRanges.clear();
+        pendingRangeIndex = 0;
+        while (inFlightCount > 0) {
+            ring.submitAndWait();
+            reap();
+        }
+        if (buffersAddr != 0) {
+            buffersAddr = Unsafe.free(buffersAddr, (long) BUFFER_COUNT * BUFFER_SIZE, MemoryTag.NATIVE_TABLE_READER);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            clear();
+            ring.close();
+            closed = true;
+        }
+    }
+
+    /**
+     * @return number of reads issued since the previous call
+     */
+    public long getAndResetReadCount() {
+        final long count = readCount;
+        readCount = 0;
+        return count;
+    }
+
+    public int getInFlightCount() {
+        return inFlightCount;
+    }
+
+    public int getPendingRangeCount() {
+        return (pendingRanges.size() - pendingRangeIndex) / 3;
+    }
+
+    /**
+     * Frees buffers of the completed reads and issues reads for the pending ranges
+     * while there are free buffers. Never blocks.
+     */
+    public void submit() {
+        reap();
+        if (buffersAddr == 0) {
+            if (pendingRangeIndex == pendingRanges.size()) {
+                return;
+            }
+            buffersAddr = Unsafe.malloc((long) BUFFER_COUNT * BUFFER_SIZE, MemoryTag.NATIVE_TABLE_READER);
+        }
+        boolean enqueued = false;
+        for (int i = 0; i < BUFFER_COUNT && pendingRangeIndex < pendingRanges.size(); i++) {
+            if (bufferReadIds.getQuick(i) != -1) {
+                continue;
+            }
+            final int fd = (int) pendingRanges.getQuick(pendingRangeIndex);
+            final long offset = pendingRanges.getQuick(pendingRangeIndex + 1);
+            final long len = pendingRanges.getQuick(pendingRangeIndex + 2);
+            final int chunk = (int) Math.min(len, BUFFER_SIZE);
+            final long id = ring.enqueueRead(fd, offset, buffersAddr + (long) i * BUFFER_SIZE, chunk);
+            if (id < 0) {
+                // submission queue is full
+                break;
+            }
+            bufferReadIds.setQuick(i, id);
+            inFlightCount++;
+            readCount++;
+            enqueued = true;
+            if (len > chunk) {
+                pendingRanges.setQuick(pendingRangeIndex + 1, offset + chunk);
+                pendingRanges.setQuick(pendingRangeIndex + 2, len - chunk);
+            } else {
+                pendingRangeIndex += 3;
+            }
+        }
+        if (pendingRangeIndex == pendingRanges.size()) {
+            pendingRanges.clear();
+            pendingRangeIndex = 0;
+        }
+        if (enqueued) {
+            ring.submit();
+        }
+    }
+
+    private void reap() {
+        while (ring.nextCqe()) {
+            final long id = ring.getCqeId();
+            for (int i = 0; i < BUFFER_COUNT; i++) {
+                if (bufferReadIds.getQuick(i) == id) {
+                    bufferReadIds.setQuick(i, -1);
+                    inFlightCount--;
+                    break;
+                }
+            }
+        }
+    }
+}
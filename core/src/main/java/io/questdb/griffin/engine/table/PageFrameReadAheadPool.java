@@ -0,0 +1,116 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.griffin.engine.table;
+
+import io.questdb.cairo.CairoConfiguration;
+import io.questdb.log.Log;
+import io.questdb.log.LogFactory;
+import io.questdb.std.IOURingFacade;
+import io.questdb.std.Misc;
+import io.questdb.std.ObjList;
+import io.questdb.std.QuietCloseable;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Engine-wide pool of {@link PageFrameReadAhead} instances. Page frame cursors take an instance
+ * when they are opened and give it back when they are closed, so the number of io_uring rings
+ * is bounded by the number of concurrently scanned tables rather than by the number of cached
+ * factories. Once the pool is exhausted, cursors run without read-ahead.
+ */
+public class PageFrameReadAheadPool implements QuietCloseable {
+    private static final Log LOG = LogFactory.getLog(PageFrameReadAheadPool.class);
+    private final ObjList<PageFrameReadAhead> freeList = new ObjList<>();
+    private final int maxSize;
+    private final IOURingFacade rf;
+    private boolean closed;
+    private boolean enabled;
+    private long readCount;
+    private int size;
+
+    public PageFrameReadAheadPool(CairoConfiguration configuration) {
+        this.rf = configuration.getIOURingFacade();
+        this.enabled = configuration.getSqlPageFrameReadAheadFrames() > 0
+                && configuration.isIOURingEnabled()
+                && rf.isAvailable();
+        this.maxSize = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * @return read-ahead instance or null when read-ahead is disabled, io_uring is not available
+     * or all instances are in use
+     */
+    @Nullable
+    public synchronized PageFrameReadAhead acquire() {
+        if (!enabled || closed) {
+            return null;
+        }
+        final int n = freeList.size();
+        if (n > 0) {
+            final PageFrameReadAhead readAhead = freeList.getQuick(n - 1);
+            freeList.setPos(n - 1);
+            return readAhead;
+        }
+        if (size < maxSize) {
+            try {
+                final PageFrameReadAhead readAhead = new PageFrameReadAhead(rf);
+                size++;
+                return readAhead;
+            } catch (Throwable th) {
+                LOG.error().$("could not initialize page frame read-ahead [ex=").$(th).I$();
+                enabled = false;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        Misc.freeObjListAndClear(freeList);
+    }
+
+    /**
+     * @return number of reads issued by the instances returned to the pool
+     */
+    public synchronized long getReadCount() {
+        return readCount;
+    }
+
+    /**
+     * Returns the instance to the pool. Reads in flight must have been waited for, see
+     * {@link PageFrameReadAhead#clear()}.
+     *
+     * @return null, for the caller to reset its reference
+     */
+    public synchronized PageFrameReadAhead release(PageFrameReadAhead readAhead) {
+        readCount += readAhead.getAndResetReadCount();
+        if (closed) {
+            readAhead.close();
+        } else {
+            freeList.add(readAhead);
+        }
+        return null;
+    }
+}
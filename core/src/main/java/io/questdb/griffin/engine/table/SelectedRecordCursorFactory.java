@@ -102,6 +102,14 @@ public class SelectedRecordCursorFactory extends AbstractRecordCursorFactory {
         return base.recordCursorSupportsRandomAccess();
     }
 
+    @Override
+    public void setZoneMapFilter(@Nullable ZoneMapFilter zoneMapFilter) {
+        if (zoneMapFilter != null) {
+            zoneMapFilter.remapColumns(columnCrossIndex);
+        }
+        base.setZoneMapFilter(zoneMapFilter);
+    }
+
     @Override
     public boolean supportsPageFrameCursor() {
         return base.supportsPageFrameCursor();
@@ -228,6 +236,11 @@ public class SelectedRecordCursorFactory extends AbstractRecordCursorFactory {
             return this;
         }
 
+        @Override
+        public void readAhead(int frameIndex) {
+            baseCursor.readAhead(frameIndex);
+        }
+
         @Override
         public long size() {
             return baseCursor.size();
@@ -0,0 +1,309 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.griffin.engine.table;
+
+import io.questdb.cairo.CairoConfiguration;
+import io.questdb.cairo.ColumnType;
+import io.questdb.cairo.PartitionSortedIndex;
+import io.questdb.cairo.TableReader;
+import io.questdb.cairo.TableReaderMetadata;
+import io.questdb.cairo.sql.DataFrame;
+import io.questdb.cairo.sql.RecordMetadata;
+import io.questdb.cairo.sql.RowCursor;
+import io.questdb.cairo.sql.RowCursorFactory;
+import io.questdb.griffin.PlanSink;
+import io.questdb.griffin.SqlExecutionContext;
+import io.questdb.griffin.SqlKeywords;
+import io.questdb.griffin.model.ExpressionNode;
+import io.questdb.std.*;
+import io.questdb.std.str.Utf8String;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Row cursor factory backed by {@link PartitionSortedIndex}. Rows are looked up by
+ * keys taken from {@code =} and {@code in} predicates of the filter on columns with
+ * a sorted index, see {@link TableReaderMetadata#isColumnSortedIndexed(int)}. The
+ * lookup may return false positives, so the filter must still be applied to the rows
+ * of this factory.
+ * <p>
+ * The last partition is always scanned since it is likely to be written to. Other
+ * partitions are scanned as well when the index can't be built or the lookup is not
+ * selective enough to beat a scan.
+ */
+public class SortedIndexRowCursorFactory implements RowCursorFactory, QuietCloseable {
+    // index lookup is abandoned when it matches more than 1/N of the frame rows
+    private static final int SELECTIVITY_THRESHOLD = 4;
+    private final int columnIndex;
+    private final CairoConfiguration configuration;
+    private final IndexRowCursor indexCursor = new IndexRowCursor();
+    // inclusive lo/hi key pairs
+    private final LongList keyRanges = new LongList();
+    private final DataFrameRowCursor scanCursor = new DataFrameRowCursor();
+    private PartitionSortedIndex index;
+    private TableReader reader;
+
+    private SortedIndexRowCursorFactory(CairoConfiguration configuration, int columnIndex) {
+        this.configuration = configuration;
+        this.columnIndex = columnIndex;
+    }
+
+    /**
+     * Picks a sorted index column of the filter that is looked up with {@code =} or
+     * {@code in}. Range predicates are left to the scan, they are rarely selective
+     * enough to be worth giving up the parallel filter.
+     *
+     * @param configuration  cairo configuration
+     * @param filterExpr     filter expression
+     * @param metadata       metadata the filter is compiled against
+     * @param readerMetadata metadata of the table reader
+     * @param columnIndexes  maps metadata column indexes to reader column indexes
+     * @return row cursor factory or null when the filter has no suitable predicates
+     */
+    @Nullable
+    public static SortedIndexRowCursorFactory of(
+            CairoConfiguration configuration,
+            ExpressionNode filterExpr,
+            RecordMetadata metadata,
+            TableReaderMetadata readerMetadata,
+            IntList columnIndexes
+    ) {
+        final KeyExtractor extractor = new KeyExtractor(metadata, readerMetadata, columnIndexes);
+        extractor.extract(filterExpr);
+        if (extractor.equalityColumn == -1) {
+            return null;
+        }
+        final SortedIndexRowCursorFactory factory = new SortedIndexRowCursorFactory(configuration, columnIndexes.getQuick(extractor.equalityColumn));
+        factory.keyRanges.add(extractor.equalityKeys);
+        return factory;
+    }
+
+    @Override
+    public void close() {
+        index = Misc.free(index);
+        reader = null;
+    }
+
+    @Override
+    public RowCursor getCursor(DataFrame dataFrame) {
+        final int partitionIndex = dataFrame.getPartitionIndex();
+        final long rowLo = dataFrame.getRowLo();
+        final long rowHi = dataFrame.getRowHi();
+        if (partitionIndex < reader.getPartitionCount() - 1) {
+            if (index == null) {
+                index = new PartitionSortedIndex(configuration);
+            }
+            if (index.of(reader, partitionIndex, columnIndex) && indexCursor.of(index, keyRanges, rowLo, rowHi, (rowHi - rowLo) / SELECTIVITY_THRESHOLD)) {
+                return indexCursor;
+            }
+        }
+        scanCursor.of(dataFrame);
+        return scanCursor;
+    }
+
+    @Override
+    public void init(TableReader tableReader, SqlExecutionContext sqlExecutionContext) {
+        this.reader = tableReader;
+    }
+
+    @Override
+    public boolean isEntity() {
+        return false;
+    }
+
+    @Override
+    public boolean isUsingIndex() {
+        return true;
+    }
+
+    @Override
+    public void toPlan(PlanSink sink) {
+        sink.type("Sorted index scan").meta("on").putBaseColumnNameNoRemap(columnIndex);
+    }
+
+    private static class IndexRowCursor implements RowCursor {
+        private final LongList rows = new LongList();
+        private int current;
+
+        @Override
+        public boolean hasNext() {
+            return current < rows.size();
+        }
+
+        @Override
+        public long next() {
+            return rows.getQuick(current++);
+        }
+
+        boolean of(PartitionSortedIndex index, LongList keyRanges, long rowLo, long rowHi, long limit) {
+            rows.clear();
+            current = 0;
+            final long entryCount = index.getEntryCount();
+            for (int i = 0, n = keyRanges.size(); i < n; i += 2) {
+                final long hi = keyRanges.getQuick(i + 1);
+                for (long e = index.findFirst(keyRanges.getQuick(i)); e < entryCount && index.getKey(e) <= hi; e++) {
+                    final long row = index.getRow(e);
+                    if (row >= rowLo && row < rowHi) {
+                        if (rows.size() >= limit) {
+                            return false;
+                        }
+                        rows.add(row);
+                    }
+                }
+            }
+            // ranges may overlap and rows must come out in partition order
+            rows.sort();
+            int unique = 0;
+            for (int i = 0, n = rows.size(); i < n; i++) {
+                final long row = rows.getQuick(i);
+                if (unique == 0 || rows.getQuick(unique - 1) != row) {
+                    rows.setQuick(unique++, row);
+                }
+            }
+            rows.setPos(unique);
+            return true;
+        }
+    }
+
+    private static class KeyExtractor {
+        private final IntList columnIndexes;
+        private final LongList equalityKeys = new LongList();
+        private final RecordMetadata metadata;
+        private final TableReaderMetadata readerMetadata;
+        private int equalityColumn = -1;
+
+        private KeyExtractor(RecordMetadata metadata, TableReaderMetadata readerMetadata, IntList columnIndexes) {
+            this.metadata = metadata;
+            this.readerMetadata = readerMetadata;
+            this.columnIndexes = columnIndexes;
+        }
+
+        private int columnOf(ExpressionNode node) {
+            if (node == null || node.type != ExpressionNode.LITERAL) {
+                return -1;
+            }
+            final int columnIndex = metadata.getColumnIndexQuiet(node.token);
+            return columnIndex > -1
+                    && PartitionSortedIndex.isSupported(metadata.getColumnType(columnIndex))
+                    && readerMetadata.isColumnSortedIndexed(columnIndexes.getQuick(columnIndex)) ? columnIndex : -1;
+        }
+
+        private void extract(ExpressionNode node) {
+            if (node == null || node.type != ExpressionNode.OPERATION) {
+                return;
+            }
+            if (SqlKeywords.isAndKeyword(node.token) && node.paramCount == 2) {
+                extract(node.lhs);
+                extract(node.rhs);
+            } else if (SqlKeywords.isInKeyword(node.token)) {
+                extractIn(node);
+            } else if (node.paramCount == 2 && Chars.equals(node.token, '=')) {
+                if (!extractEquality(node.lhs, node.rhs)) {
+                    extractEquality(node.rhs, node.lhs);
+                }
+            }
+        }
+
+        private boolean extractEquality(ExpressionNode column, ExpressionNode constant) {
+            if (equalityColumn != -1) {
+                return false;
+            }
+            final int columnIndex = columnOf(column);
+            if (columnIndex == -1) {
+                return false;
+            }
+            final long key = keyOf(constant, metadata.getColumnType(columnIndex));
+            if (key == Numbers.LONG_NULL) {
+                return false;
+            }
+            equalityColumn = columnIndex;
+            equalityKeys.add(key, key);
+            return true;
+        }
+
+        private void extractIn(ExpressionNode node) {
+            if (equalityColumn != -1 || node.paramCount < 2) {
+                return;
+            }
+            final ExpressionNode column = node.paramCount < 3 ? node.lhs : node.args.getLast();
+            final int columnIndex = columnOf(column);
+            if (columnIndex == -1) {
+                return;
+            }
+            final int columnType = metadata.getColumnType(columnIndex);
+            final LongList keys = new LongList();
+            if (node.paramCount < 3) {
+                final long key = keyOf(node.rhs, columnType);
+                if (key == Numbers.LONG_NULL) {
+                    return;
+                }
+                keys.add(key, key);
+            } else {
+                for (int i = 0, n = node.paramCount - 1; i < n; i++) {
+                    final long key = keyOf(node.args.getQuick(i), columnType);
+                    if (key == Numbers.LONG_NULL) {
+                        // a single value we can't look up makes the whole list unusable
+                        return;
+                    }
+                    keys.add(key, key);
+                }
+            }
+            equalityColumn = columnIndex;
+            equalityKeys.add(keys);
+        }
+
+        // returns LONG_NULL when the constant can't be looked up, e.g. it is null or a bind variable
+        private long keyOf(ExpressionNode constant, int columnType) {
+            if (constant == null || constant.type != ExpressionNode.CONSTANT || SqlKeywords.isNullKeyword(constant.token)) {
+                return Numbers.LONG_NULL;
+            }
+            final CharSequence token = constant.token;
+            try {
+                switch (ColumnType.tagOf(columnType)) {
+                    case ColumnType.INT:
+                        final long i = Numbers.parseLong(token);
+                        return i == Numbers.INT_NULL ? Numbers.LONG_NULL : i;
+                    case ColumnType.LONG:
+                        return Numbers.parseLong(token);
+                    case ColumnType.UUID:
+                        if (!Chars.isQuoted(token)) {
+                            return Numbers.LONG_NULL;
+                        }
+                        Uuid.checkDashesAndLength(token, 1, token.length() - 1);
+                        final long lo = Uuid.parseLo(token, 1);
+                        final long hi = Uuid.parseHi(token, 1);
+                        return Uuid.isNull(lo, hi) ? Numbers.LONG_NULL : PartitionSortedIndex.keyOf(lo, hi);
+                    default:
+                        if (!Chars.isQuoted(token)) {
+                            return Numbers.LONG_NULL;
+                        }
+                        final String value = token.length() > 2 ? Chars.toString(token, 1, token.length() - 1, '\'') : "";
+                        return PartitionSortedIndex.keyOf(new Utf8String(value));
+                }
+            } catch (NumericException e) {
+                return Numbers.LONG_NULL;
+            }
+        }
+    }
+}
@@ -84,13 +84,21 @@ public class TableReaderTimeFrameCursor implements TimeFrameRecordCursor {
         return reader.newSymbolTable(columnIndexes.getQuick(columnIndex));
     }
 
+    @Override
+    public void jumpTo(int frameIndex) {
+        assert frameIndex >= -1 && frameIndex <= partitionHi;
+        if (frameIndex > -1 && frameIndex < partitionHi) {
+            ofPartition(frameIndex);
+        } else {
+            timeFrame.of(frameIndex, Long.MIN_VALUE, Long.MIN_VALUE);
+        }
+    }
+
     @Override
     public boolean next() {
         int partitionIndex = timeFrame.partitionIndex;
         if (++partitionIndex < partitionHi) {
-            long timestampLo = reader.getPartitionTimestampByIndex(partitionIndex);
-            long maxTimestampHi = partitionIndex < partitionHi - 2 ? reader.getPartitionTimestampByIndex(partitionIndex + 1) : Long.MAX_VALUE;
-            timeFrame.of(partitionIndex, timestampLo, estimatePartitionHi(timestampLo, maxTimestampHi));
+            ofPartition(partitionIndex);
             return true;
         }
         // Update frame index in case of subsequent prev() call.
@@ -136,9 +144,7 @@ public class TableReaderTimeFrameCursor implements TimeFrameRecordCursor {
     public boolean prev() {
         int partitionIndex = timeFrame.partitionIndex;
         if (--partitionIndex >= 0) {
-            long timestampLo = reader.getPartitionTimestampByIndex(partitionIndex);
-            long maxTimestampHi = partitionIndex < partitionHi - 2 ? reader.getPartitionTimestampByIndex(partitionIndex + 1) : Long.MAX_VALUE;
-            timeFrame.of(partitionIndex, timestampLo, estimatePartitionHi(timestampLo, maxTimestampHi));
+            ofPartition(partitionIndex);
             return true;
         }
         // Update frame index in case of subsequent next() call.
@@ -164,6 +170,12 @@ public class TableReaderTimeFrameCursor implements TimeFrameRecordCursor {
         return Math.min(partitionHi, maxTimestampHi);
     }
 
+    private void ofPartition(int partitionIndex) {
+        long timestampLo = reader.getPartitionTimestampByIndex(partitionIndex);
+        long maxTimestampHi = partitionIndex < partitionHi - 2 ? reader.getPartitionTimestampByIndex(partitionIndex + 1) : Long.MAX_VALUE;
+        timeFrame.of(partitionIndex, timestampLo, estimatePartitionHi(timestampLo, maxTimestampHi));
+    }
+
     private static class TableReaderTimeFrame implements TimeFrame, Mutable {
         private long estimateTimestampHi;
         private long estimateTimestampLo;
@@ -0,0 +1,306 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.griffin.engine.table;
+
+import io.questdb.cairo.CairoConfiguration;
+import io.questdb.cairo.ColumnType;
+import io.questdb.cairo.PartitionBloomFilter;
+import io.questdb.cairo.PartitionZoneMap;
+import io.questdb.cairo.TableReader;
+import io.questdb.cairo.sql.RecordMetadata;
+import io.questdb.griffin.SqlKeywords;
+import io.questdb.griffin.model.ExpressionNode;
+import io.questdb.std.*;
+import io.questdb.std.str.Utf8String;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Conjunction of {@code column op constant} predicates taken from a filter, used to
+ * skip partitions whose {@link PartitionZoneMap} proves that no row can match. Only
+ * predicates under top-level {@code and} nodes are considered, anything else is left
+ * to the filter itself. Null constants are ignored since nulls never match these
+ * comparisons, which is also why all-null partitions are skipped.
+ * <p>
+ * When enabled, {@code column = constant} predicates on high cardinality column types
+ * are also checked against the partition's {@link PartitionBloomFilter}.
+ */
+public class ZoneMapFilter implements QuietCloseable {
+    private static final int OP_EQ = 1;
+    private static final int OP_GE = 2;
+    private static final int OP_GT = 3;
+    private static final int OP_LE = 4;
+    private static final int OP_LT = 5;
+    private static final CharSequenceIntHashMap ops = new CharSequenceIntHashMap();
+    private final IntList bloomColumnIndexes = new IntList();
+    private final LongList bloomHashes = new LongList();
+    private final IntList columnIndexes = new IntList();
+    private final IntList columnTypes = new IntList();
+    private final CairoConfiguration configuration;
+    private final IntList operators = new IntList();
+    // long values or double bits, depending on column type
+    private final LongList values = new LongList();
+    private PartitionBloomFilter bloomFilter;
+    private PartitionZoneMap zoneMap;
+
+    private ZoneMapFilter(CairoConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Extracts zone map and Bloom filter predicates from the filter, depending on
+     * which of the two is enabled in the configuration.
+     *
+     * @param configuration cairo configuration
+     * @param filterExpr    filter expression
+     * @param metadata      metadata the filter is compiled against
+     * @return zone map filter or null when the filter has no suitable predicates
+     */
+    @Nullable
+    public static ZoneMapFilter of(CairoConfiguration configuration, ExpressionNode filterExpr, RecordMetadata metadata) {
+        final ZoneMapFilter zoneMapFilter = new ZoneMapFilter(configuration);
+        zoneMapFilter.extract(filterExpr, metadata);
+        return zoneMapFilter.operators.size() > 0 || zoneMapFilter.bloomHashes.size() > 0 ? zoneMapFilter : null;
+    }
+
+    @Override
+    public void close() {
+        bloomFilter = Misc.free(bloomFilter);
+        zoneMap = Misc.free(zoneMap);
+    }
+
+    /**
+     * Checks the partition against the predicates. The partition must be open.
+     * The last partition is always scanned, it is likely to be written to.
+     *
+     * @param reader         table reader
+     * @param partitionIndex partition index
+     * @param readerColumns  maps filter metadata column indexes to reader column indexes
+     * @return false when no row of the partition can satisfy the filter
+     */
+    public boolean mayMatch(TableReader reader, int partitionIndex, IntList readerColumns) {
+        if (partitionIndex >= reader.getPartitionCount() - 1) {
+            return true;
+        }
+        if (zoneMap == null) {
+            zoneMap = new PartitionZoneMap(configuration);
+        }
+        for (int i = 0, n = operators.size(); i < n; i++) {
+            zoneMap.of(reader, partitionIndex, readerColumns.getQuick(columnIndexes.getQuick(i)));
+            final boolean mayMatch = ColumnType.tagOf(columnTypes.getQuick(i)) == ColumnType.DOUBLE
+                    ? mayMatchDouble(operators.getQuick(i), Double.longBitsToDouble(values.getQuick(i)), zoneMap.getMinDouble(), zoneMap.getMaxDouble())
+                    : mayMatchLong(operators.getQuick(i), values.getQuick(i), zoneMap.getMinLong(), zoneMap.getMaxLong());
+            if (!mayMatch) {
+                return false;
+            }
+        }
+        if (bloomHashes.size() > 0 && bloomFilter == null) {
+            bloomFilter = new PartitionBloomFilter(configuration);
+        }
+        for (int i = 0, n = bloomHashes.size(); i < n; i++) {
+            // a filter that could not be built can't rule the partition out
+            if (bloomFilter.of(reader, partitionIndex, readerColumns.getQuick(bloomColumnIndexes.getQuick(i)))
+                    && !bloomFilter.mayContain(bloomHashes.getQuick(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Re-targets predicates when the filter is pushed through a projection.
+     *
+     * @param crossIndex maps projection column indexes to base column indexes
+     */
+    public void remapColumns(IntList crossIndex) {
+        for (int i = 0, n = columnIndexes.size(); i < n; i++) {
+            columnIndexes.setQuick(i, crossIndex.getQuick(columnIndexes.getQuick(i)));
+        }
+        for (int i = 0, n = bloomColumnIndexes.size(); i < n; i++) {
+            bloomColumnIndexes.setQuick(i, crossIndex.getQuick(bloomColumnIndexes.getQuick(i)));
+        }
+    }
+
+    private static int flip(int op) {
+        switch (op) {
+            case OP_GE:
+                return OP_LE;
+            case OP_GT:
+                return OP_LT;
+            case OP_LE:
+                return OP_GE;
+            case OP_LT:
+                return OP_GT;
+            default:
+                return op;
+        }
+    }
+
+    private static boolean mayMatchDouble(int op, double value, double min, double max) {
+        // equality in filters is tolerance based, widen the range accordingly
+        switch (op) {
+            case OP_EQ:
+                return value >= min - Numbers.DOUBLE_TOLERANCE && value <= max + Numbers.DOUBLE_TOLERANCE;
+            case OP_GE:
+                return max >= value - Numbers.DOUBLE_TOLERANCE;
+            case OP_GT:
+                return max > value;
+            case OP_LE:
+                return min <= value + Numbers.DOUBLE_TOLERANCE;
+            default:
+                return min < value;
+        }
+    }
+
+    private static boolean mayMatchLong(int op, long value, long min, long max) {
+        switch (op) {
+            case OP_EQ:
+                return value >= min && value <= max;
+            case OP_GE:
+                return max >= value;
+            case OP_GT:
+                return max > value;
+            case OP_LE:
+                return min <= value;
+            default:
+                return min < value;
+        }
+    }
+
+    private void add(ExpressionNode column, ExpressionNode constant, int op, RecordMetadata metadata) {
+        if (configuration.isSqlBloomFiltersEnabled() && op == OP_EQ) {
+            addBloom(column, constant, metadata);
+        }
+        if (!configuration.isSqlZoneMapsEnabled()) {
+            return;
+        }
+        if (column.type != ExpressionNode.LITERAL || constant.type != ExpressionNode.CONSTANT) {
+            return;
+        }
+        final int columnIndex = metadata.getColumnIndexQuiet(column.token);
+        if (columnIndex < 0) {
+            return;
+        }
+        final int columnType = metadata.getColumnType(columnIndex);
+        if (!PartitionZoneMap.isSupported(columnType)) {
+            return;
+        }
+        final long value;
+        try {
+            if (ColumnType.tagOf(columnType) == ColumnType.DOUBLE) {
+                final double d = Numbers.parseDouble(constant.token);
+                if (Numbers.isNull(d)) {
+                    return;
+                }
+                value = Double.doubleToRawLongBits(d);
+            } else {
+                value = Numbers.parseLong(constant.token);
+                if (value == Numbers.LONG_NULL || value == Numbers.INT_NULL) {
+                    return;
+                }
+            }
+        } catch (NumericException e) {
+            return;
+        }
+        columnIndexes.add(columnIndex);
+        columnTypes.add(columnType);
+        operators.add(op);
+        values.add(value);
+    }
+
+    private void addBloom(ExpressionNode column, ExpressionNode constant, RecordMetadata metadata) {
+        if (column.type != ExpressionNode.LITERAL || constant.type != ExpressionNode.CONSTANT || SqlKeywords.isNullKeyword(constant.token)) {
+            return;
+        }
+        final int columnIndex = metadata.getColumnIndexQuiet(column.token);
+        if (columnIndex < 0) {
+            return;
+        }
+        final int columnType = metadata.getColumnType(columnIndex);
+        if (!PartitionBloomFilter.isSupported(columnType)) {
+            return;
+        }
+        final CharSequence token = constant.token;
+        final long hash;
+        try {
+            switch (ColumnType.tagOf(columnType)) {
+                case ColumnType.LONG:
+                    final long value = Numbers.parseLong(token);
+                    if (value == Numbers.LONG_NULL) {
+                        return;
+                    }
+                    hash = PartitionBloomFilter.hashOf(value);
+                    break;
+                case ColumnType.UUID:
+                    if (!Chars.isQuoted(token)) {
+                        return;
+                    }
+                    Uuid.checkDashesAndLength(token, 1, token.length() - 1);
+                    final long lo = Uuid.parseLo(token, 1);
+                    final long hi = Uuid.parseHi(token, 1);
+                    if (Uuid.isNull(lo, hi)) {
+                        return;
+                    }
+                    hash = PartitionBloomFilter.hashOf(lo, hi);
+                    break;
+                default:
+                    if (!Chars.isQuoted(token)) {
+                        return;
+                    }
+                    final String varchar = token.length() > 2 ? Chars.toString(token, 1, token.length() - 1, '\'') : "";
+                    hash = PartitionBloomFilter.hashOf(new Utf8String(varchar));
+                    break;
+            }
+        } catch (NumericException e) {
+            return;
+        }
+        bloomColumnIndexes.add(columnIndex);
+        bloomHashes.add(hash);
+    }
+
+    private void extract(ExpressionNode node, RecordMetadata metadata) {
+        if (node == null || node.type != ExpressionNode.OPERATION || node.paramCount != 2) {
+            return;
+        }
+        if (SqlKeywords.isAndKeyword(node.token)) {
+            extract(node.lhs, metadata);
+            extract(node.rhs, metadata);
+            return;
+        }
+        final int op = ops.get(node.token);
+        if (op > 0) {
+            // "x > 10" and "10 < x" are the same predicate
+            add(node.lhs, node.rhs, op, metadata);
+            add(node.rhs, node.lhs, flip(op), metadata);
+        }
+    }
+
+    static {
+        ops.put("=", OP_EQ);
+        ops.put(">=", OP_GE);
+        ops.put(">", OP_GT);
+        ops.put("<=", OP_LE);
+        ops.put("<", OP_LT);
+    }
+}
@@ -25,6 +25,7 @@
 package io.questdb.griffin.model;
 
 import io.questdb.std.Mutable;
+import io.questdb.std.ObjList;
 import io.questdb.std.ObjectFactory;
 import io.questdb.std.str.CharSink;
 import io.questdb.std.str.Sinkable;
@@ -32,12 +33,24 @@ import org.jetbrains.annotations.NotNull;
 
 public class CopyModel implements ExecutionModel, Mutable, Sinkable {
     public static final ObjectFactory<CopyModel> FACTORY = CopyModel::new;
+    public static final int STDIN_FORMAT_BINARY = 2;
+    public static final int STDIN_FORMAT_CSV = 1;
+    public static final int STDIN_FORMAT_TEXT = 0;
+    // optional column list of COPY ... FROM STDIN, columns that are not listed receive nulls,
+    // or of COPY table TO STDOUT
+    private final ObjList<ExpressionNode> columns = new ObjList<>();
     private int atomicity;
     private boolean cancel;
     private byte delimiter;
+    // COPY table TO 'dir', the file name holds the export directory
+    private boolean export;
     private ExpressionNode fileName;
     private boolean header;
+    private CharSequence nullString;
     private int partitionBy;
+    // query of COPY ... TO STDOUT
+    private QueryModel queryModel;
+    private int stdinFormat;
     private ExpressionNode target; // holds table name (new import) or import id (cancel model)
     private CharSequence timestampColumnName;
     private CharSequence timestampFormat;
@@ -51,17 +64,30 @@ public class CopyModel implements ExecutionModel, Mutable, Sinkable {
         fileName = null;
         header = false;
         cancel = false;
+        export = false;
         timestampFormat = null;
         timestampColumnName = null;
         partitionBy = -1;
         delimiter = -1;
         atomicity = -1;
+        columns.clear();
+        nullString = null;
+        queryModel = null;
+        stdinFormat = STDIN_FORMAT_TEXT;
+    }
+
+    public void addColumn(ExpressionNode column) {
+        columns.add(column);
     }
 
     public int getAtomicity() {
         return atomicity;
     }
 
+    public ObjList<ExpressionNode> getColumns() {
+        return columns;
+    }
+
     public byte getDelimiter() {
         return delimiter;
     }
@@ -75,13 +101,25 @@ public class CopyModel implements ExecutionModel, Mutable, Sinkable {
         return ExecutionModel.COPY;
     }
 
+    public CharSequence getNullString() {
+        return nullString;
+    }
+
     public int getPartitionBy() {
         return partitionBy;
     }
 
+    public QueryModel getQueryModel() {
+        return queryModel;
+    }
+
+    public int getStdinFormat() {
+        return stdinFormat;
+    }
+
     @Override
     public CharSequence getTableName() {
-        return target.token;
+        return target != null ? target.token : null;
     }
 
     public ExpressionNode getTarget() {
@@ -100,6 +138,10 @@ public class CopyModel implements ExecutionModel, Mutable, Sinkable {
         return cancel;
     }
 
+    public boolean isExport() {
+        return export;
+    }
+
     public boolean isHeader() {
         return header;
     }
@@ -116,6 +158,10 @@ public class CopyModel implements ExecutionModel, Mutable, Sinkable {
         this.delimiter = delimiter;
     }
 
+    public void setExport(boolean export) {
+        this.export = export;
+    }
+
     public void setFileName(ExpressionNode fileName) {
         this.fileName = fileName;
     }
@@ -124,10 +170,22 @@ public class CopyModel implements ExecutionModel, Mutable, Sinkable {
         this.header = header;
     }
 
+    public void setNullString(CharSequence nullString) {
+        this.nullString = nullString;
+    }
+
     public void setPartitionBy(int partitionBy) {
         this.partitionBy = partitionBy;
     }
 
+    public void setQueryModel(QueryModel queryModel) {
+        this.queryModel = queryModel;
+    }
+
+    public void setStdinFormat(int stdinFormat) {
+        this.stdinFormat = stdinFormat;
+    }
+
     public void setTarget(ExpressionNode tableName) {
         this.target = tableName;
     }
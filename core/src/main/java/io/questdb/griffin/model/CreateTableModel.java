@@ -52,6 +52,7 @@ public class CreateTableModel implements Mutable, ExecutionModel, Sinkable, Tabl
     private ExpressionNode partitionBy;
     private QueryModel queryModel;
     private ExpressionNode timestamp;
+    private long ttl;
     private CharSequence volumeAlias;
     private boolean walEnabled;
 
@@ -104,6 +105,7 @@ public class CreateTableModel implements Mutable, ExecutionModel, Sinkable, Tabl
         columnNameIndexMap.clear();
         ignoreIfExists = false;
         o3MaxLag = -1;
+        ttl = 0;
         batchO3MaxLag = -1;
         batchSize = -1;
     }
@@ -202,6 +204,11 @@ public class CreateTableModel implements Mutable, ExecutionModel, Sinkable, Tabl
         return timestamp == null ? -1 : getColumnIndex(timestamp.token);
     }
 
+    @Override
+    public long getTtl() {
+        return ttl;
+    }
+
     public CharSequence getVolumeAlias() {
         return volumeAlias;
     }
@@ -289,6 +296,10 @@ public class CreateTableModel implements Mutable, ExecutionModel, Sinkable, Tabl
         this.timestamp = timestamp;
     }
 
+    public void setTtl(long ttl) {
+        this.ttl = ttl;
+    }
+
     public void setVolumeAlias(CharSequence volumeAlias) {
         // set if the create table statement contains IN VOLUME 'volumeAlias'.
         // volumePath will be resolved by the compiler
@@ -92,8 +92,13 @@ public class CompiledFilterIRSerializer implements PostOrderTreeTraversalAlgo.Vi
     // Stub value for opcodes and options
     static final int UNDEFINED_CODE = -1;
     private static final int INSTRUCTION_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES + Long.BYTES;
+    // longer IN lists are left to the Java filter, since each value adds an equality check
+    // and an OR to the IR, which grows the compiled code and the compilation time
+    private static final int MAX_IN_LIST_SIZE = 16;
     // contains <memory_offset, constant_node> pairs for backfilling purposes
     private final LongObjHashMap<ExpressionNode> backfillNodes = new LongObjHashMap<>();
+    // used for synthetic nodes of expanded IN lists
+    private final ObjectPool<ExpressionNode> expressionNodePool = new ObjectPool<>(ExpressionNode.FACTORY, 16);
     private final PredicateContext predicateContext = new PredicateContext();
     private final PostOrderTreeTraversalAlgo traverseAlgo = new PostOrderTreeTraversalAlgo();
     private ObjList<Function> bindVarFunctions;
@@ -113,6 +118,7 @@ public class CompiledFilterIRSerializer implements PostOrderTreeTraversalAlgo.Vi
         forceScalarMode = false;
         predicateContext.clear();
         backfillNodes.clear();
+        expressionNodePool.clear();
     }
 
     @Override
@@ -123,6 +129,12 @@ public class CompiledFilterIRSerializer implements PostOrderTreeTraversalAlgo.Vi
                     .put(node.token);
         }
 
+        // Expand "col in (a, b, c)" into "col = a or col = b or col = c"
+        if (isExpandableIn(node)) {
+            traverseAlgo.traverse(expandIn(node), this);
+            return false;
+        }
+
         // Check if we're at the start of an arithmetic expression
         predicateContext.onNodeDescended(node);
 
@@ -361,6 +373,19 @@ public class CompiledFilterIRSerializer implements PostOrderTreeTraversalAlgo.Vi
         return type == STRING_HEADER_TYPE || type == BINARY_HEADER_TYPE || type == VARCHAR_HEADER_TYPE;
     }
 
+    private static long maxValueOf(int columnTypeTag) {
+        switch (columnTypeTag) {
+            case ColumnType.BYTE:
+                return Byte.MAX_VALUE;
+            case ColumnType.SHORT:
+                return Short.MAX_VALUE;
+            case ColumnType.INT:
+                return Integer.MAX_VALUE;
+            default:
+                return Long.MAX_VALUE;
+        }
+    }
+
     private void backfillConstant(long offset, final ExpressionNode node) throws SqlException {
         int position = node.position;
         CharSequence token = node.token;
@@ -461,6 +486,30 @@ public class CompiledFilterIRSerializer implements PostOrderTreeTraversalAlgo.Vi
         }
     }
 
+    private ExpressionNode expandIn(ExpressionNode node) {
+        final int paramCount = node.paramCount;
+        final ExpressionNode column = paramCount < 3 ? node.lhs : node.args.getLast();
+        ExpressionNode result = null;
+        for (int i = 1; i < paramCount; i++) {
+            // for 3 and more parameters, args are stored in reverse order
+            final ExpressionNode value = paramCount < 3 ? node.rhs : node.args.getQuick(paramCount - 1 - i);
+            final ExpressionNode eq = expressionNodePool.next().of(ExpressionNode.OPERATION, "=", 0, value.position);
+            eq.paramCount = 2;
+            eq.lhs = column;
+            eq.rhs = value;
+            if (result == null) {
+                result = eq;
+            } else {
+                final ExpressionNode or = expressionNodePool.next().of(ExpressionNode.OPERATION, "or", 0, node.position);
+                or.paramCount = 2;
+                or.lhs = result;
+                or.rhs = eq;
+                result = or;
+            }
+        }
+        return result;
+    }
+
     private Function getBindVariableFunction(int position, CharSequence token) throws SqlException {
         Function varFunction;
 
@@ -516,6 +565,74 @@ public class CompiledFilterIRSerializer implements PostOrderTreeTraversalAlgo.Vi
         return columnTypeTag == ColumnType.BOOLEAN;
     }
 
+    /**
+     * Checks if the node is an IN list over a symbol or an integer column that
+     * contains only constants, so it can be serialized as a chain of equality checks.
+     * Timestamp columns are not expanded since their IN values stand for intervals,
+     * neither are lists with integer constants out of the column type range.
+     * Lists of more than {@link #MAX_IN_LIST_SIZE} values are not expanded either.
+     */
+    private boolean isExpandableIn(ExpressionNode node) {
+        final int paramCount = node.paramCount;
+        if (paramCount < 2 || paramCount - 1 > MAX_IN_LIST_SIZE || !SqlKeywords.isInKeyword(node.token)) {
+            return false;
+        }
+        final ExpressionNode column = paramCount < 3 ? node.lhs : node.args.getLast();
+        if (column == null || column.type != ExpressionNode.LITERAL) {
+            return false;
+        }
+        final int index = metadata.getColumnIndexQuiet(column.token);
+        if (index == -1) {
+            return false;
+        }
+        final int columnTypeTag = ColumnType.tagOf(metadata.getColumnType(index));
+        for (int i = 1; i < paramCount; i++) {
+            ExpressionNode value = paramCount < 3 ? node.rhs : node.args.getQuick(paramCount - 1 - i);
+            if (value == null) {
+                return false;
+            }
+            final boolean negated = value.type == ExpressionNode.OPERATION && value.paramCount == 1 && Chars.equals(value.token, "-");
+            if (negated) {
+                // negative constant, handled by the lookahead in descend()
+                value = value.lhs != null ? value.lhs : value.rhs;
+                if (value == null) {
+                    return false;
+                }
+            }
+            if (value.type != ExpressionNode.CONSTANT) {
+                return false;
+            }
+            if (!negated && SqlKeywords.isNullKeyword(value.token)) {
+                continue;
+            }
+            switch (columnTypeTag) {
+                case ColumnType.SYMBOL:
+                    if (negated || !Chars.isQuoted(value.token)) {
+                        return false;
+                    }
+                    break;
+                case ColumnType.BYTE:
+                case ColumnType.SHORT:
+                case ColumnType.INT:
+                case ColumnType.LONG:
+                    try {
+                        // the constant is serialized as its magnitude narrowed to the column
+                        // type, values that don't fit are left to the Java filter
+                        final long magnitude = Numbers.parseLong(value.token);
+                        if (magnitude < 0 || magnitude > maxValueOf(columnTypeTag)) {
+                            return false;
+                        }
+                    } catch (NumericException e) {
+                        return false;
+                    }
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
     private boolean isTopLevelBooleanColumn(ExpressionNode node) {
         if (node.type == ExpressionNode.LITERAL && isBooleanColumn(node)) {
             return true;
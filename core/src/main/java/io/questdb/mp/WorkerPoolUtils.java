@@ -88,6 +88,20 @@ public class WorkerPoolUtils {
             workerPool.assign(columnPurgeJob);
         }
 
+        final PartitionTtlJob partitionTtlJob = new PartitionTtlJob(cairoEngine);
+        workerPool.freeOnExit(partitionTtlJob);
+        workerPool.assign(partitionTtlJob);
+
+        final PartitionTieringJob partitionTieringJob = new PartitionTieringJob(cairoEngine);
+        workerPool.freeOnExit(partitionTieringJob);
+        workerPool.assign(partitionTieringJob);
+
+        setupO3Jobs(workerPool, messageBus);
+    }
+
+    // O3 queues carry per-partition merge work of a single commit, workers consuming
+    // them help the committing thread to merge partitions in parallel
+    public static void setupO3Jobs(WorkerPool workerPool, MessageBus messageBus) {
         workerPool.assign(new ColumnIndexerJob(messageBus));
         workerPool.assign(new O3PartitionJob(messageBus));
         workerPool.assign(new O3OpenColumnJob(messageBus));
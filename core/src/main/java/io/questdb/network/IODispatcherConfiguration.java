@@ -24,6 +24,8 @@
 
 package io.questdb.network;
 
+import io.questdb.std.IOURingFacade;
+import io.questdb.std.IOURingFacadeImpl;
 import io.questdb.std.Numbers;
 import io.questdb.std.Os;
 import io.questdb.std.datetime.millitime.MillisecondClock;
@@ -58,6 +60,10 @@ public interface IODispatcherConfiguration {
         return Numbers.ceilPow2(getLimit());
     }
 
+    default IOURingFacade getIOURingFacade() {
+        return IOURingFacadeImpl.INSTANCE;
+    }
+
     default int getInitialBias() {
         return BIAS_READ;
     }
@@ -98,4 +104,12 @@ public interface IODispatcherConfiguration {
     int getTestConnectionBufferSize();
 
     long getTimeout();
+
+    /**
+     * When true and io_uring is available, Linux dispatchers poll sockets through io_uring
+     * instead of epoll, submitting all interest changes of a dispatcher loop in a single batch.
+     */
+    default boolean isIOURingEnabled() {
+        return false;
+    }
 }
@@ -0,0 +1,526 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+
+package io.questdb.network;
+
+import io.questdb.std.IOURing;
+import io.questdb.std.LongMatrix;
+import io.questdb.std.ObjLongMatrix;
+
+/**
+ * Linux dispatcher that polls sockets through io_uring instead of epoll.
+ * <p>
+ * Polls are one-shot, the same way {@link IODispatcherLinux} registers with EPOLLONESHOT, but arming
+ * and cancelling them only fills in sqes. Everything armed or cancelled during a dispatcher iteration
+ * is handed over to the kernel with a single io_uring_enter() call, and completions are read from the
+ * shared completion queue with no syscall at all. The epoll dispatcher needs an epoll_ctl() call per
+ * registration and an epoll_wait() call per iteration.
+ * <p>
+ * Sockets are still read and written by I/O contexts, this dispatcher only changes how readiness is
+ * detected. A poll holds a reference to its file, so polls are always cancelled before a connection
+ * with an armed poll is closed.
+ */
+public class IODispatcherLinuxIOURing<C extends IOContext<C>> extends AbstractIODispatcher<C> {
+    // user data of poll cancellations, their own completions are of no interest
+    private static final long CANCEL_ID = -1;
+    private static final int ECANCELED = 125;
+    private static final int EVM_DEADLINE = 1;
+    private static final int EVM_ID = 0;
+    private static final int EVM_OPERATION_ID = 2;
+    // submission queue only has to fit polls armed during a single iteration, a full queue is submitted early
+    private static final int MAX_RING_CAPACITY = 4096;
+    // poll(2) event bits
+    private static final int POLLIN = 0x1;
+    private static final int POLLOUT = 0x4;
+    protected final LongMatrix pendingEvents = new LongMatrix(3);
+    // operations resumed during the current iteration, they go back to pending with a new id
+    private final ObjLongMatrix<C> resumedOperations = new ObjLongMatrix<>(OPM_COLUMN_COUNT);
+    private final IOURing ring;
+    // the final ids are shifted by 1 bit which is reserved to distinguish socket operations (0) and suspend events (1)
+    private long idSeq = 1;
+    // id of the poll armed on the server fd, or -1
+    private long listenerId = -1;
+
+    public IODispatcherLinuxIOURing(
+            IODispatcherConfiguration configuration,
+            IOContextFactory<C> ioContextFactory
+    ) {
+        super(configuration, ioContextFactory);
+        this.ring = configuration.getIOURingFacade().newInstance(Math.min(configuration.getEventCapacity(), MAX_RING_CAPACITY));
+        registerListenerFd();
+        submit();
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        // closing the ring drops all polls that are still armed
+        ring.close();
+        LOG.info().$("closed").$();
+    }
+
+    private static boolean isEventId(long id) {
+        return (id & 1) == 1;
+    }
+
+    private void armPoll(int fd, long id, int events) {
+        while (!ring.enqueuePoll(fd, events, id)) {
+            // submission queue is full, hand it over to the kernel and retry
+            if (submit() < 0) {
+                return;
+            }
+        }
+    }
+
+    private void cancelPoll(long id) {
+        while (!ring.enqueuePollRemove(id, CANCEL_ID)) {
+            if (submit() < 0) {
+                return;
+            }
+        }
+    }
+
+    private void doDisconnect(C context, long id, int reason) {
+        final SuspendEvent suspendEvent = context.getSuspendEvent();
+        if (suspendEvent != null) {
+            // yes, we can do a binary search over EVM_OPERATION_ID since
+            // these ref ids are monotonically growing
+            int eventRow = pendingEvents.binarySearch(id, EVM_OPERATION_ID);
+            if (eventRow < 0) {
+                LOG.critical().$("internal error: suspend event not found [id=").$(id).I$();
+            } else {
+                cancelPoll(pendingEvents.get(eventRow, EVM_ID));
+                pendingEvents.deleteRow(eventRow);
+            }
+        }
+        doDisconnect(context, reason);
+    }
+
+    private void enqueuePending(int watermark) {
+        for (int i = watermark, sz = pending.size(); i < sz; i++) {
+            final C context = pending.get(i);
+            final long id = pending.get(i, OPM_ID);
+            final int fd = (int) pending.get(i, OPM_FD);
+            final int operation = initialBias == IODispatcherConfiguration.BIAS_READ ? IOOperation.READ : IOOperation.WRITE;
+            pending.set(i, OPM_OPERATION, operation);
+            armPoll(fd, id, pollEvents(operation, context));
+        }
+    }
+
+    private boolean handleSocketOperation(long id, int res) {
+        // find row in pending for two reasons:
+        // 1. find payload
+        // 2. remove row from pending, remaining rows will be timed out
+        final int row = pending.binarySearch(id, OPM_ID);
+        if (row < 0) {
+            // the operation has left pending, e.g. on idle timeout or heartbeat,
+            // and the poll fired before it was cancelled
+            LOG.debug().$("stale poll completion [id=").$(id).I$();
+            return false;
+        }
+
+        final C context = pending.get(row);
+        final SuspendEvent suspendEvent = context.getSuspendEvent();
+        if (suspendEvent != null) {
+            // the operation is suspended, check if we have a client disconnect
+            if (testConnection(context.getFd())) {
+                doDisconnect(context, id, DISCONNECT_SRC_PEER_DISCONNECT);
+                pending.deleteRow(row);
+                return true;
+            } else {
+                // the connection is alive, so we need to re-arm the poll to be able to detect broken connection
+                armPoll(context.getFd(), id, pollEvents(IOOperation.READ, context));
+            }
+        } else {
+            final int requestedOp = (int) pending.get(row, OPM_OPERATION);
+            // errors are reported as both read and write readiness, the context will find out on the next I/O call
+            final int events = res < 0 ? POLLIN | POLLOUT : res;
+            // We check POLLOUT flag and treat all other events, including POLLIN and POLLHUP, as a read.
+            final boolean readyForWrite = (events & POLLOUT) > 0;
+            final boolean readyForRead = !readyForWrite || (events & POLLIN) > 0;
+
+            if ((requestedOp == IOOperation.WRITE && readyForWrite) || (requestedOp == IOOperation.READ && readyForRead)) {
+                // If the socket is also ready for another operation type, do it.
+                if (context.getSocket().tlsIO(tlsIOFlags(requestedOp, readyForRead, readyForWrite)) < 0) {
+                    doDisconnect(context, id, DISCONNECT_SRC_TLS_ERROR);
+                    pending.deleteRow(row);
+                    return true;
+                }
+                publishOperation(requestedOp, context);
+                pending.deleteRow(row);
+                return true;
+            }
+
+            // It's something different from the requested operation.
+            if (context.getSocket().tlsIO(tlsIOFlags(readyForRead, readyForWrite)) < 0) {
+                doDisconnect(context, id, DISCONNECT_SRC_TLS_ERROR);
+                pending.deleteRow(row);
+                return true;
+            }
+            // the poll behind this completion is gone and no other poll is armed under its id,
+            // resumed operations are armed under a new id, so the id can be reused
+            armPoll(context.getFd(), id, pollEvents(requestedOp, context));
+        }
+        return false;
+    }
+
+    private void armResumedOperations() {
+        for (int i = 0, n = resumedOperations.size(); i < n; i++) {
+            final C context = resumedOperations.get(i);
+            final long opId = nextOpId();
+            final int operation = (int) resumedOperations.get(i, OPM_OPERATION);
+
+            int r = pending.addRow();
+            pending.set(r, OPM_CREATE_TIMESTAMP, resumedOperations.get(i, OPM_CREATE_TIMESTAMP));
+            pending.set(r, OPM_HEARTBEAT_TIMESTAMP, resumedOperations.get(i, OPM_HEARTBEAT_TIMESTAMP));
+            pending.set(r, OPM_FD, resumedOperations.get(i, OPM_FD));
+            pending.set(r, OPM_ID, opId);
+            pending.set(r, OPM_OPERATION, operation);
+            pending.set(r, context);
+
+            LOG.debug().$("resumed operation [fd=").$(context.getFd())
+                    .$(", op=").$(operation)
+                    .$(", srcId=").$(resumedOperations.get(i, OPM_ID))
+                    .$(", id=").$(opId).I$();
+
+            armPoll(context.getFd(), opId, pollEvents(operation, context));
+        }
+        resumedOperations.zapTop(resumedOperations.size());
+    }
+
+    private boolean handleSuspendEvent(long id) {
+        final int eventsRow = pendingEvents.binarySearch(id, EVM_ID);
+        if (eventsRow < 0) {
+            // the event has expired or the connection has gone before the poll was cancelled
+            LOG.debug().$("stale suspend event completion [eventId=").$(id).I$();
+            return false;
+        }
+
+        final long opId = pendingEvents.get(eventsRow, EVM_OPERATION_ID);
+        final int row = pending.binarySearch(opId, OPM_ID);
+        if (row < 0) {
+            LOG.critical().$("internal error: suspended operation not found [id=").$(opId).$(", eventId=").$(id).I$();
+            return false;
+        }
+
+        resumeOperation(row);
+        pendingEvents.deleteRow(eventsRow);
+        return true;
+    }
+
+    private long nextEventId() {
+        return (idSeq++ << 1) + 1;
+    }
+
+    private long nextOpId() {
+        return idSeq++ << 1;
+    }
+
+    private int pollEvents(int operation, C context) {
+        int events = operation == IOOperation.READ ? POLLIN : POLLOUT;
+        if (context.getSocket().wantsTlsRead()) {
+            events |= POLLIN;
+        }
+        if (context.getSocket().wantsTlsWrite()) {
+            events |= POLLOUT;
+        }
+        return events;
+    }
+
+    private void processHeartbeats(int watermark, long timestamp) {
+        int count = 0;
+        for (int i = 0; i < watermark && pending.get(i, OPM_HEARTBEAT_TIMESTAMP) < timestamp; i++, count++) {
+            final C context = pending.get(i);
+
+            // Cancel the pending poll. We'll arm it again when we get a heartbeat pong.
+            final int fd = context.getFd();
+            final long opId = pending.get(i, OPM_ID);
+            cancelPoll(opId);
+            context.setHeartbeatId(opId);
+            publishOperation(IOOperation.HEARTBEAT, context);
+
+            final int operation = (int) pending.get(i, OPM_OPERATION);
+            int r = pendingHeartbeats.addRow();
+            pendingHeartbeats.set(r, OPM_CREATE_TIMESTAMP, pending.get(i, OPM_CREATE_TIMESTAMP));
+            pendingHeartbeats.set(r, OPM_FD, fd);
+            pendingHeartbeats.set(r, OPM_ID, opId);
+            pendingHeartbeats.set(r, OPM_OPERATION, operation);
+            pendingHeartbeats.set(r, context);
+
+            LOG.debug().$("published heartbeat [fd=").$(fd)
+                    .$(", op=").$(operation)
+                    .$(", id=").$(opId).I$();
+
+            final SuspendEvent suspendEvent = context.getSuspendEvent();
+            if (suspendEvent != null) {
+                // Also, cancel the suspend event poll.
+                int eventRow = pendingEvents.binarySearch(opId, EVM_OPERATION_ID);
+                if (eventRow < 0) {
+                    LOG.critical().$("internal error: suspend event not found on heartbeat [id=").$(opId).I$();
+                } else {
+                    cancelPoll(pendingEvents.get(eventRow, EVM_ID));
+                    pendingEvents.deleteRow(eventRow);
+                }
+            }
+        }
+        pending.zapTop(count);
+    }
+
+    private int processIdleConnections(long idleTimestamp) {
+        int count = 0;
+        for (int i = 0, n = pending.size(); i < n && pending.get(i, OPM_CREATE_TIMESTAMP) < idleTimestamp; i++, count++) {
+            final long opId = pending.get(i, OPM_ID);
+            // the poll keeps the socket open, so it has to go before the connection is closed
+            cancelPoll(opId);
+            doDisconnect(pending.get(i), opId, DISCONNECT_SRC_IDLE);
+        }
+        pending.zapTop(count);
+        return count;
+    }
+
+    private boolean processRegistrations(long timestamp) {
+        boolean useful = false;
+        long cursor;
+        while ((cursor = interestSubSeq.next()) > -1) {
+            final IOEvent<C> event = interestQueue.get(cursor);
+            final C context = event.context;
+            final int requestedOperation = event.operation;
+            final long srcOpId = context.getAndResetHeartbeatId();
+            interestSubSeq.done(cursor);
+
+            useful = true;
+            final long opId = nextOpId();
+            final int fd = context.getFd();
+
+            int operation = requestedOperation;
+            final SuspendEvent suspendEvent = context.getSuspendEvent();
+            if (requestedOperation == IOOperation.HEARTBEAT) {
+                assert srcOpId != -1;
+
+                int heartbeatRow = pendingHeartbeats.binarySearch(srcOpId, OPM_ID);
+                if (heartbeatRow < 0) {
+                    continue; // The connection is already closed.
+                } else {
+                    operation = (int) pendingHeartbeats.get(heartbeatRow, OPM_OPERATION);
+
+                    LOG.debug().$("processing heartbeat registration [fd=").$(fd)
+                            .$(", op=").$(operation)
+                            .$(", srcId=").$(srcOpId)
+                            .$(", id=").$(opId).I$();
+
+                    int r = pending.addRow();
+                    pending.set(r, OPM_CREATE_TIMESTAMP, pendingHeartbeats.get(heartbeatRow, OPM_CREATE_TIMESTAMP));
+                    pending.set(r, OPM_HEARTBEAT_TIMESTAMP, timestamp);
+                    pending.set(r, OPM_FD, fd);
+                    pending.set(r, OPM_ID, opId);
+                    pending.set(r, OPM_OPERATION, operation);
+                    pending.set(r, context);
+
+                    pendingHeartbeats.deleteRow(heartbeatRow);
+                }
+            } else {
+                if (requestedOperation == IOOperation.READ && suspendEvent == null && context.getSocket().isMorePlaintextBuffered()) {
+                    publishOperation(IOOperation.READ, context);
+                    continue;
+                }
+
+                LOG.debug().$("processing registration [fd=").$(fd)
+                        .$(", op=").$(operation)
+                        .$(", id=").$(opId).I$();
+
+                int opRow = pending.addRow();
+                pending.set(opRow, OPM_CREATE_TIMESTAMP, timestamp);
+                pending.set(opRow, OPM_HEARTBEAT_TIMESTAMP, timestamp);
+                pending.set(opRow, OPM_FD, fd);
+                pending.set(opRow, OPM_ID, opId);
+                pending.set(opRow, OPM_OPERATION, requestedOperation);
+                pending.set(opRow, context);
+            }
+
+            if (suspendEvent != null) {
+                // if the operation was suspended, we request a read to be able to detect a client disconnect
+                operation = IOOperation.READ;
+                // ok, the operation was suspended, so we need to track the suspend event
+                final long eventId = nextEventId();
+                LOG.debug().$("registering suspend event [fd=").$(fd)
+                        .$(", op=").$(operation)
+                        .$(", eventId=").$(eventId)
+                        .$(", suspendedOpId=").$(opId)
+                        .$(", deadline=").$(suspendEvent.getDeadline()).I$();
+
+                int eventRow = pendingEvents.addRow();
+                pendingEvents.set(eventRow, EVM_ID, eventId);
+                pendingEvents.set(eventRow, EVM_OPERATION_ID, opId);
+                pendingEvents.set(eventRow, EVM_DEADLINE, suspendEvent.getDeadline());
+
+                armPoll(suspendEvent.getFd(), eventId, POLLIN);
+            }
+
+            // the socket has no poll armed at this point: it was consumed when the operation
+            // was published, or cancelled when the heartbeat was sent
+            armPoll(fd, opId, pollEvents(operation, context));
+        }
+        return useful;
+    }
+
+    private int processSuspendEventDeadlines(long timestamp) {
+        int count = 0;
+        int resumed = 0;
+        for (int i = 0, n = pendingEvents.size(); i < n && pendingEvents.get(i, EVM_DEADLINE) < timestamp; i++, count++) {
+            final long eventId = pendingEvents.get(i, EVM_ID);
+            final long opId = pendingEvents.get(i, EVM_OPERATION_ID);
+            final int pendingRow = pending.binarySearch(opId, OPM_ID);
+            if (pendingRow < 0) {
+                LOG.critical().$("internal error: failed to find operation for expired suspend event [id=").$(opId).I$();
+                continue;
+            }
+            // First, cancel the suspend event poll.
+            cancelPoll(eventId);
+            // Next, resume the original operation and close the event.
+            resumeOperation(pendingRow);
+            resumed++;
+        }
+        pendingEvents.zapTop(count);
+        return resumed;
+    }
+
+    private void resumeOperation(int row) {
+        // The socket is polled for a read while suspended, swap that poll for the original operation.
+        // The original operation is armed under a new id, see armResumedOperations(), so that a completion
+        // of the read poll that fired before it was cancelled cannot be taken for the new poll.
+        final C context = pending.get(row);
+        final SuspendEvent suspendEvent = context.getSuspendEvent();
+        assert suspendEvent != null;
+        cancelPoll(pending.get(row, OPM_ID));
+        context.clearSuspendEvent();
+
+        int r = resumedOperations.addRow();
+        resumedOperations.set(r, OPM_CREATE_TIMESTAMP, pending.get(row, OPM_CREATE_TIMESTAMP));
+        resumedOperations.set(r, OPM_HEARTBEAT_TIMESTAMP, pending.get(row, OPM_HEARTBEAT_TIMESTAMP));
+        resumedOperations.set(r, OPM_FD, pending.get(row, OPM_FD));
+        resumedOperations.set(r, OPM_ID, pending.get(row, OPM_ID));
+        resumedOperations.set(r, OPM_OPERATION, pending.get(row, OPM_OPERATION));
+        resumedOperations.set(r, context);
+        pending.deleteRow(row);
+    }
+
+    private int submit() {
+        final int n = ring.submit();
+        if (n < 0) {
+            LOG.critical().$("internal error: io_uring submit failure [err=").$(-n).I$();
+        }
+        return n;
+    }
+
+    @Override
+    protected void pendingAdded(int index) {
+        pending.set(index, OPM_ID, nextOpId());
+    }
+
+    @Override
+    protected void registerListenerFd() {
+        if (listenerId == -1) {
+            listenerId = nextOpId();
+            armPoll(serverFd, listenerId, POLLIN);
+        }
+    }
+
+    @Override
+    protected boolean runSerially() {
+        boolean useful = false;
+
+        final long timestamp = clock.getTicks();
+        processDisconnects(timestamp);
+        int watermark = pending.size();
+        while (ring.nextCqe()) {
+            final long id = ring.getCqeId();
+            final int res = ring.getCqeRes();
+            if (id == CANCEL_ID || res == -ECANCELED) {
+                continue;
+            }
+            // this is server socket, accept if there aren't too many already
+            if (id == listenerId) {
+                listenerId = -1;
+                accept(timestamp);
+                if (isListening()) {
+                    registerListenerFd();
+                }
+                useful = true;
+                continue;
+            }
+            if (isEventId(id)) {
+                if (handleSuspendEvent(id)) {
+                    // the operation has left pending, it is armed again once all completions are processed
+                    watermark--;
+                }
+                continue;
+            }
+            if (handleSocketOperation(id, res)) {
+                useful = true;
+                watermark--;
+            }
+        }
+
+        // process rows over watermark (new connections)
+        if (watermark < pending.size()) {
+            enqueuePending(watermark);
+        }
+
+        // process timed out suspend events and resume the original operations
+        if (pendingEvents.size() > 0 && pendingEvents.get(0, EVM_DEADLINE) < timestamp) {
+            watermark -= processSuspendEventDeadlines(timestamp);
+        }
+        if (resumedOperations.size() > 0) {
+            armResumedOperations();
+        }
+
+        // process timed out connections
+        final long idleTimestamp = timestamp - idleConnectionTimeout;
+        if (pending.size() > 0 && pending.get(0, OPM_CREATE_TIMESTAMP) < idleTimestamp) {
+            watermark -= processIdleConnections(idleTimestamp);
+            useful = true;
+        }
+
+        // process heartbeat timers
+        final long heartbeatTimestamp = timestamp - heartbeatIntervalMs;
+        if (watermark > 0 && pending.get(0, OPM_HEARTBEAT_TIMESTAMP) < heartbeatTimestamp) {
+            processHeartbeats(watermark, heartbeatTimestamp);
+            useful = true;
+        }
+
+        useful |= processRegistrations(timestamp);
+        // hand over everything armed or cancelled on this iteration in one go
+        submit();
+        return useful;
+    }
+
+    @Override
+    protected void unregisterListenerFd() {
+        if (listenerId != -1) {
+            cancelPoll(listenerId);
+            listenerId = -1;
+        }
+    }
+}
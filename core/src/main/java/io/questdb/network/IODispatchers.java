@@ -37,6 +37,9 @@ public class IODispatchers {
     ) {
         switch (Os.type) {
             case Os.LINUX:
+                if (configuration.isIOURingEnabled() && configuration.getIOURingFacade().isAvailable()) {
+                    return new IODispatcherLinuxIOURing<>(configuration, ioContextFactory);
+                }
                 return new IODispatcherLinux<>(configuration, ioContextFactory);
             case Os.DARWIN:
             case Os.FREEBSD:
@@ -27,16 +27,31 @@ package io.questdb.std;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.function.Predicate;
+
 /**
  * Cache for externally created objects, e.g. {@link io.questdb.cairo.sql.RecordCursorFactory}.
  * <p>
  * Note: implementations are not necessarily thread-safe.
  */
-public interface AssociativeCache<V> extends QuietCloseable {
+public interface AssociativeCache<V> extends QuietCloseable, Mutable {
 
     int capacity();
 
+    /**
+     * Frees all cached values. Values polled from the cache before the call
+     * are not affected and may be put back later.
+     */
+    @Override
+    void clear();
+
     V poll(@NotNull CharSequence key);
 
     void put(@NotNull CharSequence key, @Nullable V value);
+
+    /**
+     * Frees cached values that match the predicate. Like {@link #clear()}, values
+     * polled from the cache before the call are not affected.
+     */
+    void removeIf(@NotNull Predicate<? super V> predicate);
 }
@@ -31,6 +31,8 @@ import io.questdb.metrics.NullLongGauge;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.function.Predicate;
+
 /**
  * Thread-safe cache implementation.
  * <p>
@@ -91,7 +93,7 @@ public class ConcurrentAssociativeCache<V> implements AssociativeCache<V> {
     }
 
     @Override
-    public void close() {
+    public void clear() {
         long freed = 0;
         for (int i = 0; i < rows; i++) {
             final String[] rowKeys = keys.getQuick(i);
@@ -111,6 +113,11 @@ public class ConcurrentAssociativeCache<V> implements AssociativeCache<V> {
         cachedGauge.add(-freed);
     }
 
+    @Override
+    public void close() {
+        clear();
+    }
+
     @Override
     public V poll(@NotNull CharSequence key) {
         final int row = row(key);
@@ -188,6 +195,25 @@ public class ConcurrentAssociativeCache<V> implements AssociativeCache<V> {
         }
     }
 
+    @Override
+    public void removeIf(@NotNull Predicate<? super V> predicate) {
+        long freed = 0;
+        for (int i = 0; i < rows; i++) {
+            final String[] rowKeys = keys.getQuick(i);
+            final V[] rowValues = values.getQuick(i);
+            synchronized (rowKeys) {
+                for (int j = 0; j < blocks; j++) {
+                    if (rowValues[j] != null && predicate.test(rowValues[j])) {
+                        // the key stays, same as for polled values
+                        rowValues[j] = Misc.freeIfCloseable(rowValues[j]);
+                        freed++;
+                    }
+                }
+            }
+        }
+        cachedGauge.add(-freed);
+    }
+
     private int row(CharSequence key) {
         return Hash.spread(Chars.hashCode(key)) & rowMask;
     }
@@ -36,6 +36,27 @@ public interface IOURing extends Closeable {
     @TestOnly
     long enqueueNop();
 
+    /**
+     * Enqueues a one-shot poll for the given poll(2) events on the fd. The cqe res holds
+     * the mask of ready events once any of them is signalled, or a negative errno.
+     *
+     * @param fd       file descriptor to poll
+     * @param events   poll(2) event mask, e.g. POLLIN
+     * @param userData id reported in the cqe
+     * @return false if the submission queue is full, true otherwise
+     */
+    boolean enqueuePoll(int fd, int events, long userData);
+
+    /**
+     * Enqueues cancellation of a poll enqueued earlier. The cancelled poll completes
+     * with -ECANCELED, unless it has already completed.
+     *
+     * @param pollUserData user data of the poll to cancel
+     * @param userData     id reported in the cqe of the cancellation itself
+     * @return false if the submission queue is full, true otherwise
+     */
+    boolean enqueuePollRemove(long pollUserData, long userData);
+
     long enqueueRead(int fd, long offset, long bufPtr, int len);
 
     long getCqeId();
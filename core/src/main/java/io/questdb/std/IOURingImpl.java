@@ -97,6 +97,16 @@ public class IOURingImpl implements IOURing {
         return enqueueSqe(IORING_OP_NOP, 0, 0, 0, 0);
     }
 
+    @Override
+    public boolean enqueuePoll(int fd, int events, long userData) {
+        return enqueueSqe(IORING_OP_POLL_ADD, fd, 0, 0, 0, events, userData);
+    }
+
+    @Override
+    public boolean enqueuePollRemove(long pollUserData, long userData) {
+        return enqueueSqe(IORING_OP_POLL_REMOVE, -1, 0, pollUserData, 0, 0, userData);
+    }
+
     @Override
     public long enqueueRead(int fd, long offset, long bufAddr, int len) {
         return enqueueSqe(IORING_OP_READ, fd, offset, bufAddr, len);
@@ -153,18 +163,28 @@ public class IOURingImpl implements IOURing {
     }
 
     private long enqueueSqe(byte op, int fd, long offset, long bufAddr, int len) {
+        final long id = idSeq;
+        if (enqueueSqe(op, fd, offset, bufAddr, len, 0, id)) {
+            idSeq++;
+            return id;
+        }
+        return -1;
+    }
+
+    private boolean enqueueSqe(byte op, int fd, long offset, long bufAddr, int len, int opFlags, long userData) {
         final long sqeAddr = nextSqe();
         if (sqeAddr == 0) {
-            return -1;
+            return false;
         }
         Unsafe.getUnsafe().putByte(sqeAddr + SQE_OPCODE_OFFSET, op);
         Unsafe.getUnsafe().putInt(sqeAddr + SQE_FD_OFFSET, fd);
         Unsafe.getUnsafe().putLong(sqeAddr + SQE_OFF_OFFSET, offset);
         Unsafe.getUnsafe().putLong(sqeAddr + SQE_ADDR_OFFSET, bufAddr);
         Unsafe.getUnsafe().putInt(sqeAddr + SQE_LEN_OFFSET, len);
-        final long id = idSeq++;
-        Unsafe.getUnsafe().putLong(sqeAddr + SQE_USER_DATA_OFFSET, id);
-        return id;
+        // sqes are reused, so the op flags must be reset for the ops that do not use them
+        Unsafe.getUnsafe().putInt(sqeAddr + SQE_OP_FLAGS_OFFSET, opFlags);
+        Unsafe.getUnsafe().putLong(sqeAddr + SQE_USER_DATA_OFFSET, userData);
+        return true;
     }
 
     /**
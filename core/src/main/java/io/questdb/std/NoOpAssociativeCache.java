@@ -27,6 +27,8 @@ package io.questdb.std;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.function.Predicate;
+
 /**
  * No-op cache implementation. It doesn't cache anything and simply closes given objects.
  */
@@ -37,6 +39,11 @@ public class NoOpAssociativeCache<V> implements AssociativeCache<V> {
         return 0;
     }
 
+    @Override
+    public void clear() {
+        // no-op
+    }
+
     @Override
     public void close() {
         // no-op
@@ -51,4 +58,9 @@ public class NoOpAssociativeCache<V> implements AssociativeCache<V> {
     public void put(@NotNull CharSequence key, @Nullable V value) {
         Misc.freeIfCloseable(value);
     }
+
+    @Override
+    public void removeIf(@NotNull Predicate<? super V> predicate) {
+        // no-op
+    }
 }
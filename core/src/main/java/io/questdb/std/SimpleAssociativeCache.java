@@ -31,10 +31,12 @@ import io.questdb.metrics.NullLongGauge;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.function.Predicate;
+
 /**
  * Thread-unsafe cache implementation.
  */
-public class SimpleAssociativeCache<V> implements AssociativeCache<V>, Mutable {
+public class SimpleAssociativeCache<V> implements AssociativeCache<V> {
     private static final int MIN_BLOCKS = 1;
     private static final int MIN_ROWS = 1;
     private static final int NOT_FOUND = -1;
@@ -157,6 +159,19 @@ public class SimpleAssociativeCache<V> implements AssociativeCache<V>, Mutable {
         }
     }
 
+    @Override
+    public void removeIf(@NotNull Predicate<? super V> predicate) {
+        long freed = 0;
+        for (int i = 0, n = values.length; i < n; i++) {
+            if (values[i] != null && predicate.test(values[i])) {
+                // the key stays, same as for polled values
+                values[i] = Misc.freeIfCloseable(values[i]);
+                freed++;
+            }
+        }
+        cachedGauge.add(-freed);
+    }
+
     private int getIndex(CharSequence key) {
         int lo = lo(key);
         for (int i = lo, hi = lo + blocks; i < hi; i++) {
@@ -161,6 +161,8 @@ public class PropServerConfigurationTest {
 
         Assert.assertEquals(CommitMode.NOSYNC, configuration.getCairoConfiguration().getCommitMode());
         Assert.assertEquals(2097152, configuration.getCairoConfiguration().getSqlCopyBufferSize());
+        Assert.assertNull(configuration.getCairoConfiguration().getSqlCopyExportRoot());
+        Assert.assertEquals(100_000, configuration.getCairoConfiguration().getSqlCopyExportRowGroupSize());
         Assert.assertEquals(32, configuration.getCairoConfiguration().getCopyPoolCapacity());
         Assert.assertEquals(5, configuration.getCairoConfiguration().getCreateAsSelectRetryCount());
         Assert.assertTrue(configuration.getCairoConfiguration().getDefaultSymbolCacheFlag());
@@ -205,7 +207,10 @@ public class PropServerConfigurationTest {
         Assert.assertEquals(1000, configuration.getCairoConfiguration().getSqlLatestByRowCount());
         Assert.assertEquals(1024 * 1024, configuration.getCairoConfiguration().getSqlHashJoinLightValuePageSize());
         Assert.assertEquals(Integer.MAX_VALUE, configuration.getCairoConfiguration().getSqlHashJoinLightValueMaxPages());
+        Assert.assertEquals(100_000_000, configuration.getCairoConfiguration().getSqlHashJoinPresizeMaxSize());
+        Assert.assertEquals(Numbers.SIZE_1GB, configuration.getCairoConfiguration().getSqlHashJoinPresizeMaxHeapSize());
         Assert.assertEquals(100, configuration.getCairoConfiguration().getSqlAsOfJoinLookAhead());
+        Assert.assertFalse(configuration.getCairoConfiguration().isSqlAsOfJoinFastScanEnabled());
         Assert.assertEquals(16 * 1024 * 1024, configuration.getCairoConfiguration().getSqlSortValuePageSize());
         Assert.assertEquals(Integer.MAX_VALUE, configuration.getCairoConfiguration().getSqlSortValueMaxPages());
         Assert.assertEquals(10000, configuration.getCairoConfiguration().getWorkStealTimeoutNanos());
@@ -248,9 +253,12 @@ public class PropServerConfigurationTest {
         Assert.assertFalse(configuration.getLineUdpReceiverConfiguration().ownThread());
 
         Assert.assertTrue(configuration.getCairoConfiguration().isSqlParallelFilterPreTouchEnabled());
+        Assert.assertFalse(configuration.getCairoConfiguration().isSqlZoneMapsEnabled());
+        Assert.assertFalse(configuration.getCairoConfiguration().isSqlBloomFiltersEnabled());
         Assert.assertEquals(16, configuration.getCairoConfiguration().getSqlParallelWorkStealingThreshold());
         Assert.assertEquals(1_000_000, configuration.getCairoConfiguration().getSqlPageFrameMaxRows());
         Assert.assertEquals(100_000, configuration.getCairoConfiguration().getSqlPageFrameMinRows());
+        Assert.assertEquals(0, configuration.getCairoConfiguration().getSqlPageFrameReadAheadFrames());
         Assert.assertEquals(256, configuration.getCairoConfiguration().getPageFrameReduceRowIdListCapacity());
         Assert.assertEquals(16, configuration.getCairoConfiguration().getPageFrameReduceColumnListCapacity());
         Assert.assertEquals(100_000, configuration.getCairoConfiguration().getGroupByShardingThreshold());
@@ -279,6 +287,7 @@ public class PropServerConfigurationTest {
         Assert.assertSame(EpollFacadeImpl.INSTANCE, configuration.getHttpServerConfiguration().getDispatcherConfiguration().getEpollFacade());
         Assert.assertSame(SelectFacadeImpl.INSTANCE, configuration.getHttpServerConfiguration().getDispatcherConfiguration().getSelectFacade());
         Assert.assertEquals(64, configuration.getHttpServerConfiguration().getDispatcherConfiguration().getTestConnectionBufferSize());
+        Assert.assertFalse(configuration.getHttpServerConfiguration().getDispatcherConfiguration().isIOURingEnabled());
         Assert.assertTrue(FilesFacadeImpl.class.isAssignableFrom(configuration.getCairoConfiguration().getFilesFacade().getClass()));
         Assert.assertSame(MillisecondClockImpl.INSTANCE, configuration.getCairoConfiguration().getMillisecondClock());
         Assert.assertSame(MicrosecondClockImpl.INSTANCE, configuration.getCairoConfiguration().getMicrosecondClock());
@@ -315,11 +324,14 @@ public class PropServerConfigurationTest {
         Assert.assertEquals(-1, configuration.getLineTcpReceiverConfiguration().getDispatcherConfiguration().getRcvBufSize());
         Assert.assertEquals(-1, configuration.getLineTcpReceiverConfiguration().getDispatcherConfiguration().getSndBufSize());
         Assert.assertEquals(64, configuration.getLineTcpReceiverConfiguration().getDispatcherConfiguration().getTestConnectionBufferSize());
+        Assert.assertFalse(configuration.getLineTcpReceiverConfiguration().getDispatcherConfiguration().isIOURingEnabled());
         Assert.assertEquals(8, configuration.getLineTcpReceiverConfiguration().getConnectionPoolInitialCapacity());
         Assert.assertEquals(LineNanoTimestampAdapter.INSTANCE, configuration.getLineTcpReceiverConfiguration().getTimestampAdapter().getDefaultAdapter());
         Assert.assertEquals(32768, configuration.getLineTcpReceiverConfiguration().getNetMsgBufferSize());
         Assert.assertEquals(32768, configuration.getLineTcpReceiverConfiguration().getMaxMeasurementSize());
         Assert.assertEquals(128, configuration.getLineTcpReceiverConfiguration().getWriterQueueCapacity());
+        Assert.assertEquals(0, configuration.getLineTcpReceiverConfiguration().getWriterRebalanceInterval());
+        Assert.assertEquals(1.5, configuration.getLineTcpReceiverConfiguration().getWriterRebalanceLoadRatio(), 0.000001);
         Assert.assertEquals(0, configuration.getLineTcpReceiverConfiguration().getWriterWorkerPoolConfiguration().getWorkerCount());
         Assert.assertEquals(10, configuration.getLineTcpReceiverConfiguration().getWriterWorkerPoolConfiguration().getYieldThreshold());
         Assert.assertEquals(7_000, configuration.getLineTcpReceiverConfiguration().getWriterWorkerPoolConfiguration().getNapThreshold());
@@ -370,6 +382,7 @@ public class PropServerConfigurationTest {
         // PG wire
         Assert.assertEquals(64, configuration.getPGWireConfiguration().getDispatcherConfiguration().getLimit());
         Assert.assertEquals(64, configuration.getPGWireConfiguration().getDispatcherConfiguration().getTestConnectionBufferSize());
+        Assert.assertFalse(configuration.getPGWireConfiguration().getDispatcherConfiguration().isIOURingEnabled());
         Assert.assertEquals(2, configuration.getPGWireConfiguration().getBinParamCountCapacity());
         Assert.assertTrue(configuration.getPGWireConfiguration().isSelectCacheEnabled());
         Assert.assertEquals(8 * configuration.getWorkerPoolConfiguration().getWorkerCount(), configuration.getPGWireConfiguration().getSelectCacheBlockCount());
@@ -401,6 +414,10 @@ public class PropServerConfigurationTest {
         Assert.assertFalse(configuration.getCairoConfiguration().attachPartitionCopy());
 
         Assert.assertEquals(30_000, configuration.getCairoConfiguration().getWalPurgeInterval());
+        Assert.assertEquals(60_000, configuration.getCairoConfiguration().getPartitionTtlCheckInterval());
+        Assert.assertNull(configuration.getCairoConfiguration().getPartitionTieringVolume());
+        Assert.assertEquals(604_800_000, configuration.getCairoConfiguration().getPartitionTieringAge());
+        Assert.assertEquals(60_000, configuration.getCairoConfiguration().getPartitionTieringCheckInterval());
         Assert.assertEquals(3, configuration.getCairoConfiguration().getWalRecreateDistressedSequencerAttempts());
         Assert.assertEquals(120_000, configuration.getCairoConfiguration().getInactiveWalWriterTTL());
         Assert.assertEquals(4096, configuration.getCairoConfiguration().getWalTxnNotificationQueueCapacity());
@@ -418,6 +435,7 @@ public class PropServerConfigurationTest {
         Assert.assertEquals(20, configuration.getCairoConfiguration().getWalApplyLookAheadTransactionCount());
         Assert.assertEquals(4, configuration.getCairoConfiguration().getO3LagCalculationWindowsSize());
         Assert.assertEquals(200_000, configuration.getCairoConfiguration().getWalSegmentRolloverRowCount());
+        Assert.assertEquals(0, configuration.getCairoConfiguration().getWalSquashSmallTxnMaxRows());
         Assert.assertEquals(20.0d, configuration.getCairoConfiguration().getWalSquashUncommittedRowsMultiplier(), 0.00001);
         Assert.assertEquals(-1, configuration.getCairoConfiguration().getWalMaxLagTxnCount());
         Assert.assertEquals(1048576, configuration.getCairoConfiguration().getWalDataAppendPageSize());
@@ -634,6 +652,18 @@ public class PropServerConfigurationTest {
         Assert.assertTrue(configuration.getCairoConfiguration().getTextConfiguration().isUseLegacyStringDefault());
     }
 
+    @Test
+    public void testExportRootCantBeTheSameAsOtherInstanceDirectories() throws Exception {
+        Properties properties = new Properties();
+
+        PropServerConfiguration configuration = newPropServerConfiguration(root, properties, null, new BuildInformationHolder());
+        assertExportRootCantBeSetTo(properties, root);
+        assertExportRootCantBeSetTo(properties, configuration.getCairoConfiguration().getRoot());
+        assertExportRootCantBeSetTo(properties, configuration.getCairoConfiguration().getSnapshotRoot().toString());
+        assertExportRootCantBeSetTo(properties, configuration.getCairoConfiguration().getConfRoot().toString());
+        assertExportRootCantBeSetTo(properties, getRelativePath(configuration.getCairoConfiguration().getRoot()));
+    }
+
     @Test
     public void testHttpDisabled() throws Exception {
         try (InputStream is = PropServerConfigurationTest.class.getResourceAsStream("/server-http-disabled.conf")) {
@@ -998,6 +1028,7 @@ public class PropServerConfigurationTest {
             Assert.assertEquals(4194304, configuration.getHttpServerConfiguration().getDispatcherConfiguration().getSndBufSize());
             Assert.assertEquals(8388608, configuration.getHttpServerConfiguration().getDispatcherConfiguration().getRcvBufSize());
             Assert.assertEquals(16, configuration.getHttpServerConfiguration().getDispatcherConfiguration().getTestConnectionBufferSize());
+            Assert.assertTrue(configuration.getHttpServerConfiguration().getDispatcherConfiguration().isIOURingEnabled());
             Assert.assertEquals(168101918, configuration.getHttpServerConfiguration().getDispatcherConfiguration().getBindIPv4Address());
             Assert.assertEquals(9900, configuration.getHttpServerConfiguration().getDispatcherConfiguration().getBindPort());
             Assert.assertEquals(2_000, configuration.getHttpServerConfiguration().getJsonQueryProcessorConfiguration().getConnectionCheckFrequency());
@@ -1250,6 +1281,16 @@ public class PropServerConfigurationTest {
         newPropServerConfiguration(root, properties, null, new BuildInformationHolder());
     }
 
+    private void assertExportRootCantBeSetTo(Properties properties, String value) throws JsonException {
+        try {
+            properties.setProperty(PropertyKey.CAIRO_SQL_COPY_EXPORT_ROOT.getPropertyPath(), value);
+            newPropServerConfiguration(root, properties, null, new BuildInformationHolder());
+            Assert.fail("Should fail for " + value);
+        } catch (ServerConfigurationException e) {
+            TestUtils.assertContains(e.getMessage(), "cairo.sql.copy.export.root can't point to root, data, conf or snapshot dirs");
+        }
+    }
+
     private void assertInputWorkRootCantBeSetTo(Properties properties, String value) throws JsonException {
         try {
             properties.setProperty(PropertyKey.CAIRO_SQL_COPY_ROOT.getPropertyPath(), value);
@@ -1301,6 +1342,7 @@ public class PropServerConfigurationTest {
         Assert.assertEquals(512, configuration.getTextConfiguration().getTimestampAdapterPoolCapacity());
         Assert.assertEquals(8192, configuration.getTextConfiguration().getUtf8SinkSize());
         Assert.assertEquals(4194304, configuration.getSqlCopyBufferSize());
+        Assert.assertEquals(1000, configuration.getSqlCopyExportRowGroupSize());
         Assert.assertEquals(64, configuration.getCopyPoolCapacity());
         Assert.assertEquals(8, configuration.getDoubleToStrCastScale());
         Assert.assertEquals(3, configuration.getFloatToStrCastScale());
@@ -1346,7 +1388,10 @@ public class PropServerConfigurationTest {
         Assert.assertEquals(10000, configuration.getSqlLatestByRowCount());
         Assert.assertEquals(2 * 1024 * 1024, configuration.getSqlHashJoinLightValuePageSize());
         Assert.assertEquals(1025, configuration.getSqlHashJoinLightValueMaxPages());
+        Assert.assertEquals(100_000, configuration.getSqlHashJoinPresizeMaxSize());
+        Assert.assertEquals(64 * 1024 * 1024, configuration.getSqlHashJoinPresizeMaxHeapSize());
         Assert.assertEquals(42, configuration.getSqlAsOfJoinLookAhead());
+        Assert.assertTrue(configuration.isSqlAsOfJoinFastScanEnabled());
         Assert.assertEquals(4 * 1024 * 1024, configuration.getSqlSortValuePageSize());
         Assert.assertEquals(1028, configuration.getSqlSortValueMaxPages());
         Assert.assertEquals(1000000, configuration.getWorkStealTimeoutNanos());
@@ -1393,10 +1438,13 @@ public class PropServerConfigurationTest {
 
         Assert.assertFalse(configuration.isSqlParallelFilterEnabled());
         Assert.assertFalse(configuration.isSqlParallelFilterPreTouchEnabled());
+        Assert.assertTrue(configuration.isSqlZoneMapsEnabled());
+        Assert.assertTrue(configuration.isSqlBloomFiltersEnabled());
         Assert.assertFalse(configuration.isSqlParallelGroupByEnabled());
         Assert.assertEquals(32, configuration.getSqlParallelWorkStealingThreshold());
         Assert.assertEquals(1000, configuration.getSqlPageFrameMaxRows());
         Assert.assertEquals(100, configuration.getSqlPageFrameMinRows());
+        Assert.assertEquals(4, configuration.getSqlPageFrameReadAheadFrames());
         Assert.assertEquals(128, configuration.getPageFrameReduceShardCount());
         Assert.assertEquals(1024, configuration.getPageFrameReduceQueueCapacity());
         Assert.assertEquals(8, configuration.getPageFrameReduceRowIdListCapacity());
@@ -1440,6 +1488,9 @@ public class PropServerConfigurationTest {
         Assert.assertTrue(configuration.attachPartitionCopy());
 
         Assert.assertEquals(333, configuration.getWalPurgeInterval());
+        Assert.assertEquals(444, configuration.getPartitionTtlCheckInterval());
+        Assert.assertEquals(86_400_000, configuration.getPartitionTieringAge());
+        Assert.assertEquals(555, configuration.getPartitionTieringCheckInterval());
         Assert.assertEquals(13, configuration.getWalRecreateDistressedSequencerAttempts());
         Assert.assertEquals(333303, configuration.getInactiveWalWriterTTL());
         Assert.assertEquals(128, configuration.getWalTxnNotificationQueueCapacity());
@@ -238,6 +238,8 @@ public class ServerMainTest extends AbstractBootstrapTest {
                                     "cairo.sql.column.purge.retry.delay.multiplier\tQDB_CAIRO_SQL_COLUMN_PURGE_RETRY_DELAY_MULTIPLIER\t10.0\tdefault\tfalse\tfalse\n" +
                                     "cairo.sql.column.purge.task.pool.capacity\tQDB_CAIRO_SQL_COLUMN_PURGE_TASK_POOL_CAPACITY\t256\tdefault\tfalse\tfalse\n" +
                                     "cairo.sql.copy.buffer.size\tQDB_CAIRO_SQL_COPY_BUFFER_SIZE\t2097152\tdefault\tfalse\tfalse\n" +
+                                    "cairo.sql.copy.export.root\tQDB_CAIRO_SQL_COPY_EXPORT_ROOT\t\tdefault\tfalse\tfalse\n" +
+                                    "cairo.sql.copy.export.row.group.size\tQDB_CAIRO_SQL_COPY_EXPORT_ROW_GROUP_SIZE\t100000\tdefault\tfalse\tfalse\n" +
                                     "cairo.sql.copy.formats.file\tQDB_CAIRO_SQL_COPY_FORMATS_FILE\t/text_loader.json\tdefault\tfalse\tfalse\n" +
                                     "cairo.sql.copy.id.supplier\tQDB_CAIRO_SQL_COPY_ID_SUPPLIER\trandom\tdefault\tfalse\tfalse\n" +
                                     "cairo.sql.copy.log.retention.days\tQDB_CAIRO_SQL_COPY_LOG_RETENTION_DAYS\t3\tdefault\tfalse\tfalse\n" +
@@ -259,9 +261,12 @@ public class ServerMainTest extends AbstractBootstrapTest {
                                     "cairo.sql.groupby.allocator.max.chunk.size\tQDB_CAIRO_SQL_GROUPBY_ALLOCATOR_MAX_CHUNK_SIZE\t4294967296\tdefault\tfalse\tfalse\n" +
                                     "cairo.sql.hash.join.light.value.max.pages\tQDB_CAIRO_SQL_HASH_JOIN_LIGHT_VALUE_MAX_PAGES\t2147483647\tdefault\tfalse\tfalse\n" +
                                     "cairo.sql.hash.join.light.value.page.size\tQDB_CAIRO_SQL_HASH_JOIN_LIGHT_VALUE_PAGE_SIZE\t1048576\tdefault\tfalse\tfalse\n" +
+                                    "cairo.sql.hash.join.presize.max.heap.size\tQDB_CAIRO_SQL_HASH_JOIN_PRESIZE_MAX_HEAP_SIZE\t1073741824\tdefault\tfalse\tfalse\n" +
+                                    "cairo.sql.hash.join.presize.max.size\tQDB_CAIRO_SQL_HASH_JOIN_PRESIZE_MAX_SIZE\t100000000\tdefault\tfalse\tfalse\n" +
                                     "cairo.sql.hash.join.value.max.pages\tQDB_CAIRO_SQL_HASH_JOIN_VALUE_MAX_PAGES\t2147483647\tdefault\tfalse\tfalse\n" +
                                     "cairo.sql.hash.join.value.page.size\tQDB_CAIRO_SQL_HASH_JOIN_VALUE_PAGE_SIZE\t16777216\tdefault\tfalse\tfalse\n" +
                                     "cairo.sql.asof.join.lookahead\tQDB_CAIRO_SQL_ASOF_JOIN_LOOKAHEAD\t100\tdefault\tfalse\tfalse\n" +
+                                    "cairo.sql.asof.join.fast.scan.enabled\tQDB_CAIRO_SQL_ASOF_JOIN_FAST_SCAN_ENABLED\tfalse\tdefault\tfalse\tfalse\n" +
                                     "cairo.sql.insert.model.pool.capacity\tQDB_CAIRO_SQL_INSERT_MODEL_POOL_CAPACITY\t64\tdefault\tfalse\tfalse\n" +
                                     "cairo.sql.insert.model.batch.size\tQDB_CAIRO_SQL_INSERT_MODEL_BATCH_SIZE\t1000000\tdefault\tfalse\tfalse\n" +
                                     "cairo.sql.jit.bind.vars.memory.max.pages\tQDB_CAIRO_SQL_JIT_BIND_VARS_MEMORY_MAX_PAGES\t8\tdefault\tfalse\tfalse\n" +
@@ -283,8 +288,11 @@ public class ServerMainTest extends AbstractBootstrapTest {
                                     "cairo.sql.max.symbol.not.equals.count\tQDB_CAIRO_SQL_MAX_SYMBOL_NOT_EQUALS_COUNT\t100\tdefault\tfalse\tfalse\n" +
                                     "cairo.sql.page.frame.max.rows\tQDB_CAIRO_SQL_PAGE_FRAME_MAX_ROWS\t1000000\tdefault\tfalse\tfalse\n" +
                                     "cairo.sql.page.frame.min.rows\tQDB_CAIRO_SQL_PAGE_FRAME_MIN_ROWS\t100000\tdefault\tfalse\tfalse\n" +
+                                    "cairo.sql.page.frame.read.ahead.frames\tQDB_CAIRO_SQL_PAGE_FRAME_READ_AHEAD_FRAMES\t0\tdefault\tfalse\tfalse\n" +
                                     "cairo.sql.parallel.filter.enabled\tQDB_CAIRO_SQL_PARALLEL_FILTER_ENABLED\tfalse\tdefault\tfalse\tfalse\n" +
                                     "cairo.sql.parallel.filter.pretouch.enabled\tQDB_CAIRO_SQL_PARALLEL_FILTER_PRETOUCH_ENABLED\ttrue\tdefault\tfalse\tfalse\n" +
+                                    "cairo.sql.zone.maps.enabled\tQDB_CAIRO_SQL_ZONE_MAPS_ENABLED\tfalse\tdefault\tfalse\tfalse\n" +
+                                    "cairo.sql.bloom.filters.enabled\tQDB_CAIRO_SQL_BLOOM_FILTERS_ENABLED\tfalse\tdefault\tfalse\tfalse\n" +
                                     "cairo.sql.parallel.groupby.enabled\tQDB_CAIRO_SQL_PARALLEL_GROUPBY_ENABLED\tfalse\tdefault\tfalse\tfalse\n" +
                                     "cairo.sql.parallel.groupby.merge.shard.queue.capacity\tQDB_CAIRO_SQL_PARALLEL_GROUPBY_MERGE_SHARD_QUEUE_CAPACITY\t4\tdefault\tfalse\tfalse\n" +
                                     "cairo.sql.parallel.groupby.sharding.threshold\tQDB_CAIRO_SQL_PARALLEL_GROUPBY_SHARDING_THRESHOLD\t100000\tdefault\tfalse\tfalse\n" +
@@ -332,9 +340,14 @@ public class ServerMainTest extends AbstractBootstrapTest {
                                     "cairo.wal.max.segment.file.descriptors.cache\tQDB_CAIRO_WAL_MAX_SEGMENT_FILE_DESCRIPTORS_CACHE\t30\tdefault\tfalse\tfalse\n" +
                                     "cairo.wal.max.lag.size\tQDB_CAIRO_WAL_MAX_LAG_SIZE\t78643200\tdefault\tfalse\tfalse\n" +
                                     "cairo.wal.purge.interval\tQDB_CAIRO_WAL_PURGE_INTERVAL\t30000\tdefault\tfalse\tfalse\n" +
+                                    "cairo.partition.ttl.check.interval\tQDB_CAIRO_PARTITION_TTL_CHECK_INTERVAL\t60000\tdefault\tfalse\tfalse\n" +
+                                    "cairo.partition.tiering.volume\tQDB_CAIRO_PARTITION_TIERING_VOLUME\t\tdefault\tfalse\tfalse\n" +
+                                    "cairo.partition.tiering.age\tQDB_CAIRO_PARTITION_TIERING_AGE\t604800000\tdefault\tfalse\tfalse\n" +
+                                    "cairo.partition.tiering.check.interval\tQDB_CAIRO_PARTITION_TIERING_CHECK_INTERVAL\t60000\tdefault\tfalse\tfalse\n" +
                                     "cairo.wal.recreate.distressed.sequencer.attempts\tQDB_CAIRO_WAL_RECREATE_DISTRESSED_SEQUENCER_ATTEMPTS\t3\tdefault\tfalse\tfalse\n" +
                                     "cairo.wal.segment.rollover.row.count\tQDB_CAIRO_WAL_SEGMENT_ROLLOVER_ROW_COUNT\t200000\tdefault\tfalse\tfalse\n" +
                                     "cairo.wal.segment.rollover.size\tQDB_CAIRO_WAL_SEGMENT_ROLLOVER_SIZE\t0\tdefault\tfalse\tfalse\n" +
+                                    "cairo.wal.squash.small.txn.max.rows\tQDB_CAIRO_WAL_SQUASH_SMALL_TXN_MAX_ROWS\t0\tdefault\tfalse\tfalse\n" +
                                     "cairo.wal.squash.uncommitted.rows.multiplier\tQDB_CAIRO_WAL_SQUASH_UNCOMMITTED_ROWS_MULTIPLIER\t20.0\tdefault\tfalse\tfalse\n" +
                                     "cairo.wal.supported\tQDB_CAIRO_WAL_SUPPORTED\ttrue\tdefault\tfalse\tfalse\n" +
                                     "cairo.wal.temp.pending.rename.table.prefix\tQDB_CAIRO_WAL_TEMP_PENDING_RENAME_TABLE_PREFIX\ttemp_5822f658-31f6-11ee-be56-0242ac120002\tdefault\tfalse\tfalse\n" +
@@ -477,6 +490,8 @@ public class ServerMainTest extends AbstractBootstrapTest {
                                     "line.tcp.undocumented.string.to.char.cast.allowed\tQDB_LINE_TCP_UNDOCUMENTED_STRING_TO_CHAR_CAST_ALLOWED\tfalse\tdefault\tfalse\tfalse\n" +
                                     "line.tcp.writer.halt.on.error\tQDB_LINE_TCP_WRITER_HALT_ON_ERROR\tfalse\tdefault\tfalse\tfalse\n" +
                                     "line.tcp.writer.queue.capacity\tQDB_LINE_TCP_WRITER_QUEUE_CAPACITY\t128\tdefault\tfalse\tfalse\n" +
+                                    "line.tcp.writer.rebalance.interval\tQDB_LINE_TCP_WRITER_REBALANCE_INTERVAL\t0\tdefault\tfalse\tfalse\n" +
+                                    "line.tcp.writer.rebalance.load.ratio\tQDB_LINE_TCP_WRITER_REBALANCE_LOAD_RATIO\t1.5\tdefault\tfalse\tfalse\n" +
                                     "line.tcp.writer.worker.affinity\tQDB_LINE_TCP_WRITER_WORKER_AFFINITY\t\tdefault\tfalse\tfalse\n" +
                                     "line.tcp.writer.worker.count\tQDB_LINE_TCP_WRITER_WORKER_COUNT\t1\tconf\tfalse\tfalse\n" +
                                     "line.tcp.writer.worker.sleep.threshold\tQDB_LINE_TCP_WRITER_WORKER_SLEEP_THRESHOLD\t10000\tdefault\tfalse\tfalse\n" +
@@ -496,6 +511,7 @@ public class ServerMainTest extends AbstractBootstrapTest {
                                     "line.udp.unicast\tQDB_LINE_UDP_UNICAST\tfalse\tdefault\tfalse\tfalse\n" +
                                     "metrics.enabled\tQDB_METRICS_ENABLED\tfalse\tconf\tfalse\tfalse\n" +
                                     "net.test.connection.buffer.size\tQDB_NET_TEST_CONNECTION_BUFFER_SIZE\t64\tdefault\tfalse\tfalse\n" +
+                                    "net.io.uring.enabled\tQDB_NET_IO_URING_ENABLED\tfalse\tdefault\tfalse\tfalse\n" +
                                     "pg.binary.param.count.capacity\tQDB_PG_BINARY_PARAM_COUNT_CAPACITY\t2\tdefault\tfalse\tfalse\n" +
                                     "pg.character.store.capacity\tQDB_PG_CHARACTER_STORE_CAPACITY\t4096\tdefault\tfalse\tfalse\n" +
                                     "pg.character.store.pool.capacity\tQDB_PG_CHARACTER_STORE_POOL_CAPACITY\t64\tdefault\tfalse\tfalse\n" +
@@ -27,12 +27,14 @@ package io.questdb.test.cairo;
 import io.questdb.PropertyKey;
 import io.questdb.cairo.*;
 import io.questdb.cairo.pool.PoolListener;
+import io.questdb.cairo.sql.RecordCursorFactory;
 import io.questdb.cairo.sql.TableReferenceOutOfDateException;
 import io.questdb.cairo.vm.Vm;
 import io.questdb.cairo.vm.api.MemoryMARW;
 import io.questdb.mp.Job;
 import io.questdb.mp.SOCountDownLatch;
 import io.questdb.mp.WorkerPool;
+import io.questdb.std.ConcurrentAssociativeCache;
 import io.questdb.std.Files;
 import io.questdb.std.Misc;
 import io.questdb.std.Os;
@@ -298,6 +300,56 @@ public class CairoEngineTest extends AbstractCairoTest {
         });
     }
 
+    @Test
+    public void testQueryCacheInvalidatedOnDdl() throws Exception {
+        assertMemoryLeak(() -> {
+            ddl("create table x (a int, b long, ts timestamp) timestamp(ts) partition by day");
+            ddl("create table y (a int)");
+            final ConcurrentAssociativeCache<RecordCursorFactory> cache = new ConcurrentAssociativeCache<>(4, 4);
+            engine.addQueryCache(cache);
+            try {
+                cache.put("x", select("x"));
+                cache.put("y", select("y"));
+                ddl("alter table x add column c long");
+                Assert.assertNull(cache.poll("x"));
+                // queries on other tables stay cached
+                RecordCursorFactory factory = cache.poll("y");
+                Assert.assertNotNull(factory);
+                cache.put("y", factory);
+
+                cache.put("x", select("x"));
+                ddl("alter table x rename column c to d");
+                Assert.assertNull(cache.poll("x"));
+
+                cache.put("x", select("x"));
+                ddl("alter table x drop column d");
+                Assert.assertNull(cache.poll("x"));
+
+                cache.put("x", select("x"));
+                ddl("alter table x alter column b type int");
+                Assert.assertNull(cache.poll("x"));
+
+                // new tables can't be referenced by the cached queries
+                cache.put("x", select("x"));
+                ddl("create table z (a int)");
+                factory = cache.poll("x");
+                Assert.assertNotNull(factory);
+                cache.put("x", factory);
+
+                cache.put("xy", select("x cross join y"));
+                drop("drop table y");
+                Assert.assertNull(cache.poll("y"));
+                Assert.assertNull(cache.poll("xy"));
+                factory = cache.poll("x");
+                Assert.assertNotNull(factory);
+                cache.put("x", factory);
+            } finally {
+                engine.removeQueryCache(cache);
+                cache.close();
+            }
+        });
+    }
+
     @Test
     public void testRemoveExisting() throws Exception {
         assertMemoryLeak(() -> {
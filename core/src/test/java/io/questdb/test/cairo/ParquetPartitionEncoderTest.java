@@ -0,0 +1,499 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.test.cairo;
+
+import io.questdb.PropertyKey;
+import io.questdb.cairo.CairoException;
+import io.questdb.cairo.ColumnType;
+import io.questdb.cairo.ParquetPartitionEncoder;
+import io.questdb.cairo.TableReader;
+import io.questdb.cairo.security.ReadOnlySecurityContext;
+import io.questdb.cairo.sql.Record;
+import io.questdb.cairo.sql.RecordCursor;
+import io.questdb.cairo.sql.RecordCursorFactory;
+import io.questdb.cairo.sql.RecordMetadata;
+import io.questdb.griffin.SqlExecutionContext;
+import io.questdb.griffin.SqlExecutionContextImpl;
+import io.questdb.std.Numbers;
+import io.questdb.std.str.Path;
+import io.questdb.std.str.StringSink;
+import io.questdb.std.str.Utf8s;
+import io.questdb.test.AbstractCairoTest;
+import io.questdb.test.tools.TestUtils;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+public class ParquetPartitionEncoderTest extends AbstractCairoTest {
+    private static String exportRoot;
+
+    @BeforeClass
+    public static void setUpStatic() throws Exception {
+        exportRoot = TestUtils.unchecked(() -> temp.newFolder("export" + System.nanoTime()).getAbsolutePath());
+        AbstractCairoTest.setUpStatic();
+    }
+
+    @Override
+    public void setUp() {
+        node1.setProperty(PropertyKey.CAIRO_SQL_COPY_EXPORT_ROOT, exportRoot);
+        super.setUp();
+    }
+
+    @Test
+    public void testCopyExport() throws Exception {
+        assertMemoryLeak(() -> {
+            ddl("create table x as (" +
+                    "select rnd_int(-100, 100, 3) i, rnd_double(2) d, rnd_symbol('a','bb',null) s, rnd_varchar('v','ww',null) vc," +
+                    " timestamp_sequence('2020-01-01', 7200000000L) ts" +
+                    " from long_sequence(30)" +
+                    ") timestamp(ts) partition by day");
+
+            assertSql("partitions\n3\n", "copy x to 'x_export' with format parquet");
+
+            final StringSink actual = new StringSink();
+            try (TableReader reader = getReader("x")) {
+                for (String partition : new String[]{"2020-01-01", "2020-01-02", "2020-01-03"}) {
+                    decode(Paths.get(exportRoot, "x_export", partition + ".parquet").toString(), reader.getMetadata(), actual);
+                }
+            }
+            TestUtils.assertEquals(render("x"), actual);
+
+            // re-export overwrites the files
+            assertSql("partitions\n3\n", "copy x to 'x_export' (format 'parquet');");
+        });
+    }
+
+    @Test
+    public void testCopyExportDisabled() throws Exception {
+        assertMemoryLeak(() -> {
+            ddl("create table x (i int, ts timestamp) timestamp(ts) partition by day");
+            // the copy root doesn't enable the export
+            inputRoot = exportRoot;
+            try {
+                node1.setProperty(PropertyKey.CAIRO_SQL_COPY_EXPORT_ROOT, "");
+                assertException("copy x to 'x_export'", 0, "COPY TO is disabled ['cairo.sql.copy.export.root' is not set?]");
+            } finally {
+                inputRoot = null;
+            }
+        });
+    }
+
+    @Test
+    public void testCopyExportInvalidOptions() throws Exception {
+        assertMemoryLeak(() -> {
+            ddl("create table x (i int, ts timestamp) timestamp(ts) partition by day");
+            assertException("copy x to 'x_export' with format csv", 33, "'parquet' expected");
+            assertException("copy x to 'x_export' with format parquet header", 41, "unexpected token [header]");
+            assertException("copy x to '../x_export'", 10, "'.' is not allowed");
+            assertException("copy x to ''", 10, "directory name expected");
+
+            ddl("create table u (u uuid, ts timestamp) timestamp(ts) partition by day");
+            assertException("copy u to 'u_export'", 5, "unsupported column type for parquet export [column=u, type=UUID]");
+        });
+    }
+
+    @Test
+    public void testCopyExportPermission() throws Exception {
+        assertMemoryLeak(() -> {
+            ddl("create table x (i int, ts timestamp) timestamp(ts) partition by day");
+            final SqlExecutionContext readOnlyContext = new SqlExecutionContextImpl(engine, 1).with(
+                    ReadOnlySecurityContext.INSTANCE,
+                    bindVariableService,
+                    null,
+                    -1,
+                    null
+            );
+            // select on the table is not enough to export it
+            assertExceptionNoLeakCheck("copy x to 'x_export'", -1, "Write permission denied", readOnlyContext);
+        });
+    }
+
+    @Test
+    public void testEncodeOverwritesFile() throws Exception {
+        assertMemoryLeak(() -> {
+            ddl("create table x as (select x, timestamp_sequence(0, 1000000L) ts from long_sequence(100)) timestamp(ts) partition by day");
+            try (
+                    TableReader reader = getReader("x");
+                    ParquetPartitionEncoder encoder = new ParquetPartitionEncoder(configuration.getFilesFacade(), 1000);
+                    Path path = new Path()
+            ) {
+                path.of(root).concat("x.parquet");
+                encoder.encode(reader, 0, path);
+                final long size = Files.size(Paths.get(path.toString()));
+                encoder.encode(reader, 0, path);
+                Assert.assertEquals(size, Files.size(Paths.get(path.toString())));
+            }
+        });
+    }
+
+    @Test
+    public void testEncodePartitions() throws Exception {
+        assertMemoryLeak(() -> {
+            ddl("create table x as (" +
+                    "select rnd_boolean() b, rnd_byte() bt, rnd_short() sh, rnd_char() ch, rnd_int(-100, 100, 3) i," +
+                    " rnd_long(-1000, 1000, 3) l, rnd_date(to_date('2020','yyyy'), to_date('2021','yyyy'), 2) d," +
+                    " rnd_float(2) f, rnd_double(2) db, rnd_symbol('a','bb',null) s, rnd_str('x','yyy',null) st," +
+                    " rnd_varchar('v','ww',null) vc, timestamp_sequence('2020-01-01', 3600000000L) ts" +
+                    " from long_sequence(60)" +
+                    ") timestamp(ts) partition by day");
+            ddl("alter table x add column late int");
+            ddl("alter table x add column late_str string");
+            insert("insert into x(ts, late, late_str) values ('2020-01-03T21:00:00', 42, 'abc')");
+
+            final StringSink actual = new StringSink();
+            try (
+                    TableReader reader = getReader("x");
+                    ParquetPartitionEncoder encoder = new ParquetPartitionEncoder(configuration.getFilesFacade(), 7);
+                    Path path = new Path()
+            ) {
+                Assert.assertEquals(3, reader.getPartitionCount());
+                for (int i = 0, n = reader.getPartitionCount(); i < n; i++) {
+                    path.of(root).concat("x_" + i + ".parquet");
+                    encoder.encode(reader, i, path);
+                    decode(path.toString(), reader.getMetadata(), actual);
+                }
+            }
+            TestUtils.assertEquals(render("x"), actual);
+        });
+    }
+
+    @Test
+    public void testUnsupportedColumnType() throws Exception {
+        assertMemoryLeak(() -> {
+            ddl("create table x as (select rnd_uuid4() u, timestamp_sequence(0, 1000000L) ts from long_sequence(10)) timestamp(ts) partition by day");
+            try (
+                    TableReader reader = getReader("x");
+                    ParquetPartitionEncoder encoder = new ParquetPartitionEncoder(configuration.getFilesFacade(), 1000);
+                    Path path = new Path()
+            ) {
+                path.of(root).concat("x.parquet");
+                encoder.encode(reader, 0, path);
+                Assert.fail();
+            } catch (CairoException e) {
+                TestUtils.assertContains(e.getFlyweightMessage(), "unsupported column type for parquet export [column=u, type=UUID]");
+            }
+        });
+    }
+
+    // decodes the Parquet file written by the encoder and appends its rows to the sink, one tab separated line per row
+    @SuppressWarnings("unchecked")
+    private static void decode(String fileName, RecordMetadata metadata, StringSink sink) throws Exception {
+        final ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(Paths.get(fileName))).order(ByteOrder.LITTLE_ENDIAN);
+        final int len = buf.capacity();
+        Assert.assertEquals("PAR1", new String(buf.array(), 0, 4, StandardCharsets.US_ASCII));
+        Assert.assertEquals("PAR1", new String(buf.array(), len - 4, 4, StandardCharsets.US_ASCII));
+        final int footerSize = buf.getInt(len - 8);
+        buf.position(len - 8 - footerSize);
+        final HashMap<Integer, Object> fileMetadata = ThriftCompactReader.readStruct(buf);
+        Assert.assertEquals(len - 8, buf.position());
+
+        final int columnCount = metadata.getColumnCount();
+        final List<Object> schema = (List<Object>) fileMetadata.get(2);
+        Assert.assertEquals(columnCount + 1, schema.size());
+        Assert.assertEquals((long) columnCount, ((HashMap<Integer, Object>) schema.get(0)).get(5));
+        final int[] physicalTypes = new int[columnCount];
+        final boolean[] optional = new boolean[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            final HashMap<Integer, Object> element = (HashMap<Integer, Object>) schema.get(i + 1);
+            Assert.assertEquals(metadata.getColumnName(i), new String((byte[]) element.get(4), StandardCharsets.UTF_8));
+            physicalTypes[i] = (int) (long) (Long) element.get(1);
+            optional[i] = (Long) element.get(3) == 1;
+        }
+
+        long totalRowCount = 0;
+        for (Object rowGroup : (List<Object>) fileMetadata.get(4)) {
+            final HashMap<Integer, Object> rowGroupStruct = (HashMap<Integer, Object>) rowGroup;
+            final int rowCount = (int) (long) (Long) rowGroupStruct.get(3);
+            final List<Object> chunks = (List<Object>) rowGroupStruct.get(1);
+            Assert.assertEquals(columnCount, chunks.size());
+            final String[][] values = new String[columnCount][];
+            for (int i = 0; i < columnCount; i++) {
+                final HashMap<Integer, Object> chunkMetadata = (HashMap<Integer, Object>) ((HashMap<Integer, Object>) chunks.get(i)).get(3);
+                Assert.assertEquals((long) rowCount, chunkMetadata.get(5));
+                buf.position((int) (long) (Long) chunkMetadata.get(9));
+                values[i] = decodePage(buf, metadata.getColumnType(i), physicalTypes[i], optional[i], rowCount);
+            }
+            for (int r = 0; r < rowCount; r++) {
+                for (int i = 0; i < columnCount; i++) {
+                    if (i > 0) {
+                        sink.put('\t');
+                    }
+                    sink.put(values[i][r]);
+                }
+                sink.put('\n');
+            }
+            totalRowCount += rowCount;
+        }
+        Assert.assertEquals(totalRowCount, fileMetadata.get(3));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String[] decodePage(ByteBuffer buf, int columnType, int physicalType, boolean optional, int rowCount) {
+        final HashMap<Integer, Object> pageHeader = ThriftCompactReader.readStruct(buf);
+        Assert.assertEquals(0L, pageHeader.get(1));
+        final int pageEnd = buf.position() + (int) (long) (Long) pageHeader.get(2);
+        Assert.assertEquals((long) rowCount, ((HashMap<Integer, Object>) pageHeader.get(5)).get(1));
+
+        // definition levels, RLE/bit-packed hybrid with bit width 1
+        final boolean[] defined = new boolean[rowCount];
+        if (optional) {
+            final int levelsEnd = buf.getInt() + buf.position();
+            int row = 0;
+            while (buf.position() < levelsEnd) {
+                final long header = ThriftCompactReader.readVarint(buf);
+                if ((header & 1) == 1) {
+                    for (long g = 0, n = header >>> 1; g < n; g++) {
+                        final int bits = buf.get();
+                        for (int b = 0; b < 8; b++, row++) {
+                            if (row < rowCount) {
+                                defined[row] = (bits & (1 << b)) != 0;
+                            }
+                        }
+                    }
+                } else {
+                    final boolean value = buf.get() != 0;
+                    for (long i = 0, n = header >>> 1; i < n; i++, row++) {
+                        defined[row] = value;
+                    }
+                }
+            }
+            Assert.assertTrue(row >= rowCount);
+        } else {
+            Arrays.fill(defined, true);
+        }
+
+        // PLAIN values of the defined rows
+        final String[] values = new String[rowCount];
+        int bitIndex = 0;
+        int bits = 0;
+        for (int r = 0; r < rowCount; r++) {
+            if (!defined[r]) {
+                values[r] = "null";
+                continue;
+            }
+            switch (physicalType) {
+                case 0: // BOOLEAN
+                    if ((bitIndex & 7) == 0) {
+                        bits = buf.get();
+                    }
+                    values[r] = String.valueOf((bits & (1 << (bitIndex++ & 7))) != 0);
+                    break;
+                case 1: { // INT32
+                    final int value = buf.getInt();
+                    values[r] = ColumnType.tagOf(columnType) == ColumnType.CHAR ? String.valueOf((char) value) : String.valueOf(value);
+                    break;
+                }
+                case 2: // INT64
+                    values[r] = String.valueOf(buf.getLong());
+                    break;
+                case 4: // FLOAT
+                    values[r] = String.valueOf(buf.getFloat());
+                    break;
+                case 5: // DOUBLE
+                    values[r] = String.valueOf(buf.getDouble());
+                    break;
+                case 6: { // BYTE_ARRAY
+                    final byte[] bytes = new byte[buf.getInt()];
+                    buf.get(bytes);
+                    values[r] = new String(bytes, StandardCharsets.UTF_8);
+                    break;
+                }
+                default:
+                    Assert.fail("unexpected physical type: " + physicalType);
+            }
+        }
+        Assert.assertEquals(pageEnd, buf.position());
+        return values;
+    }
+
+    // renders table rows in the same format as decode()
+    private static String render(String tableName) throws Exception {
+        final StringSink sink = new StringSink();
+        try (
+                RecordCursorFactory factory = select(tableName);
+                RecordCursor cursor = factory.getCursor(sqlExecutionContext)
+        ) {
+            final RecordMetadata metadata = factory.getMetadata();
+            final Record record = cursor.getRecord();
+            while (cursor.hasNext()) {
+                for (int i = 0, n = metadata.getColumnCount(); i < n; i++) {
+                    if (i > 0) {
+                        sink.put('\t');
+                    }
+                    switch (ColumnType.tagOf(metadata.getColumnType(i))) {
+                        case ColumnType.BOOLEAN:
+                            sink.put(String.valueOf(record.getBool(i)));
+                            break;
+                        case ColumnType.BYTE:
+                            sink.put(String.valueOf(record.getByte(i)));
+                            break;
+                        case ColumnType.SHORT:
+                            sink.put(String.valueOf(record.getShort(i)));
+                            break;
+                        case ColumnType.CHAR:
+                            sink.put(String.valueOf(record.getChar(i)));
+                            break;
+                        case ColumnType.INT: {
+                            final int value = record.getInt(i);
+                            sink.put(value == Numbers.INT_NULL ? "null" : String.valueOf(value));
+                            break;
+                        }
+                        case ColumnType.LONG: {
+                            final long value = record.getLong(i);
+                            sink.put(value == Numbers.LONG_NULL ? "null" : String.valueOf(value));
+                            break;
+                        }
+                        case ColumnType.DATE: {
+                            final long value = record.getDate(i);
+                            sink.put(value == Numbers.LONG_NULL ? "null" : String.valueOf(value));
+                            break;
+                        }
+                        case ColumnType.TIMESTAMP: {
+                            final long value = record.getTimestamp(i);
+                            sink.put(value == Numbers.LONG_NULL ? "null" : String.valueOf(value));
+                            break;
+                        }
+                        case ColumnType.FLOAT: {
+                            final float value = record.getFloat(i);
+                            sink.put(Float.isNaN(value) ? "null" : String.valueOf(value));
+                            break;
+                        }
+                        case ColumnType.DOUBLE: {
+                            final double value = record.getDouble(i);
+                            sink.put(Double.isNaN(value) ? "null" : String.valueOf(value));
+                            break;
+                        }
+                        case ColumnType.SYMBOL: {
+                            final CharSequence value = record.getSymA(i);
+                            sink.put(value == null ? "null" : value);
+                            break;
+                        }
+                        case ColumnType.STRING: {
+                            final CharSequence value = record.getStrA(i);
+                            sink.put(value == null ? "null" : value);
+                            break;
+                        }
+                        case ColumnType.VARCHAR: {
+                            final String value = Utf8s.toString(record.getVarcharA(i));
+                            sink.put(value == null ? "null" : value);
+                            break;
+                        }
+                        default:
+                            Assert.fail("unexpected column type: " + ColumnType.nameOf(metadata.getColumnType(i)));
+                    }
+                }
+                sink.put('\n');
+            }
+        }
+        return sink.toString();
+    }
+
+    /**
+     * Minimal Thrift compact protocol reader. Structs are read into maps of field id to value,
+     * integers are read as longs, binaries as byte arrays and lists as lists.
+     */
+    private static class ThriftCompactReader {
+
+        static long readVarint(ByteBuffer buf) {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buf.get();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        static HashMap<Integer, Object> readStruct(ByteBuffer buf) {
+            final HashMap<Integer, Object> struct = new HashMap<>();
+            int fieldId = 0;
+            for (; ; ) {
+                final int header = buf.get() & 0xFF;
+                if (header == 0) {
+                    return struct;
+                }
+                final int delta = header >>> 4;
+                fieldId = delta == 0 ? (int) readZigzag(buf) : fieldId + delta;
+                struct.put(fieldId, readValue(buf, header & 0x0F));
+            }
+        }
+
+        private static Object readValue(ByteBuffer buf, int type) {
+            switch (type) {
+                case 1: // TRUE
+                    return true;
+                case 2: // FALSE
+                    return false;
+                case 3: // BYTE
+                    return (long) buf.get();
+                case 4: // I16
+                case 5: // I32
+                case 6: // I64
+                    return readZigzag(buf);
+                case 7: // DOUBLE
+                    return buf.getDouble();
+                case 8: { // BINARY
+                    final byte[] bytes = new byte[(int) readVarint(buf)];
+                    buf.get(bytes);
+                    return bytes;
+                }
+                case 9: { // LIST
+                    final int header = buf.get() & 0xFF;
+                    int size = header >>> 4;
+                    if (size == 15) {
+                        size = (int) readVarint(buf);
+                    }
+                    final List<Object> list = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        list.add(readValue(buf, header & 0x0F));
+                    }
+                    return list;
+                }
+                case 12: // STRUCT
+                    return readStruct(buf);
+                default:
+                    Assert.fail("unexpected thrift type: " + type);
+                    return null;
+            }
+        }
+
+        private static long readZigzag(ByteBuffer buf) {
+            final long value = readVarint(buf);
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.test.cairo;
+
+import io.questdb.PropertyKey;
+import io.questdb.cairo.PartitionBloomFilter;
+import io.questdb.cairo.TableReader;
+import io.questdb.cairo.TableUtils;
+import io.questdb.std.str.Path;
+import io.questdb.std.str.Utf8String;
+import io.questdb.test.AbstractCairoTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PartitionBloomFilterTest extends AbstractCairoTest {
+
+    @Override
+    public void setUp() {
+        node1.setProperty(PropertyKey.CAIRO_SQL_PARALLEL_FILTER_ENABLED, true);
+        node1.setProperty(PropertyKey.CAIRO_SQL_BLOOM_FILTERS_ENABLED, true);
+        super.setUp();
+    }
+
+    @Test
+    public void testMayContain() throws Exception {
+        assertMemoryLeak(() -> {
+            createTable();
+            try (
+                    TableReader reader = getReader("x");
+                    PartitionBloomFilter bloomFilter = new PartitionBloomFilter(configuration)
+            ) {
+                reader.openPartition(0);
+                final int columnIndex = reader.getMetadata().getColumnIndex("l");
+                Assert.assertTrue(bloomFilter.of(reader, 0, columnIndex));
+                int falsePositives = 0;
+                for (long l = 1; l <= 1000; l++) {
+                    if (l <= 24) {
+                        // no false negatives
+                        Assert.assertTrue(bloomFilter.mayContain(PartitionBloomFilter.hashOf(l)));
+                    } else if (bloomFilter.mayContain(PartitionBloomFilter.hashOf(l))) {
+                        falsePositives++;
+                    }
+                }
+                Assert.assertTrue(falsePositives < 50);
+
+                reader.openPartition(1);
+                Assert.assertTrue(bloomFilter.of(reader, 1, reader.getMetadata().getColumnIndex("v")));
+                Assert.assertTrue(bloomFilter.mayContain(PartitionBloomFilter.hashOf(new Utf8String("v30"))));
+            }
+        });
+    }
+
+    @Test
+    public void testPartitionsSkipped() throws Exception {
+        assertMemoryLeak(() -> {
+            createTable();
+            final String expected = "l\tts\n" +
+                    "30\t1970-01-02T05:00:00.000000Z\n";
+            assertSql(expected, "select l, ts from x where l = 30");
+            assertSql(expected, "select l, ts from x where u = '00000000-0000-0000-0000-00000000001e'");
+            assertSql(expected, "select l, ts from x where 'v30' = v");
+
+            try (TableReader reader = getReader("x"); Path path = new Path()) {
+                Assert.assertTrue(bloomFilterExists(reader, path, 0, "l"));
+                Assert.assertTrue(bloomFilterExists(reader, path, 2, "u"));
+                Assert.assertTrue(bloomFilterExists(reader, path, 3, "v"));
+                // the last partition is always scanned
+                Assert.assertFalse(bloomFilterExists(reader, path, reader.getPartitionCount() - 1, "l"));
+            }
+        });
+    }
+
+    @Test
+    public void testStaleFilterIgnored() throws Exception {
+        assertMemoryLeak(() -> {
+            createTable();
+            final String query = "select l, ts from x where v = 'new'";
+            assertSql("l\tts\n", query);
+
+            update("update x set v = 'new' where l = 5");
+            assertSql(
+                    "l\tts\n" +
+                            "5\t1970-01-01T04:00:00.000000Z\n",
+                    query
+            );
+
+            // out-of-order insert into one of the older partitions
+            insert("insert into x (l, v, ts) values (2000, 'new', '1970-01-02T12:30:00.000000Z')");
+            assertSql(
+                    "l\tts\n" +
+                            "5\t1970-01-01T04:00:00.000000Z\n" +
+                            "2000\t1970-01-02T12:30:00.000000Z\n",
+                    query
+            );
+        });
+    }
+
+    private static boolean bloomFilterExists(TableReader reader, Path path, int partitionIndex, String columnName) {
+        final long partitionTimestamp = reader.getPartitionTimestampByIndex(partitionIndex);
+        final int writerIndex = reader.getMetadata().getWriterIndex(reader.getMetadata().getColumnIndex(columnName));
+        path.of(configuration.getRoot()).concat(reader.getTableToken().getDirName());
+        TableUtils.setPathForPartition(path, reader.getPartitionedBy(), partitionTimestamp, reader.getTxFile().getPartitionNameTxn(partitionIndex));
+        TableUtils.bfFile(path, columnName, reader.getColumnVersionReader().getColumnNameTxn(partitionTimestamp, writerIndex));
+        return configuration.getFilesFacade().exists(path.$());
+    }
+
+    private static void createTable() throws Exception {
+        ddl("create table x as (" +
+                "select x l, to_uuid(x, 0) u, ('v' || x)::varchar v, timestamp_sequence(0, 3600000000) ts from long_sequence(120)" +
+                ") timestamp(ts) partition by day");
+    }
+}
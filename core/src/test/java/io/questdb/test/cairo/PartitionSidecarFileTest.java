@@ -0,0 +1,109 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.test.cairo;
+
+import io.questdb.cairo.PartitionSidecarFile;
+import io.questdb.cairo.TableReader;
+import io.questdb.std.MemoryTag;
+import io.questdb.std.Unsafe;
+import io.questdb.test.AbstractCairoTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PartitionSidecarFileTest extends AbstractCairoTest {
+    private static final long MAGIC = 0x5453455444515351L;
+    private static final String SUFFIX = ".test";
+
+    @Test
+    public void testBuiltOnce() throws Exception {
+        assertMemoryLeak(() -> {
+            ddl("create table x as (select x l, timestamp_sequence(0, 3600000000) ts from long_sequence(48)) timestamp(ts) partition by day");
+            try (
+                    TableReader reader = getReader("x");
+                    PartitionSidecarFile file = new PartitionSidecarFile(configuration, SUFFIX, MAGIC);
+                    PartitionSidecarFile other = new PartitionSidecarFile(configuration, SUFFIX, MAGIC)
+            ) {
+                reader.openPartition(0);
+                file.of(reader, 0, 0);
+                other.of(reader, 0, 0);
+                final int[] builds = new int[1];
+                Assert.assertTrue(file.mapOrBuild(f -> {
+                    builds[0]++;
+                    // the file is being built, the other instance must not build it too
+                    Assert.assertFalse(other.mapOrBuild(o -> {
+                        builds[0]++;
+                        return store(o, 42);
+                    }));
+                    return store(f, 42);
+                }));
+                Assert.assertEquals(1, builds[0]);
+                Assert.assertEquals(Long.BYTES, file.getPayloadSize());
+                Assert.assertEquals(42, Unsafe.getUnsafe().getLong(file.getPayloadAddress()));
+
+                Assert.assertTrue(other.mapOrBuild(o -> {
+                    builds[0]++;
+                    return store(o, 43);
+                }));
+                Assert.assertEquals(1, builds[0]);
+                Assert.assertEquals(42, Unsafe.getUnsafe().getLong(other.getPayloadAddress()));
+            }
+        });
+    }
+
+    @Test
+    public void testStaleFileRebuilt() throws Exception {
+        assertMemoryLeak(() -> {
+            ddl("create table x as (select x l, timestamp_sequence(0, 3600000000) ts from long_sequence(48)) timestamp(ts) partition by day");
+            try (PartitionSidecarFile file = new PartitionSidecarFile(configuration, SUFFIX, MAGIC)) {
+                try (TableReader reader = getReader("x")) {
+                    reader.openPartition(0);
+                    file.of(reader, 0, 0);
+                    Assert.assertTrue(file.mapOrBuild(f -> store(f, 1)));
+                }
+
+                // out-of-order insert changes the partition row count
+                insert("insert into x values (100, '1970-01-01T12:30:00.000000Z')");
+                try (TableReader reader = getReader("x")) {
+                    reader.openPartition(0);
+                    file.of(reader, 0, 0);
+                    Assert.assertEquals(25, file.getRowCount());
+                    Assert.assertTrue(file.mapOrBuild(f -> store(f, 2)));
+                    Assert.assertEquals(2, Unsafe.getUnsafe().getLong(file.getPayloadAddress()));
+                }
+            }
+        });
+    }
+
+    private static boolean store(PartitionSidecarFile file, long value) {
+        final long size = PartitionSidecarFile.HEADER_SIZE + Long.BYTES;
+        final long addr = Unsafe.malloc(size, MemoryTag.NATIVE_DEFAULT);
+        try {
+            Unsafe.getUnsafe().putLong(addr + PartitionSidecarFile.HEADER_SIZE, value);
+            return file.store(addr, size);
+        } finally {
+            Unsafe.free(addr, size, MemoryTag.NATIVE_DEFAULT);
+        }
+    }
+}
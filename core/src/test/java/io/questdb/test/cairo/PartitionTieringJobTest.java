@@ -0,0 +1,226 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.test.cairo;
+
+import io.questdb.PropertyKey;
+import io.questdb.cairo.PartitionTieringJob;
+import io.questdb.cairo.TableReader;
+import io.questdb.cairo.TableToken;
+import io.questdb.cairo.TableUtils;
+import io.questdb.cairo.TableWriter;
+import io.questdb.std.FilesFacade;
+import io.questdb.std.Os;
+import io.questdb.std.datetime.microtime.Timestamps;
+import io.questdb.std.str.Path;
+import io.questdb.test.AbstractCairoTest;
+import io.questdb.test.std.TestFilesFacadeImpl;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.File;
+
+public class PartitionTieringJobTest extends AbstractCairoTest {
+    private static final String VOLUME_ALIAS = "cold";
+
+    @Override
+    public void setUp() {
+        node1.setProperty(PropertyKey.CAIRO_PARTITION_TIERING_VOLUME, VOLUME_ALIAS);
+        node1.setProperty(PropertyKey.CAIRO_PARTITION_TIERING_AGE, 2 * Timestamps.DAY_MICROS / 1000);
+        super.setUp();
+    }
+
+    @Test
+    public void testChangedPartitionNotMoved() throws Exception {
+        Assume.assumeFalse(Os.isWindows());
+        final FilesFacade ff = new TestFilesFacadeImpl() {
+            private boolean changed;
+
+            @Override
+            public int copyRecursive(Path src, Path dst, int dirMode) {
+                final int result = super.copyRecursive(src, dst, dirMode);
+                if (!changed) {
+                    changed = true;
+                    // out-of-order insert into the copied partition before the writer swaps the copy in
+                    try (TableWriter writer = getWriter("x")) {
+                        final TableWriter.Row row = writer.newRow(Timestamps.HOUR_MICROS * 12 + Timestamps.MINUTE_MICROS * 30);
+                        row.putLong(0, 1000);
+                        row.append();
+                        writer.commit();
+                    }
+                }
+                return result;
+            }
+        };
+        assertMemoryLeak(ff, () -> {
+            final String volumePath = newVolume();
+            createTable();
+            runJob();
+            assertSql(
+                    "count\tsum\tmin\n" +
+                            "121\t8260\t1970-01-01T00:00:00.000000Z\n",
+                    "select count(), sum(l), min(ts) from x"
+            );
+            try (TableReader reader = getReader("x"); Path path = new Path()) {
+                Assert.assertFalse(isMoved(reader, path, 0, volumePath));
+                Assert.assertTrue(isMoved(reader, path, 1, volumePath));
+            }
+            // the stale copy is discarded
+            final TableToken tableToken = engine.verifyTableName("x");
+            Assert.assertEquals(0, countMovedPartitions(volumePath, tableToken, "1970-01-01"));
+            Assert.assertEquals(1, countMovedPartitions(volumePath, tableToken, "1970-01-02"));
+        });
+    }
+
+    @Test
+    public void testDropTableRemovesMovedPartitions() throws Exception {
+        Assume.assumeFalse(Os.isWindows());
+        assertMemoryLeak(() -> {
+            final String volumePath = newVolume();
+            createTable();
+            runJob();
+            final TableToken tableToken = engine.verifyTableName("x");
+            Assert.assertEquals(2, countMovedPartitions(volumePath, tableToken, "1970-01-0"));
+
+            ddl("drop table x");
+            Assert.assertFalse(new File(volumePath, tableToken.getDirName()).exists());
+        });
+    }
+
+    @Test
+    public void testMoveColdPartitions() throws Exception {
+        Assume.assumeFalse(Os.isWindows());
+        assertMemoryLeak(() -> {
+            final String volumePath = newVolume();
+            createTable();
+            final String query = "select count(), sum(l), min(ts) from x";
+
+            try (TableReader reader = getReader("x")) {
+                runJob();
+                assertSql(
+                        "count\tsum\tmin\n" +
+                                "120\t7260\t1970-01-01T00:00:00.000000Z\n",
+                        query
+                );
+                // reader opened before the move switches to the new partition versions on reload
+                Assert.assertTrue(reader.reload());
+                try (Path path = new Path()) {
+                    for (int i = 0, n = reader.getPartitionCount(); i < n; i++) {
+                        Assert.assertEquals(i < 2, isMoved(reader, path, i, volumePath));
+                    }
+                }
+            }
+
+            final TableToken tableToken = engine.verifyTableName("x");
+            Assert.assertEquals(2, countMovedPartitions(volumePath, tableToken, "1970-01-0"));
+
+            // moved partitions are re-checked on every run, but never moved twice
+            runJob();
+            Assert.assertEquals(2, countMovedPartitions(volumePath, tableToken, "1970-01-0"));
+
+            // moved partitions stay writable
+            insert("insert into x (l, ts) values (1000, '1970-01-02T12:30:00.000000Z')");
+            assertSql(
+                    "count\tsum\tmin\n" +
+                            "121\t8260\t1970-01-01T00:00:00.000000Z\n",
+                    query
+            );
+
+            engine.releaseInactive();
+            ddl("alter table x drop partition list '1970-01-01'");
+            assertSql(
+                    "count\tsum\tmin\n" +
+                            "97\t7960\t1970-01-02T00:00:00.000000Z\n",
+                    query
+            );
+            Assert.assertEquals(0, countMovedPartitions(volumePath, tableToken, "1970-01-01"));
+        });
+    }
+
+    @Test
+    public void testTableInVolumeSkipped() throws Exception {
+        Assume.assumeFalse(Os.isWindows());
+        assertMemoryLeak(() -> {
+            final String volumePath = newVolume();
+            ddl("create table x (l long, ts timestamp) timestamp(ts) partition by day in volume '" + VOLUME_ALIAS + "'");
+            insert("insert into x select x, timestamp_sequence(0, 3600000000) from long_sequence(120)");
+            runJob();
+            assertSql(
+                    "count\tsum\tmin\n" +
+                            "120\t7260\t1970-01-01T00:00:00.000000Z\n",
+                    "select count(), sum(l), min(ts) from x"
+            );
+            try (TableReader reader = getReader("x"); Path path = new Path()) {
+                for (int i = 0, n = reader.getPartitionCount(); i < n; i++) {
+                    Assert.assertFalse(isMoved(reader, path, i, volumePath));
+                }
+            }
+        });
+    }
+
+    private static int countMovedPartitions(String volumePath, TableToken tableToken, String prefix) {
+        final String[] names = new File(volumePath, tableToken.getDirName()).list();
+        int count = 0;
+        if (names != null) {
+            for (String name : names) {
+                if (name.startsWith(prefix)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static void createTable() throws Exception {
+        ddl("create table x as (" +
+                "select x l, timestamp_sequence(0, 3600000000) ts from long_sequence(120)" +
+                ") timestamp(ts) partition by day");
+    }
+
+    private static boolean isMoved(TableReader reader, Path path, int partitionIndex, String volumePath) {
+        path.of(configuration.getRoot()).concat(reader.getTableToken().getDirName());
+        TableUtils.setPathForPartition(path, reader.getPartitionedBy(), reader.getPartitionTimestampByIndex(partitionIndex), reader.getTxFile().getPartitionNameTxn(partitionIndex));
+        if (!configuration.getFilesFacade().isSoftLink(path.$())) {
+            return false;
+        }
+        try (Path target = new Path()) {
+            return configuration.getFilesFacade().readLink(path, target) && target.toString().startsWith(volumePath);
+        }
+    }
+
+    private static String newVolume() throws Exception {
+        final String volumePath = temp.newFolder().getAbsolutePath();
+        try (Path path = new Path()) {
+            configuration.getVolumeDefinitions().of(VOLUME_ALIAS + "->" + volumePath, path, root);
+        }
+        return volumePath;
+    }
+
+    private static void runJob() {
+        try (PartitionTieringJob job = new PartitionTieringJob(engine)) {
+            job.moveColdPartitions();
+        }
+    }
+}
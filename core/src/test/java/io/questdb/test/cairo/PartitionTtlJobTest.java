@@ -0,0 +1,121 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.test.cairo;
+
+import io.questdb.cairo.PartitionTtlJob;
+import io.questdb.cairo.TableReader;
+import io.questdb.std.datetime.microtime.Timestamps;
+import io.questdb.test.AbstractCairoTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PartitionTtlJobTest extends AbstractCairoTest {
+
+    @Test
+    public void testAlterTtl() throws Exception {
+        assertMemoryLeak(() -> {
+            createTable("x", "");
+            runJob();
+            assertRows("x", 120, "1970-01-01T00:00:00.000000Z");
+
+            ddl("alter table x set param ttl = 3d");
+            try (TableReader reader = getReader("x")) {
+                Assert.assertEquals(3 * Timestamps.DAY_MICROS, reader.getMetadata().getTtl());
+            }
+            runJob();
+            assertRows("x", 96, "1970-01-02T00:00:00.000000Z");
+
+            // ttl is copied by create table like
+            ddl("create table y (like x)");
+            try (TableReader reader = getReader("y")) {
+                Assert.assertEquals(3 * Timestamps.DAY_MICROS, reader.getMetadata().getTtl());
+            }
+
+            ddl("alter table x set param ttl = 0s");
+            insert("insert into x (l, ts) values (0, '1970-01-01T12:00:00.000000Z')");
+            runJob();
+            assertRows("x", 97, "1970-01-01T12:00:00.000000Z");
+        });
+    }
+
+    @Test
+    public void testDropExpiredPartitions() throws Exception {
+        assertMemoryLeak(() -> {
+            createTable("x", " with ttl=2d");
+            try (TableReader reader = getReader("x")) {
+                Assert.assertEquals(2 * Timestamps.DAY_MICROS, reader.getMetadata().getTtl());
+            }
+            runJob();
+            // partitions are expired once their upper bound is more than 2 days older than the max timestamp
+            assertRows("x", 72, "1970-01-03T00:00:00.000000Z");
+
+            // nothing else to drop
+            runJob();
+            assertRows("x", 72, "1970-01-03T00:00:00.000000Z");
+        });
+    }
+
+    @Test
+    public void testLastPartitionKept() throws Exception {
+        assertMemoryLeak(() -> {
+            createTable("x", " with ttl=1h");
+            runJob();
+            assertRows("x", 24, "1970-01-05T00:00:00.000000Z");
+        });
+    }
+
+    @Test
+    public void testWalTable() throws Exception {
+        assertMemoryLeak(() -> {
+            createTable("x", " wal with ttl=2d");
+            drainWalQueue();
+            runJob();
+            drainWalQueue();
+            assertRows("x", 72, "1970-01-03T00:00:00.000000Z");
+
+            ddl("alter table x set param ttl = 1d");
+            drainWalQueue();
+            runJob();
+            drainWalQueue();
+            assertRows("x", 48, "1970-01-04T00:00:00.000000Z");
+        });
+    }
+
+    private static void assertRows(String tableName, long count, String minTimestamp) throws Exception {
+        assertSql("count\tmin\n" + count + "\t" + minTimestamp + "\n", "select count(), min(ts) from " + tableName);
+    }
+
+    private static void createTable(String tableName, String suffix) throws Exception {
+        ddl("create table " + tableName + " as (" +
+                "select x l, timestamp_sequence(0, 3600000000) ts from long_sequence(120)" +
+                ") timestamp(ts) partition by day" + suffix);
+    }
+
+    private static void runJob() {
+        try (PartitionTtlJob job = new PartitionTtlJob(engine)) {
+            job.dropExpiredPartitions();
+        }
+    }
+}
@@ -133,6 +133,11 @@ public class TableModel implements TableStructure {
         return timestampIndex;
     }
 
+    @Override
+    public long getTtl() {
+        return 0;
+    }
+
     public TableModel indexed(boolean indexFlag, int indexBlockCapacity) {
         int pos = columnBits.size() - 1;
         assert pos > 0;
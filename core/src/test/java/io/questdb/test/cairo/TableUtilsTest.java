@@ -153,6 +153,17 @@ public class TableUtilsTest extends AbstractTest {
         }
     }
 
+    @Test
+    public void testIsInVolume() {
+        final char s = Files.SEPARATOR;
+        final String volume = s + "mnt" + s + "cold";
+        Assert.assertTrue(TableUtils.isInVolume(volume, volume));
+        Assert.assertTrue(TableUtils.isInVolume(volume + s + "x~1" + s + "1970-01-01.2", volume));
+        Assert.assertTrue(TableUtils.isInVolume(volume + s + "x~1", volume + s));
+        Assert.assertFalse(TableUtils.isInVolume(volume + "2" + s + "x~1", volume));
+        Assert.assertFalse(TableUtils.isInVolume(s + "mnt", volume));
+    }
+
     @Test
     public void testIsValidColumnName() {
         testIsValidColumnName('?', false);
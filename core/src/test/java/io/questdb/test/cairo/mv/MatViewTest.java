@@ -0,0 +1,244 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.test.cairo.mv;
+
+import io.questdb.cairo.TableToken;
+import io.questdb.cairo.TableWriter;
+import io.questdb.cairo.mv.MatViewRefreshJob;
+import io.questdb.griffin.SqlException;
+import io.questdb.test.AbstractCairoTest;
+import io.questdb.test.tools.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MatViewTest extends AbstractCairoTest {
+    private static final String VIEW_QUERY = "select ts, s, avg(x) a, count() c from t sample by 1h";
+
+    @Test
+    public void testBaseTableNotWal() throws Exception {
+        assertMemoryLeak(() -> {
+            ddl("create table t (ts timestamp, s symbol, x double) timestamp(ts) partition by day bypass wal");
+            assertException(
+                    "create materialized view v as (" + VIEW_QUERY + ")",
+                    70,
+                    "materialized view base table must be a WAL table"
+            );
+        });
+    }
+
+    @Test
+    public void testCreateMatView() throws Exception {
+        assertMemoryLeak(() -> {
+            createBaseTable();
+            insert("insert into t select timestamp_sequence('2024-01-01', 600000000L), rnd_symbol('a','b'), rnd_double() from long_sequence(30)");
+            drainWalQueue();
+
+            ddl("create materialized view v as (" + VIEW_QUERY + ")");
+            drainWalQueue();
+
+            assertView();
+            assertSql(
+                    "column\ttype\tindexed\tindexBlockCapacity\tsymbolCached\tsymbolCapacity\tdesignated\tupsertKey\n" +
+                            "ts\tTIMESTAMP\tfalse\t0\tfalse\t0\ttrue\ttrue\n" +
+                            "s\tSYMBOL\tfalse\t0\ttrue\t128\tfalse\ttrue\n" +
+                            "a\tDOUBLE\tfalse\t0\tfalse\t0\tfalse\tfalse\n" +
+                            "c\tLONG\tfalse\t0\tfalse\t0\tfalse\tfalse\n",
+                    "show columns from 'v'"
+            );
+            Assert.assertNotNull(engine.getMatViewGraph().getView(engine.verifyTableName("v")));
+        });
+    }
+
+    @Test
+    public void testDroppedViewIsRemoved() throws Exception {
+        assertMemoryLeak(() -> {
+            createBaseTable();
+            ddl("create materialized view v as (" + VIEW_QUERY + ")");
+            drainWalQueue();
+            final TableToken viewToken = engine.verifyTableName("v");
+
+            drop("drop table v");
+            drainWalQueue();
+            try (MatViewRefreshJob job = new MatViewRefreshJob(engine)) {
+                job.run(0);
+            }
+            Assert.assertNull(engine.getMatViewGraph().getView(viewToken));
+        });
+    }
+
+    @Test
+    public void testFillNotSupported() throws Exception {
+        assertMemoryLeak(() -> {
+            createBaseTable();
+            assertException(
+                    "create materialized view v as (select ts, avg(x) from t sample by 1h fill(prev))",
+                    66,
+                    "FILL is not supported for materialized views"
+            );
+        });
+    }
+
+    @Test
+    public void testFirstObservationNotSupported() throws Exception {
+        assertMemoryLeak(() -> {
+            createBaseTable();
+            assertException(
+                    "create materialized view v as (select ts, avg(x) from t sample by 1h align to first observation)",
+                    66,
+                    "materialized views must be aligned to calendar with zero offset"
+            );
+        });
+    }
+
+    @Test
+    public void testFullRefreshAfterDropPartition() throws Exception {
+        assertMemoryLeak(() -> {
+            createBaseTable();
+            insert("insert into t select timestamp_sequence('2024-01-01', 3600000000L), rnd_symbol('a','b'), rnd_double() from long_sequence(72)");
+            drainWalQueue();
+            ddl("create materialized view v as (" + VIEW_QUERY + ")");
+            drainWalQueue();
+
+            // the buckets of the dropped partition must not survive the refresh
+            ddl("alter table t drop partition list '2024-01-02'");
+            refresh();
+            assertView();
+            assertSql("count\n48\n", "select count() from v");
+        });
+    }
+
+    @Test
+    public void testFullRefreshAfterUpdate() throws Exception {
+        assertMemoryLeak(() -> {
+            createBaseTable();
+            insert("insert into t select timestamp_sequence('2024-01-01', 600000000L), rnd_symbol('a','b'), rnd_double() from long_sequence(30)");
+            drainWalQueue();
+            ddl("create materialized view v as (" + VIEW_QUERY + ")");
+            drainWalQueue();
+
+            update("update t set s = 'c' where ts < '2024-01-01T01:00'");
+            refresh();
+            assertView();
+        });
+    }
+
+    @Test
+    public void testFullRefreshRetriedWhenBusy() throws Exception {
+        assertMemoryLeak(() -> {
+            createBaseTable();
+            insert("insert into t select timestamp_sequence('2024-01-01', 600000000L), rnd_symbol('a','b'), rnd_double() from long_sequence(30)");
+            drainWalQueue();
+            ddl("create materialized view v as (" + VIEW_QUERY + ")");
+            drainWalQueue();
+            final TableToken viewToken = engine.verifyTableName("v");
+
+            update("update t set s = 'c' where ts < '2024-01-01T01:00'");
+            // the temporary table of the full refresh can't be dropped while its writer is busy
+            final String tempTableName = configuration.getSystemTableNamePrefix() + "mv_refresh_" + viewToken.getTableId();
+            ddl("create table \"" + tempTableName + "\" (x int)");
+            try (TableWriter ignore = getWriter(tempTableName)) {
+                refresh();
+            }
+            Assert.assertFalse(engine.getMatViewGraph().getView(viewToken).isInvalid());
+
+            refresh();
+            assertView();
+            Assert.assertNull(engine.getTableTokenIfExists(tempTableName));
+        });
+    }
+
+    @Test
+    public void testIncrementalRefresh() throws Exception {
+        assertMemoryLeak(() -> {
+            createBaseTable();
+            insert("insert into t select timestamp_sequence('2024-01-01', 600000000L), rnd_symbol('a','b'), rnd_double() from long_sequence(30)");
+            drainWalQueue();
+            ddl("create materialized view v as (" + VIEW_QUERY + ")");
+            drainWalQueue();
+
+            // appended data and a new key
+            insert("insert into t values ('2024-01-01T09:00', 'c', 5.0)");
+            refresh();
+            assertView();
+
+            // out-of-order data is merged into the existing buckets
+            insert("insert into t values ('2024-01-01T01:30', 'a', 100.0), ('2024-01-01T02:59:59.999999', 'b', -1.0)");
+            insert("insert into t select timestamp_sequence('2023-12-31T22:30', 300000000L), rnd_symbol('a','b','d'), rnd_double() from long_sequence(20)");
+            refresh();
+            assertView();
+        });
+    }
+
+    @Test
+    public void testNoSampleBy() throws Exception {
+        assertMemoryLeak(() -> {
+            createBaseTable();
+            assertException(
+                    "create materialized view v as (select ts, x from t)",
+                    31,
+                    "SAMPLE BY query expected"
+            );
+        });
+    }
+
+    @Test
+    public void testViewsLoadedFromDisk() throws Exception {
+        assertMemoryLeak(() -> {
+            createBaseTable();
+            insert("insert into t select timestamp_sequence('2024-01-01', 600000000L), rnd_symbol('a','b'), rnd_double() from long_sequence(30)");
+            drainWalQueue();
+            ddl("create materialized view v as (" + VIEW_QUERY + ")");
+            drainWalQueue();
+
+            // simulate restart
+            engine.getMatViewGraph().clear();
+            insert("insert into t values ('2024-01-01T02:30', 'a', 42.0)");
+            refresh();
+            assertView();
+        });
+    }
+
+    private static void assertView() throws SqlException {
+        TestUtils.assertSqlCursors(
+                engine,
+                sqlExecutionContext,
+                VIEW_QUERY + " order by ts, s",
+                "v order by ts, s",
+                LOG
+        );
+    }
+
+    private static void createBaseTable() throws SqlException {
+        ddl("create table t (ts timestamp, s symbol, x double) timestamp(ts) partition by day wal");
+    }
+
+    private static void refresh() {
+        drainWalQueue();
+        try (MatViewRefreshJob job = new MatViewRefreshJob(engine)) {
+            job.run(0);
+        }
+        drainWalQueue();
+    }
+}
@@ -32,25 +32,49 @@ import io.questdb.std.*;
 import io.questdb.std.datetime.millitime.MillisecondClock;
 import io.questdb.test.tools.TestUtils;
 import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static io.questdb.test.tools.TestUtils.assertMemoryLeak;
 
+@RunWith(Parameterized.class)
 public class IODispatcherHeartbeatTest {
 
     private static final Log LOG = LogFactory.getLog(IODispatcherHeartbeatTest.class);
-
+    private final boolean ioURingEnabled;
     @Rule
     public Timeout timeout = Timeout.builder()
             .withTimeout(10 * 60 * 1000, TimeUnit.MILLISECONDS)
             .withLookingForStuckThread(true)
             .build();
 
+    public IODispatcherHeartbeatTest(boolean ioURingEnabled) {
+        this.ioURingEnabled = ioURingEnabled;
+    }
+
+    @Parameterized.Parameters(name = "ioURing={0}")
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{
+                {false}, {true}
+        });
+    }
+
+    @Before
+    public void setUp() {
+        Assume.assumeTrue(!ioURingEnabled || IOURingFacadeImpl.INSTANCE.isAvailable());
+    }
+
     @Test
     public void testHeartbeatIntervals() throws Exception {
         LOG.info().$("started testHeartbeatIntervals").$();
@@ -64,7 +88,7 @@ public class IODispatcherHeartbeatTest {
         assertMemoryLeak(() -> {
             TestClock clock = new TestClock();
             try (IODispatcher<TestContext> dispatcher = IODispatchers.create(
-                    new DefaultIODispatcherConfiguration() {
+                    new TestIODispatcherConfiguration() {
                         @Override
                         public MillisecondClock getClock() {
                             return clock;
@@ -138,7 +162,7 @@ public class IODispatcherHeartbeatTest {
         assertMemoryLeak(() -> {
             TestClock clock = new TestClock();
             try (IODispatcher<TestContext> dispatcher = IODispatchers.create(
-                    new DefaultIODispatcherConfiguration() {
+                    new TestIODispatcherConfiguration() {
                         @Override
                         public MillisecondClock getClock() {
                             return clock;
@@ -215,7 +239,7 @@ public class IODispatcherHeartbeatTest {
 
         assertMemoryLeak(() -> {
             TestClock clock = new TestClock();
-            IODispatcherConfiguration ioDispatcherConfig = new DefaultIODispatcherConfiguration() {
+            IODispatcherConfiguration ioDispatcherConfig = new TestIODispatcherConfiguration() {
                 @Override
                 public MillisecondClock getClock() {
                     return clock;
@@ -275,6 +299,96 @@ public class IODispatcherHeartbeatTest {
         });
     }
 
+    @Test
+    public void testReadAfterSuspendEventResumed() throws Exception {
+        LOG.info().$("started testReadAfterSuspendEventResumed").$();
+
+        // no heartbeats, the clock does not move
+        final long heartbeatInterval = 1000;
+        AtomicReference<TestContext> contextRef = new AtomicReference<>();
+
+        assertMemoryLeak(() -> {
+            TestClock clock = new TestClock();
+            IODispatcherConfiguration ioDispatcherConfig = new TestIODispatcherConfiguration() {
+                @Override
+                public MillisecondClock getClock() {
+                    return clock;
+                }
+
+                @Override
+                public long getHeartbeatInterval() {
+                    return heartbeatInterval;
+                }
+            };
+            try (IODispatcher<TestContext> dispatcher = IODispatchers.create(
+                    ioDispatcherConfig,
+                    (fd, d) -> {
+                        TestContext context = new TestContext(fd, d, heartbeatInterval);
+                        contextRef.set(context);
+                        return context;
+                    }
+            )) {
+                SuspendEvent suspendEvent = SuspendEventFactory.newInstance(ioDispatcherConfig);
+                IORequestProcessor<TestContext> processor = new SuspendingTestProcessor(clock, suspendEvent);
+                long buf = Unsafe.malloc(1, MemoryTag.NATIVE_DEFAULT);
+
+                int fd = Net.socketTcp(true);
+                Net.configureNonBlocking(fd);
+
+                long sockAddr = Net.sockaddr("127.0.0.1", 9001);
+                try {
+                    Unsafe.getUnsafe().putByte(buf, (byte) '.');
+
+                    Net.connect(fd, sockAddr);
+                    while (contextRef.get() == null) {
+                        dispatcher.run(0);
+                        dispatcher.processIOQueue(processor);
+                    }
+                    final TestContext context = contextRef.get();
+
+                    // The first read suspends the operation.
+                    Assert.assertEquals(1, Net.send(fd, buf, 1));
+                    TestUtils.assertEventually(() -> {
+                        dispatcher.run(0);
+                        while (dispatcher.processIOQueue(processor)) ;
+                        Assert.assertEquals(1, context.readCount);
+                    }, 10);
+
+                    // Resume the operation.
+                    suspendEvent.trigger();
+                    TestUtils.assertEventually(() -> {
+                        dispatcher.run(0);
+                        while (dispatcher.processIOQueue(processor)) ;
+                        Assert.assertTrue(suspendEvent.isClosedByAtLeastOneSide());
+                    }, 10);
+
+                    // Reads are dispatched again once the operation is resumed.
+                    for (int i = 2; i < 5; i++) {
+                        Assert.assertEquals(1, Net.send(fd, buf, 1));
+                        final int expectedReads = i;
+                        TestUtils.assertEventually(() -> {
+                            dispatcher.run(0);
+                            while (dispatcher.processIOQueue(processor)) ;
+                            Assert.assertEquals(expectedReads, context.readCount);
+                        }, 10);
+                    }
+
+                    // Nothing else to read, the socket is not reported as ready.
+                    for (int i = 0; i < 10; i++) {
+                        dispatcher.run(0);
+                        while (dispatcher.processIOQueue(processor)) ;
+                    }
+                    Assert.assertEquals(4, context.readCount);
+                } finally {
+                    Unsafe.free(buf, 1, MemoryTag.NATIVE_DEFAULT);
+                    Net.freeSockAddr(sockAddr);
+                    Misc.free(suspendEvent);
+                    Net.close(fd);
+                }
+            }
+        });
+    }
+
     @Test
     public void testSuspendEventDoesNotPreventHeartbeats() throws Exception {
         LOG.info().$("started testSuspendEventDoesNotPreventHeartbeats").$();
@@ -285,7 +399,7 @@ public class IODispatcherHeartbeatTest {
 
         assertMemoryLeak(() -> {
             TestClock clock = new TestClock();
-            IODispatcherConfiguration ioDispatcherConfig = new DefaultIODispatcherConfiguration() {
+            IODispatcherConfiguration ioDispatcherConfig = new TestIODispatcherConfiguration() {
                 @Override
                 public MillisecondClock getClock() {
                     return clock;
@@ -361,7 +475,7 @@ public class IODispatcherHeartbeatTest {
 
         assertMemoryLeak(() -> {
             TestClock clock = new TestClock();
-            IODispatcherConfiguration ioDispatcherConfig = new DefaultIODispatcherConfiguration() {
+            IODispatcherConfiguration ioDispatcherConfig = new TestIODispatcherConfiguration() {
                 @Override
                 public MillisecondClock getClock() {
                     return clock;
@@ -469,6 +583,7 @@ public class IODispatcherHeartbeatTest {
         boolean isPreviousEventHeartbeat = true;
         long previousHeartbeatTs;
         long previousReadTs;
+        int readCount;
         SuspendEvent suspendEvent;
 
         public TestContext(int fd, IODispatcher<TestContext> dispatcher, long heartbeatInterval) {
@@ -496,6 +611,7 @@ public class IODispatcherHeartbeatTest {
                 isPreviousEventHeartbeat = true;
             } else {
                 Assert.assertEquals(1, Net.recv(getFd(), buffer, 1));
+                readCount++;
                 previousReadTs = current;
                 isPreviousEventHeartbeat = false;
             }
@@ -527,6 +643,13 @@ public class IODispatcherHeartbeatTest {
         }
     }
 
+    private class TestIODispatcherConfiguration extends DefaultIODispatcherConfiguration {
+        @Override
+        public boolean isIOURingEnabled() {
+            return ioURingEnabled;
+        }
+    }
+
     private static class TestProcessor implements IORequestProcessor<TestContext> {
         final TestClock clock;
 
@@ -172,81 +172,14 @@ public class IODispatcherTest extends AbstractTest {
     @Test
     public void testBiasWrite() throws Exception {
         LOG.info().$("started testBiasWrite").$();
+        assertBiasWrite(false);
+    }
 
-        assertMemoryLeak(() -> {
-            SOCountDownLatch connectLatch = new SOCountDownLatch(1);
-            SOCountDownLatch contextClosedLatch = new SOCountDownLatch(1);
-
-            try (IODispatcher<HelloContext> dispatcher = IODispatchers.create(
-                    new DefaultIODispatcherConfiguration() {
-                        @Override
-                        public int getInitialBias() {
-                            return IODispatcherConfiguration.BIAS_WRITE;
-                        }
-                    },
-                    (fd, dispatcher1) -> {
-                        connectLatch.countDown();
-                        return new HelloContext(fd, contextClosedLatch, dispatcher1);
-                    }
-            )) {
-                AtomicBoolean serverRunning = new AtomicBoolean(true);
-                SOCountDownLatch serverHaltLatch = new SOCountDownLatch(1);
-
-                new Thread(() -> {
-                    try {
-                        while (serverRunning.get()) {
-                            dispatcher.run(0);
-                            dispatcher.processIOQueue(
-                                    (operation, context, dispatcher1) -> {
-                                        if (operation == IOOperation.WRITE) {
-                                            Assert.assertEquals(1024, Net.send(context.getFd(), context.buffer, 1024));
-                                            dispatcher1.disconnect(context, IODispatcher.DISCONNECT_REASON_TEST);
-                                        }
-                                        return true;
-                                    }
-                            );
-                        }
-                    } finally {
-                        serverHaltLatch.countDown();
-                    }
-                }).start();
-
-                int fd = Net.socketTcp(true);
-                try {
-                    long sockAddr = Net.sockaddr("127.0.0.1", 9001);
-                    try {
-                        try {
-                            TestUtils.assertConnect(fd, sockAddr);
-
-                            connectLatch.await();
-
-                            long buffer = Unsafe.malloc(2048, MemoryTag.NATIVE_DEFAULT);
-                            try {
-                                Assert.assertEquals(1024, Net.recv(fd, buffer, 1024));
-                            } finally {
-                                Unsafe.free(buffer, 2048, MemoryTag.NATIVE_DEFAULT);
-                            }
-
-                            Assert.assertEquals(0, Net.close(fd));
-                            LOG.info().$("closed [fd=").$(fd).$(']').$();
-                            fd = -1;
-
-                            contextClosedLatch.await();
-                        } finally {
-                            serverRunning.set(false);
-                            serverHaltLatch.await();
-                        }
-                        Assert.assertEquals(0, dispatcher.getConnectionCount());
-                    } finally {
-                        Net.freeSockAddr(sockAddr);
-                    }
-                } finally {
-                    if (fd != -1) {
-                        Net.close(fd);
-                    }
-                }
-            }
-        });
+    @Test
+    public void testBiasWriteIOURing() throws Exception {
+        Assume.assumeTrue(IOURingFacadeImpl.INSTANCE.isAvailable());
+        LOG.info().$("started testBiasWriteIOURing").$();
+        assertBiasWrite(true);
     }
 
     @Test
@@ -8376,6 +8309,88 @@ public class IODispatcherTest extends AbstractTest {
                 });
     }
 
+    private void assertBiasWrite(boolean ioURingEnabled) throws Exception {
+        assertMemoryLeak(() -> {
+            SOCountDownLatch connectLatch = new SOCountDownLatch(1);
+            SOCountDownLatch contextClosedLatch = new SOCountDownLatch(1);
+
+            try (IODispatcher<HelloContext> dispatcher = IODispatchers.create(
+                    new DefaultIODispatcherConfiguration() {
+                        @Override
+                        public int getInitialBias() {
+                            return IODispatcherConfiguration.BIAS_WRITE;
+                        }
+
+                        @Override
+                        public boolean isIOURingEnabled() {
+                            return ioURingEnabled;
+                        }
+                    },
+                    (fd, dispatcher1) -> {
+                        connectLatch.countDown();
+                        return new HelloContext(fd, contextClosedLatch, dispatcher1);
+                    }
+            )) {
+                AtomicBoolean serverRunning = new AtomicBoolean(true);
+                SOCountDownLatch serverHaltLatch = new SOCountDownLatch(1);
+
+                new Thread(() -> {
+                    try {
+                        while (serverRunning.get()) {
+                            dispatcher.run(0);
+                            dispatcher.processIOQueue(
+                                    (operation, context, dispatcher1) -> {
+                                        if (operation == IOOperation.WRITE) {
+                                            Assert.assertEquals(1024, Net.send(context.getFd(), context.buffer, 1024));
+                                            dispatcher1.disconnect(context, IODispatcher.DISCONNECT_REASON_TEST);
+                                        }
+                                        return true;
+                                    }
+                            );
+                        }
+                    } finally {
+                        serverHaltLatch.countDown();
+                    }
+                }).start();
+
+                int fd = Net.socketTcp(true);
+                try {
+                    long sockAddr = Net.sockaddr("127.0.0.1", 9001);
+                    try {
+                        try {
+                            TestUtils.assertConnect(fd, sockAddr);
+
+                            connectLatch.await();
+
+                            long buffer = Unsafe.malloc(2048, MemoryTag.NATIVE_DEFAULT);
+                            try {
+                                Assert.assertEquals(1024, Net.recv(fd, buffer, 1024));
+                            } finally {
+                                Unsafe.free(buffer, 2048, MemoryTag.NATIVE_DEFAULT);
+                            }
+
+                            Assert.assertEquals(0, Net.close(fd));
+                            LOG.info().$("closed [fd=").$(fd).$(']').$();
+                            fd = -1;
+
+                            contextClosedLatch.await();
+                        } finally {
+                            serverRunning.set(false);
+                            serverHaltLatch.await();
+                        }
+                        Assert.assertEquals(0, dispatcher.getConnectionCount());
+                    } finally {
+                        Net.freeSockAddr(sockAddr);
+                    }
+                } finally {
+                    if (fd != -1) {
+                        Net.close(fd);
+                    }
+                }
+            }
+        });
+    }
+
     private void assertMetadataAndData(
             String tableName,
             long expectedO3MaxLag,
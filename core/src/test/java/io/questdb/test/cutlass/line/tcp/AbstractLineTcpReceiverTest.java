@@ -119,6 +119,8 @@ public class AbstractLineTcpReceiverTest extends AbstractCairoTest {
     };
     protected int partitionByDefault = PartitionBy.DAY;
     protected boolean useLegacyStringDefault = true;
+    protected long writerRebalanceInterval = 0;
+    protected double writerRebalanceLoadRatio = 1.5;
 
     protected final LineTcpReceiverConfiguration lineConfiguration = new DefaultLineTcpReceiverConfiguration() {
         @Override
@@ -200,6 +202,16 @@ public class AbstractLineTcpReceiverTest extends AbstractCairoTest {
             return 4;
         }
 
+        @Override
+        public long getWriterRebalanceInterval() {
+            return writerRebalanceInterval;
+        }
+
+        @Override
+        public double getWriterRebalanceLoadRatio() {
+            return writerRebalanceLoadRatio;
+        }
+
         @Override
         public boolean isUseLegacyStringDefault() {
             return useLegacyStringDefault;
@@ -249,6 +261,8 @@ public class AbstractLineTcpReceiverTest extends AbstractCairoTest {
         commitIntervalDefault = 2000;
         partitionByDefault = PartitionBy.DAY;
         disconnectOnError = false;
+        writerRebalanceInterval = 0;
+        writerRebalanceLoadRatio = 1.5;
         nf = NetworkFacadeImpl.INSTANCE;
     }
 
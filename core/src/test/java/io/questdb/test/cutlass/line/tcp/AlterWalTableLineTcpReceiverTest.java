@@ -486,6 +486,30 @@ public class AlterWalTableLineTcpReceiverTest extends AbstractLineTcpReceiverTes
         });
     }
 
+    @Test
+    public void testDesignatedTimestampFieldOnRepeatedLines() throws Exception {
+        runInContext((server) -> {
+            ddl("create table plug (room symbol, watts long, ts timestamp) timestamp(ts) partition by day wal");
+            // lines with the same columns reuse the column layout resolved for the first line,
+            // designated timestamp must still be taken from each line
+            send("plug,room=6A watts=1i,ts=1000000t\n" +
+                    "plug,room=6B watts=2i,ts=2000000t\n" +
+                    "plug,room=6C watts=3i,ts=3000000t\n" +
+                    "plug,room=6D watts=4i,ts=4000000t,ts=9000000t\n" +
+                    "plug,room=6E watts=5i,ts=5000000t,ts=9000000t\n"
+            );
+            drainWalQueue();
+
+            String expected = "room\twatts\tts\n" +
+                    "6A\t1\t1970-01-01T00:00:01.000000Z\n" +
+                    "6B\t2\t1970-01-01T00:00:02.000000Z\n" +
+                    "6C\t3\t1970-01-01T00:00:03.000000Z\n" +
+                    "6D\t4\t1970-01-01T00:00:04.000000Z\n" +
+                    "6E\t5\t1970-01-01T00:00:05.000000Z\n";
+            assertTable(expected);
+        });
+    }
+
     @Test
     public void testDropColumnAddDuplicate() throws Exception {
         runInContext((server) -> {
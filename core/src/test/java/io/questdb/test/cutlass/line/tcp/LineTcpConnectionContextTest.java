@@ -386,6 +386,27 @@ public class LineTcpConnectionContextTest extends BaseLineTcpContextTest {
         });
     }
 
+    @Test
+    public void testBadLineWithBinaryValueDisconnects() throws Exception {
+        String table = "badLineWithBinaryValue";
+        runInContext(() -> {
+            // the payload of the binary long 10 starts with a '\n' byte, a bad line can't be skipped to it
+            recvBuffer =
+                    table + " value==\021\n\0\0\0\0\0\0\0 1465839830100400200\n" +
+                            table + " value==\021\n\0\0\0\0\0\0\0x 1465839830100500200\n" +
+                            table + " value=11i 1465839830100600200\n";
+            do {
+                handleContextIO0();
+            } while (!disconnected && !recvBuffer.isEmpty());
+            Assert.assertTrue(disconnected);
+
+            closeContext();
+            String expected = "value\ttimestamp\n" +
+                    "10\t2016-06-13T17:43:50.100400Z\n";
+            assertTable(expected, table);
+        });
+    }
+
     @Test
     public void testBadTimestamp() throws Exception {
         String table = "badTimestamp";
@@ -101,6 +101,65 @@ public class LineTcpSenderTest extends AbstractLineTcpReceiverTest {
         });
     }
 
+    @Test
+    public void testBinaryFormatDoubleEdgeValues() throws Exception {
+        runInContext(r -> {
+            try (Sender sender = Sender.builder(Sender.Transport.TCP)
+                    .address("127.0.0.1")
+                    .port(bindPort)
+                    .protocolVersion(Sender.PROTOCOL_VERSION_V2)
+                    .build()) {
+
+                long ts = IntervalUtils.parseFloorPartialTimestamp("2022-02-25");
+                sender.table("mytable")
+                        .doubleColumn("negative_inf", Double.NEGATIVE_INFINITY)
+                        .doubleColumn("positive_inf", Double.POSITIVE_INFINITY)
+                        .doubleColumn("nan", Double.NaN)
+                        .doubleColumn("max_value", Double.MAX_VALUE)
+                        .doubleColumn("min_value", Double.MIN_VALUE)
+                        .at(ts, ChronoUnit.MICROS);
+                sender.flush();
+
+                assertTableSizeEventually(engine, "mytable", 1);
+                try (TableReader reader = getReader("mytable")) {
+                    TestUtils.assertReader("negative_inf\tpositive_inf\tnan\tmax_value\tmin_value\ttimestamp\n" +
+                            "null\tnull\tnull\t1.7976931348623157E308\t4.9E-324\t2022-02-25T00:00:00.000000Z\n", reader, new StringSink());
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testBinaryFormatWriteAllTypes() throws Exception {
+        runInContext(r -> {
+            String confString = "tcp::addr=127.0.0.1:" + bindPort + ";protocol_version=2;";
+            try (Sender sender = Sender.fromConfig(confString)) {
+                long tsMicros = IntervalUtils.parseFloorPartialTimestamp("2022-02-25");
+                // the binary payloads of 10 and 2570 contain '\n' bytes, which must not be treated as line ends
+                long[] longs = {Long.MAX_VALUE, 10, 2570};
+                for (int i = 0; i < longs.length; i++) {
+                    sender.table("mytable")
+                            .symbol("sym", "s" + i)
+                            .longColumn("long_field", longs[i])
+                            .boolColumn("bool_field", true)
+                            .stringColumn("string_field", "foo")
+                            .doubleColumn("double_field", 42.5)
+                            .timestampColumn("ts_field", tsMicros, ChronoUnit.MICROS)
+                            .at(tsMicros + i, ChronoUnit.MICROS);
+                }
+                sender.flush();
+            }
+
+            assertTableSizeEventually(engine, "mytable", 3);
+            try (TableReader reader = getReader("mytable")) {
+                TestUtils.assertReader("sym\tlong_field\tbool_field\tstring_field\tdouble_field\tts_field\ttimestamp\n" +
+                        "s0\t9223372036854775807\ttrue\tfoo\t42.5\t2022-02-25T00:00:00.000000Z\t2022-02-25T00:00:00.000000Z\n" +
+                        "s1\t10\ttrue\tfoo\t42.5\t2022-02-25T00:00:00.000000Z\t2022-02-25T00:00:00.000001Z\n" +
+                        "s2\t2570\ttrue\tfoo\t42.5\t2022-02-25T00:00:00.000000Z\t2022-02-25T00:00:00.000002Z\n", reader, new StringSink());
+            }
+        });
+    }
+
     @Test
     public void testBuilderAuthSuccess() throws Exception {
         authKeyId = AUTH_KEY_ID1;
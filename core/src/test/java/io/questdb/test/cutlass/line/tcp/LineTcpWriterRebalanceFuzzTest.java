@@ -0,0 +1,76 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+
+package io.questdb.test.cutlass.line.tcp;
+
+import io.questdb.log.Log;
+import io.questdb.log.LogFactory;
+import io.questdb.std.Os;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LineTcpWriterRebalanceFuzzTest extends AbstractLineTcpReceiverFuzzTest {
+
+    private static final Log LOG = LogFactory.getLog(LineTcpWriterRebalanceFuzzTest.class);
+
+    public LineTcpWriterRebalanceFuzzTest(WalMode walMode) {
+        super(walMode);
+    }
+
+    @Test
+    public void testLoadWithFrequentRebalancing() throws Exception {
+        // check the load on every maintenance pass and move a table on any imbalance
+        writerRebalanceInterval = 1;
+        writerRebalanceLoadRatio = 1.0;
+        initLoadParameters(100, Os.isWindows() ? 3 : 5, 7, 12, 20);
+        final long rebalances = metrics.line().tableRebalanceCounter().getValue();
+        // tables are moved between writer threads while the data is being sent,
+        // all rows must still end up in the tables
+        runTest();
+        if (!walEnabled) {
+            // WAL tables are written by the IO threads, only non-WAL tables have writer threads
+            Assert.assertTrue(metrics.line().tableRebalanceCounter().getValue() > rebalances);
+        }
+    }
+
+    @Test
+    public void testLoadWithRebalancingDisabled() throws Exception {
+        writerRebalanceInterval = 0;
+        initLoadParameters(100, Os.isWindows() ? 3 : 5, 7, 12, 20);
+        final long rebalances = metrics.line().tableRebalanceCounter().getValue();
+        runTest();
+        Assert.assertEquals(rebalances, metrics.line().tableRebalanceCounter().getValue());
+    }
+
+    @Override
+    protected Log getLog() {
+        return LOG;
+    }
+
+    @Override
+    protected int getWorkerCount() {
+        return 4;
+    }
+}
@@ -66,9 +66,13 @@ import org.postgresql.jdbc.PgResultSet;
 import org.postgresql.util.PGTimestamp;
 import org.postgresql.util.PSQLException;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 import java.sql.Date;
 import java.sql.*;
 import java.text.SimpleDateFormat;
@@ -2591,29 +2595,373 @@ if __name__ == "__main__":
     }
 
     @Test
-    @Ignore
-    public void testCopyIn() throws SQLException, SqlException {
-        try (
-                final PGWireServer server = createPGServer(2);
-                final WorkerPool workerPool = server.getWorkerPool()
-        ) {
-            workerPool.start(LOG);
-            try (final Connection connection = getConnection(server.getPort(), false, true)) {
-                PreparedStatement stmt = connection.prepareStatement("create table tab (a int, b int)");
-                stmt.execute();
+    public void testCopyInBinary() throws Exception {
+        assertWithPgServer(CONN_AWARE_ALL, (connection, binary, mode, port) -> {
+            connection.prepareStatement("create table x (ts timestamp, i int, d double, s symbol, v varchar, b boolean) timestamp(ts) partition by day").execute();
+
+            final long pgEpochOffset = 946684800000000L;
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(bytes);
+            out.write(new byte[]{'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xff, '\r', '\n', 0});
+            out.writeInt(0);
+            out.writeInt(0);
+            for (int i = 0; i < 3; i++) {
+                out.writeShort(6);
+                out.writeInt(8);
+                out.writeLong(1704067200000000L + i * 1000000L - pgEpochOffset);
+                if (i == 1) {
+                    out.writeInt(-1);
+                    out.writeInt(-1);
+                    out.writeInt(-1);
+                    out.writeInt(-1);
+                } else {
+                    out.writeInt(4);
+                    out.writeInt(i);
+                    out.writeInt(8);
+                    out.writeDouble(i + 0.5);
+                    out.writeInt(3);
+                    out.write(("ab" + i).getBytes(StandardCharsets.UTF_8));
+                    out.writeInt(6);
+                    out.write("héllo".getBytes(StandardCharsets.UTF_8));
+                }
+                out.writeInt(1);
+                out.writeByte(i == 0 ? 1 : 0);
+            }
+            out.writeShort(-1);
+            final byte[] data = bytes.toByteArray();
 
-                CopyManager copyManager = new CopyManager((BaseConnection) connection);
+            final CopyIn copyIn = new CopyManager((BaseConnection) connection).copyIn("copy x from stdin with (format binary)");
+            // tuples are split across CopyData messages
+            for (int i = 0; i < data.length; i += 5) {
+                copyIn.writeToCopy(data, i, Math.min(5, data.length - i));
+            }
+            Assert.assertEquals(3, copyIn.endCopy());
 
-                CopyIn copyIn = copyManager.copyIn("copy tab from STDIN");
+            mayDrainWalQueue();
+            assertSql(
+                    "ts\ti\td\ts\tv\tb\n" +
+                            "2024-01-01T00:00:00.000000Z\t0\t0.5\tab0\théllo\ttrue\n" +
+                            "2024-01-01T00:00:01.000000Z\tnull\tnull\t\t\tfalse\n" +
+                            "2024-01-01T00:00:02.000000Z\t2\t2.5\tab2\théllo\tfalse\n",
+                    "x"
+            );
+        });
+    }
 
-                String text = "a,b\r\n" +
-                        "10,20";
+    @Test
+    public void testCopyInBinaryInvalidBoolean() throws Exception {
+        assertWithPgServer(CONN_AWARE_ALL, (connection, binary, mode, port) -> {
+            connection.prepareStatement("create table x (ts timestamp, b boolean) timestamp(ts) partition by day").execute();
+
+            final long pgEpochOffset = 946684800000000L;
+            final CopyManager copyManager = new CopyManager((BaseConnection) connection);
+            // booleans are sent as a single byte, other lengths are rejected
+            for (int len : new int[]{0, 2}) {
+                final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                final DataOutputStream out = new DataOutputStream(bytes);
+                out.write(new byte[]{'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xff, '\r', '\n', 0});
+                out.writeInt(0);
+                out.writeInt(0);
+                out.writeShort(2);
+                out.writeInt(8);
+                out.writeLong(1704067200000000L - pgEpochOffset);
+                out.writeInt(len);
+                for (int i = 0; i < len; i++) {
+                    out.writeByte(1);
+                }
+                out.writeShort(-1);
 
-                byte[] bytes = text.getBytes();
-                copyIn.writeToCopy(bytes, 0, bytes.length);
-                copyIn.endCopy();
+                try {
+                    copyManager.copyIn("copy x from stdin with (format binary)", new ByteArrayInputStream(bytes.toByteArray()));
+                    Assert.fail();
+                } catch (SQLException e) {
+                    TestUtils.assertContains(e.getMessage(), "invalid value [row=1, column=b, type=BOOLEAN]");
+                }
             }
-        }
+
+            mayDrainWalQueue();
+            assertSql("ts\tb\n", "x");
+        });
+    }
+
+    @Test
+    public void testCopyInBinaryInvalidFieldLength() throws Exception {
+        assertWithPgServer(CONN_AWARE_ALL, (connection, binary, mode, port) -> {
+            connection.prepareStatement("create table x (ts timestamp, i int) timestamp(ts) partition by day").execute();
+
+            final long pgEpochOffset = 946684800000000L;
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(bytes);
+            out.write(new byte[]{'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xff, '\r', '\n', 0});
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeShort(2);
+            out.writeInt(8);
+            out.writeLong(1704067200000000L - pgEpochOffset);
+            // only -1 stands for NULL
+            out.writeInt(-2);
+            out.writeShort(-1);
+
+            try {
+                new CopyManager((BaseConnection) connection).copyIn("copy x from stdin with (format binary)", new ByteArrayInputStream(bytes.toByteArray()));
+                Assert.fail();
+            } catch (SQLException e) {
+                TestUtils.assertContains(e.getMessage(), "invalid COPY field length [len=-2]");
+            }
+
+            mayDrainWalQueue();
+            assertSql("ts\ti\n", "x");
+        });
+    }
+
+    @Test
+    public void testCopyInBinaryIntegerOutOfRange() throws Exception {
+        assertWithPgServer(CONN_AWARE_ALL, (connection, binary, mode, port) -> {
+            connection.prepareStatement("create table x (ts timestamp, b byte, s short, i int) timestamp(ts) partition by day").execute();
+
+            final long pgEpochOffset = 946684800000000L;
+            final CopyManager copyManager = new CopyManager((BaseConnection) connection);
+            final String[] columns = {"b", "s", "i"};
+            final String[] types = {"BYTE", "SHORT", "INT"};
+            final long[] values = {Byte.MAX_VALUE + 1, Short.MIN_VALUE - 1, Integer.MAX_VALUE + 1L};
+            for (int column = 0; column < columns.length; column++) {
+                // integers are sent as 8 bytes, narrowing must not wrap them around
+                final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                final DataOutputStream out = new DataOutputStream(bytes);
+                out.write(new byte[]{'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xff, '\r', '\n', 0});
+                out.writeInt(0);
+                out.writeInt(0);
+                out.writeShort(4);
+                out.writeInt(8);
+                out.writeLong(1704067200000000L - pgEpochOffset);
+                for (int i = 0; i < columns.length; i++) {
+                    out.writeInt(8);
+                    out.writeLong(i == column ? values[i] : 1);
+                }
+                out.writeShort(-1);
+
+                try {
+                    copyManager.copyIn("copy x from stdin with (format binary)", new ByteArrayInputStream(bytes.toByteArray()));
+                    Assert.fail();
+                } catch (SQLException e) {
+                    TestUtils.assertContains(e.getMessage(), "invalid value [row=1, column=" + columns[column] + ", type=" + types[column] + "]");
+                }
+            }
+
+            mayDrainWalQueue();
+            assertSql("ts\tb\ts\ti\n", "x");
+        });
+    }
+
+    @Test
+    public void testCopyInCsv() throws Exception {
+        assertWithPgServer(CONN_AWARE_ALL, (connection, binary, mode, port) -> {
+            connection.prepareStatement("create table x (ts timestamp, i int, s string, v varchar) timestamp(ts) partition by day").execute();
+
+            final String csv = "ts|v|i\r\n" +
+                    "2024-01-01T00:00:00Z|\"a|b \"\"quoted\"\"\"|1\r\n" +
+                    "2024-01-01T00:00:01Z|\"multi\nline\"|2\r\n" +
+                    "2024-01-01T00:00:02Z||3\r\n" +
+                    "2024-01-01T00:00:03Z|\"\"|\r\n";
+            final long rows = new CopyManager((BaseConnection) connection).copyIn(
+                    "copy x (ts, v, i) from stdin with (format csv, header true, delimiter '|')",
+                    new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                    7
+            );
+            Assert.assertEquals(4, rows);
+
+            mayDrainWalQueue();
+            assertSql(
+                    "ts\ti\ts\tv\n" +
+                            "2024-01-01T00:00:00.000000Z\t1\t\ta|b \"quoted\"\n" +
+                            "2024-01-01T00:00:01.000000Z\t2\t\tmulti\nline\n" +
+                            "2024-01-01T00:00:02.000000Z\t3\t\t\n" +
+                            "2024-01-01T00:00:03.000000Z\tnull\t\t\n",
+                    "x"
+            );
+            assertSql(
+                    "count\n" +
+                            "1\n",
+                    "select count() from x where v = ''"
+            );
+        });
+    }
+
+    @Test
+    public void testCopyInErrors() throws Exception {
+        assertWithPgServer(CONN_AWARE_ALL, (connection, binary, mode, port) -> {
+            connection.prepareStatement("create table x (ts timestamp, i int) timestamp(ts) partition by day").execute();
+            final CopyManager copyManager = new CopyManager((BaseConnection) connection);
+
+            assertCopyInFails(copyManager, "copy x from stdin", "2024-01-01T00:00:00Z\tabc\n", "invalid value [row=1, column=i, type=INT]");
+            assertCopyInFails(copyManager, "copy x from stdin", "2024-01-01T00:00:00Z\n", "unexpected number of columns [row=1, expected=2, actual=1]");
+            assertCopyInFails(copyManager, "copy x from stdin", "2024-01-01T00:00:00Z\t1\t2\n", "extra data after last expected column [row=1]");
+            assertCopyInFails(copyManager, "copy x from stdin", "\\N\t1\n", "designated timestamp cannot be NULL [row=1, column=ts]");
+            assertCopyInFails(copyManager, "copy x (i) from stdin", "1\n", "designated timestamp column must be copied [column=ts]");
+            assertCopyInFails(copyManager, "copy y from stdin", "", "table does not exist [table=y]");
+            assertCopyInFails(copyManager, "copy x from stdin; select 1", "", "COPY FROM STDIN must be the last statement of the query");
+
+            // the connection is usable after a failed copy
+            Assert.assertEquals(1, copyManager.copyIn("copy x from stdin", new ByteArrayInputStream("2024-01-01T00:00:00Z\t42\n\\.\n".getBytes(StandardCharsets.UTF_8))));
+            mayDrainWalQueue();
+            assertSql(
+                    "ts\ti\n" +
+                            "2024-01-01T00:00:00.000000Z\t42\n",
+                    "x"
+            );
+        });
+    }
+
+    @Test
+    public void testCopyInText() throws Exception {
+        assertWithPgServer(CONN_AWARE_ALL, (connection, binary, mode, port) -> {
+            connection.prepareStatement("create table x (ts timestamp, i int, d double, s symbol, v varchar, b boolean, l long) timestamp(ts) partition by day").execute();
+
+            final String text = "2024-01-01T00:00:00.000000Z\t1\t1.5\tabc\thello\\tworld\tt\t10\n" +
+                    "2024-01-01 00:00:01\t\\N\t\\N\t\\N\tline\\nbreak\tf\t\\N\n" +
+                    "2024-01-01T00:00:02Z\t3\t-2\tx\tescaped \\\\ \\x41\\101\ttrue\t30";
+            final long rows = new CopyManager((BaseConnection) connection).copyIn(
+                    "copy x from stdin",
+                    new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)),
+                    3
+            );
+            Assert.assertEquals(3, rows);
+
+            mayDrainWalQueue();
+            assertSql(
+                    "ts\ti\td\ts\tv\tb\tl\n" +
+                            "2024-01-01T00:00:00.000000Z\t1\t1.5\tabc\thello\tworld\ttrue\t10\n" +
+                            "2024-01-01T00:00:01.000000Z\tnull\tnull\t\tline\nbreak\tfalse\tnull\n" +
+                            "2024-01-01T00:00:02.000000Z\t3\t-2.0\tx\tescaped \\ AA\ttrue\t30\n",
+                    "x"
+            );
+        });
+    }
+
+    @Test
+    public void testCopyOutBinary() throws Exception {
+        assertWithPgServer(CONN_AWARE_ALL, (connection, binary, mode, port) -> {
+            connection.prepareStatement("create table x (ts timestamp, i int, d double, s symbol, b boolean) timestamp(ts) partition by day").execute();
+            connection.prepareStatement("insert into x values " +
+                    "('2024-01-01T00:00:00Z', 0, 0.5, 'ab0', true), " +
+                    "('2024-01-01T00:00:01Z', null, null, null, false), " +
+                    "('2024-01-02T00:00:00Z', 2, 2.5, 'ab2', false)"
+            ).execute();
+            mayDrainWalQueue();
+
+            final long pgEpochOffset = 946684800000000L;
+            final long[] timestamps = {1704067200000000L, 1704067201000000L, 1704153600000000L};
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(bytes);
+            out.write(new byte[]{'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xff, '\r', '\n', 0});
+            out.writeInt(0);
+            out.writeInt(0);
+            for (int i = 0; i < 3; i++) {
+                out.writeShort(5);
+                out.writeInt(8);
+                out.writeLong(timestamps[i] - pgEpochOffset);
+                if (i == 1) {
+                    out.writeInt(-1);
+                    out.writeInt(-1);
+                    out.writeInt(-1);
+                } else {
+                    out.writeInt(4);
+                    out.writeInt(i);
+                    out.writeInt(8);
+                    out.writeDouble(i + 0.5);
+                    out.writeInt(3);
+                    out.write(("ab" + i).getBytes(StandardCharsets.UTF_8));
+                }
+                out.writeInt(1);
+                out.writeByte(i == 0 ? 1 : 0);
+            }
+            out.writeShort(-1);
+            final byte[] expected = bytes.toByteArray();
+
+            final CopyManager copyManager = new CopyManager((BaseConnection) connection);
+            // table scan is sent from page frames
+            ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            Assert.assertEquals(3, copyManager.copyOut("copy x to stdout with (format binary)", actual));
+            Assert.assertArrayEquals(expected, actual.toByteArray());
+
+            // limit is sent from the record cursor
+            actual = new ByteArrayOutputStream();
+            Assert.assertEquals(3, copyManager.copyOut("copy (select * from x limit 10) to stdout binary", actual));
+            Assert.assertArrayEquals(expected, actual.toByteArray());
+        });
+    }
+
+    @Test
+    public void testCopyOutCsv() throws Exception {
+        assertWithPgServer(CONN_AWARE_ALL, (connection, binary, mode, port) -> {
+            connection.prepareStatement("create table x (ts timestamp, i int, s string, v varchar) timestamp(ts) partition by day").execute();
+            connection.prepareStatement("insert into x values " +
+                    "('2024-01-01T00:00:00Z', 1, 'a,b \"quoted\"', 'multi\nline'), " +
+                    "('2024-01-01T00:00:01Z', null, null, '')"
+            ).execute();
+            mayDrainWalQueue();
+
+            final CopyManager copyManager = new CopyManager((BaseConnection) connection);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Assert.assertEquals(2, copyManager.copyOut("copy (select i, s, v from x) to stdout with (format csv, header true)", out));
+            Assert.assertEquals(
+                    "i,s,v\n" +
+                            "1,\"a,b \"\"quoted\"\"\",\"multi\nline\"\n" +
+                            ",,\"\"\n",
+                    out.toString(StandardCharsets.UTF_8.name())
+            );
+
+            out = new ByteArrayOutputStream();
+            Assert.assertEquals(2, copyManager.copyOut("copy x (ts, i) to stdout with (format csv, delimiter '|', null 'n/a')", out));
+            Assert.assertEquals(
+                    "2024-01-01 00:00:00.000000|1\n" +
+                            "2024-01-01 00:00:01.000000|n/a\n",
+                    out.toString(StandardCharsets.UTF_8.name())
+            );
+        });
+    }
+
+    @Test
+    public void testCopyOutText() throws Exception {
+        assertWithPgServer(CONN_AWARE_ALL, (connection, binary, mode, port) -> {
+            connection.prepareStatement("create table x (ts timestamp, i int, d double, s symbol, v varchar, b boolean, l long) timestamp(ts) partition by day").execute();
+            connection.prepareStatement("insert into x values " +
+                    "('2024-01-01T00:00:00Z', 1, 1.5, 'abc', 'hello\tworld', true, 10), " +
+                    "('2024-01-01T00:00:01Z', null, null, null, 'line\nbreak', false, null), " +
+                    "('2024-01-01T00:00:02Z', 3, -2, 'x', 'back\\slash', true, 30)"
+            ).execute();
+            mayDrainWalQueue();
+
+            final CopyManager copyManager = new CopyManager((BaseConnection) connection);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Assert.assertEquals(3, copyManager.copyOut("copy x to stdout", out));
+            final String text = out.toString(StandardCharsets.UTF_8.name());
+            Assert.assertEquals(
+                    "2024-01-01 00:00:00.000000\t1\t1.5\tabc\thello\\tworld\tt\t10\n" +
+                            "2024-01-01 00:00:01.000000\t\\N\t\\N\t\\N\tline\\nbreak\tf\t\\N\n" +
+                            "2024-01-01 00:00:02.000000\t3\t-2.0\tx\tback\\\\slash\tt\t30\n",
+                    text
+            );
+
+            // text output can be copied back in
+            connection.prepareStatement("create table y (ts timestamp, i int, d double, s symbol, v varchar, b boolean, l long) timestamp(ts) partition by day").execute();
+            Assert.assertEquals(3, copyManager.copyIn("copy y from stdin", new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))));
+            mayDrainWalQueue();
+            assertSql(
+                    "ts\ti\td\ts\tv\tb\tl\n" +
+                            "2024-01-01T00:00:00.000000Z\t1\t1.5\tabc\thello\tworld\ttrue\t10\n" +
+                            "2024-01-01T00:00:01.000000Z\tnull\tnull\t\tline\nbreak\tfalse\tnull\n" +
+                            "2024-01-01T00:00:02.000000Z\t3\t-2.0\tx\tback\\slash\ttrue\t30\n",
+                    "y"
+            );
+
+            try {
+                copyManager.copyOut("copy z to stdout", new ByteArrayOutputStream());
+                Assert.fail();
+            } catch (PSQLException e) {
+                TestUtils.assertContains(e.getMessage(), "table does not exist [table=z]");
+            }
+        });
     }
 
     @Test
@@ -9936,6 +10284,15 @@ create table tab as (
                 "select v,s from x where ?::varchar != v and ?::varchar != s");
     }
 
+    private static void assertCopyInFails(CopyManager copyManager, String sql, String data, String expectedMessage) throws IOException {
+        try {
+            copyManager.copyIn(sql, new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)));
+            Assert.fail();
+        } catch (SQLException e) {
+            TestUtils.assertContains(e.getMessage(), expectedMessage);
+        }
+    }
+
     private static int executeAndCancelQuery(PgConnection connection) throws SQLException, InterruptedException {
         int backendPid;
         AtomicBoolean isCancelled = new AtomicBoolean(false);
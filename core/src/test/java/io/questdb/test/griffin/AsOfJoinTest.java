@@ -24,6 +24,7 @@
 
 package io.questdb.test.griffin;
 
+import io.questdb.PropertyKey;
 import io.questdb.cairo.ColumnType;
 import io.questdb.cairo.sql.Record;
 import io.questdb.cairo.sql.RecordCursor;
@@ -266,6 +267,173 @@ public class AsOfJoinTest extends AbstractCairoTest {
         );
     }
 
+    @Test
+    public void testAsOfJoinKeyedFastScan() throws Exception {
+        node1.setProperty(PropertyKey.CAIRO_SQL_ASOF_JOIN_FAST_SCAN_ENABLED, true);
+        assertMemoryLeak(() -> {
+            final String[] queries = {
+                    "select * from t asof join q on (s)",
+                    "select t.ts, t.w, q.v, q.s from t asof join q on t.s = q.s where t.w > 100",
+                    "select * from (t where w % 3 = 0) asof join q on (s)"
+            };
+            final boolean[] expectSize = {true, false, false};
+            for (String partitionBy : new String[]{"NONE", "HOUR", "DAY"}) {
+                // quotes have a gap, null keys and a key that only shows up at the end
+                ddl(
+                        "create table q as (" +
+                                "select cast(case when x % 11 = 0 then null when x > 900 and x % 5 = 0 then 's7' else 's' || (x % 7) end as symbol) s, " +
+                                "x v, " +
+                                "cast(x * 37000000 + 1000000000 as timestamp) ts " +
+                                "from long_sequence(1000) where x not between 300 and 400" +
+                                ") timestamp(ts) partition by " + partitionBy
+                );
+                // trades have null keys and keys missing in quotes
+                ddl(
+                        "create table t as (" +
+                                "select cast(case when x % 13 = 0 then null when x % 17 = 0 then 'zz' when x % 19 = 0 then 's7' else 's' || (x % 9) end as symbol) s, " +
+                                "x w, " +
+                                "cast(x * 91000000 as timestamp) ts " +
+                                "from long_sequence(500)" +
+                                ") timestamp(ts) partition by " + partitionBy
+                );
+
+                for (int i = 0; i < queries.length; i++) {
+                    // full-fat ASOF JOIN serves as the reference
+                    printSql(queries[i], true);
+                    final String expected = sink.toString();
+                    assertQueryNoLeakCheck(expected, queries[i], "ts", false, expectSize[i]);
+                }
+
+                drop("drop table q");
+                drop("drop table t");
+            }
+        });
+    }
+
+    @Test
+    public void testAsOfJoinKeyedFastScanKeyMissingInSlave() throws Exception {
+        node1.setProperty(PropertyKey.CAIRO_SQL_ASOF_JOIN_FAST_SCAN_ENABLED, true);
+        assertMemoryLeak(() -> {
+            ddl("create table q (s symbol, v long, ts timestamp) timestamp(ts) partition by hour");
+            insert(
+                    "insert into q values " +
+                            "('a', 1, '1970-01-01T00:00:01.000000Z'), " +
+                            "('b', 2, '1970-01-01T00:00:02.000000Z'), " +
+                            "('a', 3, '1970-01-01T00:00:03.000000Z'), " +
+                            "('c', 4, '1970-01-01T00:00:10.000000Z')"
+            );
+            ddl("create table t (s symbol, ts timestamp) timestamp(ts) partition by hour");
+            // 'c' is in the slave symbol table, but has no rows before the master timestamp,
+            // 'd' is not in the slave symbol table at all
+            insert(
+                    "insert into t values " +
+                            "('a', '1970-01-01T00:00:02.000000Z'), " +
+                            "('c', '1970-01-01T00:00:04.000000Z'), " +
+                            "('d', '1970-01-01T00:00:05.000000Z'), " +
+                            "('a', '1970-01-01T00:00:06.000000Z'), " +
+                            "('d', '1970-01-01T00:00:07.000000Z'), " +
+                            "('c', '1970-01-01T00:00:11.000000Z')"
+            );
+
+            final String query = "select t.s, t.ts, q.v, q.ts from t asof join q on (s)";
+            assertPlanNoLeakCheck(
+                    query,
+                    "SelectedRecord\n" +
+                            "    AsOf Join Fast Scan\n" +
+                            "      condition: q.s=t.s\n" +
+                            "        DataFrame\n" +
+                            "            Row forward scan\n" +
+                            "            Frame forward scan on: t\n" +
+                            "        DataFrame\n" +
+                            "            Row forward scan\n" +
+                            "            Frame forward scan on: q\n"
+            );
+            assertQueryNoLeakCheck(
+                    "s\tts\tv\tts1\n" +
+                            "a\t1970-01-01T00:00:02.000000Z\t1\t1970-01-01T00:00:01.000000Z\n" +
+                            "c\t1970-01-01T00:00:04.000000Z\tnull\t\n" +
+                            "d\t1970-01-01T00:00:05.000000Z\tnull\t\n" +
+                            "a\t1970-01-01T00:00:06.000000Z\t3\t1970-01-01T00:00:03.000000Z\n" +
+                            "d\t1970-01-01T00:00:07.000000Z\tnull\t\n" +
+                            "c\t1970-01-01T00:00:11.000000Z\t4\t1970-01-01T00:00:10.000000Z\n",
+                    query,
+                    "ts",
+                    false,
+                    true
+            );
+        });
+    }
+
+    @Test
+    public void testAsOfJoinKeyedFastScanMatchInFirstFrame() throws Exception {
+        node1.setProperty(PropertyKey.CAIRO_SQL_ASOF_JOIN_FAST_SCAN_ENABLED, true);
+        assertMemoryLeak(() -> {
+            ddl("create table q (s symbol, v long, ts timestamp) timestamp(ts) partition by hour");
+            insert(
+                    "insert into q values " +
+                            "('a', 1, '1970-01-01T00:00:01.000000Z'), " +
+                            "('b', 2, '1970-01-01T00:00:02.000000Z'), " +
+                            "('b', 3, '1970-01-01T01:00:01.000000Z'), " +
+                            "('b', 4, '1970-01-01T01:00:02.000000Z'), " +
+                            "('b', 5, '1970-01-01T02:00:01.000000Z'), " +
+                            "('c', 6, '1970-01-01T02:00:02.000000Z')"
+            );
+            ddl("create table t (s symbol, ts timestamp) timestamp(ts) partition by hour");
+            // 'a' only has a row in the first slave partition, the backward scan has to reach it
+            // from the last partition and then hand the time frame cursor back to the forward scan
+            insert(
+                    "insert into t values " +
+                            "('a', '1970-01-01T00:00:03.000000Z'), " +
+                            "('a', '1970-01-01T02:00:03.000000Z'), " +
+                            "('b', '1970-01-01T02:00:04.000000Z'), " +
+                            "('c', '1970-01-01T02:00:05.000000Z'), " +
+                            "('a', '1970-01-01T02:00:06.000000Z')"
+            );
+            assertQueryNoLeakCheck(
+                    "s\tts\tv\tts1\n" +
+                            "a\t1970-01-01T00:00:03.000000Z\t1\t1970-01-01T00:00:01.000000Z\n" +
+                            "a\t1970-01-01T02:00:03.000000Z\t1\t1970-01-01T00:00:01.000000Z\n" +
+                            "b\t1970-01-01T02:00:04.000000Z\t5\t1970-01-01T02:00:01.000000Z\n" +
+                            "c\t1970-01-01T02:00:05.000000Z\t6\t1970-01-01T02:00:02.000000Z\n" +
+                            "a\t1970-01-01T02:00:06.000000Z\t1\t1970-01-01T00:00:01.000000Z\n",
+                    "select t.s, t.ts, q.v, q.ts from t asof join q on (s)",
+                    "ts",
+                    false,
+                    true
+            );
+        });
+    }
+
+    @Test
+    public void testAsOfJoinKeyedFastScanSparseKeys() throws Exception {
+        node1.setProperty(PropertyKey.CAIRO_SQL_ASOF_JOIN_FAST_SCAN_ENABLED, true);
+        // backward scans give up after two rows and fall back to a forward sweep
+        node1.setProperty(PropertyKey.CAIRO_SQL_ASOF_JOIN_LOOKAHEAD, 2);
+        assertMemoryLeak(() -> {
+            // a few dense keys and many sparse ones
+            ddl(
+                    "create table q as (" +
+                            "select cast(case when x % 50 = 0 then 'k' || (x % 7000) when x % 13 = 0 then null else 'd' || (x % 3) end as symbol) s, " +
+                            "x v, " +
+                            "cast(x * 10000000 as timestamp) ts " +
+                            "from long_sequence(5000)" +
+                            ") timestamp(ts) partition by hour"
+            );
+            ddl(
+                    "create table t as (" +
+                            "select cast(case when x % 4 = 0 then 'd' || (x % 3) when x % 9 = 0 then null else 'k' || (x * 50 % 7000) end as symbol) s, " +
+                            "x w, " +
+                            "cast(x * 47000000 + 5000000 as timestamp) ts " +
+                            "from long_sequence(1000)" +
+                            ") timestamp(ts) partition by hour"
+            );
+            final String query = "select * from t asof join q on (s)";
+            // full-fat ASOF JOIN serves as the reference
+            printSql(query, true);
+            assertQueryNoLeakCheck(sink.toString(), query, "ts", false, true);
+        });
+    }
+
     @Test
     public void testAsOfJoinNoAliasDuplication() throws Exception {
         assertMemoryLeak(() -> {
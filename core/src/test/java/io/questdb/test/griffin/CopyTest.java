@@ -132,6 +132,74 @@ public class CopyTest extends AbstractCairoTest {
         testCopy(insert, assertion);
     }
 
+    @Test
+    public void testCopyStdinOptions() throws Exception {
+        assertMemoryLeak(() -> {
+            try (SqlCompiler compiler = engine.getSqlCompiler()) {
+                CopyModel model = (CopyModel) compiler.testCompileModel("copy y (ts, a) from stdin with (format csv, header true, delimiter '|', null 'n/a');", sqlExecutionContext);
+                assertEquals("y", model.getTarget().token.toString());
+                assertEquals(2, model.getColumns().size());
+                assertEquals("ts", model.getColumns().getQuick(0).token.toString());
+                assertEquals("a", model.getColumns().getQuick(1).token.toString());
+                assertEquals(CopyModel.STDIN_FORMAT_CSV, model.getStdinFormat());
+                assertTrue(model.isHeader());
+                assertEquals('|', model.getDelimiter());
+                assertEquals("n/a", model.getNullString().toString());
+
+                model = (CopyModel) compiler.testCompileModel("COPY y FROM STDIN WITH CSV HEADER", sqlExecutionContext);
+                assertEquals(0, model.getColumns().size());
+                assertEquals(CopyModel.STDIN_FORMAT_CSV, model.getStdinFormat());
+                assertTrue(model.isHeader());
+                assertEquals(-1, model.getDelimiter());
+                assertNull(model.getNullString());
+
+                model = (CopyModel) compiler.testCompileModel("copy y from stdin", sqlExecutionContext);
+                assertEquals(CopyModel.STDIN_FORMAT_TEXT, model.getStdinFormat());
+                assertFalse(model.isHeader());
+
+                model = (CopyModel) compiler.testCompileModel("copy y from stdin binary", sqlExecutionContext);
+                assertEquals(CopyModel.STDIN_FORMAT_BINARY, model.getStdinFormat());
+            }
+        });
+    }
+
+    @Test
+    public void testCopyStdoutOptions() throws Exception {
+        assertMemoryLeak(() -> {
+            try (SqlCompiler compiler = engine.getSqlCompiler()) {
+                CopyModel model = (CopyModel) compiler.testCompileModel("copy (select a from y where a > 0) to stdout with (format csv, header true, null '');", sqlExecutionContext);
+                assertNull(model.getTarget());
+                assertNotNull(model.getQueryModel());
+                assertEquals(CopyModel.STDIN_FORMAT_CSV, model.getStdinFormat());
+                assertTrue(model.isHeader());
+                assertEquals("", model.getNullString().toString());
+
+                model = (CopyModel) compiler.testCompileModel("COPY y (ts, a) TO STDOUT BINARY", sqlExecutionContext);
+                assertEquals("y", model.getTarget().token.toString());
+                assertEquals(2, model.getColumns().size());
+                assertNotNull(model.getQueryModel());
+                assertEquals(CopyModel.STDIN_FORMAT_BINARY, model.getStdinFormat());
+            }
+        });
+    }
+
+    @Test
+    public void testCopyStdoutThrowsExceptionOnInvalidOptions() throws Exception {
+        assertException("copy (select 1) to stdin", 19, "'stdout' expected");
+        assertException("copy y to stdout with (format binary, header)", 10, "DELIMITER, NULL and HEADER options are not supported in binary format");
+    }
+
+    @Test
+    public void testCopyStdinThrowsExceptionOnInvalidOptions() throws Exception {
+        assertException("copy y from stdin with (format binary, delimiter ',')", 12, "DELIMITER, NULL and HEADER options are not supported in binary format");
+        assertException("copy y from stdin with (format xml)", 31, "'text', 'csv' or 'binary' expected");
+        assertException("copy y from stdin with (delimiter '\\')", 34, "delimiter must be an ascii character other than newline, carriage return or backslash");
+        assertException("copy y from stdin with (null n)", 29, "quoted null string expected");
+        assertException("copy y from stdin with (encoding 'utf8')", 24, "unexpected option");
+        assertException("copy y from stdin with (csv) trailing", 29, "unexpected token [trailing]");
+        assertException("copy y (1) from stdin", 8, "column name expected");
+    }
+
     @Test
     public void testCopyThrowsExceptionOnEmptyDelimiter() throws Exception {
         assertMemoryLeak(() -> {
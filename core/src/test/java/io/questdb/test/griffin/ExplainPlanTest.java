@@ -24,6 +24,7 @@
 
 package io.questdb.test.griffin;
 
+import io.questdb.PropertyKey;
 import io.questdb.cairo.ColumnType;
 import io.questdb.cairo.GenericRecordMetadata;
 import io.questdb.cairo.SqlJitMode;
@@ -458,6 +459,49 @@ public class ExplainPlanTest extends AbstractCairoTest {
         });
     }
 
+    @Test
+    public void testAsOfJoinKeyedFast() throws Exception {
+        node1.setProperty(PropertyKey.CAIRO_SQL_ASOF_JOIN_FAST_SCAN_ENABLED, true);
+        assertMemoryLeak(() -> {
+            ddl("create table a (s symbol, ts timestamp) timestamp(ts)");
+            ddl("create table b (s symbol, ts timestamp) timestamp(ts)");
+
+            assertPlanNoLeakCheck(
+                    "select * from a asof join b on (s)",
+                    "SelectedRecord\n" +
+                            "    AsOf Join Fast Scan\n" +
+                            "      condition: b.s=a.s\n" +
+                            "        DataFrame\n" +
+                            "            Row forward scan\n" +
+                            "            Frame forward scan on: a\n" +
+                            "        DataFrame\n" +
+                            "            Row forward scan\n" +
+                            "            Frame forward scan on: b\n"
+            );
+        });
+    }
+
+    @Test
+    public void testAsOfJoinKeyedFastDisabled() throws Exception {
+        assertMemoryLeak(() -> {
+            ddl("create table a (s symbol, ts timestamp) timestamp(ts)");
+            ddl("create table b (s symbol, ts timestamp) timestamp(ts)");
+
+            assertPlanNoLeakCheck(
+                    "select * from a asof join b on (s)",
+                    "SelectedRecord\n" +
+                            "    AsOf Join Light\n" +
+                            "      condition: b.s=a.s\n" +
+                            "        DataFrame\n" +
+                            "            Row forward scan\n" +
+                            "            Frame forward scan on: a\n" +
+                            "        DataFrame\n" +
+                            "            Row forward scan\n" +
+                            "            Frame forward scan on: b\n"
+            );
+        });
+    }
+
     @Test
     public void testAsOfJoinNoKey() throws Exception {
         assertMemoryLeak(() -> {
@@ -1882,7 +1926,7 @@ public class ExplainPlanTest extends AbstractCairoTest {
             );
 
             assertPlanNoLeakCheck("select s, count() from trips where l > 100 or l != 0 and s not in (null, 'A1000', 'A2000')",
-                    "Async Group By workers: 1\n" +
+                    "Async JIT Group By workers: 1\n" +
                             "  keys: [s]\n" +
                             "  values: [count(*)]\n" +
                             "  filter: (100<l or (l!=0 and not (s in [null,A1000,A2000])))\n" +
@@ -8412,12 +8456,12 @@ public class ExplainPlanTest extends AbstractCairoTest {
         );
     }
 
-    @Test // TODO: this one should use jit
+    @Test
     public void testSelectWithJittedFilter10() throws Exception {
         assertPlan(
                 "create table tab ( s symbol, ts timestamp);",
                 "select * from tab where s in ( 'A', 'B' )",
-                "Async Filter workers: 1\n" +
+                "Async JIT Filter workers: 1\n" +
                         "  filter: s in [A,B]\n" +
                         "    DataFrame\n" +
                         "        Row forward scan\n" +
@@ -8826,12 +8870,12 @@ public class ExplainPlanTest extends AbstractCairoTest {
         );
     }
 
-    @Test // TODO: this one should use jit
+    @Test
     public void testSelectWithJittedFilter9() throws Exception {
         assertPlan(
                 "create table tab ( l long, ts timestamp);",
                 "select * from tab where l in ( 100, 200 )",
-                "Async Filter workers: 1\n" +
+                "Async JIT Filter workers: 1\n" +
                         "  filter: l in [100,200]\n" +
                         "    DataFrame\n" +
                         "        Row forward scan\n" +
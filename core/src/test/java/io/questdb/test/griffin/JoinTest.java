@@ -24,13 +24,19 @@
 
 package io.questdb.test.griffin;
 
+import io.questdb.PropertyKey;
 import io.questdb.cairo.CairoException;
 import io.questdb.cairo.CursorPrinter;
 import io.questdb.cairo.ImplicitCastException;
 import io.questdb.cairo.TableWriter;
+import io.questdb.cairo.map.Map;
+import io.questdb.cairo.sql.Record;
 import io.questdb.cairo.sql.RecordCursor;
 import io.questdb.cairo.sql.RecordCursorFactory;
+import io.questdb.griffin.SqlCompiler;
 import io.questdb.griffin.SqlException;
+import io.questdb.griffin.engine.join.HashJoinLightRecordCursorFactory;
+import io.questdb.griffin.engine.join.HashJoinRecordCursorFactory;
 import io.questdb.std.Chars;
 import io.questdb.std.Files;
 import io.questdb.std.datetime.microtime.TimestampFormatUtils;
@@ -1777,6 +1783,71 @@ public class JoinTest extends AbstractCairoTest {
         testJoinForCursorLeaks("with crj as (select * from xx latest by x) select xx.x from xx join crj on xx.x = crj.x ", false);
     }
 
+    @Test
+    public void testHashJoinMapPresizeHeapSizeCapped() throws Exception {
+        node1.setProperty(PropertyKey.CAIRO_SQL_HASH_JOIN_PRESIZE_MAX_HEAP_SIZE, 8 * 1024);
+        assertMemoryLeak(() -> {
+            ddl("create table x as (select cast(x as string) id from long_sequence(5000))");
+            for (boolean fullFatJoins : new boolean[]{false, true}) {
+                ddl("create table y as (select cast(x as string) id, x v from long_sequence(10))");
+                try (SqlCompiler compiler = engine.getSqlCompiler()) {
+                    compiler.setFullFatJoins(fullFatJoins);
+                    try (RecordCursorFactory factory = compiler.compile("select x.id, v from x join y on (id)", sqlExecutionContext).getRecordCursorFactory()) {
+                        final Map map = getJoinKeyMap(factory);
+                        long defaultHeapSize;
+                        try (RecordCursor cursor = factory.getCursor(sqlExecutionContext)) {
+                            defaultHeapSize = map.getHeapSize();
+                            Assert.assertEquals(10, cursor.size());
+                        }
+
+                        insert("insert into y select cast(x + 10 as string), x + 10 from long_sequence(1000)");
+                        try (RecordCursor cursor = factory.getCursor(sqlExecutionContext)) {
+                            Assert.assertEquals(1010, cursor.size());
+                            Assert.assertTrue(map.getUsedHeapSize() > 8 * 1024);
+                        }
+
+                        // the key count is remembered, but the heap size is above the pre-size limit
+                        try (RecordCursor ignore = factory.getCursor(sqlExecutionContext)) {
+                            Assert.assertTrue(map.getKeyCapacity() >= 1010);
+                            Assert.assertEquals(defaultHeapSize, map.getHeapSize());
+                        }
+                    }
+                }
+                drop("drop table y");
+            }
+        });
+    }
+
+    @Test
+    public void testHashJoinMapPresizedOnReexecution() throws Exception {
+        node1.setProperty(PropertyKey.CAIRO_SQL_HASH_JOIN_PRESIZE_MAX_SIZE, 1000);
+        assertMemoryLeak(() -> {
+            ddl("create table x as (select x id from long_sequence(5000))");
+            for (boolean fullFatJoins : new boolean[]{false, true}) {
+                ddl("create table y as (select x id, x v from long_sequence(10))");
+                try (SqlCompiler compiler = engine.getSqlCompiler()) {
+                    compiler.setFullFatJoins(fullFatJoins);
+                    try (RecordCursorFactory factory = compiler.compile("select x.id, v from x join y on (id)", sqlExecutionContext).getRecordCursorFactory()) {
+                        final int defaultKeyCapacity = assertHashJoinCountAndSum(factory, 10, 55);
+
+                        // the map grows and its size is remembered for the next execution
+                        insert("insert into y select x + 10, x + 10 from long_sequence(500)");
+                        Assert.assertEquals(defaultKeyCapacity, assertHashJoinCountAndSum(factory, 510, 130305));
+                        final int presizedKeyCapacity = assertHashJoinCountAndSum(factory, 510, 130305);
+                        Assert.assertTrue(presizedKeyCapacity >= 510);
+                        Assert.assertTrue(presizedKeyCapacity > defaultKeyCapacity);
+
+                        // the map size is now above the pre-size limit
+                        insert("insert into y select x + 510, x + 510 from long_sequence(2000)");
+                        Assert.assertEquals(presizedKeyCapacity, assertHashJoinCountAndSum(factory, 2510, 3151305));
+                        Assert.assertEquals(defaultKeyCapacity, assertHashJoinCountAndSum(factory, 2510, 3151305));
+                    }
+                }
+                drop("drop table y");
+            }
+        });
+    }
+
     @Test
     public void testHashJoinRecordNoLeaks() throws Exception {
         testJoinForCursorLeaks("with crj as (select first(x) x, first(ts) ts from xx latest by x) select xx.x from xx join crj on xx.x = crj.x ", false);
@@ -4750,6 +4821,24 @@ public class JoinTest extends AbstractCairoTest {
         }
     }
 
+    private int assertHashJoinCountAndSum(RecordCursorFactory factory, long expectedCount, long expectedSum) throws SqlException {
+        try (RecordCursor cursor = factory.getCursor(sqlExecutionContext)) {
+            // the map is reopened with the pre-sized capacity before the slave side is scanned
+            final int keyCapacity = getJoinKeyMap(factory).getKeyCapacity();
+            final Record record = cursor.getRecord();
+            long count = 0;
+            long sum = 0;
+            while (cursor.hasNext()) {
+                Assert.assertEquals(record.getLong(0), record.getLong(1));
+                count++;
+                sum += record.getLong(1);
+            }
+            Assert.assertEquals(expectedCount, count);
+            Assert.assertEquals(expectedSum, sum);
+            return keyCapacity;
+        }
+    }
+
     private void assertHashJoinSql(String query, String expected) throws SqlException {
         assertSql(expected, query);
         printSql(query, true);
@@ -4796,6 +4885,13 @@ public class JoinTest extends AbstractCairoTest {
         }
     }
 
+    private Map getJoinKeyMap(RecordCursorFactory factory) {
+        if (factory instanceof HashJoinLightRecordCursorFactory) {
+            return ((HashJoinLightRecordCursorFactory) factory).getJoinKeyMap();
+        }
+        return ((HashJoinRecordCursorFactory) factory).getJoinKeyMap();
+    }
+
     private void testAsOfJoin0(boolean fullFatJoin) throws Exception {
         assertMemoryLeak(() -> {
             final String query = "select x.i, x.sym, x.amt, price, x.timestamp, y.timestamp from x asof join y on y.sym2 = x.sym";
@@ -25,6 +25,7 @@
 package io.questdb.test.griffin;
 
 import io.questdb.PropertyKey;
+import io.questdb.cairo.CairoEngine;
 import io.questdb.cairo.CairoException;
 import io.questdb.cairo.SqlJitMode;
 import io.questdb.cairo.sql.NetworkSqlExecutionCircuitBreaker;
@@ -38,6 +39,7 @@ import io.questdb.griffin.SqlExecutionContextImpl;
 import io.questdb.jit.JitUtil;
 import io.questdb.mp.SOCountDownLatch;
 import io.questdb.mp.WorkerPool;
+import io.questdb.std.IOURingFacadeImpl;
 import io.questdb.std.LongList;
 import io.questdb.std.MemoryTag;
 import io.questdb.std.Misc;
@@ -301,6 +303,13 @@ public class ParallelFilterTest extends AbstractCairoTest {
         testParallelStressSymbol(symbolQueryPositiveLimit, expectedPositiveLimit, 4, 4, SqlJitMode.JIT_MODE_ENABLED);
     }
 
+    @Test
+    public void testParallelStressSymbolMultipleThreadsMultipleWorkersReadAhead() throws Exception {
+        // read-ahead is a no-op when io_uring is not available
+        node1.setProperty(PropertyKey.CAIRO_SQL_PAGE_FRAME_READ_AHEAD_FRAMES, 2);
+        testParallelStressSymbol(symbolQueryNoLimit, expectedSymbolNoLimit, 4, 4, SqlJitMode.JIT_MODE_DISABLED);
+    }
+
     @Test
     public void testParallelStressSymbolMultipleThreadsSingleWorkerJitDisabled() throws Exception {
         testParallelStressSymbol(symbolQueryNoLimit, expectedSymbolNoLimit, 1, 4, SqlJitMode.JIT_MODE_DISABLED);
@@ -358,6 +367,12 @@ public class ParallelFilterTest extends AbstractCairoTest {
         testParallelStressVarchar(varcharQueryNoLimit, expectedVarcharNoLimit, 4, 4, SqlJitMode.JIT_MODE_ENABLED);
     }
 
+    @Test
+    public void testParallelStressVarcharMultipleThreadsMultipleWorkersReadAhead() throws Exception {
+        node1.setProperty(PropertyKey.CAIRO_SQL_PAGE_FRAME_READ_AHEAD_FRAMES, 2);
+        testParallelStressVarchar(varcharQueryNoLimit, expectedVarcharNoLimit, 4, 4, SqlJitMode.JIT_MODE_DISABLED);
+    }
+
     @Test
     public void testParallelStressVarcharSingleThreadMultipleWorkersJitDisabled() throws Exception {
         testParallelStressVarchar(varcharQueryNoLimit, expectedVarcharNoLimit, 4, 1, SqlJitMode.JIT_MODE_DISABLED);
@@ -462,6 +477,13 @@ public class ParallelFilterTest extends AbstractCairoTest {
         );
     }
 
+    private static void assertReadAheadIssued(CairoEngine engine) {
+        // read-ahead is a no-op when io_uring is not available
+        if (engine.getConfiguration().getSqlPageFrameReadAheadFrames() > 0 && IOURingFacadeImpl.INSTANCE.isAvailable()) {
+            Assert.assertTrue(engine.getPageFrameReadAheadPool().getReadCount() > 0);
+        }
+    }
+
     private void testAsyncOffloadNegativeLimitTimeout() throws Exception {
         assertMemoryLeak(() -> {
             SqlExecutionContextImpl context = (SqlExecutionContextImpl) sqlExecutionContext;
@@ -662,6 +684,7 @@ public class ParallelFilterTest extends AbstractCairoTest {
 
                     Misc.free(factories);
                     Assert.assertEquals(0, errors.get());
+                    assertReadAheadIssued(engine);
                 },
                 configuration,
                 LOG
@@ -718,6 +741,7 @@ public class ParallelFilterTest extends AbstractCairoTest {
 
                     Misc.free(factories);
                     Assert.assertEquals(0, errors.get());
+                    assertReadAheadIssued(engine);
                 },
                 configuration,
                 LOG
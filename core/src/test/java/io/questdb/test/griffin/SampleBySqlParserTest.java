@@ -237,7 +237,7 @@ public class SampleBySqlParserTest extends AbstractSqlParserTest {
     @Test
     public void testCalendarTimeZoneAsOffset() throws SqlException {
         assertQuery(
-                "select-group-by b, sum(a) sum, k1, k1 k from (select-choose [b, a, k k1] b, a, k k1, timestamp from (select [b, a, k] from x y timestamp (timestamp)) y) y sample by 3h align to calendar time zone '+01:00' with offset '00:00'",
+                "select-choose b, sum, k1, k from (select-group-by [b, sum(a) sum, k k1, k, dateadd('m',-60,timestamp_floor('3h',dateadd('m',60,timestamp))) timestamp] b, sum(a) sum, k k1, k, dateadd('m',-60,timestamp_floor('3h',dateadd('m',60,timestamp))) timestamp from (select [b, a, k, timestamp] from x y timestamp (timestamp)) y order by timestamp)",
                 "select b, sum(a), k k1, k from x y sample by 3h align to calendar time zone '+01:00'",
                 model()
         );
@@ -246,7 +246,7 @@ public class SampleBySqlParserTest extends AbstractSqlParserTest {
     @Test
     public void testCalendarTimeZoneAsOffsetNegative() throws SqlException {
         assertQuery(
-                "select-group-by b, sum(a) sum, k1, k1 k from (select-choose [b, a, k k1] b, a, k k1, timestamp from (select [b, a, k] from x y timestamp (timestamp)) y) y sample by 3h align to calendar time zone '-04:00' with offset '00:00'",
+                "select-choose b, sum, k1, k from (select-group-by [b, sum(a) sum, k k1, k, dateadd('m',240,timestamp_floor('3h',dateadd('m',-240,timestamp))) timestamp] b, sum(a) sum, k k1, k, dateadd('m',240,timestamp_floor('3h',dateadd('m',-240,timestamp))) timestamp from (select [b, a, k, timestamp] from x y timestamp (timestamp)) y order by timestamp)",
                 "select b, sum(a), k k1, k from x y sample by 3h align to calendar time zone '-04:00'",
                 model()
         );
@@ -273,7 +273,7 @@ public class SampleBySqlParserTest extends AbstractSqlParserTest {
     @Test
     public void testCalendarWithOffsetNegative() throws SqlException {
         assertQuery(
-                "select-group-by b, sum(a) sum, k1, k1 k from (select-choose [b, a, k k1] b, a, k k1, timestamp from (select [b, a, k] from x y timestamp (timestamp)) y) y sample by 3h align to calendar with offset '-04:45'",
+                "select-choose b, sum, k1, k from (select-group-by [b, sum(a) sum, k k1, k, dateadd('m',-285,timestamp_floor('3h',dateadd('m',285,timestamp))) timestamp] b, sum(a) sum, k k1, k, dateadd('m',-285,timestamp_floor('3h',dateadd('m',285,timestamp))) timestamp from (select [b, a, k, timestamp] from x y timestamp (timestamp)) y order by timestamp)",
                 "select b, sum(a), k k1, k from x y sample by 3h align to calendar with offset '-04:45'",
                 model()
         );
@@ -282,7 +282,7 @@ public class SampleBySqlParserTest extends AbstractSqlParserTest {
     @Test
     public void testCalendarWithOffsetPositive() throws SqlException {
         assertQuery(
-                "select-group-by b, sum(a) sum, k1, k1 k from (select-choose [b, a, k k1] b, a, k k1, timestamp from (select [b, a, k] from x y timestamp (timestamp)) y) y sample by 3h align to calendar with offset '01:45'",
+                "select-choose b, sum, k1, k from (select-group-by [b, sum(a) sum, k k1, k, dateadd('m',105,timestamp_floor('3h',dateadd('m',-105,timestamp))) timestamp] b, sum(a) sum, k k1, k, dateadd('m',105,timestamp_floor('3h',dateadd('m',-105,timestamp))) timestamp from (select [b, a, k, timestamp] from x y timestamp (timestamp)) y order by timestamp)",
                 "select b, sum(a), k k1, k from x y sample by 3h align to calendar with offset '01:45'",
                 model()
         );
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.test.griffin.engine.functions.math;
+
+import io.questdb.test.AbstractCairoTest;
+import org.junit.Test;
+
+public class ColumnArithmeticFunctionTest extends AbstractCairoTest {
+
+    @Test
+    public void testDoubleAndLongColumns() throws Exception {
+        assertMemoryLeak(() -> {
+            createTable();
+            assertSql(
+                    "a\ts\tm\td\n" +
+                            "3.5\t-0.5\t3.0\t0.75\n" +
+                            "null\tnull\tnull\tnull\n" +
+                            "null\tnull\tnull\tnull\n" +
+                            "4.0\t4.0\t0.0\tnull\n",
+                    "select price + size a, price - size s, size * price m, price / size d from t"
+            );
+        });
+    }
+
+    @Test
+    public void testDoubleColumns() throws Exception {
+        assertMemoryLeak(() -> {
+            createTable();
+            assertSql(
+                    "a\ts\tm\td\n" +
+                            "4.5\t-1.5\t4.5\t0.5\n" +
+                            "null\tnull\tnull\tnull\n" +
+                            "null\tnull\tnull\tnull\n" +
+                            "4.5\t3.5\t2.0\t8.0\n",
+                    "select price + qty a, price - qty s, price * qty m, price / qty d from t"
+            );
+        });
+    }
+
+    @Test
+    public void testPlan() throws Exception {
+        assertMemoryLeak(() -> {
+            createTable();
+            assertPlanNoLeakCheck(
+                    "select price * size, price / qty from t",
+                    "VirtualRecord\n" +
+                            "  functions: [price*size,price/qty]\n" +
+                            "    DataFrame\n" +
+                            "        Row forward scan\n" +
+                            "        Frame forward scan on: t\n"
+            );
+        });
+    }
+
+    private void createTable() throws Exception {
+        ddl("create table t (price double, size long, qty double, ts timestamp) timestamp(ts)");
+        insert("insert into t values (1.5, 2, 3.0, 0), (null, 3, 4.0, 1), (2.0, null, null, 2), (4.0, 0, 0.5, 3)");
+    }
+}
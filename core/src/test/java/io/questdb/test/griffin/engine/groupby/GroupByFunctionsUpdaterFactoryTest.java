@@ -25,7 +25,13 @@
 package io.questdb.test.griffin.engine.groupby;
 
 import io.questdb.cairo.ArrayColumnTypes;
+import io.questdb.cairo.ColumnType;
+import io.questdb.cairo.RecordSink;
+import io.questdb.cairo.RecordSinkSPI;
+import io.questdb.cairo.map.Map;
+import io.questdb.cairo.map.MapKey;
 import io.questdb.cairo.map.MapValue;
+import io.questdb.cairo.map.OrderedMap;
 import io.questdb.cairo.sql.Function;
 import io.questdb.cairo.sql.Record;
 import io.questdb.griffin.engine.functions.GroupByFunction;
@@ -42,6 +48,53 @@ import org.junit.Test;
 
 public class GroupByFunctionsUpdaterFactoryTest {
 
+    @Test
+    public void testAggregate() {
+        ObjList<GroupByFunction> functions = new ObjList<>();
+        functions.add(new TestGroupByFunction());
+        functions.add(new TestGroupByFunction());
+        GroupByFunctionsUpdater updater = GroupByFunctionsUpdaterFactory.getInstance(new BytecodeAssembler(), functions);
+
+        final long[] key = new long[1];
+        RecordSink mapSink = new RecordSink() {
+            @Override
+            public void copy(Record r, RecordSinkSPI w) {
+                w.putLong(key[0]);
+            }
+
+            @Override
+            public void setFunctions(ObjList<Function> keyFunctions) {
+            }
+        };
+        ArrayColumnTypes keyTypes = new ArrayColumnTypes().add(ColumnType.LONG);
+        ArrayColumnTypes valueTypes = new ArrayColumnTypes().add(ColumnType.LONG).add(ColumnType.LONG);
+        Record record = new TestRecord();
+
+        try (Map map = new OrderedMap(4 * 1024, keyTypes, valueTypes, 64, 0.8, 24)) {
+            for (int i = 0; i < 10; i++) {
+                key[0] = i % 3;
+                updater.aggregate(map, mapSink, record, i);
+            }
+            Assert.assertEquals(3, map.size());
+
+            // rows 0, 3, 6, 9
+            MapKey mapKey = map.withKey();
+            mapKey.putLong(0);
+            MapValue value = mapKey.findValue();
+            Assert.assertNotNull(value);
+            Assert.assertEquals(1 + 3 * functions.size(), value.getLong(0));
+            Assert.assertEquals(9, value.getLong(1));
+
+            // rows 2, 5, 8
+            mapKey = map.withKey();
+            mapKey.putLong(2);
+            value = mapKey.findValue();
+            Assert.assertNotNull(value);
+            Assert.assertEquals(1 + 2 * functions.size(), value.getLong(0));
+            Assert.assertEquals(8, value.getLong(1));
+        }
+    }
+
     @Test
     public void testSmoke() {
         ObjList<GroupByFunction> functions = new ObjList<>();
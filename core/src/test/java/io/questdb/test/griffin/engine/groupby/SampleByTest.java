@@ -4314,11 +4314,87 @@ public class SampleByTest extends AbstractCairoTest {
                         " long_sequence(100)" +
                         ") timestamp(k) partition by NONE",
                 "k",
-                false,
-                false
+                true,
+                true
         );
     }
 
+    @Test
+    public void testSampleByRewriteCalendarOffset() throws Exception {
+        assertMemoryLeak(() -> {
+            compile("create table if not exists x (  ts1 timestamp, ts2 timestamp, sym symbol, val long ) timestamp(ts1) partition by DAY");
+            assertPlanNoLeakCheck(
+                    "select ts1, sym, min(val), avg(val), max(val) " +
+                            "from x " +
+                            "sample by 1m align to calendar with offset '00:30'",
+                    "Sort light\n" +
+                            "  keys: [ts1]\n" +
+                            "    Async Group By workers: 1\n" +
+                            "      keys: [ts1,sym]\n" +
+                            "      values: [min(val),avg(val),max(val)]\n" +
+                            "      filter: null\n" +
+                            "        DataFrame\n" +
+                            "            Row forward scan\n" +
+                            "            Frame forward scan on: x\n"
+            );
+        });
+    }
+
+    @Test
+    public void testSampleByRewriteFixedTimeZone() throws Exception {
+        assertMemoryLeak(() -> {
+            compile("create table if not exists x (  ts1 timestamp, ts2 timestamp, sym symbol, val long ) timestamp(ts1) partition by DAY");
+            assertPlanNoLeakCheck(
+                    "select ts1, sym, min(val), avg(val), max(val) " +
+                            "from x " +
+                            "sample by 1m align to calendar time zone '+01:00' with offset '00:30'",
+                    "Sort light\n" +
+                            "  keys: [ts1]\n" +
+                            "    Async Group By workers: 1\n" +
+                            "      keys: [ts1,sym]\n" +
+                            "      values: [min(val),avg(val),max(val)]\n" +
+                            "      filter: null\n" +
+                            "        DataFrame\n" +
+                            "            Row forward scan\n" +
+                            "            Frame forward scan on: x\n"
+            );
+        });
+    }
+
+    @Test
+    public void testSampleByRewriteFixedTimeZoneMatchesSampleBy() throws Exception {
+        assertMemoryLeak(() -> {
+            ddl(
+                    "create table x as (" +
+                            "select x d, timestamp_sequence('2024-01-01T00:07:00', 600000000L) ts " +
+                            "from long_sequence(100)" +
+                            ") timestamp(ts) partition by day"
+            );
+            final String expected = "ts\tcount\tsum\n" +
+                    "2023-12-31T23:25:00.000000Z\t2\t3\n" +
+                    "2024-01-01T00:25:00.000000Z\t6\t33\n" +
+                    "2024-01-01T01:25:00.000000Z\t6\t69\n" +
+                    "2024-01-01T02:25:00.000000Z\t6\t105\n" +
+                    "2024-01-01T03:25:00.000000Z\t6\t141\n" +
+                    "2024-01-01T04:25:00.000000Z\t6\t177\n" +
+                    "2024-01-01T05:25:00.000000Z\t6\t213\n" +
+                    "2024-01-01T06:25:00.000000Z\t6\t249\n" +
+                    "2024-01-01T07:25:00.000000Z\t6\t285\n" +
+                    "2024-01-01T08:25:00.000000Z\t6\t321\n" +
+                    "2024-01-01T09:25:00.000000Z\t6\t357\n" +
+                    "2024-01-01T10:25:00.000000Z\t6\t393\n" +
+                    "2024-01-01T11:25:00.000000Z\t6\t429\n" +
+                    "2024-01-01T12:25:00.000000Z\t6\t465\n" +
+                    "2024-01-01T13:25:00.000000Z\t6\t501\n" +
+                    "2024-01-01T14:25:00.000000Z\t6\t537\n" +
+                    "2024-01-01T15:25:00.000000Z\t6\t573\n" +
+                    "2024-01-01T16:25:00.000000Z\t2\t199\n";
+            // fill(null) keeps the query on the sample by cursor, the data has no gaps to fill
+            assertSql(expected, "select ts, count(), sum(d) from x sample by 1h fill(null) align to calendar time zone '+03:15' with offset '00:40'");
+            assertSql(expected, "select ts, count(), sum(d) from x sample by 1h align to calendar time zone '+03:15' with offset '00:40'");
+        });
+    }
+
     @Test
     public void testSampleByRewriteJoinNoTimestamp() throws Exception {
         assertMemoryLeak(() -> {
@@ -4435,6 +4511,24 @@ public class SampleByTest extends AbstractCairoTest {
         );
     }
 
+    @Test
+    public void testSampleByRewriteMonthOffsetNotRewritten() throws Exception {
+        assertMemoryLeak(() -> {
+            compile("create table if not exists x (  ts1 timestamp, ts2 timestamp, sym symbol, val long ) timestamp(ts1) partition by DAY");
+            assertPlanNoLeakCheck(
+                    "select ts1, sym, min(val) " +
+                            "from x " +
+                            "sample by 1M align to calendar with offset '00:30'",
+                    "SampleBy\n" +
+                            "  keys: [ts1,sym]\n" +
+                            "  values: [min(val)]\n" +
+                            "    DataFrame\n" +
+                            "        Row forward scan\n" +
+                            "        Frame forward scan on: x\n"
+            );
+        });
+    }
+
     @Test
     public void testSampleByRewriteMultipleTimestamps1() throws Exception {
         assertMemoryLeak(() -> {
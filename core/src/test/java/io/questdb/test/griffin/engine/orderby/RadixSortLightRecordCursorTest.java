@@ -0,0 +1,132 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.test.griffin.engine.orderby;
+
+import io.questdb.PropertyKey;
+import io.questdb.test.AbstractCairoTest;
+import org.junit.Test;
+
+public class RadixSortLightRecordCursorTest extends AbstractCairoTest {
+
+    @Test
+    public void testDuplicateKeysMaintainOriginalOrder() throws Exception {
+        assertMemoryLeak(() -> {
+            ddl("create table tab as (select x, case when x % 3 = 0 then null else cast(x % 4 as int) end i from long_sequence(10))");
+
+            assertQueryNoLeakCheck(
+                    "x\ti\n" +
+                            "3\tnull\n" +
+                            "6\tnull\n" +
+                            "9\tnull\n" +
+                            "4\t0\n" +
+                            "8\t0\n" +
+                            "1\t1\n" +
+                            "5\t1\n" +
+                            "2\t2\n" +
+                            "10\t2\n" +
+                            "7\t3\n",
+                    "select * from tab order by i",
+                    null,
+                    true,
+                    true
+            );
+
+            assertQueryNoLeakCheck(
+                    "x\ti\n" +
+                            "7\t3\n" +
+                            "2\t2\n" +
+                            "10\t2\n" +
+                            "1\t1\n" +
+                            "5\t1\n" +
+                            "4\t0\n" +
+                            "8\t0\n" +
+                            "3\tnull\n" +
+                            "6\tnull\n" +
+                            "9\tnull\n",
+                    "select * from tab order by i desc",
+                    null,
+                    true,
+                    true
+            );
+        });
+    }
+
+    @Test
+    public void testLimitOverflow() throws Exception {
+        node1.setProperty(PropertyKey.CAIRO_SQL_SORT_LIGHT_VALUE_PAGE_SIZE, 1024);
+        node1.setProperty(PropertyKey.CAIRO_SQL_SORT_LIGHT_VALUE_MAX_PAGES, 2);
+        assertMemoryLeak(() -> {
+            ddl("create table tab as (select rnd_long() l from long_sequence(1000))");
+            assertExceptionNoLeakCheck("select * from tab order by l", -1, "Maximum number of pages (2) breached in sort buffer");
+        });
+    }
+
+    @Test
+    public void testSortMatchesTreeSort() throws Exception {
+        assertMemoryLeak(() -> {
+            ddl(
+                    "create table tab as (" +
+                            "select" +
+                            " x," +
+                            " rnd_byte(1, 4) b," +
+                            " rnd_short(-3, 3) sh," +
+                            " rnd_int(-5, 5, 2) i," +
+                            " rnd_long(-3, 3, 2) l," +
+                            " rnd_date(to_date('2020', 'yyyy'), to_date('2021', 'yyyy'), 2) dt," +
+                            " rnd_timestamp(to_timestamp('2020', 'yyyy'), to_timestamp('2021', 'yyyy'), 2) ts" +
+                            " from long_sequence(10000)" +
+                            ")"
+            );
+
+            final String[] columns = {"b", "sh", "i", "l", "dt", "ts"};
+            for (String column : columns) {
+                // the second key makes code generator use comparator-driven tree sort
+                assertSqlCursors(
+                        "select x, " + column + " from tab order by " + column + ", x",
+                        "select x, " + column + " from tab order by " + column
+                );
+                assertSqlCursors(
+                        "select x, " + column + " from tab order by " + column + " desc, x",
+                        "select x, " + column + " from tab order by " + column + " desc"
+                );
+            }
+        });
+    }
+
+    @Test
+    public void testSortWithFilter() throws Exception {
+        assertMemoryLeak(() -> {
+            ddl(
+                    "create table tab as (" +
+                            "select x, rnd_long(-100, 100, 5) l, timestamp_sequence(0, 1000000) ts from long_sequence(10000)" +
+                            ") timestamp(ts) partition by hour"
+            );
+            assertSqlCursors(
+                    "select * from tab where x % 3 = 0 order by l desc, x",
+                    "select * from tab where x % 3 = 0 order by l desc"
+            );
+        });
+    }
+}
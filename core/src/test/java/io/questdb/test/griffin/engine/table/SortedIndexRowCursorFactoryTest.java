@@ -0,0 +1,185 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.test.griffin.engine.table;
+
+import io.questdb.cairo.TableReader;
+import io.questdb.cairo.TableUtils;
+import io.questdb.std.Chars;
+import io.questdb.std.str.Path;
+import io.questdb.test.AbstractCairoTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SortedIndexRowCursorFactoryTest extends AbstractCairoTest {
+
+    @Test
+    public void testAddSortedIndexUnsupportedType() throws Exception {
+        assertMemoryLeak(() -> {
+            createTable();
+            ddl("alter table x add column d double");
+            assertExceptionNoLeakCheck("alter table x alter column d add sorted index", 27, "sorted indexes are only supported for INT, LONG, UUID and VARCHAR types [column=d, type=DOUBLE]");
+            assertExceptionNoLeakCheck("alter table x alter column l add sorted index", 27, "column already has a sorted index");
+        });
+    }
+
+    @Test
+    public void testDropSortedIndex() throws Exception {
+        assertMemoryLeak(() -> {
+            createTable();
+            final String query = "select i, l, ts from x where l = 30";
+            assertSql("i\tl\tts\n30\t30\t1970-01-02T05:00:00.000000Z\n", query);
+            try (TableReader reader = getReader("x"); Path path = new Path()) {
+                Assert.assertTrue(sortedIndexExists(reader, path, 1, "l"));
+            }
+
+            ddl("alter table x alter column l drop sorted index");
+            Assert.assertFalse(usesSortedIndex(query));
+            assertSql("i\tl\tts\n30\t30\t1970-01-02T05:00:00.000000Z\n", query);
+            try (TableReader reader = getReader("x"); Path path = new Path()) {
+                Assert.assertFalse(sortedIndexExists(reader, path, 1, "l"));
+            }
+            assertExceptionNoLeakCheck("alter table x alter column l drop sorted index", 27, "column does not have a sorted index");
+        });
+    }
+
+    @Test
+    public void testEquality() throws Exception {
+        assertMemoryLeak(() -> {
+            createTable();
+            final String expected = "i\tl\tts\n" +
+                    "30\t30\t1970-01-02T05:00:00.000000Z\n";
+            assertSql(expected, "select i, l, ts from x where l = 30");
+            assertSql(expected, "select i, l, ts from x where 30 = i");
+            assertSql(expected, "select i, l, ts from x where u = '00000000-0000-0000-0000-00000000001e'");
+            assertSql(expected, "select i, l, ts from x where v = 'v30'");
+            // index files are persisted for sealed partitions only
+            try (TableReader reader = getReader("x"); Path path = new Path()) {
+                Assert.assertTrue(sortedIndexExists(reader, path, 1, "l"));
+                Assert.assertFalse(sortedIndexExists(reader, path, reader.getPartitionCount() - 1, "l"));
+            }
+        });
+    }
+
+    @Test
+    public void testIn() throws Exception {
+        assertMemoryLeak(() -> {
+            createTable();
+            assertSql(
+                    "i\tl\tts\n" +
+                            "3\t3\t1970-01-01T02:00:00.000000Z\n" +
+                            "40\t40\t1970-01-02T15:00:00.000000Z\n" +
+                            "100\t100\t1970-01-05T03:00:00.000000Z\n",
+                    "select i, l, ts from x where l in (100, 3, 40, 3)"
+            );
+            assertSql(
+                    "i\tl\tts\n" +
+                            "25\t25\t1970-01-02T00:00:00.000000Z\n",
+                    "select i, l, ts from x where v in ('v25', 'none')"
+            );
+        });
+    }
+
+    @Test
+    public void testNotUsedWithoutSortedIndexOrForRanges() throws Exception {
+        assertMemoryLeak(() -> {
+            createTable();
+            ddl("alter table x add column n long");
+            Assert.assertTrue(usesSortedIndex("select i, l, ts from x where l = 30"));
+            Assert.assertTrue(usesSortedIndex("select i, l, ts from x where v in ('v25', 'v26')"));
+            // ranges and columns without a sorted index keep the parallel filter
+            Assert.assertFalse(usesSortedIndex("select i, l, ts from x where l > 30"));
+            Assert.assertFalse(usesSortedIndex("select i, l, ts from x where n = 30"));
+            assertSql(
+                    "i\tl\tts\n" +
+                            "50\t50\t1970-01-03T01:00:00.000000Z\n" +
+                            "51\t51\t1970-01-03T02:00:00.000000Z\n" +
+                            "52\t52\t1970-01-03T03:00:00.000000Z\n",
+                    "select i, l, ts from x where i >= 50 and 53 > i"
+            );
+        });
+    }
+
+    @Test
+    public void testNullsNotMatched() throws Exception {
+        assertMemoryLeak(() -> {
+            createTable();
+            insert("insert into x (ts) values ('1970-01-02T12:30:00.000000Z')");
+            assertSql(
+                    "i\tl\tts\n" +
+                            "\t\t1970-01-02T12:30:00.000000Z\n",
+                    "select i, l, ts from x where l = null"
+            );
+            assertSql("i\tl\tts\n", "select i, l, ts from x where l < -1");
+        });
+    }
+
+    @Test
+    public void testStaleIndexRebuilt() throws Exception {
+        assertMemoryLeak(() -> {
+            createTable();
+            final String query = "select i, l, ts from x where i = 1000";
+            assertSql("i\tl\tts\n", query);
+
+            update("update x set i = 1000 where l = 30");
+            assertSql(
+                    "i\tl\tts\n" +
+                            "1000\t30\t1970-01-02T05:00:00.000000Z\n",
+                    query
+            );
+
+            // out-of-order insert into one of the older partitions
+            insert("insert into x (i, l, ts) values (1000, 2000, '1970-01-02T12:30:00.000000Z')");
+            assertSql(
+                    "i\tl\tts\n" +
+                            "1000\t30\t1970-01-02T05:00:00.000000Z\n" +
+                            "1000\t2000\t1970-01-02T12:30:00.000000Z\n",
+                    query
+            );
+        });
+    }
+
+    private static void createTable() throws Exception {
+        ddl("create table x as (" +
+                "select x::int i, x l, to_uuid(x, 0) u, ('v' || x)::varchar v, timestamp_sequence(0, 3600000000) ts from long_sequence(120)" +
+                ") timestamp(ts) partition by day");
+        ddl("alter table x alter column i add sorted index");
+        ddl("alter table x alter column l add sorted index");
+        ddl("alter table x alter column u add sorted index");
+        ddl("alter table x alter column v add sorted index");
+    }
+
+    private static boolean sortedIndexExists(TableReader reader, Path path, int partitionIndex, String columnName) {
+        final long partitionTimestamp = reader.getPartitionTimestampByIndex(partitionIndex);
+        final int writerIndex = reader.getMetadata().getWriterIndex(reader.getMetadata().getColumnIndex(columnName));
+        path.of(configuration.getRoot()).concat(reader.getTableToken().getDirName());
+        TableUtils.setPathForPartition(path, reader.getPartitionedBy(), partitionTimestamp, reader.getTxFile().getPartitionNameTxn(partitionIndex));
+        TableUtils.siFile(path, columnName, reader.getColumnVersionReader().getColumnNameTxn(partitionTimestamp, writerIndex));
+        return configuration.getFilesFacade().exists(path.$());
+    }
+
+    private boolean usesSortedIndex(String query) throws Exception {
+        return Chars.contains(getPlanSink(query).getSink(), "Sorted index scan");
+    }
+}
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ *     ___                  _   ____  ____
+ *    / _ \ _   _  ___  ___| |_|  _ \| __ )
+ *   | | | | | | |/ _ \/ __| __| | | |  _ \
+ *   | |_| | |_| |  __/\__ \ |_| |_| | |_) |
+ *    \__\_\\__,_|\___||___/\__|____/|____/
+ *
+ *  Copyright (c) 2014-2019 Appsicle
+ *  Copyright (c) 2019-2024 QuestDB
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ ******************************************************************************/
+
+package io.questdb.test.griffin.engine.table;
+
+import io.questdb.PropertyKey;
+import io.questdb.cairo.TableReader;
+import io.questdb.cairo.TableUtils;
+import io.questdb.std.str.Path;
+import io.questdb.test.AbstractCairoTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ZoneMapFilterTest extends AbstractCairoTest {
+
+    @Override
+    public void setUp() {
+        node1.setProperty(PropertyKey.CAIRO_SQL_PARALLEL_FILTER_ENABLED, true);
+        node1.setProperty(PropertyKey.CAIRO_SQL_ZONE_MAPS_ENABLED, true);
+        super.setUp();
+    }
+
+    @Test
+    public void testAddedColumn() throws Exception {
+        assertMemoryLeak(() -> {
+            createTable();
+            ddl("alter table x add column j long");
+            insert("insert into x select x::int, x, x * 0.5, timestamp_sequence(120 * 3600000000, 3600000000), x from long_sequence(30)");
+
+            // partitions written before the column was added hold nulls only
+            final String expected = "i\tj\tts\n" +
+                    "24\t24\t1970-01-06T23:00:00.000000Z\n" +
+                    "25\t25\t1970-01-07T00:00:00.000000Z\n";
+            assertSql(expected, "select i, j, ts from x where j >= 24 and j < 26");
+            assertSql(expected, "select i, j, ts from x where 24 <= j and 26 > j");
+        });
+    }
+
+    @Test
+    public void testPartitionsSkipped() throws Exception {
+        assertMemoryLeak(() -> {
+            createTable();
+
+            final String expected = "i\tl\td\tts\n" +
+                    "47\t47\t23.5\t1970-01-02T22:00:00.000000Z\n" +
+                    "48\t48\t24.0\t1970-01-02T23:00:00.000000Z\n" +
+                    "49\t49\t24.5\t1970-01-03T00:00:00.000000Z\n";
+            assertSql(expected, "x where l > 46 and l <= 49 and d > 1.0");
+            // zone maps are persisted and reused
+            assertSql(expected, "x where l > 46 and l <= 49 and d > 1.0");
+
+            assertSql(
+                    "i\tl\td\tts\n" +
+                            "61\t61\t30.5\t1970-01-03T12:00:00.000000Z\n",
+                    "x where d = 30.5 and i < 100"
+            );
+
+            try (TableReader reader = getReader("x"); Path path = new Path()) {
+                Assert.assertTrue(zoneMapExists(reader, path, 0, "l"));
+                Assert.assertTrue(zoneMapExists(reader, path, 3, "d"));
+                // the last partition is always scanned
+                Assert.assertFalse(zoneMapExists(reader, path, reader.getPartitionCount() - 1, "l"));
+            }
+        });
+    }
+
+    @Test
+    public void testStaleZoneMapIgnored() throws Exception {
+        assertMemoryLeak(() -> {
+            createTable();
+            final String query = "select i, l, ts from x where i >= 1000";
+            assertSql("i\tl\tts\n", query);
+
+            update("update x set i = 1000 where l = 5");
+            assertSql(
+                    "i\tl\tts\n" +
+                            "1000\t5\t1970-01-01T04:00:00.000000Z\n",
+                    query
+            );
+
+            // out-of-order insert into one of the older partitions
+            insert("insert into x values (2000, 2000, 0.0, '1970-01-02T12:30:00.000000Z')");
+            assertSql(
+                    "i\tl\tts\n" +
+                            "1000\t5\t1970-01-01T04:00:00.000000Z\n" +
+                            "2000\t2000\t1970-01-02T12:30:00.000000Z\n",
+                    query
+            );
+        });
+    }
+
+    private static void createTable() throws Exception {
+        ddl("create table x as (" +
+                "select x::int i, x l, x * 0.5 d, timestamp_sequence(0, 3600000000) ts from long_sequence(120)" +
+                ") timestamp(ts) partition by day");
+    }
+
+    private static boolean zoneMapExists(TableReader reader, Path path, int partitionIndex, String columnName) {
+        final long partitionTimestamp = reader.getPartitionTimestampByIndex(partitionIndex);
+        final int writerIndex = reader.getMetadata().getWriterIndex(reader.getMetadata().getColumnIndex(columnName));
+        path.of(configuration.getRoot()).concat(reader.getTableToken().getDirName());
+        TableUtils.setPathForPartition(path, reader.getPartitionedBy(), partitionTimestamp, reader.getTxFile().getPartitionNameTxn(partitionIndex));
+        TableUtils.zmFile(path, columnName, reader.getColumnVersionReader().getColumnNameTxn(partitionTimestamp, writerIndex));
+        return configuration.getFilesFacade().exists(path.$());
+    }
+}
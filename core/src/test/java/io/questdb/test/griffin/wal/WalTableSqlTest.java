@@ -37,6 +37,8 @@ import io.questdb.griffin.engine.ops.AlterOperation;
 import io.questdb.griffin.engine.ops.AlterOperationBuilder;
 import io.questdb.griffin.model.IntervalUtils;
 import io.questdb.mp.Job;
+import io.questdb.mp.WorkerPool;
+import io.questdb.mp.WorkerPoolUtils;
 import io.questdb.std.*;
 import io.questdb.std.datetime.microtime.Timestamps;
 import io.questdb.std.str.LPSZ;
@@ -44,6 +46,7 @@ import io.questdb.std.str.Path;
 import io.questdb.std.str.Utf8s;
 import io.questdb.test.AbstractCairoTest;
 import io.questdb.test.cairo.Overrides;
+import io.questdb.test.mp.TestWorkerPool;
 import io.questdb.test.std.TestFilesFacadeImpl;
 import io.questdb.test.tools.TestUtils;
 import org.junit.Assert;
@@ -51,6 +54,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static io.questdb.PropertyKey.CAIRO_WAL_TXN_NOTIFICATION_QUEUE_CAPACITY;
@@ -1205,6 +1209,50 @@ public class WalTableSqlTest extends AbstractCairoTest {
         });
     }
 
+    @Test
+    public void testSmallTransactionsSquashedIntoOneCommit() throws Exception {
+        node1.setProperty(PropertyKey.CAIRO_WAL_SQUASH_SMALL_TXN_MAX_ROWS, 10);
+        assertMemoryLeak(() -> {
+            String tableName = testName.getMethodName();
+            ddl("create table " + tableName + " (x long, ts timestamp) timestamp(ts) partition by DAY WAL dedup upsert keys(ts)");
+            insert("insert into " + tableName + " values (1, '2022-02-24T00')");
+            drainWalQueue();
+
+            // data is in order, without squashing most of these transactions are committed one by one
+            insert("insert into " + tableName + " values (2, '2022-02-24T01')");
+            insert("insert into " + tableName + " values (3, '2022-02-24T02')");
+            insert("insert into " + tableName + " values (4, '2022-02-25T01'), (5, '2022-02-25T02')");
+            insert("insert into " + tableName + " values (6, '2022-02-25T02')");
+            insert("insert into " + tableName + " values (7, '2022-02-25T03')");
+
+            TableToken token = engine.verifyTableName(tableName);
+            try (TxReader txReader = new TxReader(engine.getConfiguration().getFilesFacade())) {
+                txReader.ofRO(Path.getThreadLocal(root).concat(token).concat(TXN_FILE_NAME).$(), PartitionBy.DAY);
+                txReader.unsafeLoadAll();
+                final long txn = txReader.getTxn();
+
+                runApplyOnce();
+                txReader.unsafeLoadAll();
+
+                Assert.assertEquals(txn + 1, txReader.getTxn());
+                Assert.assertEquals(6, txReader.getSeqTxn());
+                Assert.assertEquals(0, txReader.getLagTxnCount());
+                Assert.assertEquals(0, txReader.getLagRowCount());
+            }
+
+            assertSql(
+                    "x\tts\n" +
+                            "1\t2022-02-24T00:00:00.000000Z\n" +
+                            "2\t2022-02-24T01:00:00.000000Z\n" +
+                            "3\t2022-02-24T02:00:00.000000Z\n" +
+                            "4\t2022-02-25T01:00:00.000000Z\n" +
+                            "6\t2022-02-25T02:00:00.000000Z\n" +
+                            "7\t2022-02-25T03:00:00.000000Z\n",
+                    tableName
+            );
+        });
+    }
+
     @Test
     public void testSuspendedTablesTriedOnceOnStart() throws Exception {
         FilesFacade ff = new TestFilesFacadeImpl() {
@@ -1362,6 +1410,101 @@ public class WalTableSqlTest extends AbstractCairoTest {
         });
     }
 
+    @Test
+    public void testO3PartitionsMergedByWalApplyPoolWorkers() throws Exception {
+        assertMemoryLeak(() -> {
+            String tableName = testName.getMethodName();
+            ddl("create table " + tableName + " as (" +
+                    "select x, timestamp_sequence('2022-02-24', 3600000000L) ts from long_sequence(2400)" +
+                    ") timestamp(ts) partition by DAY WAL");
+            drainWalQueue();
+
+            // counts O3 partition tasks picked up by the pool, as opposed to the applying thread
+            final AtomicInteger poolPartitionTasks = new AtomicInteger();
+            final WorkerPool walApplyPool = new TestWorkerPool("wal-apply", 2, metrics) {
+                @Override
+                public void assign(Job job) {
+                    if (job instanceof O3PartitionJob) {
+                        super.assign((workerId, runStatus) -> {
+                            if (job.run(workerId, runStatus)) {
+                                poolPartitionTasks.incrementAndGet();
+                                return true;
+                            }
+                            return false;
+                        });
+                    } else {
+                        super.assign(job);
+                    }
+                }
+            };
+            WorkerPoolUtils.setupO3Jobs(walApplyPool, engine.getMessageBus());
+            walApplyPool.start(LOG);
+            int rounds = 0;
+            try {
+                // the applying thread merges partitions too, so it may race the pool to all tasks of a single commit
+                for (; rounds < 50 && poolPartitionTasks.get() == 0; rounds++) {
+                    // every one of 100 partitions receives an out-of-order row
+                    insert("insert into " + tableName + " select " + (10_000 + rounds) + ", timestamp_sequence('2022-02-24T00:30', "
+                            + Timestamps.DAY_MICROS + ") from long_sequence(100)");
+                    runApplyOnce();
+                }
+            } finally {
+                walApplyPool.halt();
+            }
+
+            Assert.assertTrue(poolPartitionTasks.get() > 0);
+            assertSql("count\n" + (2400 + 100 * rounds) + "\n", "select count() from " + tableName);
+        });
+    }
+
+    @Test
+    public void testO3TransactionsAcrossPartitionsAppliedInOneCommit() throws Exception {
+        assertMemoryLeak(() -> {
+            String tableName = testName.getMethodName();
+            ddl("create table " + tableName + " as (" +
+                    "select x, timestamp_sequence('2022-02-24', 3600000000L) ts from long_sequence(120)" +
+                    ") timestamp(ts) partition by DAY WAL");
+            drainWalQueue();
+
+            // every transaction lands in its own, already existing partition
+            for (int i = 0; i < 4; i++) {
+                insert("insert into " + tableName + " values (" + (1000 + i) + ", '2022-02-2" + (4 + i) + "T10:30')");
+            }
+
+            // partitions are merged by O3 workers of a pool that has no other writer jobs, like the WAL apply pool
+            final WorkerPool o3Pool = new TestWorkerPool(2, metrics);
+            WorkerPoolUtils.setupO3Jobs(o3Pool, engine.getMessageBus());
+            o3Pool.start(LOG);
+            try {
+                TableToken token = engine.verifyTableName(tableName);
+                try (TxReader txReader = new TxReader(engine.getConfiguration().getFilesFacade())) {
+                    txReader.ofRO(Path.getThreadLocal(root).concat(token).concat(TXN_FILE_NAME).$(), PartitionBy.DAY);
+                    txReader.unsafeLoadAll();
+                    final long txn = txReader.getTxn();
+
+                    runApplyOnce();
+                    txReader.unsafeLoadAll();
+
+                    Assert.assertEquals(txn + 1, txReader.getTxn());
+                    Assert.assertEquals(0, txReader.getLagTxnCount());
+                    Assert.assertEquals(5, txReader.getPartitionCount());
+                }
+            } finally {
+                o3Pool.halt();
+            }
+
+            assertSql(
+                    "x\tts\n" +
+                            "1000\t2022-02-24T10:30:00.000000Z\n" +
+                            "1001\t2022-02-25T10:30:00.000000Z\n" +
+                            "1002\t2022-02-26T10:30:00.000000Z\n" +
+                            "1003\t2022-02-27T10:30:00.000000Z\n",
+                    "select * from " + tableName + " where x >= 1000"
+            );
+            assertSql("count\n124\n", "select count() from " + tableName);
+        });
+    }
+
     @Test
     public void testQueryNullSymbols() throws Exception {
         assertMemoryLeak(() -> {
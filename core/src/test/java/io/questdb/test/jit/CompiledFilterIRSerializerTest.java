@@ -298,6 +298,64 @@ public class CompiledFilterIRSerializerTest extends BaseFunctionFactoryTest {
         }
     }
 
+    @Test
+    public void testInListIntegerColumns() throws Exception {
+        serialize("anint in (1, -2, null)");
+        assertIR("(i32 " + Numbers.INT_NULL + "L)(i32 anint)(=)(i32 -2L)(i32 anint)(=)(i32 1L)(i32 anint)(=)(||)(||)(ret)");
+        serialize("along in (1, 2) and abyte in (3)");
+        assertIR("(i8 3L)(i8 abyte)(=)(i64 2L)(i64 along)(=)(i64 1L)(i64 along)(=)(||)(&&)(ret)");
+    }
+
+    @Test
+    public void testInListOutOfRangeConstant() throws Exception {
+        serialize("abyte in (127, -127) and ashort in (32767) and anint in (2147483647)");
+
+        // narrowed constants would not match the values the Java filter compares with
+        final String[] filters = {
+                "abyte in (1, 257)",
+                "abyte in (-128)",
+                "ashort in (1, 65537)",
+                "anint in (1, 4294967297)",
+                "anint in (1, -2147483648)"
+        };
+        for (String filter : filters) {
+            try {
+                serialize(filter);
+                Assert.fail(filter);
+            } catch (SqlException ignore) {
+            }
+        }
+    }
+
+    @Test
+    public void testInListSizeLimit() throws Exception {
+        final StringBuilder values = new StringBuilder("0");
+        for (int i = 1; i < 16; i++) {
+            values.append(", ").append(i);
+        }
+        serialize("along in (" + values + ")");
+
+        // longer lists are left to the Java filter
+        try {
+            serialize("along in (" + values + ", 16)");
+            Assert.fail();
+        } catch (SqlException ignore) {
+        }
+    }
+
+    @Test
+    public void testInListSymbolColumn() throws Exception {
+        serialize("asymbol in ('" + KNOWN_SYMBOL_1 + "')");
+        assertIR("(i32 0L)(i32 asymbol)(=)(ret)");
+        serialize("not asymbol in ('" + KNOWN_SYMBOL_1 + "')");
+        assertIR("(i32 0L)(i32 asymbol)(=)(!)(ret)");
+        serialize("asymbol in ('" + KNOWN_SYMBOL_1 + "', null, '" + UNKNOWN_SYMBOL + "')");
+        assertIR("(i32 :0)(i32 asymbol)(=)(i32 " + Numbers.INT_NULL + "L)(i32 asymbol)(=)(i32 0L)(i32 asymbol)(=)(||)(||)(ret)");
+
+        Assert.assertEquals(1, bindVarFunctions.size());
+        Assert.assertEquals(UNKNOWN_SYMBOL, bindVarFunctions.get(0).getStrA(null));
+    }
+
     @Test(expected = SqlException.class)
     public void testInvalidUuidConstant() throws Exception {
         serialize("auuid = '111111110111101111011110111111111111'");
@@ -632,6 +690,16 @@ public class CompiledFilterIRSerializerTest extends BaseFunctionFactoryTest {
         serialize("ageolong = #sp052w92p1p8889");
     }
 
+    @Test(expected = SqlException.class)
+    public void testUnsupportedInListDoubleColumn() throws Exception {
+        serialize("adouble in (1.5, 2)");
+    }
+
+    @Test(expected = SqlException.class)
+    public void testUnsupportedInListTimestampColumn() throws Exception {
+        serialize("atimestamp in ('2020-01-01')");
+    }
+
     @Test(expected = SqlException.class)
     public void testUnsupportedInvalidGeoHashConstant() throws Exception {
         serialize("ageolong = ##11211");
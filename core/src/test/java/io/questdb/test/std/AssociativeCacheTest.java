@@ -70,6 +70,35 @@ public class AssociativeCacheTest {
         }
     }
 
+    @Test
+    public void testClear() {
+        final HashSet<Object> closed = new HashSet<>();
+        class CloseTracker implements QuietCloseable {
+            @Override
+            public void close() {
+                closed.add(this);
+            }
+        }
+
+        try (AssociativeCache<CloseTracker> cache = createCache(8, 64)) {
+            final CloseTracker polled = new CloseTracker();
+            cache.put("X", polled);
+            cache.put("Y", new CloseTracker());
+            cache.put("Z", new CloseTracker());
+            Assert.assertSame(polled, cache.poll("X"));
+
+            cache.clear();
+            Assert.assertEquals(2, closed.size());
+            Assert.assertFalse(closed.contains(polled));
+            Assert.assertNull(cache.poll("Y"));
+            Assert.assertNull(cache.poll("Z"));
+
+            // values polled before clear() can be returned
+            cache.put("X", polled);
+            Assert.assertSame(polled, cache.poll("X"));
+        }
+    }
+
     @Test
     public void testConcurrent() throws Exception {
         Assume.assumeTrue(cacheType == CacheType.CONCURRENT);
@@ -285,6 +314,43 @@ public class AssociativeCacheTest {
         }
     }
 
+    @Test
+    public void testRemoveIf() {
+        final HashSet<Object> closed = new HashSet<>();
+        class CloseTracker implements QuietCloseable {
+            final boolean remove;
+
+            CloseTracker(boolean remove) {
+                this.remove = remove;
+            }
+
+            @Override
+            public void close() {
+                closed.add(this);
+            }
+        }
+
+        try (AssociativeCache<CloseTracker> cache = createCache(8, 64)) {
+            final CloseTracker polled = new CloseTracker(true);
+            final CloseTracker kept = new CloseTracker(false);
+            cache.put("X", polled);
+            cache.put("Y", new CloseTracker(true));
+            cache.put("Z", kept);
+            Assert.assertSame(polled, cache.poll("X"));
+
+            cache.removeIf(value -> value.remove);
+            Assert.assertEquals(1, closed.size());
+            Assert.assertFalse(closed.contains(polled));
+            Assert.assertFalse(closed.contains(kept));
+            Assert.assertNull(cache.poll("Y"));
+            Assert.assertSame(kept, cache.poll("Z"));
+
+            // values polled before removeIf() can be returned
+            cache.put("X", polled);
+            Assert.assertSame(polled, cache.poll("X"));
+        }
+    }
+
     @Test
     public void testSimpleAssociativeCachePeek() {
         Assume.assumeTrue(cacheType == CacheType.SIMPLE);
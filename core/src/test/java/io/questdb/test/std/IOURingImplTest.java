@@ -25,6 +25,9 @@
 package io.questdb.test.std;
 
 import io.questdb.cairo.CairoException;
+import io.questdb.network.DefaultIODispatcherConfiguration;
+import io.questdb.network.SuspendEvent;
+import io.questdb.network.SuspendEventFactory;
 import io.questdb.std.*;
 import io.questdb.std.str.DirectUtf8String;
 import io.questdb.std.str.Path;
@@ -69,6 +72,68 @@ public class IOURingImplTest extends AbstractTest {
         Assert.assertTrue(IOURingFacadeImpl.isAvailableOn("7.1.1"));
     }
 
+    @Test
+    public void testPoll() throws Exception {
+        Assume.assumeTrue(rf.isAvailable());
+
+        TestUtils.assertMemoryLeak(() -> {
+            final int pollIn = 0x1;
+            final SuspendEvent event = SuspendEventFactory.newInstance(DefaultIODispatcherConfiguration.INSTANCE);
+            try (IOURing ring = rf.newInstance(4)) {
+                Assert.assertTrue(ring.enqueuePoll(event.getFd(), pollIn, 42));
+                Assert.assertEquals(1, ring.submit());
+                // eventfd is not readable until triggered
+                Os.sleep(10);
+                Assert.assertFalse(ring.nextCqe());
+
+                event.trigger();
+                while (!ring.nextCqe()) {
+                    Os.pause();
+                }
+                Assert.assertEquals(42, ring.getCqeId());
+                Assert.assertEquals(pollIn, ring.getCqeRes() & pollIn);
+            } finally {
+                event.close();
+                event.close();
+            }
+        });
+    }
+
+    @Test
+    public void testPollRemove() throws Exception {
+        Assume.assumeTrue(rf.isAvailable());
+
+        TestUtils.assertMemoryLeak(() -> {
+            final SuspendEvent event = SuspendEventFactory.newInstance(DefaultIODispatcherConfiguration.INSTANCE);
+            try (IOURing ring = rf.newInstance(4)) {
+                Assert.assertTrue(ring.enqueuePoll(event.getFd(), 0x1, 42));
+                Assert.assertEquals(1, ring.submit());
+                Assert.assertTrue(ring.enqueuePollRemove(42, 43));
+                Assert.assertEquals(1, ring.submit());
+
+                // both the cancelled poll and the cancellation complete
+                int completed = 0;
+                while (completed < 2) {
+                    if (!ring.nextCqe()) {
+                        Os.pause();
+                        continue;
+                    }
+                    if (ring.getCqeId() == 42) {
+                        Assert.assertEquals(-125, ring.getCqeRes()); // ECANCELED
+                    } else {
+                        Assert.assertEquals(43, ring.getCqeId());
+                        Assert.assertEquals(0, ring.getCqeRes());
+                    }
+                    completed++;
+                }
+                Assert.assertFalse(ring.nextCqe());
+            } finally {
+                event.close();
+                event.close();
+            }
+        });
+    }
+
     @Test
     public void testRead() throws Exception {
         Assume.assumeTrue(rf.isAvailable());